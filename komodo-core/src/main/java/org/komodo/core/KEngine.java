@@ -23,12 +23,17 @@ package org.komodo.core;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.komodo.core.repository.RepositoryImpl;
 import org.komodo.spi.KClient;
@@ -83,6 +88,8 @@ public final class KEngine implements KClient, StringConstants {
 
     private final Set<KObserver> observers = new HashSet<>();
 
+    private final Map<String, Supplier<Map<String, Long>>> metrics = new ConcurrentHashMap<>();
+
     public KEngine() {
         KEnvironment.checkDataDirProperty();
 
@@ -404,6 +411,44 @@ public final class KEngine implements KClient, StringConstants {
         this.observers.remove(observer);
     }
 
+    /**
+     * Adds a source of metrics to the engine. Replaces any source already added with the same name.
+     *
+     * @param name the name prefixing the names of the metrics of the source (cannot be empty)
+     * @param source supplies the current metric values keyed by metric name (cannot be <code>null</code>)
+     */
+    public void addMetrics(final String name, final Supplier<Map<String, Long>> source) {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+        ArgCheck.isNotNull(source, "source"); //$NON-NLS-1$
+        this.metrics.put(name, source);
+    }
+
+    /**
+     * Removes a source of metrics from the engine
+     *
+     * @param name the name of the source being removed (cannot be empty)
+     */
+    public void removeMetrics(final String name) {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+        this.metrics.remove(name);
+    }
+
+    /**
+     * @return the current values of the metrics of all sources keyed by source name and metric name separated by a dot
+     *         (never <code>null</code> but can be empty)
+     */
+    public Map<String, Long> getMetrics() {
+        final Map<String, Long> result = new TreeMap<>();
+
+        for (final Entry<String, Supplier<Map<String, Long>>> source : this.metrics.entrySet()) {
+            for (final Entry<String, Long> metric : source.getValue().get().entrySet()) {
+                result.put(source.getKey() + DOT + metric.getKey(), metric.getValue());
+            }
+        }
+
+        return result;
+    }
+
     private <T> void notifyObservers(final KEvent<T> event) {
         ArgCheck.isNotNull(event);
         final Set<KObserver> copy = new HashSet<>(this.observers);
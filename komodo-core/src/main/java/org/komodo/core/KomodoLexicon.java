@@ -90,6 +90,38 @@ public interface KomodoLexicon extends StringConstants {
          * The name of the Komodo environment profiles child node. Value is {@value} .
          */
         String PROFILES = Namespace.PREFIX + COLON + "profiles"; //$NON-NLS-1$
+
+        /**
+         * The name of the Komodo environment validation results child node. Value is {@value} .
+         */
+        String VALIDATION_RESULTS = Namespace.PREFIX + COLON + "validationResults"; //$NON-NLS-1$
+    }
+
+    /**
+     * The JCR names associated with the persisted validation results of a workspace object. The results node of an object has
+     * the same relative path below the validation results node as the object has below the workspace.
+     */
+    interface ValidationResult {
+
+        /**
+         * The version of the validation rules the results were evaluated with. Value is {@value} .
+         */
+        String RULES_VERSION = Namespace.PREFIX + COLON + "rulesVersion"; //$NON-NLS-1$
+
+        /**
+         * The identifiers of the evaluated rules. Value is {@value} .
+         */
+        String RULE_IDS = Namespace.PREFIX + COLON + "ruleIds"; //$NON-NLS-1$
+
+        /**
+         * The outcome levels of the evaluated rules, in rule identifier order. Value is {@value} .
+         */
+        String LEVELS = Namespace.PREFIX + COLON + "levels"; //$NON-NLS-1$
+
+        /**
+         * The outcome messages of the evaluated rules, in rule identifier order. Value is {@value} .
+         */
+        String MESSAGES = Namespace.PREFIX + COLON + "messages"; //$NON-NLS-1$
     }
 
     /**
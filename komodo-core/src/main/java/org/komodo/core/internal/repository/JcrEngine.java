@@ -35,6 +35,7 @@ import org.komodo.core.JcrLogConfigurator;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon.Environment;
 import org.komodo.core.KomodoLexicon.Komodo;
+import org.komodo.core.repository.KChangeSetListener;
 import org.komodo.core.repository.KSequencerController;
 import org.komodo.core.repository.KSequencerListener;
 import org.komodo.core.repository.Messages;
@@ -121,6 +122,8 @@ public class JcrEngine extends Thread implements RepoEngine {
     private final JcrQueryManager queryManager;
 
     private KSequencerController sequencers;
+
+    private volatile KChangeSetListener changeSetListener;
     
     private KEngine kEngine;
 
@@ -292,6 +295,18 @@ public class JcrEngine extends Thread implements RepoEngine {
         return this.error;
     }
 
+    /**
+     * @param listener
+     *        the listener notified of the nodes changed by each save, kept when the engine is restarted
+     *        (can be <code>null</code>)
+     */
+    public synchronized void setChangeSetListener(final KChangeSetListener listener) {
+        this.changeSetListener = listener;
+
+        if (sequencers != null)
+            sequencers.setChangeSetListener(listener);
+    }
+
     private synchronized void rollbackSession( final RepoEngine.Request request, Throwable error) {
         ArgCheck.isTrue(request.getRequestType() == RepoEngine.RequestType.ROLLBACK_SESSION,
                         "rollbackSession called when request is not a rollback session"); //$NON-NLS-1$
@@ -457,6 +472,7 @@ public class JcrEngine extends Thread implements RepoEngine {
 
             // Add the sequencing listener
             sequencers = new KSequencers( identifier );
+            sequencers.setChangeSetListener(changeSetListener);
 
             respondCallback(request, null);
         } catch (Throwable ex) {
@@ -23,6 +23,7 @@ package org.komodo.core.internal.repository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -41,6 +42,7 @@ import javax.jcr.observation.EventListener;
 import javax.jcr.observation.ObservationManager;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.Messages;
+import org.komodo.core.repository.KChangeSetListener;
 import org.komodo.core.repository.KSequencerController;
 import org.komodo.core.repository.KSequencerListener;
 import org.komodo.spi.constants.StringConstants;
@@ -60,6 +62,9 @@ import org.komodo.utils.KLog;
  */
 public class KSequencers implements StringConstants, EventListener, KSequencerController {
 
+    // Key of the event info entry holding the path a moved node was moved from
+    private static final String SOURCE_ABSOLUTE_PATH = "srcAbsPath"; //$NON-NLS-1$
+
     private final WorkspaceIdentifier identifier;
 
     private Session session;
@@ -72,6 +77,14 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
 
     private Set<KSequencerListener> listeners = new HashSet<>();
 
+    // Paths of the nodes changed since the change set listener was last notified
+    private Set<String> changedPaths = new HashSet<>();
+
+    // Paths of the nodes whose descendants have been regenerated by a sequencer since the change set listener was last notified
+    private Set<String> sequencedPaths = new HashSet<>();
+
+    private volatile KChangeSetListener changeSetListener;
+
     /**
      * Create new instance
      *
@@ -134,6 +147,11 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         listeners.add(listener);
     }
 
+    @Override
+    public void setChangeSetListener(KChangeSetListener listener) {
+        this.changeSetListener = listener;
+    }
+
     /**
      * @return the identifier
      */
@@ -478,6 +496,10 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                     // wait for the event to run through before proclaiming eveything is complete
                     runningSequencers.add(seqPropId);
 
+                    // The pre-sequence clean is saved by this listener's own session, whose events are
+                    // ignored, so report the whole output node as having been regenerated
+                    sequencedPaths.add(outputNode.getPath());
+
                     try {
                         analyseSequencerResults(sequencerType, seqOutputNode);
                     } finally {
@@ -521,7 +543,29 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         sequence(sequencerType, property, outputNode, eventId);
     }
 
+    private void notifyChangeSet() {
+        if (changedPaths.isEmpty() && sequencedPaths.isEmpty())
+            return;
+
+        Set<String> changed = Collections.unmodifiableSet(changedPaths);
+        Set<String> sequenced = Collections.unmodifiableSet(sequencedPaths);
+        changedPaths = new HashSet<>();
+        sequencedPaths = new HashSet<>();
+
+        KChangeSetListener listener = changeSetListener;
+        if (listener == null)
+            return;
+
+        try {
+            listener.changeSetCompleted(changed, sequenced);
+        } catch (Exception ex) {
+            KLog.getLogger().error("KSequencers: change set listener failed", ex); //$NON-NLS-1$
+        }
+    }
+
     private void notifySequencerCompletion(String eventUserData) {
+        notifyChangeSet();
+
         Iterator<KSequencerListener> iterator = listeners.iterator();
         while(iterator.hasNext()) {
             KSequencerListener listener = iterator.next();
@@ -540,6 +584,8 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
     }
 
     private void notifySequencerError(String eventUserData, Exception exception) {
+        notifyChangeSet();
+
         Iterator<KSequencerListener> iterator = listeners.iterator();
         while (iterator.hasNext()) {
             KSequencerListener listener = iterator.next();
@@ -584,9 +630,22 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                 }
 
                 switch (event.getType()) {
-                    case Event.NODE_ADDED:
                     case Event.NODE_MOVED:
+                    {
+                        //
+                        // The old parent has lost a child too so mark the source path as well
+                        //
+                        Object srcPath = event.getInfo().get(SOURCE_ABSOLUTE_PATH);
+                        if (srcPath != null)
+                            changedPaths.add(srcPath.toString());
+
+                        changedPaths.add(eventPath);
+                        continue;
+                    }
+                    case Event.NODE_ADDED:
                     case Event.NODE_REMOVED:
+                        changedPaths.add(eventPath);
+
                         //
                         // Even though we do nothing with these events the
                         // sequencer still must fire on them in order to ensure the
@@ -596,6 +655,7 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                     case Event.PROPERTY_ADDED:
                     case Event.PROPERTY_CHANGED:
                     {
+                        changedPaths.add(eventPath.substring(0, Math.max(eventPath.lastIndexOf(FORWARD_SLASH), 1)));
                         KLog.getLogger().debug("KSequencers: processing event " + eventUserData + " for path " + eventPath); //$NON-NLS-1$ //$NON-NLS-2$
 
                         if (! session.propertyExists(eventPath)) {
@@ -621,6 +681,7 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
 
                         String propertyName = eventPath.substring(lastSlash + 1);
                         String nodePath = eventPath.substring(0, lastSlash);
+                        changedPaths.add(nodePath);
 
                         if (! session.nodeExists(nodePath))
                             continue; // Parent node has been removed as well so not worth worrying about removing children
@@ -82,4 +82,9 @@ public interface KSequencerController {
      */
     void addSequencerListener(KSequencerListener listener) throws Exception;
 
+    /**
+     * @param listener the listener to notify of the nodes changed by each save (can be <code>null</code>)
+     */
+    void setChangeSetListener(KChangeSetListener listener);
+
 }
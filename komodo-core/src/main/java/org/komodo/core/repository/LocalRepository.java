@@ -24,7 +24,9 @@ package org.komodo.core.repository;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.komodo.core.KEngine;
@@ -131,6 +133,27 @@ public class LocalRepository extends RepositoryImpl {
 
     private RepoEngine engine;
 
+    private final RevisionTracker revisionTracker = new RevisionTracker();
+
+    private final Set< KChangeSetListener > changeSetListeners = new CopyOnWriteArraySet<>();
+
+    private final KChangeSetListener changeSetNotifier = new KChangeSetListener() {
+
+        @Override
+        public void changeSetCompleted( final Set< String > changedPaths,
+                                        final Set< String > sequencedPaths ) {
+            revisionTracker.changeSetCompleted( changedPaths, sequencedPaths );
+
+            for ( final KChangeSetListener listener : changeSetListeners ) {
+                try {
+                    listener.changeSetCompleted( changedPaths, sequencedPaths );
+                } catch ( final Exception e ) {
+                    LOGGER.error( "LocalRepository: change set listener failed", e ); //$NON-NLS-1$
+                }
+            }
+        }
+    };
+
     /**
      * Create an instance if a local repository using the specified configuration file.
      *
@@ -165,6 +188,31 @@ public class LocalRepository extends RepositoryImpl {
         return engine.getNodeFactory();
     }
 
+    /**
+     * @param listener
+     *        the listener notified of the nodes changed by each committed transaction (cannot be <code>null</code>)
+     */
+    public void addChangeSetListener( final KChangeSetListener listener ) {
+        ArgCheck.isNotNull( listener, "listener" ); //$NON-NLS-1$
+        this.changeSetListeners.add( listener );
+    }
+
+    /**
+     * @param listener
+     *        the listener being removed (cannot be <code>null</code>)
+     */
+    public void removeChangeSetListener( final KChangeSetListener listener ) {
+        ArgCheck.isNotNull( listener, "listener" ); //$NON-NLS-1$
+        this.changeSetListeners.remove( listener );
+    }
+
+    /**
+     * @return the tracker of the revisions of the repository paths changed by committed transactions (never <code>null</code>)
+     */
+    public RevisionTracker getRevisionTracker() {
+        return this.revisionTracker;
+    }
+
     @Override
     public KPropertyFactory getPropertyFactory() {
         return engine.getPropertyFactory();
@@ -460,7 +508,9 @@ public class LocalRepository extends RepositoryImpl {
             throw new Exception(msg);
         }
 
-        engine = new JcrEngine(getId(), this.kEngine);
+        JcrEngine jcrEngine = new JcrEngine(getId(), this.kEngine);
+        jcrEngine.setChangeSetListener(this.changeSetNotifier);
+        engine = jcrEngine;
         engine.start();
     }
 
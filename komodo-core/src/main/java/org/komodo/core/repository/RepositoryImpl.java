@@ -26,7 +26,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon;
@@ -192,6 +194,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         protected final boolean rollbackOnly;
         protected UnitOfWorkDelegate uowDelegate;
         protected State state = State.NOT_STARTED;
+        private final Map< Object, Object > cache = new ConcurrentHashMap<>();
 
         /**
          * @param userName
@@ -226,6 +229,33 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return uowDelegate;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#cacheValue(java.lang.Object, java.lang.Object)
+         */
+        @Override
+        public void cacheValue( final Object key,
+                                final Object value ) {
+            ArgCheck.isNotNull( key, "key" ); //$NON-NLS-1$
+            ArgCheck.isNotNull( value, "value" ); //$NON-NLS-1$
+
+            if ( this.state == State.NOT_STARTED ) {
+                this.cache.put( key, value );
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#getCachedValue(java.lang.Object)
+         */
+        @Override
+        public Object getCachedValue( final Object key ) {
+            ArgCheck.isNotNull( key, "key" ); //$NON-NLS-1$
+            return this.cache.get( key );
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -274,6 +304,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     } finally {
                         if (uowDelegate.isLive()) this.uowDelegate.complete();
                         this.uowDelegate = null;
+                        this.cache.clear();
                     }
                 }
             }
@@ -405,6 +436,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                 } finally {
                     if (uowDelegate.isLive()) this.uowDelegate.complete();
                     this.uowDelegate = null;
+                    this.cache.clear();
                 }
             }
         }
@@ -442,6 +474,11 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
      */
     public static final String PROFILES_ROOT = ENV_ROOT + FORWARD_SLASH + Environment.PROFILES;
 
+    /**
+     * The root path of the Komodo repository environment validation results area
+     */
+    public static final String VALIDATION_RESULTS_ROOT = ENV_ROOT + FORWARD_SLASH + Environment.VALIDATION_RESULTS;
+
     /**
      * The root path of the Komodo repository workspace area.
      * This should remain private as clients should use
@@ -487,8 +524,19 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         if(uow == null)
             return WORKSPACE_ROOT;
 
-        String userName = uow.getUserName();
-        if (userName == null || isSystemTx(uow))
+        return userWorkspacePath(uow.getUserName());
+    }
+
+    /**
+     * The komodo user's workspace in the repository, ie. /tko:komodo/tko:workspace/${user}
+     *
+     * @param userName
+     *        the name of the user (can be <code>null</code>)
+     *
+     * @return the workspace path for the user
+     */
+    public static String userWorkspacePath(final String userName) {
+        if (userName == null || SYSTEM_USER.equals(userName))
             return WORKSPACE_ROOT;
 
         return WORKSPACE_ROOT + FORWARD_SLASH + userName;
@@ -650,6 +698,9 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                 if (nodePath.startsWith(VALIDATION_ROOT))
                     return; // Read the group of validation rules
 
+                if (nodePath.startsWith(VALIDATION_RESULTS_ROOT))
+                    return; // Read the persisted validation results
+
                 if (nodePath.startsWith(LIBRARY_ROOT))
                     return; // Read the contents of the library
 
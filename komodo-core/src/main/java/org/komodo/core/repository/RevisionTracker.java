@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.core.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.spi.constants.StringConstants;
+
+/**
+ * Tracks a revision for each repository path. Every committed change set increments the repository revision and the changed
+ * nodes, and all of their ancestors, are marked with it. So the revision of a path only changes when the node or one of its
+ * descendants changes, which makes it a cheap validator for anything built from that part of the tree.
+ */
+public class RevisionTracker implements KChangeSetListener, StringConstants {
+
+    /**
+     * The default maximum number of paths whose revision is tracked
+     */
+    public static final int DEFAULT_MAX_PATHS = 10000;
+
+    private final int maxPaths;
+
+    /**
+     * Distinguishes the revisions of this tracker from those of any earlier instance, ie. before a restart
+     */
+    private final String epoch = Long.toString( System.currentTimeMillis(), Character.MAX_RADIX );
+
+    private final AtomicLong revision = new AtomicLong();
+
+    private final Map< String, Long > revisions = new ConcurrentHashMap<>();
+
+    /**
+     * The revision of any path that has not changed since the tracked paths were last discarded
+     */
+    private volatile long floor;
+
+    /**
+     * Constructs a tracker that tracks up to {@link #DEFAULT_MAX_PATHS} paths.
+     */
+    public RevisionTracker() {
+        this( DEFAULT_MAX_PATHS );
+    }
+
+    /**
+     * @param maxPaths
+     *        the number of tracked paths above which they are all discarded and every path is given a new revision
+     */
+    public RevisionTracker( final int maxPaths ) {
+        this.maxPaths = maxPaths;
+    }
+
+    @Override
+    public synchronized void changeSetCompleted( final Set< String > changedPaths,
+                                                 final Set< String > sequencedPaths ) {
+        final long rev = this.revision.incrementAndGet();
+
+        if ( this.revisions.size() > this.maxPaths ) {
+            this.floor = rev;
+            this.revisions.clear();
+            return;
+        }
+
+        mark( changedPaths, rev );
+        mark( sequencedPaths, rev );
+    }
+
+    private void mark( final Set< String > paths,
+                       final long rev ) {
+        for ( final String changedPath : paths ) {
+            String path = changedPath;
+
+            while ( true ) {
+                final Long previous = this.revisions.put( path, rev );
+
+                // ancestors already marked by a sibling in this change set
+                if ( ( previous != null ) && ( previous == rev ) ) {
+                    break;
+                }
+
+                final int index = path.lastIndexOf( FORWARD_SLASH );
+
+                if ( index <= 0 ) {
+                    if ( !FORWARD_SLASH.equals( path ) ) {
+                        this.revisions.put( FORWARD_SLASH, rev );
+                    }
+
+                    break;
+                }
+
+                path = path.substring( 0, index );
+            }
+        }
+    }
+
+    /**
+     * @param path
+     *        the repository path (cannot be empty)
+     * @return the revision of the last change to the node at the path or any of its descendants
+     */
+    public long getRevision( final String path ) {
+        final Long rev = this.revisions.get( path );
+        return ( rev == null ) ? this.floor : rev;
+    }
+
+    /**
+     * @param path
+     *        the repository path (cannot be empty)
+     * @return a tag that changes whenever the node at the path or any of its descendants changes (never empty)
+     */
+    public String getTag( final String path ) {
+        return this.epoch + HYPHEN + getRevision( path );
+    }
+
+}
@@ -0,0 +1,1060 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.core.repository.validation;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.komodo.core.KomodoLexicon;
+import org.komodo.core.repository.Messages;
+import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.outcome.Outcome.Level;
+import org.komodo.spi.outcome.OutcomeFactory.OutcomeImpl;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.repository.validation.Result;
+import org.komodo.spi.repository.validation.Rule;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.StringUtils;
+
+/**
+ * An immutable, in-memory snapshot of a {@link RuleImpl validation rule}. The rule definition is read from the repository once
+ * when the snapshot is compiled so that evaluating the rule only reads the object being validated. Setters write through to the
+ * repository rule. A transaction that has uncommitted rule changes sees the repository rule instead of the snapshot.
+ */
+final class CompiledRule implements Rule {
+
+    static class ResultImpl extends OutcomeImpl implements Result {
+
+        private final String path;
+        private final String ruleId;
+        private final long timeCreated;
+
+        ResultImpl( final String nodePath,
+                    final String evaluationRuleId,
+                    final Level outcomeLevel,
+                    final String outcomeMessage ) {
+            this.path = nodePath;
+            this.ruleId = evaluationRuleId;
+            this.timeCreated = System.currentTimeMillis();
+            setMessage( outcomeMessage );
+            setLevel( outcomeLevel );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.validation.Result#getPath()
+         */
+        @Override
+        public String getPath() {
+            return this.path;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.validation.Result#getRuleId()
+         */
+        @Override
+        public String getRuleId() {
+            return this.ruleId;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.validation.Result#getTimestamp()
+         */
+        @Override
+        public long getTimestamp() {
+            return this.timeCreated;
+        }
+
+    }
+
+    private static final String[] NO_VALUES = StringConstants.EMPTY_ARRAY;
+
+    /**
+     * @param transaction
+     *        the transaction used to read the rule definition (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param rule
+     *        the repository rule being compiled (cannot be <code>null</code>)
+     * @param ordinal
+     *        the position of the rule in the validation area
+     * @param manager
+     *        the manager providing the rule as compiled for a transaction with pending rule changes (can be <code>null</code>)
+     * @return the compiled rule (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs reading the rule definition
+     */
+    static CompiledRule compile( final UnitOfWork transaction,
+                                 final RuleImpl rule,
+                                 final int ordinal,
+                                 final ValidationManagerImpl manager ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( rule, "rule" ); //$NON-NLS-1$
+
+        return new CompiledRule( transaction, rule, ordinal, manager );
+    }
+
+    private static String getStringValue( final UnitOfWork transaction,
+                                          final KomodoObject kobject,
+                                          final String propName ) throws KException {
+        final Property prop = kobject.getProperty( transaction, propName );
+        return ( ( prop == null ) ? null : prop.getStringValue( transaction ) );
+    }
+
+    private static String[] getStringValues( final UnitOfWork transaction,
+                                             final KomodoObject kobject,
+                                             final String propName ) throws KException {
+        final Property prop = kobject.getProperty( transaction, propName );
+        return ( ( prop == null ) ? NO_VALUES : prop.getStringValues( transaction ) );
+    }
+
+    private static Boolean getBooleanValue( final UnitOfWork transaction,
+                                            final KomodoObject kobject,
+                                            final String propName ) throws KException {
+        final Property prop = kobject.getProperty( transaction, propName );
+        return ( ( prop == null ) ? null : prop.getBooleanValue( transaction ) );
+    }
+
+    private final Repository repository;
+    private final ValidationManagerImpl manager;
+    private final String path;
+    private final String name;
+    private final int ordinal;
+
+    private final String nodeType;
+    private final ValidationType validationType;
+    private final RuleType ruleType;
+    private final KException typeError;
+    private final Level severity;
+    private final boolean enabled;
+    private final Boolean required;
+    private final String jcrName;
+    private final Pattern pattern;
+    private final KException patternError;
+    private final String minValue;
+    private final boolean minInclusive;
+    private final String maxValue;
+    private final boolean maxInclusive;
+    private final String[] propExists;
+    private final String[] propAbsent;
+    private final String[] childExists;
+    private final String[] childAbsent;
+    private final boolean matchType;
+    private final Map< String, String > nodeRestrictions;
+    private final Map< String, String > childRestrictions;
+
+    /**
+     * Message key to localized text keyed by locale code.
+     */
+    private final Map< String, Map< String, String > > messages;
+
+    private CompiledRule( final UnitOfWork transaction,
+                          final RuleImpl rule,
+                          final int ordinal,
+                          final ValidationManagerImpl manager ) throws KException {
+        this.repository = rule.getRepository();
+        this.manager = manager;
+        this.path = rule.getAbsolutePath();
+        this.name = rule.getName( transaction );
+        this.ordinal = ordinal;
+
+        this.nodeType = rule.getNodeType( transaction );
+        this.severity = rule.getSeverity( transaction );
+        this.enabled = rule.isEnabled( transaction );
+
+        // type errors are reported when the rule is evaluated, same as the repository rule
+        ValidationType valType = null;
+        RuleType rType = null;
+        KException error = null;
+
+        try {
+            valType = rule.getValidationType( transaction );
+            rType = rule.getRuleType( transaction );
+        } catch ( final KException e ) {
+            error = e;
+        }
+
+        this.validationType = valType;
+        this.ruleType = rType;
+        this.typeError = error;
+
+        this.required = getBooleanValue( transaction, rule, KomodoLexicon.Rule.REQUIRED );
+        this.jcrName = getStringValue( transaction, rule, KomodoLexicon.Rule.JCR_NAME );
+
+        { // compile the pattern once, errors are reported when the rule is evaluated
+            final String regex = getStringValue( transaction, rule, KomodoLexicon.Rule.PATTERN );
+            Pattern compiled = null;
+            KException compileError = null;
+
+            if ( regex != null ) {
+                try {
+                    compiled = Pattern.compile( regex );
+                } catch ( final PatternSyntaxException e ) {
+                    compileError = new KException( e );
+                }
+            }
+
+            this.pattern = compiled;
+            this.patternError = compileError;
+        }
+
+        this.minValue = getStringValue( transaction, rule, KomodoLexicon.Rule.MIN_VALUE );
+        this.maxValue = getStringValue( transaction, rule, KomodoLexicon.Rule.MAX_VALUE );
+
+        final Boolean minIncl = getBooleanValue( transaction, rule, KomodoLexicon.Rule.MIN_VALUE_INCLUSIVE );
+        this.minInclusive = ( ( minIncl == null ) ? true : minIncl );
+
+        final Boolean maxIncl = getBooleanValue( transaction, rule, KomodoLexicon.Rule.MAX_VALUE_INCLUSIVE );
+        this.maxInclusive = ( ( maxIncl == null ) ? true : maxIncl );
+
+        final Boolean match = getBooleanValue( transaction, rule, KomodoLexicon.Rule.MATCH_TYPE );
+        this.matchType = ( ( match == null ) ? false : match );
+
+        this.propExists = getStringValues( transaction, rule, KomodoLexicon.Rule.PROP_EXISTS );
+        this.propAbsent = getStringValues( transaction, rule, KomodoLexicon.Rule.PROP_ABSENT );
+        this.childExists = getStringValues( transaction, rule, KomodoLexicon.Rule.CHILD_EXISTS );
+        this.childAbsent = getStringValues( transaction, rule, KomodoLexicon.Rule.CHILD_ABSENT );
+
+        this.nodeRestrictions = Collections.unmodifiableMap( rule.getPropRestrictions( transaction, PropertyRestriction.NODE ) );
+        this.childRestrictions = Collections.unmodifiableMap( rule.getPropRestrictions( transaction, PropertyRestriction.CHILD ) );
+
+        final Map< String, Map< String, String > > msgs = new HashMap<>();
+
+        if ( rule.hasChild( transaction, KomodoLexicon.Rule.MESSAGES ) ) {
+            final KomodoObject grouping = rule.getChild( transaction,
+                                                         KomodoLexicon.Rule.MESSAGES,
+                                                         KomodoLexicon.Rule.LOCALIZED_MESSAGE_GROUPING );
+
+            for ( final KomodoObject message : grouping.getChildrenOfType( transaction, KomodoLexicon.Rule.LOCALIZED_MESSAGE ) ) {
+                final Map< String, String > texts = new HashMap<>();
+
+                for ( final KomodoObject text : message.getChildrenOfType( transaction,
+                                                                           KomodoLexicon.Rule.LOCALIZED_TEXT_TYPE ) ) {
+                    texts.put( text.getName( transaction ), getStringValue( transaction, text, KomodoLexicon.Rule.LOCALIZED_TEXT ) );
+                }
+
+                msgs.put( message.getName( transaction ), texts );
+            }
+        }
+
+        this.messages = msgs;
+    }
+
+    /*
+     * Uses the rule as compiled for the transaction when it has changed rules but has not yet completed. The
+     * manager compiles those rules once per change so this is only a lookup.
+     */
+    private CompiledRule current( final UnitOfWork transaction ) throws KException {
+        if ( ( this.manager == null ) || ( transaction == null ) || !this.manager.hasPendingChanges( transaction ) ) {
+            return this;
+        }
+
+        final CompiledRule current = this.manager.getCompiledRule( transaction, this.path );
+        return ( ( current == null ) ? this : current );
+    }
+
+    /**
+     * @return the absolute path of the repository rule (never empty)
+     */
+    String getAbsolutePath() {
+        return this.path;
+    }
+
+    /**
+     * @return the position of the rule in the validation area
+     */
+    int getOrdinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * @return the node type restrictions (never <code>null</code> but can be empty)
+     */
+    Map< String, String > getNodeRestrictions() {
+        return this.nodeRestrictions;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#evaluate(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      org.komodo.spi.repository.KomodoObject)
+     */
+    @Override
+    public Result evaluate( final UnitOfWork transaction,
+                            final KomodoObject kobject ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( kobject, "kobject" ); //$NON-NLS-1$
+
+        final CompiledRule current = current( transaction );
+
+        if ( current != this ) {
+            return current.evaluate( transaction, kobject );
+        }
+
+        if ( !this.enabled ) {
+            return new ProblemRule( this.name, ProblemRule.Type.NOT_ENABLED ).evaluate( transaction, kobject );
+        }
+
+        if ( this.typeError != null ) {
+            throw this.typeError;
+        }
+
+        try {
+            switch ( this.validationType ) {
+                case NODE:
+                    return evaluateNodeRule( transaction, kobject );
+                case PROPERTY:
+                    return evaluatePropertyRule( transaction, kobject );
+                case CHILD:
+                    return evaluateChildRule( transaction, kobject );
+                default:
+                    // need to add new validation type
+                    throw new RuntimeException( "Unexpected validation type of '" + this.validationType + '\'' ); //$NON-NLS-1$
+            }
+        } catch ( final Exception e ) {
+            if ( e instanceof KException ) {
+                throw ( KException )e;
+            }
+
+            throw new KException( e );
+        }
+    }
+
+    private Result evaluateChildRule( final UnitOfWork transaction,
+                                      final KomodoObject kobject ) throws KException {
+        assert ( this.jcrName != null );
+        final String childType = this.jcrName;
+
+        // Determine if a child that passes the type and property restrictions exists
+        KomodoObject[] matchingChildren = ValidationUtils.getChildrenMatchingTypeAndPropRestrictions(transaction, kobject, childType, this.childRestrictions);
+        boolean hasChildWithTypeAndRestrictions = matchingChildren.length > 0;
+
+        // Determine if the child is required
+        final boolean childRqd = ( ( this.required == null ) ? false : this.required );
+
+        String errorMsg = null;
+        String[] args = null;
+
+        // Child required but does not exist.
+        if(childRqd && !hasChildWithTypeAndRestrictions) {
+            // Use rule description if found, otherwise use a default 'child not found' message.
+            errorMsg = getMessage( MessageKey.DESCRIPTION.name() );
+            if( StringUtils.isBlank(errorMsg) ) {
+                args = new String[] { childType, kobject.getName( transaction ), kobject.getAbsolutePath() };
+                errorMsg = Messages.getString( Messages.Validation.CHILD_OF_REQUIRED_TYPE_NOT_FOUND, ( Object[] )args );
+            }
+            return new ResultImpl( kobject.getAbsolutePath(), this.name, this.severity, errorMsg );
+        }
+
+        switch ( this.ruleType ) {
+            case NUMBER: {
+                final Integer childCount = matchingChildren.length;
+                boolean minChecked = false;
+                boolean maxChecked = false;
+
+                try {
+                    { // check min value
+                        if ( this.minValue != null ) {
+                            minChecked = true;
+                            final Number min = NumberFormat.getInstance().parse( this.minValue );
+                            final int result = Double.compare( childCount.doubleValue(), min.doubleValue() );
+
+                            if ( ( this.minInclusive && ( result < 0 ) ) || ( !this.minInclusive && ( result <= 0 ) ) ) {
+                                // Get specific message or description
+                                errorMsg = getMessageOrDescription( MessageKey.CHILD_COUNT_BELOW_MIN_VALUE.name() );
+                                // If rule does not have message or description for the locale, use a default.
+                                if(StringUtils.isBlank(errorMsg)) {
+                                    args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), childCount.toString(), childType, this.minValue };
+                                    errorMsg = Messages.getString( Messages.Validation.CHILD_COUNT_BELOW_MIN_VALUE, ( Object[] )args );
+                                }
+                            }
+                        }
+                    }
+
+                    if ( StringUtils.isBlank( errorMsg ) ) {
+                        { // check max value
+                            if ( this.maxValue != null ) {
+                                maxChecked = true;
+                                final Number max = NumberFormat.getInstance().parse( this.maxValue );
+                                final int result = Double.compare( childCount.doubleValue(), max.doubleValue() );
+
+                                if ( ( this.maxInclusive && ( result > 0 ) ) || ( !this.maxInclusive && ( result >= 0 ) ) ) {
+                                    // Get specific message or description
+                                    errorMsg = getMessageOrDescription( MessageKey.CHILD_COUNT_ABOVE_MAX_VALUE.name() );
+                                    // If rule does not have message or description for the locale, use a default.
+                                    if(StringUtils.isBlank(errorMsg)) {
+                                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), childCount.toString(), childType, this.maxValue };
+                                        errorMsg = Messages.getString( Messages.Validation.CHILD_COUNT_ABOVE_MAX_VALUE, ( Object[] )args );
+                                    }
+                                }
+                            }
+                        }
+                    }
+
+                    if ( StringUtils.isBlank( errorMsg ) && !minChecked && !maxChecked ) {
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.NUMBER_RULE_HAS_NO_VALUES.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            args = new String[] { this.name };
+                            errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_HAS_NO_VALUES, ( Object[] )args );
+                        }
+                    }
+                } catch ( final ParseException ex ) {
+                    // not a valid number rule and should be caught by XSD validation
+                    // Get specific message or description
+                    errorMsg = getMessageOrDescription( MessageKey.NUMBER_RULE_NON_NUMERIC_VALUES.name() );
+                    // If rule does not have message or description for the locale, use a default.
+                    if(StringUtils.isBlank(errorMsg)) {
+                        args = new String[] { this.name };
+                        errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_NON_NUMERIC_VALUES, ( Object[] )args );
+                    }
+                }
+
+                break;
+            }
+            case RELATIONSHIP: {
+                // must have at least one child of this type to invoke this rule
+                if ( !hasChildWithTypeAndRestrictions ) {
+                    break;
+                }
+
+                // Check all of the children of the specified type
+                for( KomodoObject kidObj : matchingChildren ) {
+
+                    // props exist
+                    for ( final String prop : this.propExists ) {
+                        if ( !kidObj.hasProperty( transaction, prop ) ) {
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( MessageKey.RELATIONSHIP_RULE_REQUIRED_PROPERTY_NOT_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, prop };
+                                errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
+                            }
+                            break;
+                        }
+                    }
+
+                    if ( !StringUtils.isBlank( errorMsg ) ) {
+                        break;
+                    }
+
+                    // props absent
+                    for ( final String prop : this.propAbsent ) {
+                        if ( kidObj.hasProperty( transaction, prop ) ) {
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( MessageKey.RELATIONSHIP_RULE_ABSENT_PROPERTY_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, prop };
+                                errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_ABSENT_PROPERTY_FOUND, ( Object[] )args );
+                            }
+                            break;
+                        }
+                    }
+
+                    if ( !StringUtils.isBlank( errorMsg ) ) {
+                        break;
+                    }
+
+                    // children exist
+                    for ( final String kidType : this.childExists ) {
+                        if ( kidObj.getChildrenOfType( transaction, kidType ).length == 0 ) {
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( MessageKey.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, kidType };
+                                errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND, ( Object[] )args );
+                            }
+                            break;
+                        }
+                    }
+
+                    if ( !StringUtils.isBlank( errorMsg ) ) {
+                        break;
+                    }
+
+                    // children absent
+                    for ( final String kidType : this.childAbsent ) {
+                        if ( kidObj.getChildrenOfType( transaction, kidType ).length > 0 ) {
+                            args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, kidType };
+
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( MessageKey.RELATIONSHIP_RULE_ABSENT_CHILD_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_ABSENT_CHILD_FOUND, ( Object[] )args );
+                            }
+                            break;
+                        }
+                    }
+
+                }
+
+                break;
+            }
+            case SAME_NAME_SIBLING: {
+                // Determine of only checking matches according to type
+                KomodoObject[] kids = null;
+                if(this.matchType) {
+                    kids = matchingChildren;
+                } else {
+                    kids = kobject.getChildren( transaction );
+                }
+
+                final Set< String > names = new HashSet<>();
+
+                for ( final KomodoObject kid : kids ) {
+                    final String kidName = kid.getName( transaction );
+
+                    if ( !names.add( kidName ) ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), kidName, childType };
+
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.RELATIONSHIP_RULE_SNS_FOUND.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_SNS_FOUND, ( Object[] )args );
+                        }
+                        break;
+                    }
+                }
+
+                break;
+            }
+            case PATTERN:
+                assert false; // not a valid rule and should be caught by XSD validation
+                break;
+            default:
+                assert false; // need to add a new case statement
+                break;
+        }
+
+        if ( StringUtils.isBlank( errorMsg ) ) {
+            return new ResultImpl( kobject.getAbsolutePath(), this.name, Level.OK, StringConstants.EMPTY_STRING );
+        }
+
+        assert ( !StringUtils.isBlank( errorMsg ) );
+        return new ResultImpl( kobject.getAbsolutePath(), this.name, this.severity, errorMsg );
+    }
+
+    private Result evaluateNodeRule( final UnitOfWork transaction,
+                                     final KomodoObject kobject ) throws KException {
+        String errorMsg = null;
+        String[] args = null;
+
+        switch ( this.ruleType ) {
+            case PATTERN: {
+                if ( this.patternError != null ) {
+                    throw this.patternError;
+                }
+
+                assert ( this.pattern != null );
+
+                final String nodeName = kobject.getName( transaction );
+
+                if ( !this.pattern.matcher( nodeName ).matches() ) {
+                    args = new String[] { nodeName, kobject.getAbsolutePath() };
+
+                    // Get specific message or description
+                    errorMsg = getMessageOrDescription( MessageKey.PATTERN_RULE_INVALID_NODE_NAME.name() );
+                    // If rule does not have message or description for the locale, use a default.
+                    if(StringUtils.isBlank(errorMsg)) {
+                        errorMsg = Messages.getString( Messages.Validation.PATTERN_RULE_INVALID_NODE_NAME, ( Object[] )args );
+                    }
+                }
+
+                break;
+            }
+            case NUMBER:
+            case RELATIONSHIP:
+            case SAME_NAME_SIBLING:
+                assert false; // not a valid rule and should be caught be XSD validation
+                break;
+            default:
+                assert false; // need to add a new case statement
+                break;
+        }
+
+        if ( StringUtils.isBlank( errorMsg ) ) {
+            return new ResultImpl( kobject.getAbsolutePath(), this.name, Level.OK, StringConstants.EMPTY_STRING );
+        }
+
+        assert ( !StringUtils.isBlank( errorMsg ) );
+        return new ResultImpl( kobject.getAbsolutePath(), this.name, this.severity, errorMsg );
+    }
+
+    private Result evaluatePropertyRule( final UnitOfWork transaction,
+                                         final KomodoObject kobject ) throws KException {
+        assert ( this.jcrName != null );
+
+        final String propName = this.jcrName;
+        final boolean exists = kobject.hasProperty( transaction, propName );
+
+        // Determine if the property is required
+        final boolean propRqd = ( ( this.required == null ) ? false : this.required );
+
+        String errorMsg = null;
+        String[] args = null;
+
+        // Property is required but does not exist
+        if ( propRqd && !exists ) {
+            // Use rule description if found, otherwise use a default 'property not found' message.
+            errorMsg = getMessage( MessageKey.DESCRIPTION.name() );
+            if( StringUtils.isBlank(errorMsg) ) {
+                args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName };
+                errorMsg = Messages.getString( Messages.Validation.REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
+            }
+            return new ResultImpl( kobject.getAbsolutePath(), this.name, this.severity, errorMsg );
+        }
+
+        switch ( this.ruleType ) {
+            case PATTERN: {
+                // check value against the pattern
+                if ( this.patternError != null ) {
+                    throw this.patternError;
+                }
+
+                assert ( this.pattern != null );
+
+                final String value = kobject.getProperty( transaction, propName ).getStringValue( transaction );
+
+                if ( !this.pattern.matcher( value ).matches() ) {
+                    args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName };
+
+                    // Get specific message or description
+                    errorMsg = getMessageOrDescription( MessageKey.PATTERN_RULE_INVALID_PROPERTY_VALUE.name() );
+                    // If rule does not have message or description for the locale, use a default.
+                    if(StringUtils.isBlank(errorMsg)) {
+                        errorMsg = Messages.getString( Messages.Validation.PATTERN_RULE_INVALID_PROPERTY_VALUE, ( Object[] )args );
+                    }
+                }
+
+                break;
+            }
+            case NUMBER: {
+                boolean minChecked = false;
+                boolean maxChecked = false;
+                final String valueString = kobject.getProperty( transaction, propName ).getStringValue( transaction );
+
+                if ( StringUtils.isNumber( valueString ) ) {
+                    try {
+                        final Number value = NumberFormat.getInstance().parse( valueString );
+
+                        { // check min value
+                            if ( this.minValue != null ) {
+                                minChecked = true;
+                                final Number min = NumberFormat.getInstance().parse( this.minValue );
+                                final int result = Double.compare( value.doubleValue(), min.doubleValue() );
+
+                                if ( ( this.minInclusive && ( result < 0 ) ) || ( !this.minInclusive && ( result <= 0 ) ) ) {
+                                    args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, valueString, this.minValue };
+
+                                    // Get specific message or description
+                                    errorMsg = getMessageOrDescription( MessageKey.PROPERTY_RULE_VALUE_BELOW_MIN_VALUE.name() );
+                                    // If rule does not have message or description for the locale, use a default.
+                                    if(StringUtils.isBlank(errorMsg)) {
+                                        errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_VALUE_BELOW_MIN_VALUE, ( Object[] )args );
+                                    }
+                                }
+                            }
+                        }
+
+                        if ( StringUtils.isBlank( errorMsg ) ) {
+                            { // check max value
+                                if ( this.maxValue != null ) {
+                                    maxChecked = true;
+                                    final Number max = NumberFormat.getInstance().parse( this.maxValue );
+                                    final int result = Double.compare( value.doubleValue(), max.doubleValue() );
+
+                                    if ( ( this.maxInclusive && ( result > 0 ) ) || ( !this.maxInclusive && ( result >= 0 ) ) ) {
+                                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, valueString, this.maxValue };
+
+                                        // Get specific message or description
+                                        errorMsg = getMessageOrDescription( MessageKey.PROPERTY_RULE_VALUE_ABOVE_MAX_VALUE.name() );
+                                        // If rule does not have message or description for the locale, use a default.
+                                        if(StringUtils.isBlank(errorMsg)) {
+                                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_VALUE_ABOVE_MAX_VALUE, ( Object[] )args );
+                                        }
+                                    }
+                                }
+                            }
+                        }
+
+                        if ( StringUtils.isBlank( errorMsg ) && !minChecked && !maxChecked ) {
+                            args = new String[] { this.name };
+
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( MessageKey.NUMBER_RULE_HAS_NO_VALUES.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_HAS_NO_VALUES, ( Object[] )args );
+                            }
+                        }
+                    } catch ( final ParseException ex ) {
+                        // not a valid number rule and should be caught by XSD validation
+                        args = new String[] { this.name };
+
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.NUMBER_RULE_NON_NUMERIC_VALUES.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_NON_NUMERIC_VALUES, ( Object[] )args );
+                        }
+                    }
+                }
+
+                break;
+            }
+            case RELATIONSHIP: {
+                // props exist
+                for ( final String prop : this.propExists ) {
+                    if ( !kobject.hasProperty( transaction, prop ) ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, prop };
+
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.PROPERTY_RULE_REQUIRED_PROPERTY_NOT_FOUND.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
+                        }
+                        break;
+                    }
+                }
+
+                if ( !StringUtils.isBlank( errorMsg ) ) {
+                    break;
+                }
+
+                // props absent
+                for ( final String prop : this.propAbsent ) {
+                    if ( kobject.hasProperty( transaction, prop ) ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, prop };
+
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.PROPERTY_RULE_ABSENT_PROPERTY_FOUND.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_ABSENT_PROPERTY_FOUND, ( Object[] )args );
+                        }
+                        break;
+                    }
+                }
+
+                if ( !StringUtils.isBlank( errorMsg ) ) {
+                    break;
+                }
+
+                // children exist
+                for ( final String childType : this.childExists ) {
+                    if ( kobject.getChildrenOfType( transaction, childType ).length == 0 ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, childType };
+
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND, ( Object[] )args );
+                        }
+                        break;
+                    }
+                }
+
+                if ( !StringUtils.isBlank( errorMsg ) ) {
+                    break;
+                }
+
+                // children absent
+                for ( final String childType : this.childAbsent ) {
+                    if ( kobject.getChildrenOfType( transaction, childType ).length > 0 ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, childType };
+
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( MessageKey.PROPERTY_RULE_ABSENT_CHILD_FOUND.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_ABSENT_CHILD_FOUND, ( Object[] )args );
+                        }
+                        break;
+                    }
+                }
+
+                break;
+            }
+            case SAME_NAME_SIBLING:
+                assert false; // not a valid rule and should be caught by XSD validation
+                break;
+            default:
+                assert false; // need to add a new case statement
+                break;
+        }
+
+        if ( StringUtils.isBlank( errorMsg ) ) {
+            return new ResultImpl( kobject.getAbsolutePath(), this.name, Level.OK, StringConstants.EMPTY_STRING );
+        }
+
+        return new ResultImpl( kobject.getAbsolutePath(), this.name, this.severity, errorMsg );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getDescription(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public String getDescription( final UnitOfWork transaction ) throws KException {
+        return current( transaction ).getMessage( MessageKey.DESCRIPTION.name() );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getJcrName(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public String getJcrName( final UnitOfWork transaction ) throws KException {
+        return current( transaction ).jcrName;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getMessage(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      java.lang.String)
+     */
+    @Override
+    public String getMessage( final UnitOfWork transaction,
+                              final String key ) throws KException {
+        return current( transaction ).getMessage( key );
+    }
+
+    private String getMessage( final String key ) {
+        final Map< String, String > texts = this.messages.get( key );
+
+        if ( texts == null ) {
+            return null;
+        }
+
+        // same fallback as the repository rule: full locale, then language and country, then language
+        String text = texts.get( RuleImpl.getLocaleCode( true, true ) );
+
+        if ( text == null ) {
+            text = texts.get( RuleImpl.getLocaleCode( true, false ) );
+
+            if ( text == null ) {
+                text = texts.get( RuleImpl.getLocaleCode( false, false ) );
+            }
+        }
+
+        return text;
+    }
+
+    /*
+     * Gets the message for the specified key.  If a 'message' is not found for the key, the rule 'definition' is returned.
+     */
+    private String getMessageOrDescription( final String key ) {
+        String errorMsg = getMessage( key );
+
+        // if error message for specified key not found, use description.
+        if ( StringUtils.isBlank( errorMsg ) ) {
+            errorMsg = getMessage( MessageKey.DESCRIPTION.name() );
+        }
+
+        return errorMsg;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getName(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public String getName( final UnitOfWork transaction ) {
+        return this.name;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getNodeType(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public String getNodeType( final UnitOfWork transaction ) throws KException {
+        return current( transaction ).nodeType;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getPropRestrictions(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      org.komodo.spi.repository.validation.Rule.PropertyRestriction)
+     */
+    @Override
+    public Map< String, String > getPropRestrictions( final UnitOfWork transaction,
+                                                      final PropertyRestriction restrictionType ) throws KException {
+        final CompiledRule current = current( transaction );
+        return new HashMap<>( ( restrictionType == PropertyRestriction.NODE ) ? current.nodeRestrictions
+                                                                              : current.childRestrictions );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getRuleType(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public RuleType getRuleType( final UnitOfWork transaction ) throws KException {
+        final CompiledRule current = current( transaction );
+
+        if ( current.typeError != null ) {
+            throw current.typeError;
+        }
+
+        return current.ruleType;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getSeverity(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public Level getSeverity( final UnitOfWork transaction ) throws KException {
+        return current( transaction ).severity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#getValidationType(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public ValidationType getValidationType( final UnitOfWork transaction ) throws KException {
+        final CompiledRule current = current( transaction );
+
+        if ( current.typeError != null ) {
+            throw current.typeError;
+        }
+
+        return current.validationType;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#isApplicable(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      org.komodo.spi.repository.KomodoObject)
+     */
+    @Override
+    public boolean isApplicable( final UnitOfWork transaction,
+                                 final KomodoObject kObject ) throws KException {
+        final CompiledRule current = current( transaction );
+        return ValidationUtils.objectTypeMatches( transaction, kObject, current.nodeType )
+               && ValidationUtils.objectPropsPassRestrictions( transaction, kObject, current.nodeRestrictions );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#isEnabled(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public boolean isEnabled( final UnitOfWork transaction ) throws KException {
+        return current( transaction ).enabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#isRequired(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public boolean isRequired( final UnitOfWork transaction ) throws KException {
+        final Boolean value = current( transaction ).required;
+        return ( value == null ) ? true : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#setEnabled(org.komodo.spi.repository.Repository.UnitOfWork, boolean)
+     */
+    @Override
+    public void setEnabled( final UnitOfWork transaction,
+                            final boolean newEnabled ) throws KException {
+        new RuleImpl( transaction, this.repository, this.path ).setEnabled( transaction, newEnabled );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#setRequired(org.komodo.spi.repository.Repository.UnitOfWork, boolean)
+     */
+    @Override
+    public void setRequired( final UnitOfWork transaction,
+                             final boolean newRequired ) throws KException {
+        new RuleImpl( transaction, this.repository, this.path ).setRequired( transaction, newRequired );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.validation.Rule#setSeverity(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      org.komodo.spi.outcome.Outcome.Level)
+     */
+    @Override
+    public void setSeverity( final UnitOfWork transaction,
+                             final Level newLevel ) throws KException {
+        new RuleImpl( transaction, this.repository, this.path ).setSeverity( transaction, newLevel );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return this.path;
+    }
+
+}
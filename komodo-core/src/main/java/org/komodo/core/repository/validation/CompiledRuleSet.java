@@ -0,0 +1,322 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.core.repository.validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.komodo.spi.KException;
+import org.komodo.spi.repository.Descriptor;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+
+/**
+ * The validation rules of a validation area compiled into {@link CompiledRule immutable rules} and indexed by node type and
+ * node restriction property name and value. Finding the rules applicable to an object only reads the object's types and the
+ * values of the restriction properties. The set is versioned by a digest of the rule definitions, so compiling the same rules
+ * again, for instance when they are reloaded at startup, gives the same version.
+ */
+final class CompiledRuleSet {
+
+    /**
+     * The rules of one node type.
+     */
+    private static class TypeIndex {
+
+        /**
+         * Rules without a node property restriction.
+         */
+        private final List< CompiledRule > unrestricted = new ArrayList<>();
+
+        /**
+         * Restricted rules keyed by restriction property name then by required property value.
+         */
+        private final Map< String, Map< String, List< CompiledRule > > > restricted = new HashMap<>();
+
+        void add( final CompiledRule rule ) {
+            final Map< String, String > restrictions = rule.getNodeRestrictions();
+
+            if ( restrictions.isEmpty() ) {
+                this.unrestricted.add( rule );
+            } else {
+                // only the first restriction is checked, see ValidationUtils.objectPropsPassRestrictions
+                final String propName = restrictions.keySet().iterator().next();
+                Map< String, List< CompiledRule > > byValue = this.restricted.get( propName );
+
+                if ( byValue == null ) {
+                    byValue = new HashMap<>();
+                    this.restricted.put( propName, byValue );
+                }
+
+                List< CompiledRule > rules = byValue.get( restrictions.get( propName ) );
+
+                if ( rules == null ) {
+                    rules = new ArrayList<>();
+                    byValue.put( restrictions.get( propName ), rules );
+                }
+
+                rules.add( rule );
+            }
+        }
+
+        void collect( final UnitOfWork transaction,
+                      final KomodoObject kobject,
+                      final Map< String, CompiledRule > result ) throws KException {
+            addAll( this.unrestricted, result );
+
+            for ( final Map.Entry< String, Map< String, List< CompiledRule > > > entry : this.restricted.entrySet() ) {
+                final String propName = entry.getKey();
+
+                if ( kobject.hasRawProperty( transaction, propName ) ) {
+                    final Property prop = kobject.getRawProperty( transaction, propName );
+                    final List< CompiledRule > rules = entry.getValue().get( prop.getStringValue( transaction ) );
+
+                    if ( rules != null ) {
+                        addAll( rules, result );
+                    }
+                }
+            }
+        }
+
+        private static void addAll( final List< CompiledRule > rules,
+                                    final Map< String, CompiledRule > result ) {
+            for ( final CompiledRule rule : rules ) {
+                result.put( rule.getAbsolutePath(), rule );
+            }
+        }
+
+    }
+
+    private static final String JCR_PREFIX = "jcr:"; //$NON-NLS-1$
+
+    private static final String MODE_PREFIX = "mode:"; //$NON-NLS-1$
+
+    private static final Comparator< CompiledRule > ORDINAL_SORTER = new Comparator< CompiledRule >() {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+         */
+        @Override
+        public int compare( final CompiledRule thisRule,
+                            final CompiledRule thatRule ) {
+            return Integer.compare( thisRule.getOrdinal(), thatRule.getOrdinal() );
+        }
+
+    };
+
+    /**
+     * @param transaction
+     *        the transaction used to read the rule definitions (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param validationArea
+     *        the node whose children are the rules (cannot be <code>null</code>)
+     * @param manager
+     *        the manager providing the rules as compiled for a transaction with pending rule changes (can be <code>null</code>)
+     * @return the compiled rules (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs reading the rules
+     */
+    static CompiledRuleSet compile( final UnitOfWork transaction,
+                                    final KomodoObject validationArea,
+                                    final ValidationManagerImpl manager ) throws KException {
+        final KomodoObject[] kids = validationArea.getChildren( transaction );
+        final List< CompiledRule > rules = new ArrayList<>( kids.length );
+        final MessageDigest digest = createDigest();
+        int ordinal = 0;
+
+        for ( final KomodoObject kid : kids ) {
+            final RuleImpl rule = new RuleImpl( transaction, validationArea.getRepository(), kid.getAbsolutePath() );
+            rules.add( CompiledRule.compile( transaction, rule, ordinal++, manager ) );
+            digest( transaction, kid, digest );
+        }
+
+        return new CompiledRuleSet( rules, ByteBuffer.wrap( digest.digest() ).getLong() );
+    }
+
+    private static MessageDigest createDigest() throws KException {
+        try {
+            return MessageDigest.getInstance( "SHA-256" ); //$NON-NLS-1$
+        } catch ( final NoSuchAlgorithmException e ) {
+            throw new KException( e );
+        }
+    }
+
+    /*
+     * Adds the name, type, properties and children of a rule node to the digest. Repository maintained properties, like
+     * identifiers, differ every time the rules are loaded so are left out.
+     */
+    private static void digest( final UnitOfWork transaction,
+                                final KomodoObject node,
+                                final MessageDigest digest ) throws KException {
+        update( digest, node.getName( transaction ) );
+        update( digest, node.getPrimaryType( transaction ).getName() );
+
+        final String[] propNames = node.getRawPropertyNames( transaction );
+        Arrays.sort( propNames );
+
+        for ( final String propName : propNames ) {
+            if ( propName.startsWith( JCR_PREFIX ) || propName.startsWith( MODE_PREFIX ) ) {
+                continue;
+            }
+
+            final Property property = node.getRawProperty( transaction, propName );
+            update( digest, propName );
+
+            if ( property.isMultiple( transaction ) ) {
+                for ( final String value : property.getStringValues( transaction ) ) {
+                    update( digest, value );
+                }
+            } else {
+                update( digest, property.getStringValue( transaction ) );
+            }
+        }
+
+        final KomodoObject[] kids = node.getRawChildren( transaction );
+        update( digest, Integer.toString( kids.length ) );
+
+        for ( final KomodoObject kid : kids ) {
+            digest( transaction, kid, digest );
+        }
+    }
+
+    private static void update( final MessageDigest digest,
+                                final String value ) {
+        if ( value != null ) {
+            digest.update( value.getBytes( StandardCharsets.UTF_8 ) );
+        }
+
+        digest.update( ( byte )0 );
+    }
+
+    private final List< CompiledRule > rules;
+    private final long version;
+    private final Map< String, CompiledRule > rulesById;
+    private final Map< String, CompiledRule > rulesByPath;
+    private final Map< String, TypeIndex > rulesByType;
+
+    private CompiledRuleSet( final List< CompiledRule > compiledRules,
+                             final long rulesVersion ) throws KException {
+        this.rules = Collections.unmodifiableList( compiledRules );
+        this.version = rulesVersion;
+        this.rulesById = new LinkedHashMap<>();
+        this.rulesByPath = new HashMap<>();
+        this.rulesByType = new HashMap<>();
+
+        for ( final CompiledRule rule : compiledRules ) {
+            this.rulesById.put( rule.getName( null ), rule );
+            this.rulesByPath.put( rule.getAbsolutePath(), rule );
+
+            TypeIndex index = this.rulesByType.get( rule.getNodeType( null ) );
+
+            if ( index == null ) {
+                index = new TypeIndex();
+                this.rulesByType.put( rule.getNodeType( null ), index );
+            }
+
+            index.add( rule );
+        }
+    }
+
+    /**
+     * @return all rules in validation area order (never <code>null</code>)
+     */
+    Collection< CompiledRule > getAllRules() {
+        return this.rules;
+    }
+
+    /**
+     * @return the digest of the rule definitions, which only changes when the rules change
+     */
+    long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @param ruleId
+     *        the identifier of the rule being requested
+     * @return the rule or <code>null</code> if not found
+     */
+    CompiledRule getRule( final String ruleId ) {
+        return this.rulesById.get( ruleId );
+    }
+
+    /**
+     * @param path
+     *        the absolute path of the repository rule
+     * @return the rule or <code>null</code> if not found
+     */
+    CompiledRule getRuleByPath( final String path ) {
+        return this.rulesByPath.get( path );
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param kobject
+     *        the object whose applicable rules are being requested (cannot be <code>null</code>)
+     * @return the applicable rules, both enabled and disabled, in validation area order and each only once even when indexed
+     *         under both the object's primary type and a mixin (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    List< CompiledRule > getApplicableRules( final UnitOfWork transaction,
+                                             final KomodoObject kobject ) throws KException {
+        final Map< String, CompiledRule > applicable = new HashMap<>();
+
+        final TypeIndex primaryIndex = this.rulesByType.get( kobject.getPrimaryType( transaction ).getName() );
+
+        if ( primaryIndex != null ) {
+            primaryIndex.collect( transaction, kobject, applicable );
+        }
+
+        for ( final Descriptor mixin : kobject.getDescriptors( transaction ) ) {
+            final TypeIndex mixinIndex = this.rulesByType.get( mixin.getName() );
+
+            if ( mixinIndex != null ) {
+                mixinIndex.collect( transaction, kobject, applicable );
+            }
+        }
+
+        final List< CompiledRule > result = new ArrayList<>( applicable.values() );
+
+        if ( result.size() > 1 ) {
+            Collections.sort( result, ORDINAL_SORTER );
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,416 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.core.repository.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.komodo.core.KomodoLexicon;
+import org.komodo.core.KomodoLexicon.ValidationResult;
+import org.komodo.core.repository.KChangeSetListener;
+import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.core.repository.SynchronousCallback;
+import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.lexicon.LexiconConstants.NTLexicon;
+import org.komodo.spi.outcome.Outcome.Level;
+import org.komodo.spi.repository.KObjectFactory;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.validation.Result;
+import org.komodo.utils.KLog;
+import org.komodo.utils.StringUtils;
+
+/**
+ * Validates the workspace objects changed by each committed transaction on a background thread and persists the results that
+ * did not pass below the validation results area. The results node of an object mirrors the object's path relative to the
+ * workspace, with same name sibling indexes escaped into the node names, and is tagged with the version of the rules it was
+ * evaluated with, so changing the rules invalidates every persisted result without having to remove them.
+ */
+final class IncrementalValidator implements KChangeSetListener, StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final String TXN_NAME = "incremental-validation"; //$NON-NLS-1$
+
+    private static final String WORKSPACE_ROOT = RepositoryImpl.KOMODO_ROOT + FORWARD_SLASH + KomodoLexicon.Komodo.WORKSPACE;
+
+    private static final long COMMIT_TIMEOUT = 30;
+
+    private static final String PERCENT_ESCAPE = "%25"; //$NON-NLS-1$
+
+    private static final String OPEN_SQUARE_BRACKET_ESCAPE = "%5B"; //$NON-NLS-1$
+
+    private static final String CLOSE_SQUARE_BRACKET_ESCAPE = "%5D"; //$NON-NLS-1$
+
+    private static final String[] RESULT_PROPERTIES = { ValidationResult.RULE_IDS,
+                                                        ValidationResult.LEVELS,
+                                                        ValidationResult.MESSAGES };
+
+    /**
+     * @param path
+     *        the absolute path of an object (cannot be <code>null</code>)
+     * @return <code>true</code> if the object is below the workspace area and can have persisted results
+     */
+    static boolean isWorkspacePath( final String path ) {
+        return path.startsWith( WORKSPACE_ROOT + FORWARD_SLASH );
+    }
+
+    /**
+     * @param path
+     *        the absolute path of a workspace object (cannot be <code>null</code>)
+     * @return the absolute path of the node holding the object's persisted results (never empty)
+     */
+    static String getResultsPath( final String path ) {
+        final StringBuilder resultsPath = new StringBuilder( RepositoryImpl.VALIDATION_RESULTS_ROOT );
+
+        for ( final String segment : path.substring( WORKSPACE_ROOT.length() + 1 ).split( FORWARD_SLASH ) ) {
+            resultsPath.append( FORWARD_SLASH ).append( escape( segment ) );
+        }
+
+        return resultsPath.toString();
+    }
+
+    /*
+     * Same name sibling indexes cannot be part of a node name so the brackets are escaped, as is the escape character so that
+     * no two objects share a results node
+     */
+    private static String escape( final String segment ) {
+        return segment.replace( PERCENT, PERCENT_ESCAPE )
+                      .replace( OPEN_SQUARE_BRACKET, OPEN_SQUARE_BRACKET_ESCAPE )
+                      .replace( CLOSE_SQUARE_BRACKET, CLOSE_SQUARE_BRACKET_ESCAPE );
+    }
+
+    private static String unescape( final String name ) {
+        return name.replace( OPEN_SQUARE_BRACKET_ESCAPE, OPEN_SQUARE_BRACKET )
+                   .replace( CLOSE_SQUARE_BRACKET_ESCAPE, CLOSE_SQUARE_BRACKET )
+                   .replace( PERCENT_ESCAPE, PERCENT );
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param repository
+     *        the repository containing the results (cannot be <code>null</code>)
+     * @param path
+     *        the absolute path of a workspace object (cannot be <code>null</code>)
+     * @param rulesVersion
+     *        the version of the current rules
+     * @return the persisted results of the object and its descendants that did not pass or <code>null</code> if the object has
+     *         not been validated with the current rules
+     * @throws KException
+     *         if an error occurs
+     */
+    static Collection< Result > getResults( final UnitOfWork transaction,
+                                            final Repository repository,
+                                            final String path,
+                                            final long rulesVersion ) throws KException {
+        if ( !isWorkspacePath( path ) ) {
+            return null;
+        }
+
+        final KomodoObject resultsNode = repository.getObjectFactory().getNode( transaction, repository, getResultsPath( path ) );
+
+        if ( ( resultsNode == null ) || !isCurrent( transaction, resultsNode, rulesVersion ) ) {
+            return null;
+        }
+
+        final List< Result > results = new ArrayList<>();
+        collectResults( transaction, resultsNode, path, rulesVersion, results );
+        return results;
+    }
+
+    private static boolean isCurrent( final UnitOfWork transaction,
+                                      final KomodoObject resultsNode,
+                                      final long rulesVersion ) throws KException {
+        final Property property = resultsNode.getProperty( transaction, ValidationResult.RULES_VERSION );
+
+        if ( property == null ) {
+            return false;
+        }
+
+        final Long version = property.getLongValue( transaction );
+        return ( ( version != null ) && ( version.longValue() == rulesVersion ) );
+    }
+
+    private static void collectResults( final UnitOfWork transaction,
+                                        final KomodoObject resultsNode,
+                                        final String path,
+                                        final long rulesVersion,
+                                        final List< Result > results ) throws KException {
+        final String[] ruleIds = getValues( transaction, resultsNode, ValidationResult.RULE_IDS );
+        final String[] levels = getValues( transaction, resultsNode, ValidationResult.LEVELS );
+        final String[] messages = getValues( transaction, resultsNode, ValidationResult.MESSAGES );
+
+        for ( int i = 0; i < ruleIds.length; ++i ) {
+            results.add( new CompiledRule.ResultImpl( path, ruleIds[ i ], Level.valueOf( levels[ i ] ), messages[ i ] ) );
+        }
+
+        // descendants not yet validated with the current rules are still being validated
+        for ( final KomodoObject kid : resultsNode.getChildren( transaction ) ) {
+            if ( isCurrent( transaction, kid, rulesVersion ) ) {
+                final String kidPath = path + FORWARD_SLASH + unescape( kid.getName( transaction ) );
+                collectResults( transaction, kid, kidPath, rulesVersion, results );
+            }
+        }
+    }
+
+    private static String[] getValues( final UnitOfWork transaction,
+                                       final KomodoObject resultsNode,
+                                       final String propertyName ) throws KException {
+        final Property property = resultsNode.getProperty( transaction, propertyName );
+
+        if ( property == null ) {
+            return new String[ 0 ];
+        }
+
+        if ( property.isMultiple( transaction ) ) {
+            return property.getStringValues( transaction );
+        }
+
+        return new String[] { property.getStringValue( transaction ) };
+    }
+
+    private final ValidationManagerImpl manager;
+    private final Repository repository;
+    private final ExecutorService executor;
+
+    /**
+     * The objects queued for revalidation, so repeated requests for the same stale object are only validated once.
+     */
+    private final Set< String > revalidating = Collections.newSetFromMap( new ConcurrentHashMap< String, Boolean >() );
+
+    /**
+     * @param validationManager
+     *        the manager whose rules are evaluated (cannot be <code>null</code>)
+     * @param repo
+     *        the repository whose changes are validated (cannot be <code>null</code>)
+     */
+    IncrementalValidator( final ValidationManagerImpl validationManager,
+                          final Repository repo ) {
+        this.manager = validationManager;
+        this.repository = repo;
+        this.executor = Executors.newSingleThreadExecutor( new ThreadFactory() {
+
+            @Override
+            public Thread newThread( final Runnable runnable ) {
+                final Thread thread = new Thread( runnable, "Incremental Validation" ); //$NON-NLS-1$
+                thread.setDaemon( true );
+                return thread;
+            }
+        } );
+    }
+
+    /**
+     * Stops validating. Change sets not yet validated are discarded.
+     */
+    void dispose() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.core.repository.KChangeSetListener#changeSetCompleted(java.util.Set, java.util.Set)
+     */
+    @Override
+    public void changeSetCompleted( final Set< String > changedPaths,
+                                    final Set< String > sequencedPaths ) {
+        // changes to the validation results area, or anywhere else outside the workspace, are never validated
+        final Set< String > changed = workspacePaths( changedPaths );
+        final Set< String > sequenced = workspacePaths( sequencedPaths );
+
+        if ( changed.isEmpty() && sequenced.isEmpty() ) {
+            return;
+        }
+
+        this.executor.execute( new Runnable() {
+
+            @Override
+            public void run() {
+                validate( changed, sequenced );
+            }
+        } );
+    }
+
+    /**
+     * Rebuilds the results of a workspace object and its descendants on the background thread. Used when the persisted results
+     * are missing or were evaluated with rules that have since changed.
+     *
+     * @param path
+     *        the absolute path of the object (cannot be <code>null</code>)
+     */
+    void revalidate( final String path ) {
+        if ( !isWorkspacePath( path ) || !this.revalidating.add( path ) ) {
+            return;
+        }
+
+        try {
+            this.executor.execute( new Runnable() {
+
+                @Override
+                public void run() {
+                    revalidating.remove( path );
+                    validate( Collections.< String >emptySet(), Collections.singleton( path ) );
+                }
+            } );
+        } catch ( final RejectedExecutionException e ) {
+            // disposed
+            this.revalidating.remove( path );
+        }
+    }
+
+    private Set< String > workspacePaths( final Set< String > paths ) {
+        final Set< String > result = new HashSet<>();
+
+        for ( final String path : paths ) {
+            if ( isWorkspacePath( path ) ) {
+                result.add( path );
+            }
+        }
+
+        return result;
+    }
+
+    private void validate( final Set< String > changed,
+                           final Set< String > sequenced ) {
+        final SynchronousCallback callback = new SynchronousCallback();
+        UnitOfWork uow = null;
+
+        try {
+            uow = this.repository.createTransaction( Repository.SYSTEM_USER, TXN_NAME, false, callback );
+            this.repository.komodoEnvironment( uow );
+
+            final CompiledRuleSet rules = this.manager.getCompiledRules( uow );
+            final long rulesVersion = rules.getVersion();
+
+            // a sequencer replaced everything below these objects so their results are rebuilt
+            for ( final String path : sequenced ) {
+                validate( uow, path, true, rules, rulesVersion );
+            }
+
+            for ( final String path : changed ) {
+                validate( uow, path, false, rules, rulesVersion );
+            }
+
+            uow.commit();
+
+            // wait so that the next change set does not save over this one
+            if ( !callback.await( COMMIT_TIMEOUT, TimeUnit.SECONDS ) ) {
+                LOGGER.error( "IncrementalValidator: timed out persisting validation results" ); //$NON-NLS-1$
+            } else if ( callback.hasError() ) {
+                LOGGER.error( "IncrementalValidator: error persisting validation results", callback.error() ); //$NON-NLS-1$
+            }
+        } catch ( final Exception e ) {
+            LOGGER.error( "IncrementalValidator: error validating changes", e ); //$NON-NLS-1$
+
+            if ( ( uow != null ) && !uow.getState().isFinal() ) {
+                uow.rollback();
+            }
+        }
+    }
+
+    private void validate( final UnitOfWork uow,
+                           final String path,
+                           final boolean subtree,
+                           final CompiledRuleSet rules,
+                           final long rulesVersion ) throws KException {
+        final KObjectFactory factory = this.repository.getObjectFactory();
+        final String resultsPath = getResultsPath( path );
+        final KomodoObject existing = factory.getNode( uow, this.repository, resultsPath );
+
+        if ( !factory.hasNode( uow, path ) ) {
+            // object has been removed so remove its results and the results of its descendants
+            if ( existing != null ) {
+                existing.remove( uow );
+            }
+
+            return;
+        }
+
+        if ( subtree && ( existing != null ) ) {
+            existing.remove( uow );
+        }
+
+        store( uow, factory.getNode( uow, this.repository, path ), resultsPath, subtree, rules, rulesVersion );
+    }
+
+    private void store( final UnitOfWork uow,
+                        final KomodoObject kobject,
+                        final String resultsPath,
+                        final boolean subtree,
+                        final CompiledRuleSet rules,
+                        final long rulesVersion ) throws KException {
+        final List< Result > results = new ArrayList<>();
+        this.manager.evaluate( uow, kobject, false, rules, results );
+
+        final List< String > ruleIds = new ArrayList<>();
+        final List< String > levels = new ArrayList<>();
+        final List< String > messages = new ArrayList<>();
+
+        for ( final Result result : results ) {
+            if ( !result.isOK() ) {
+                ruleIds.add( result.getRuleId() );
+                levels.add( result.getLevel().name() );
+                messages.add( StringUtils.isBlank( result.getMessage() ) ? result.getRuleId() : result.getMessage() );
+            }
+        }
+
+        final KomodoObject resultsNode = this.repository.getObjectFactory().create( uow,
+                                                                                   this.repository,
+                                                                                   resultsPath,
+                                                                                   NTLexicon.NT_UNSTRUCTURED );
+
+        for ( final String propertyName : RESULT_PROPERTIES ) {
+            if ( resultsNode.hasProperty( uow, propertyName ) ) {
+                resultsNode.setProperty( uow, propertyName, ( Object[] )null );
+            }
+        }
+
+        if ( !ruleIds.isEmpty() ) {
+            resultsNode.setProperty( uow, ValidationResult.RULE_IDS, ruleIds.toArray() );
+            resultsNode.setProperty( uow, ValidationResult.LEVELS, levels.toArray() );
+            resultsNode.setProperty( uow, ValidationResult.MESSAGES, messages.toArray() );
+        }
+
+        resultsNode.setProperty( uow, ValidationResult.RULES_VERSION, rulesVersion );
+
+        if ( subtree ) {
+            for ( final KomodoObject kid : kobject.getChildren( uow ) ) {
+                final String kidPath = kid.getAbsolutePath();
+                store( uow, kid, getResultsPath( kidPath ), true, rules, rulesVersion );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.core.repository.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.komodo.core.repository.ObjectImpl;
+import org.komodo.spi.KException;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.validation.Result;
+
+/**
+ * A full validation of a tree of objects split across a fork/join pool. Each task validates a subtree using its own read-only
+ * transaction and forks its children as new tasks while the pool has idle workers, otherwise it validates them itself. Results
+ * are collected in a concurrent queue in no particular order.
+ */
+final class ParallelEvaluation implements Future< Collection< Result > > {
+
+    /**
+     * Children are validated by the current task, instead of being forked, once this many forked tasks are waiting.
+     */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    private static final String TXN_NAME = "parallel-validation"; //$NON-NLS-1$
+
+    private class SubtreeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+
+        SubtreeTask( final String subtreePath ) {
+            this.path = subtreePath;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute() {
+            if ( ParallelEvaluation.this.cancelled ) {
+                return;
+            }
+
+            final List< SubtreeTask > forked = new ArrayList<>();
+            UnitOfWork uow = null;
+
+            try {
+                uow = repository.createTransaction( userName, TXN_NAME, true, null );
+                evaluate( uow, new ObjectImpl( repository, this.path, 0 ), forked );
+            } catch ( final Exception e ) {
+                failed( e );
+            } finally {
+                if ( uow != null ) {
+                    uow.rollback();
+                }
+            }
+
+            for ( final SubtreeTask task : forked ) {
+                task.join();
+            }
+        }
+
+        private void evaluate( final UnitOfWork uow,
+                               final KomodoObject kobject,
+                               final List< SubtreeTask > forked ) throws KException {
+            if ( ParallelEvaluation.this.cancelled ) {
+                return;
+            }
+
+            manager.evaluate( uow, kobject, false, rules, results );
+
+            for ( final KomodoObject kid : kobject.getChildren( uow ) ) {
+                if ( getSurplusQueuedTaskCount() < MAX_SURPLUS_TASKS ) {
+                    final SubtreeTask task = new SubtreeTask( kid.getAbsolutePath() );
+                    task.fork();
+                    forked.add( task );
+                } else {
+                    evaluate( uow, kid, forked );
+                }
+            }
+        }
+
+    }
+
+    private final ValidationManagerImpl manager;
+    private final Repository repository;
+    private final String userName;
+    private final CompiledRuleSet rules;
+    private final Queue< Result > results = new ConcurrentLinkedQueue<>();
+    private final AtomicReference< Exception > error = new AtomicReference<>();
+    private final SubtreeTask root;
+    private final ForkJoinPool pool;
+    private volatile boolean cancelled;
+    private volatile boolean cancelledByCaller;
+
+    /**
+     * Starts the evaluation.
+     *
+     * @param validationManager
+     *        the manager whose rules are being evaluated (cannot be <code>null</code>)
+     * @param repo
+     *        the repository containing the tree (cannot be <code>null</code>)
+     * @param user
+     *        the user the task transactions are created for
+     * @param compiledRules
+     *        the rules used for the entire evaluation (cannot be <code>null</code>)
+     * @param rootPath
+     *        the absolute path of the root of the tree being validated (cannot be empty)
+     * @param parallelism
+     *        the number of threads to validate with (must be positive)
+     */
+    ParallelEvaluation( final ValidationManagerImpl validationManager,
+                        final Repository repo,
+                        final String user,
+                        final CompiledRuleSet compiledRules,
+                        final String rootPath,
+                        final int parallelism ) {
+        this.manager = validationManager;
+        this.repository = repo;
+        this.userName = user;
+        this.rules = compiledRules;
+        this.root = new SubtreeTask( rootPath );
+
+        // the pool stops once the tree has been validated
+        this.pool = new ForkJoinPool( parallelism );
+        this.pool.execute( this.root );
+        this.pool.shutdown();
+    }
+
+    void failed( final Exception e ) {
+        // the first error ends the evaluation
+        if ( this.error.compareAndSet( null, e ) ) {
+            this.cancelled = true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#cancel(boolean)
+     */
+    @Override
+    public synchronized boolean cancel( final boolean mayInterruptIfRunning ) {
+        if ( this.cancelledByCaller || this.root.isDone() ) {
+            return false;
+        }
+
+        // queued tasks are cancelled and running tasks stop at the next object they validate
+        this.cancelledByCaller = true;
+        this.cancelled = true;
+        this.pool.shutdownNow();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#isCancelled()
+     */
+    @Override
+    public boolean isCancelled() {
+        return this.cancelledByCaller;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#isDone()
+     */
+    @Override
+    public boolean isDone() {
+        return ( this.cancelledByCaller || this.root.isDone() );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#get()
+     */
+    @Override
+    public Collection< Result > get() throws InterruptedException, ExecutionException {
+        if ( !this.cancelledByCaller ) {
+            try {
+                this.root.get();
+            } catch ( final CancellationException | ExecutionException e ) {
+                // cancelling the pool fails the tasks that were waiting on the cancelled ones
+                if ( !this.cancelledByCaller ) {
+                    throw e;
+                }
+            }
+        }
+
+        return getResults();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#get(long, java.util.concurrent.TimeUnit)
+     */
+    @Override
+    public Collection< Result > get( final long timeout,
+                                     final TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException {
+        if ( !this.cancelledByCaller ) {
+            try {
+                this.root.get( timeout, unit );
+            } catch ( final CancellationException | ExecutionException e ) {
+                if ( !this.cancelledByCaller ) {
+                    throw e;
+                }
+            }
+        }
+
+        return getResults();
+    }
+
+    private Collection< Result > getResults() throws ExecutionException {
+        if ( this.cancelledByCaller ) {
+            throw new CancellationException();
+        }
+
+        final Exception e = this.error.get();
+
+        if ( e != null ) {
+            throw new ExecutionException( e );
+        }
+
+        return Collections.unmodifiableCollection( this.results );
+    }
+
+}
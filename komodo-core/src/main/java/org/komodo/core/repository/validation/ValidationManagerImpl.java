@@ -29,15 +29,28 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.komodo.core.Messages;
+import org.komodo.core.repository.KChangeSetListener;
+import org.komodo.core.repository.LocalRepository;
+import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.spi.KEvent;
 import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.spi.repository.ValidationManager;
 import org.komodo.spi.repository.validation.Result;
 import org.komodo.spi.repository.validation.Rule;
@@ -46,7 +59,11 @@ import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
 
 /**
- * An implementation of an {@link ValidationManager} that can be used by repositories.
+ * An implementation of an {@link ValidationManager} that can be used by repositories. The rules of the validation area are
+ * compiled once into a {@link CompiledRuleSet} that is shared by all transactions and recompiled after a transaction that changed
+ * the rules, through this manager, completes, after any committed change below the validation area or when the repository is
+ * cleared. The results persisted by the {@link IncrementalValidator} are tagged with the version of the compiled rules, which is
+ * derived from the rule definitions, so they stay valid across restarts and are only invalidated by an actual rule change.
  */
 public class ValidationManagerImpl implements ValidationManager {
 
@@ -58,6 +75,71 @@ public class ValidationManagerImpl implements ValidationManager {
     private boolean defaultRulesExist = false;
     private KomodoObject validationAreaRoot;
 
+    /**
+     * The compiled rules of the last committed validation area or <code>null</code> if they need to be compiled.
+     */
+    private CompiledRuleSet compiledRules;
+
+    private volatile IncrementalValidator incrementalValidator;
+
+    /**
+     * Transactions that have changed the validation area but have not yet completed. Checked without locking by every rule
+     * evaluation.
+     */
+    private final Set< UnitOfWork > pendingChanges = Collections.newSetFromMap( new ConcurrentHashMap< UnitOfWork, Boolean >() );
+
+    /**
+     * The rules compiled by transactions with pending changes, discarded each time the transaction changes rules again.
+     */
+    private final Map< UnitOfWork, CompiledRuleSet > transactionRules = new ConcurrentHashMap<>();
+
+    private final KChangeSetListener rulesListener = new KChangeSetListener() {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.core.repository.KChangeSetListener#changeSetCompleted(java.util.Set, java.util.Set)
+         */
+        @Override
+        public void changeSetCompleted( final Set< String > changedPaths,
+                                        final Set< String > sequencedPaths ) {
+            // rules can also be changed without going through this manager, for instance by a RuleImpl setter
+            for ( final String path : changedPaths ) {
+                if ( isValidationAreaPath( path ) ) {
+                    rulesChanged( null );
+                    return;
+                }
+            }
+        }
+
+    };
+
+    private final RepositoryObserver clearObserver = new RepositoryObserver() {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.KObserver#eventOccurred(org.komodo.spi.KEvent)
+         */
+        @Override
+        public void eventOccurred( final KEvent< ? > event ) {
+            if ( event.getType() == KEvent.Type.REPOSITORY_CLEARED ) {
+                rulesChanged( null );
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.KObserver#errorOccurred(java.lang.Throwable)
+         */
+        @Override
+        public void errorOccurred( final Throwable e ) {
+            // nothing to do
+        }
+
+    };
+
     /**
      * @param repo
      *        the repository where the validation rules are stored (cannot be <code>null</code>)
@@ -66,9 +148,20 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isNotNull( repo, "repo" ); //$NON-NLS-1$
 
         this.repo = repo;
+        this.repo.addObserver( this.clearObserver );
+
+        if ( this.repo instanceof LocalRepository ) {
+            ( ( LocalRepository )this.repo ).addChangeSetListener( this.rulesListener );
+        }
+
         initRulesXsd();
     }
 
+    private static boolean isValidationAreaPath( final String path ) {
+        return path.equals( RepositoryImpl.VALIDATION_ROOT )
+               || path.startsWith( RepositoryImpl.VALIDATION_ROOT + StringConstants.FORWARD_SLASH );
+    }
+
     /**
      * @param uow
      *        the transaction (cannot be <code>null</code> and must have a state of
@@ -84,6 +177,7 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isTrue( ( uow.getState() == State.NOT_STARTED ), "transaction state must be NOT_STARTED" ); //$NON-NLS-1$
 
         try {
+            rulesChanged( uow );
             clearValidationRules( uow );
             loadRules( uow );
         } catch ( final Exception e ) {
@@ -205,6 +299,8 @@ public class ValidationManagerImpl implements ValidationManager {
         // If rules exist, no need to reload - unless overwriting
         if(defaultRulesExist && !overwriteExisting) return;
 
+        rulesChanged( uow );
+
         try {
             RuleParser parser = new RuleParser(rulesSchemaFile, this.repo, uow);
 
@@ -228,7 +324,86 @@ public class ValidationManagerImpl implements ValidationManager {
         return this.validationAreaRoot;
     }
 
+    /**
+     * Discards the compiled rules once the supplied transaction completes. Until then the transaction compiles its own rules so
+     * that it sees its uncommitted changes.
+     *
+     * @param uow
+     *        the transaction that changed the validation area (can be <code>null</code> if the change is already visible to all
+     *        transactions)
+     */
+    synchronized void rulesChanged( final UnitOfWork uow ) {
+        if ( uow == null ) {
+            discardCompiledRules();
+        } else {
+            this.pendingChanges.add( uow );
+            this.transactionRules.remove( uow );
+        }
+    }
+
+    /**
+     * @param uow
+     *        the transaction being checked (cannot be <code>null</code>)
+     * @return <code>true</code> if the transaction has changed rules and has not yet completed
+     */
+    boolean hasPendingChanges( final UnitOfWork uow ) {
+        return this.pendingChanges.contains( uow );
+    }
+
+    private void discardCompiledRules() {
+        this.compiledRules = null;
+    }
+
+    synchronized CompiledRuleSet getCompiledRules( final UnitOfWork transaction ) throws KException {
+        for ( final Iterator< UnitOfWork > itr = this.pendingChanges.iterator(); itr.hasNext(); ) {
+            final UnitOfWork pending = itr.next();
+            final State state = pending.getState();
+
+            if ( state.isFinal() ) {
+                itr.remove();
+                this.transactionRules.remove( pending );
+
+                if ( state != State.ROLLED_BACK ) {
+                    discardCompiledRules();
+                }
+            }
+        }
+
+        if ( this.pendingChanges.contains( transaction ) ) {
+            CompiledRuleSet pendingRules = this.transactionRules.get( transaction );
+
+            if ( pendingRules == null ) {
+                pendingRules = CompiledRuleSet.compile( transaction, getValidationAreaRoot( transaction ), this );
+                this.transactionRules.put( transaction, pendingRules );
+            }
+
+            return pendingRules;
+        }
+
+        if ( this.compiledRules == null ) {
+            this.compiledRules = CompiledRuleSet.compile( transaction, getValidationAreaRoot( transaction ), this );
+        }
+
+        return this.compiledRules;
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param path
+     *        the absolute path of the repository rule (cannot be empty)
+     * @return the rule as compiled for the transaction or <code>null</code> if the rule is not in the validation area
+     * @throws KException
+     *         if an error occurs compiling the rules
+     */
+    CompiledRule getCompiledRule( final UnitOfWork transaction,
+                                  final String path ) throws KException {
+        return getCompiledRules( transaction ).getRuleByPath( path );
+    }
+
     protected void clearValidationRules(final UnitOfWork uow) throws Exception {
+        rulesChanged( uow );
         KomodoObject defaultValidationArea = RuleFactory.getValidationDefaultAreaNode(uow, this.repo);
         KomodoObject[] rules = defaultValidationArea.getChildren(uow);
         for(KomodoObject rule : rules) {
@@ -247,11 +422,9 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         final List< Rule > result = new ArrayList<>();
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
 
         // Collect all available Rules
-        for ( final KomodoObject kobject : defaultValidationArea.getChildren( transaction ) ) {
-            final Rule rule = new RuleImpl( transaction, this.repo, kobject.getAbsolutePath() );
+        for ( final CompiledRule rule : getCompiledRules( transaction ).getAllRules() ) {
             if(rule.isEnabled(transaction)) {
                 result.add( rule );
             } else {
@@ -276,14 +449,11 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
-
         // Check all available Rules for a match.
-        if(defaultValidationArea.hasChild(transaction, ruleId)) {
-            KomodoObject ruleObj = defaultValidationArea.getChild(transaction, ruleId);
-            if(ruleObj!=null) {
-                return new RuleImpl( transaction, this.repo, ruleObj.getAbsolutePath() );
-            }
+        final CompiledRule rule = getCompiledRules( transaction ).getRule( ruleId );
+
+        if ( rule != null ) {
+            return rule;
         }
 
         return new ProblemRule(ruleId, ProblemRule.Type.NOT_FOUND);
@@ -314,18 +484,20 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
+        return getRules( transaction, kObj, getCompiledRules( transaction ) );
+    }
+
+    private Rule[] getRules( final UnitOfWork transaction,
+                             final KomodoObject kObj,
+                             final CompiledRuleSet compiled ) throws KException {
         final List< Rule > result = new ArrayList<>();
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
-
-        // Check all available Rules - determine if they are applicable for the supplied object.
-        for ( final KomodoObject kobject : defaultValidationArea.getChildren( transaction ) ) {
-            final Rule rule = new RuleImpl( transaction, this.repo, kobject.getAbsolutePath() );
-            if(rule.isApplicable(transaction, kObj)) {
-                if(rule.isEnabled(transaction)) {
-                    result.add( rule );
-                } else {
-                    result.add(new ProblemRule(rule.getName(transaction),ProblemRule.Type.NOT_ENABLED));
-                }
+
+        // Only the rules indexed under the object's types and restriction property values are applicable
+        for ( final CompiledRule rule : compiled.getApplicableRules( transaction, kObj ) ) {
+            if(rule.isEnabled(transaction)) {
+                result.add( rule );
+            } else {
+                result.add(new ProblemRule(rule.getName(transaction),ProblemRule.Type.NOT_ENABLED));
             }
         }
 
@@ -371,10 +543,47 @@ public class ValidationManagerImpl implements ValidationManager {
      */
     @Override
     public Result[] evaluate(final UnitOfWork transaction, KomodoObject kObject, boolean full ) throws KException {
-        List<Result> allResults = new ArrayList<Result>();
+        ArgCheck.isNotNull( kObject, "kObject" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+
+        // the parallel tasks only see committed objects so a transaction with pending changes is validated on this thread
+        if ( full && !transaction.hasChanges() ) {
+            final Collection< Result > allResults = evaluateFully( transaction, kObject );
+            return allResults.toArray( new Result[ allResults.size() ] );
+        }
+
+        final List< Result > allResults = new ArrayList< Result >();
+        evaluate( transaction, kObject, full, getCompiledRules( transaction ), allResults );
+        return allResults.toArray( new Result[ allResults.size() ] );
+    }
 
+    private Collection< Result > evaluateFully( final UnitOfWork transaction,
+                                                final KomodoObject kObject ) throws KException {
+        final Future< Collection< Result > > evaluation = evaluateParallel( transaction, kObject, 0 );
+
+        try {
+            return evaluation.get();
+        } catch ( final InterruptedException e ) {
+            evaluation.cancel( true );
+            Thread.currentThread().interrupt();
+            throw new KException( e );
+        } catch ( final ExecutionException e ) {
+            if ( e.getCause() instanceof KException ) {
+                throw ( KException )e.getCause();
+            }
+
+            throw new KException( e.getCause() );
+        }
+    }
+
+    void evaluate( final UnitOfWork transaction,
+                   final KomodoObject kObject,
+                   final boolean full,
+                   final CompiledRuleSet compiled,
+                   final Collection< Result > allResults ) throws KException {
         // Evaluate against all rules that are valid for this object.
-        Rule[] rules = getRules(transaction, kObject);
+        Rule[] rules = getRules(transaction, kObject, compiled);
 
         for(Rule rule : rules) {
             Result result = rule.evaluate(transaction, kObject);
@@ -385,15 +594,87 @@ public class ValidationManagerImpl implements ValidationManager {
         if(full) {
             KomodoObject[] kids = kObject.getChildren(transaction);
             for(KomodoObject kid : kids) {
-                Result[] kidResults = evaluate(transaction, kid, full);
-                for(Result kidResult : kidResults) {
-                    allResults.add(kidResult);
-                }
-
+                evaluate(transaction, kid, full, compiled, allResults);
             }
 
         }
-        return allResults.toArray(new Result[ allResults.size() ]);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.ValidationManager#evaluateParallel(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      org.komodo.spi.repository.KomodoObject, int)
+     */
+    @Override
+    public Future< Collection< Result > > evaluateParallel( final UnitOfWork transaction,
+                                                            final KomodoObject kObject,
+                                                            final int parallelism ) throws KException {
+        ArgCheck.isNotNull( kObject, "kObject" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNonNegative( parallelism, "parallelism must not be negative" ); //$NON-NLS-1$
+
+        final int threads = ( ( parallelism == 0 ) ? Runtime.getRuntime().availableProcessors() : parallelism );
+        return new ParallelEvaluation( this,
+                                       this.repo,
+                                       transaction.getUserName(),
+                                       getCompiledRules( transaction ),
+                                       kObject.getAbsolutePath(),
+                                       threads );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.ValidationManager#setIncrementalValidationEnabled(boolean)
+     */
+    @Override
+    public synchronized void setIncrementalValidationEnabled( final boolean enabled ) {
+        if ( !( this.repo instanceof LocalRepository ) ) {
+            LOGGER.debug( "ValidationManagerImpl: incremental validation is only available for local repositories" ); //$NON-NLS-1$
+            return;
+        }
+
+        final LocalRepository localRepo = ( LocalRepository )this.repo;
+
+        if ( enabled && ( this.incrementalValidator == null ) ) {
+            this.incrementalValidator = new IncrementalValidator( this, this.repo );
+            localRepo.addChangeSetListener( this.incrementalValidator );
+        } else if ( !enabled && ( this.incrementalValidator != null ) ) {
+            localRepo.removeChangeSetListener( this.incrementalValidator );
+            this.incrementalValidator.dispose();
+            this.incrementalValidator = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.ValidationManager#getCachedResults(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      org.komodo.spi.repository.KomodoObject)
+     */
+    @Override
+    public Collection< Result > getCachedResults( final UnitOfWork transaction,
+                                                  final KomodoObject kObject ) throws KException {
+        ArgCheck.isNotNull( kObject, "kObject" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+
+        final long rulesVersion = getCompiledRules( transaction ).getVersion();
+        final Collection< Result > results = IncrementalValidator.getResults( transaction,
+                                                                              this.repo,
+                                                                              kObject.getAbsolutePath(),
+                                                                              rulesVersion );
+
+        // results missing or persisted with different rules are rebuilt in the background for the next request
+        final IncrementalValidator validator = this.incrementalValidator;
+
+        if ( ( results == null ) && ( validator != null ) ) {
+            validator.revalidate( kObject.getAbsolutePath() );
+        }
+
+        return results;
     }
 
     /**
@@ -21,6 +21,8 @@
  */
 package org.komodo.core.visitor;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -86,6 +88,16 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
 
     private StringBuilder ddlBuffer = new StringBuilder();
 
+    /**
+     * Optional destination of the ddl. When set the buffer is drained into it after every statement.
+     */
+    private Writer ddlWriter;
+
+    /**
+     * <code>true</code> once non-blank ddl has been drained into the writer
+     */
+    private boolean ddlWritten = false;
+
     private boolean includeTables = true;
 
     private boolean includeTableConstraints = true;
@@ -275,7 +287,22 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
     }
 
     /**
-     * @return the complete visited ddl string
+     * Creates a visitor that writes each statement to the given writer as soon as it has been visited rather than
+     * accumulating the whole ddl in memory. The writer is flushed but never closed by this visitor.
+     *
+     * @param version metadata version
+     * @param dataTypeService the data type service
+     * @param writer the destination of the visited ddl (cannot be <code>null</code>)
+     * @param startOnNewLine prepend new line to start of ddl string
+     * @param exclusions any items that should be excluded from visiting
+     */
+    public DdlNodeVisitor(MetadataVersion version, DataTypeService dataTypeService, Writer writer, boolean startOnNewLine, VisitorExclusions... exclusions) {
+        this(version, dataTypeService, startOnNewLine, exclusions);
+        this.ddlWriter = writer;
+    }
+
+    /**
+     * @return the complete visited ddl string (when a writer has been supplied only the ddl not yet written to it)
      */
     public String getDdl() {
         String ddl = ddlBuffer.toString();
@@ -291,8 +318,27 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
         return UNDEFINED;
     }
 
+    /**
+     * Drains the buffered ddl into the writer, if there is one. Leading blank content is held back
+     * so that a visit producing nothing writes nothing, in line with {@link #getDdl()}.
+     *
+     * @throws IOException if the writer fails
+     */
+    private void flush() throws IOException {
+        if (ddlWriter == null || ddlBuffer.length() == 0)
+            return;
+
+        if (! ddlWritten && ddlBuffer.toString().trim().isEmpty())
+            return;
+
+        ddlWriter.append(ddlBuffer);
+        ddlWriter.flush();
+        ddlBuffer.setLength(0);
+        ddlWritten = true;
+    }
+
     private DdlNodeVisitor append(Object o) {
-        if (NEW_LINE.equals(o) && ddlBuffer.length() == 0) {
+        if (NEW_LINE.equals(o) && ddlBuffer.length() == 0 && ! ddlWritten) {
             // Ignore new line calls at the start of the whole text
             return this;
         }
@@ -977,6 +1023,7 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
                     visitChildren(transaction, kObject);
             }
 
+            flush();
             return null;
         } catch (Exception ex) {
             throw new KException(ex);
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.core.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertThat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public final class RevisionTrackerTest {
+
+    private static final Set< String > NONE = Collections.emptySet();
+
+    private static Set< String > paths( final String... paths ) {
+        return new HashSet<>( Arrays.asList( paths ) );
+    }
+
+    @Test
+    public void shouldChangeRevisionOfChangedPathAndAncestors() {
+        final RevisionTracker tracker = new RevisionTracker();
+        final String workspaceTag = tracker.getTag( "/tko:komodo/tko:workspace" );
+
+        tracker.changeSetCompleted( paths( "/tko:komodo/tko:workspace/user/vdb1/model" ), NONE );
+
+        assertThat( tracker.getRevision( "/tko:komodo/tko:workspace/user/vdb1/model" ), is( 1L ) );
+        assertThat( tracker.getRevision( "/tko:komodo/tko:workspace/user/vdb1" ), is( 1L ) );
+        assertThat( tracker.getRevision( "/tko:komodo/tko:workspace/user" ), is( 1L ) );
+        assertThat( tracker.getRevision( "/" ), is( 1L ) );
+        assertThat( tracker.getTag( "/tko:komodo/tko:workspace" ), is( not( workspaceTag ) ) );
+    }
+
+    @Test
+    public void shouldNotChangeRevisionOfUnrelatedPaths() {
+        final RevisionTracker tracker = new RevisionTracker();
+        tracker.changeSetCompleted( paths( "/tko:komodo/tko:workspace/user1/vdb1" ), NONE );
+        final String tag = tracker.getTag( "/tko:komodo/tko:workspace/user1" );
+
+        tracker.changeSetCompleted( NONE, paths( "/tko:komodo/tko:workspace/user2/vdb2" ) );
+
+        assertThat( tracker.getTag( "/tko:komodo/tko:workspace/user1" ), is( tag ) );
+        assertThat( tracker.getRevision( "/tko:komodo/tko:workspace/user1/vdb1" ), is( 1L ) );
+        assertThat( tracker.getRevision( "/tko:komodo/tko:workspace/user2" ), is( 2L ) );
+        assertThat( tracker.getRevision( "/tko:komodo/tko:workspace" ), is( 2L ) );
+    }
+
+    @Test
+    public void shouldChangeEveryRevisionWhenTooManyPathsAreTracked() {
+        final RevisionTracker tracker = new RevisionTracker( 3 );
+        tracker.changeSetCompleted( paths( "/a/b/c" ), NONE );
+        final String tag = tracker.getTag( "/x" );
+
+        tracker.changeSetCompleted( paths( "/a/b/d" ), NONE );
+
+        assertThat( tracker.getRevision( "/a/b/c" ), is( 2L ) );
+        assertThat( tracker.getTag( "/x" ), is( not( tag ) ) );
+    }
+
+}
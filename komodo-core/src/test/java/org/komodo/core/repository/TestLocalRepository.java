@@ -22,6 +22,7 @@
 package org.komodo.core.repository;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertEquals;
@@ -208,6 +209,20 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         transaction.commit();
     }
 
+    @Test
+    public void shouldDiscardCachedValuesWhenTransactionCompletes() throws Exception {
+        final UnitOfWork committed = _repo.createTransaction(TEST_USER, "committed", false, null);
+        committed.cacheValue("key", "value");
+        assertThat(committed.getCachedValue("key"), is((Object)"value"));
+        committed.commit();
+        assertThat(committed.getCachedValue("key"), is(nullValue()));
+
+        final UnitOfWork rolledBack = _repo.createTransaction(TEST_USER, "rolledBack", false, null);
+        rolledBack.cacheValue("key", "value");
+        rolledBack.rollback();
+        assertThat(rolledBack.getCachedValue("key"), is(nullValue()));
+    }
+
     @Test
     public void shouldCreateUpdateTransaction() throws Exception {
         // setup
@@ -360,6 +375,26 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         assertThat(_repo.getFromWorkspace(getTransaction(), name), is(nullValue()));
     }
 
+    @Test
+    public void shouldChangeTagsOfBothParentsWhenObjectIsMoved() throws Exception {
+        // setup
+        final KomodoObject source = _repo.add(getTransaction(), null, "source", null);
+        final KomodoObject target = _repo.add(getTransaction(), null, "target", null);
+        final KomodoObject child = source.addChild(getTransaction(), "child", null);
+        commit();
+
+        final RevisionTracker tracker = _repo.getRevisionTracker();
+        final String sourceTag = tracker.getTag(source.getAbsolutePath());
+        final String targetTag = tracker.getTag(target.getAbsolutePath());
+
+        child.rename(getTransaction(), target.getAbsolutePath() + FORWARD_SLASH + "child");
+        commit();
+
+        // tests
+        assertThat(tracker.getTag(source.getAbsolutePath()), is(not(sourceTag)));
+        assertThat(tracker.getTag(target.getAbsolutePath()), is(not(targetTag)));
+    }
+
     @Test
     public void shouldTraverseUserWorkspace() throws Exception {
         UnitOfWork sysTx = sysTx();
@@ -23,16 +23,27 @@ package org.komodo.core.repository.validation;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.komodo.core.AbstractLocalRepositoryTest;
+import org.komodo.core.repository.KChangeSetListener;
+import org.komodo.core.repository.RepositoryImpl;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.ValidationManager;
 import org.komodo.spi.repository.validation.Result;
 import org.komodo.spi.repository.validation.Rule;
+import org.komodo.spi.utils.LocalizedMessage;
 
 @SuppressWarnings( { "javadoc", "nls" } )
 public final class ValidationManagerImplTest extends AbstractLocalRepositoryTest {
@@ -231,6 +242,238 @@ public final class ValidationManagerImplTest extends AbstractLocalRepositoryTest
         assertThat( result.getMessage(), is( "Rule \"vdb.name\" is disabled." ));
     }
 
+    @Test
+    public void shouldEvaluateRuleChangesMadeInSameTransaction() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, "1"+VDB_NAME, VDB_TYPE );
+        commit();
+
+        // Load rules
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+
+        Result[] results = _validationMgr.evaluate( getTransaction(), kobject, false );
+        assertThat( results.length, is( 1 ) );
+        assertThat( results[0].isOK(), is( false ) );
+        assertThat( results[0].getLevel(), is( Outcome.Level.ERROR ) );
+
+        // disable the rule through the manager and evaluate again before committing
+        _validationMgr.setRuleEnabled( getTransaction(), false, results[0].getRuleId() );
+        results = _validationMgr.evaluate( getTransaction(), kobject, false );
+        assertThat( results.length, is( 1 ) );
+        assertThat( results[0].getLevel(), is( Outcome.Level.INFO ) );
+        assertThat( results[0].getMessage(), is( "Rule \"vdb.name\" is disabled." ));
+    }
+
+    private static KChangeSetListener changeListener( final String area,
+                                                      final CountDownLatch latch ) {
+        return new KChangeSetListener() {
+
+            @Override
+            public void changeSetCompleted( final Set< String > changedPaths,
+                                            final Set< String > sequencedPaths ) {
+                for ( final String path : changedPaths ) {
+                    if ( path.startsWith( area + "/" ) ) {
+                        latch.countDown();
+                        return;
+                    }
+                }
+            }
+        };
+    }
+
+    @Test
+    public void shouldRecompileRulesAfterCommittedChangeToValidationArea() throws Exception {
+        // Load rules
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+        assertThat( _validationMgr.getAllRules( getTransaction() ).length, is( 1 ) );
+        commit();
+
+        // change set listeners are called in the order added so the manager has seen the change once this one has
+        final CountDownLatch rulesCommitted = new CountDownLatch( 1 );
+        final KChangeSetListener listener = changeListener( RepositoryImpl.VALIDATION_ROOT, rulesCommitted );
+        _repo.addChangeSetListener( listener );
+
+        try {
+            // add a rule without going through the manager
+            RuleFactory.createNodeNameRule( getTransaction(),
+                                            _repo,
+                                            "addedRule",
+                                            VDB_TYPE,
+                                            Collections.< String, String >emptyMap(),
+                                            "[a-z]*",
+                                            Outcome.Level.ERROR,
+                                            Collections.singletonList( new LocalizedMessage( Rule.MessageKey.DESCRIPTION.name(),
+                                                                                             "en",
+                                                                                             "Added rule" ) ),
+                                            Collections.< LocalizedMessage >emptyList() );
+            commit();
+
+            assertThat( rulesCommitted.await( 30, TimeUnit.SECONDS ), is( true ) );
+            assertThat( _validationMgr.getAllRules( getTransaction() ).length, is( 2 ) );
+        } finally {
+            _repo.removeChangeSetListener( listener );
+        }
+    }
+
+    @Test
+    public void shouldEvaluateTreeInParallel() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, "vdbs", "nt:unstructured" );
+        _repo.add( getTransaction(), kobject.getAbsolutePath(), "1"+VDB_NAME, VDB_TYPE );
+        _repo.add( getTransaction(), kobject.getAbsolutePath(), VDB_NAME, VDB_TYPE );
+        commit();
+
+        // Load rules
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+
+        final Collection< Result > results = _validationMgr.evaluateParallel( getTransaction(), kobject, 2 ).get();
+        assertThat( results.size(), is( 2 ) );
+
+        int failures = 0;
+
+        for ( final Result result : results ) {
+            if ( !result.isOK() ) {
+                ++failures;
+            }
+        }
+
+        assertThat( failures, is( 1 ) );
+    }
+
+    @Test
+    public void shouldEvaluateCommittedTreeInParallelWhenFull() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, "vdbs", "nt:unstructured" );
+        _repo.add( getTransaction(), kobject.getAbsolutePath(), "1"+VDB_NAME, VDB_TYPE );
+        _repo.add( getTransaction(), kobject.getAbsolutePath(), VDB_NAME, VDB_TYPE );
+        commit();
+
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        final Result[] results = _validationMgr.evaluate( getTransaction(), kobject, true );
+        assertThat( results.length, is( 2 ) );
+    }
+
+    @Test
+    public void shouldBeDoneAfterParallelEvaluationIsCancelled() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, "vdbs", "nt:unstructured" );
+
+        for ( int i = 0; i < 100; ++i ) {
+            _repo.add( getTransaction(), kobject.getAbsolutePath(), VDB_NAME + i, VDB_TYPE );
+        }
+
+        commit();
+
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+
+        final Future< Collection< Result > > evaluation = _validationMgr.evaluateParallel( getTransaction(), kobject, 2 );
+        final boolean cancelled = evaluation.cancel( true );
+
+        assertThat( evaluation.isDone(), is( true ) );
+        assertThat( evaluation.isCancelled(), is( cancelled ) );
+        assertThat( evaluation.cancel( true ), is( false ) );
+
+        if ( cancelled ) {
+            try {
+                evaluation.get();
+                fail( "cancelled evaluation should not have results" );
+            } catch ( final CancellationException e ) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shouldPersistResultsOfCommittedChanges() throws Exception {
+        // Load rules
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        _validationMgr.setIncrementalValidationEnabled( true );
+
+        // results are persisted in the background
+        final CountDownLatch resultsPersisted = new CountDownLatch( 1 );
+        final KChangeSetListener listener = changeListener( RepositoryImpl.VALIDATION_RESULTS_ROOT, resultsPersisted );
+        _repo.addChangeSetListener( listener );
+
+        try {
+            final KomodoObject kobject = _repo.add( getTransaction(), null, "vdbs", "nt:unstructured" );
+            _repo.add( getTransaction(), kobject.getAbsolutePath(), "1"+VDB_NAME, VDB_TYPE );
+            _repo.add( getTransaction(), kobject.getAbsolutePath(), VDB_NAME, VDB_TYPE );
+            commit();
+
+            assertThat( resultsPersisted.await( 30, TimeUnit.SECONDS ), is( true ) );
+
+            final Collection< Result > results = _validationMgr.getCachedResults( getTransaction(), kobject );
+            assertThat( results == null, is( false ) );
+            assertThat( results.size(), is( 1 ) );
+            assertThat( results.iterator().next().getPath(), is( kobject.getAbsolutePath() + "/1" + VDB_NAME ) );
+        } finally {
+            _repo.removeChangeSetListener( listener );
+            _validationMgr.setIncrementalValidationEnabled( false );
+        }
+    }
+
+    @Test
+    public void shouldPersistResultsOfSameNameSiblingsSeparately() throws Exception {
+        // Load rules
+        String testFilePath = getClass().getResource(RULES_FILE_NODE_NAME_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        _validationMgr.setIncrementalValidationEnabled( true );
+
+        final CountDownLatch resultsPersisted = new CountDownLatch( 1 );
+        final KChangeSetListener listener = changeListener( RepositoryImpl.VALIDATION_RESULTS_ROOT, resultsPersisted );
+        _repo.addChangeSetListener( listener );
+
+        try {
+            // only the second of the same name siblings fails the rule
+            final KomodoObject kobject = _repo.add( getTransaction(), null, "vdbs", "nt:unstructured" );
+            final KomodoObject first = kobject.addChild( getTransaction(), "sns", "nt:unstructured" );
+            first.addChild( getTransaction(), VDB_NAME, VDB_TYPE );
+            final KomodoObject second = kobject.addChild( getTransaction(), "sns", "nt:unstructured" );
+            second.addChild( getTransaction(), "1" + VDB_NAME, VDB_TYPE );
+            commit();
+
+            assertThat( resultsPersisted.await( 30, TimeUnit.SECONDS ), is( true ) );
+
+            final Collection< Result > results = _validationMgr.getCachedResults( getTransaction(), kobject );
+            assertThat( results == null, is( false ) );
+            assertThat( results.size(), is( 1 ) );
+            assertThat( results.iterator().next().getPath(), is( kobject.getAbsolutePath() + "/sns[2]/1" + VDB_NAME ) );
+        } finally {
+            _repo.removeChangeSetListener( listener );
+            _validationMgr.setIncrementalValidationEnabled( false );
+        }
+    }
+
+    @Test
+    public void shouldOnlyChangeRulesVersionWhenRulesChange() throws Exception {
+        final ValidationManagerImpl mgr = ( ValidationManagerImpl )_validationMgr;
+        final File rulesFile = new File( getClass().getResource( RULES_FILE_NODE_NAME_RULE ).getFile() );
+
+        _validationMgr.importRules( getTransaction(), rulesFile, true );
+        commit();
+        final long version = mgr.getCompiledRules( getTransaction() ).getVersion();
+        commit();
+
+        // reloading the same rules, as happens at startup, keeps the results persisted with them
+        _validationMgr.importRules( getTransaction(), rulesFile, true );
+        commit();
+        assertThat( mgr.getCompiledRules( getTransaction() ).getVersion(), is( version ) );
+        commit();
+
+        _validationMgr.setRuleEnabled( getTransaction(), false, "vdb.name" );
+        commit();
+        assertThat( mgr.getCompiledRules( getTransaction() ).getVersion() == version, is( false ) );
+    }
+
     @Test
     public void shouldVerifyImportedPropRequiredRuleEvaluationSuccess() throws Exception {
         // Create a KomodoObject with the required property
@@ -25,7 +25,9 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.BitSet;
 import org.komodo.importer.Messages.IMPORTER;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
@@ -43,6 +45,11 @@ public abstract class AbstractImporter implements StringConstants {
 
     protected static final String OLD = HYPHEN + "OLD"; //$NON-NLS-1$
 
+    /**
+     * The number of numbered names tried when determining a new unique name.
+     */
+    public static final int MAX_NEW_NAMES = 1000;
+
     private Repository repository;
 
     protected ImportType importType;
@@ -104,16 +111,29 @@ public abstract class AbstractImporter implements StringConstants {
     protected String toString(InputStream inputStream) throws Exception {
         BufferedInputStream bis = new BufferedInputStream(inputStream);
         ByteArrayOutputStream buf = new ByteArrayOutputStream();
-        int result = bis.read();
-        while (result != -1) {
-            byte b = (byte)result;
-            buf.write(b);
-            result = bis.read();
-        }
+        byte[] chunk = new byte[FileUtils.DEFAULT_BUFFER_SIZE];
+        for (int byteTot = bis.read(chunk); byteTot >= 0; byteTot = bis.read(chunk))
+            buf.write(chunk, 0, byteTot);
 
         return buf.toString();
     }
 
+    /**
+     * @param stream a stream that supports {@link InputStream#mark(int) marking}
+     * @return <code>true</code> if the stream has no content. The stream position is unaffected.
+     * @throws IOException if the stream cannot be read
+     */
+    protected static boolean isEmpty(InputStream stream) throws IOException {
+        ArgCheck.isTrue(stream.markSupported(), "stream must support mark"); //$NON-NLS-1$
+
+        stream.mark(1);
+        try {
+            return stream.read() == -1;
+        } finally {
+            stream.reset();
+        }
+    }
+
     /**
      * Determines how to handle node creation if child to be created already exists.  The ExistingNodeOptions specify the behavior.
      * If no Option is set, then the default behavior is to overwrite any existing nodes.
@@ -136,6 +156,56 @@ public abstract class AbstractImporter implements StringConstants {
                                                                                     ImportOptions importOptions,
                                                                                     ImportMessages importMessages) throws KException;
 
+    /**
+     * Executes the import using streamed content. The default implementation reads the stream into a string and
+     * delegates to {@link #executeImport(UnitOfWork, String, KomodoObject, ImportOptions, ImportMessages)}. Importers that
+     * can store or parse the content directly should override this to avoid holding it in memory.
+     *
+     * @param transaction the transaction
+     * @param content the content to import (never <code>null</code>)
+     * @param parentObject the parent object
+     * @param importOptions the import options
+     * @param importMessages the import messages
+     * @throws KException the exception
+     */
+    protected void executeImport(UnitOfWork transaction,
+                                 InputStream content,
+                                 KomodoObject parentObject,
+                                 ImportOptions importOptions,
+                                 ImportMessages importMessages) throws KException {
+        try {
+            executeImport(transaction, toString(content), parentObject, importOptions, importMessages);
+        } catch (KException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new KException(ex);
+        }
+    }
+
+    protected void doImport(UnitOfWork transaction, InputStream content, KomodoObject parentObject, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
+
+        if(content == null || isEmpty(content)) {
+            importMessages.addErrorMessage(Messages.getString(IMPORTER.errorEmptyMsg));
+            return;
+        }
+
+        ArgCheck.isNotNull(importType);
+
+        // --------------------------------------------------------------
+        // Determine whether to continue, based on ImportOptions...
+        // --------------------------------------------------------------
+        boolean doImport = handleExistingNode(transaction, parentObject, importOptions, importMessages);
+        if (! doImport) {
+            // Handling existing node advises not to continue
+            return;
+        }
+
+        // --------------------------------------------------------------
+        // Execute the import
+        // --------------------------------------------------------------
+        executeImport(transaction, content, parentObject, importOptions, importMessages);
+    }
+
     protected void doImport(UnitOfWork transaction, String content, KomodoObject parentObject, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
 
         if(StringUtils.isEmpty(content)) {
@@ -161,13 +231,62 @@ public abstract class AbstractImporter implements StringConstants {
     }
     
     protected String determineNewName(UnitOfWork transaction, String nodeName) throws KException {
-        KomodoObject workspace = getWorkspace(transaction);
-        for (int i = 0; i < 1000; ++i) {
-            String newName = nodeName + UNDERSCORE + i;
-            if (! workspace.hasChild(transaction, newName))
-                return newName;
+        return determineNewName(transaction, getWorkspace(transaction), nodeName);
+    }
+
+    /**
+     * Finds the first name of the form <code>nodeName_i</code>, <code>0 &lt;= i &lt; {@value #MAX_NEW_NAMES}</code>, that is not
+     * the name of a child of the parent. The children sharing the prefix are read in a single pass rather than probing each
+     * candidate name.
+     *
+     * @param transaction the transaction (cannot be <code>null</code>)
+     * @param parent the object whose children must not have the new name (cannot be <code>null</code>)
+     * @param nodeName the name being made unique (cannot be empty)
+     * @return the unique name (never empty)
+     * @throws KException if all candidate names are taken or an error occurs
+     */
+    public static String determineNewName(UnitOfWork transaction, KomodoObject parent, String nodeName) throws KException {
+        ArgCheck.isNotNull(parent, "parent"); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(nodeName, "nodeName"); //$NON-NLS-1$
+
+        String prefix = nodeName + UNDERSCORE;
+        BitSet used = new BitSet(MAX_NEW_NAMES);
+
+        for (KomodoObject child : parent.getChildren(transaction, prefix + STAR)) {
+            String childName = child.getName(transaction);
+            if (! childName.startsWith(prefix))
+                continue;
+
+            int index = candidateIndex(childName.substring(prefix.length()));
+            if (index >= 0)
+                used.set(index);
         }
 
+        int free = used.nextClearBit(0);
+        if (free < MAX_NEW_NAMES)
+            return prefix + free;
+
         throw new KException(Messages.getString(Messages.IMPORTER.newNameFailure, nodeName));
     }
+
+    /**
+     * @return the index of the candidate name having the suffix, or -1 if the suffix is not that of a candidate name
+     */
+    private static int candidateIndex(String suffix) {
+        // candidate suffixes are decimal numbers without leading zeros
+        if (suffix.isEmpty() || suffix.length() > Integer.toString(MAX_NEW_NAMES - 1).length()
+            || (suffix.length() > 1 && suffix.charAt(0) == '0'))
+            return -1;
+
+        int index = 0;
+        for (int i = 0; i < suffix.length(); ++i) {
+            char c = suffix.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+
+            index = (index * 10) + (c - '0');
+        }
+
+        return (index < MAX_NEW_NAMES) ? index : -1;
+    }
 }
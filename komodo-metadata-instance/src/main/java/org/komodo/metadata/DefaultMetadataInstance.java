@@ -29,16 +29,20 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.komodo.metadata.internal.DataTypeServiceImpl;
 import org.komodo.metadata.internal.MetaArtifactFactory;
@@ -50,6 +54,7 @@ import org.komodo.spi.metadata.MetadataObserver;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.query.QSColumn;
 import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSResultHandler;
 import org.komodo.spi.query.QSRow;
 import org.komodo.spi.runtime.ConnectionDriver;
 import org.komodo.spi.runtime.TeiidDataSource;
@@ -67,13 +72,91 @@ import org.teiid.adminapi.AdminException;
 import org.teiid.adminapi.PropertyDefinition;
 import org.teiid.adminapi.Translator;
 import org.teiid.adminapi.VDB;
+import org.teiid.adminapi.VDB.Status;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.util.ApplicationInfo;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.sql.LanguageObject;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.Limit;
+import org.teiid.query.sql.lang.QueryCommand;
+import org.teiid.query.sql.symbol.Constant;
 
 public class DefaultMetadataInstance implements MetadataInstance {
 
+    /**
+     * The system property that can be used to override the number of seconds a query can run before it is cancelled
+     */
+    public static final String QUERY_TIMEOUT_PROPERTY = "komodo.queryTimeoutSeconds"; //$NON-NLS-1$
+
+    /**
+     * The default number of seconds a query can run before it is cancelled
+     */
+    public static final int DEFAULT_QUERY_TIMEOUT = 120;
+
+    /**
+     * The system property that can be used to enable the query result cache by giving the most bytes, as estimated, it holds.
+     * Zero disables the cache.
+     */
+    public static final String QUERY_CACHE_MAX_BYTES_PROPERTY = "komodo.queryCacheMaxBytes"; //$NON-NLS-1$
+
+    /**
+     * The default most bytes held by the query result cache, which is disabled unless configured since results can be stale
+     * when the data behind a vdb changes without it being redeployed
+     */
+    public static final long DEFAULT_QUERY_CACHE_MAX_BYTES = 0;
+
+    /**
+     * The system property that can be used to override the seconds query results are cached. Zero keeps results until
+     * they are evicted or their vdb is redeployed.
+     */
+    public static final String QUERY_CACHE_TTL_PROPERTY = "komodo.queryCacheTtlSeconds"; //$NON-NLS-1$
+
+    /**
+     * The default seconds query results are cached
+     */
+    public static final int DEFAULT_QUERY_CACHE_TTL = 60;
+
+    /**
+     * The milliseconds vdb metadata read from the server is kept, kept short since vdbs change state as they load
+     */
+    private static final long VDB_TTL = 2000;
+
+    /**
+     * The milliseconds data source metadata read from the server is kept
+     */
+    private static final long DATA_SOURCE_TTL = 10000;
+
+    /**
+     * The milliseconds translator and data source template metadata read from the server is kept
+     */
+    private static final long TEMPLATE_TTL = 60000;
+
+    /**
+     * The milliseconds deploying a vdb waits for it to finish loading before returning
+     */
+    private static final long DEPLOY_READY_WAIT = 500;
+
+    /**
+     * The first and the longest milliseconds between checks of whether vdbs have finished loading
+     */
+    private static final long READY_POLL_MIN = 25;
+
+    private static final long READY_POLL_MAX = 1000;
+
+    private static final String VDB_KEY = "vdb"; //$NON-NLS-1$
+
+    private static final String DATA_SOURCE_KEY = "dataSource"; //$NON-NLS-1$
+
+    private static final String TRANSLATOR_KEY = "translator"; //$NON-NLS-1$
+
+    private static final String TEMPLATE_KEY = "template"; //$NON-NLS-1$
+
+    /**
+     * The maximum number of rows fetched from the server at a time
+     */
+    private static final int MAX_FETCH_SIZE = 2048;
+
     private static DataTypeServiceImpl dataTypeService;
 
     private static DefaultMetadataVersion metadataVersion;
@@ -118,6 +201,13 @@ public class DefaultMetadataInstance implements MetadataInstance {
 
     private TeiidConnectionProvider connectionProvider;
 
+    private final TeiidAdminCache adminCache = new TeiidAdminCache();
+
+    private final QueryResultCache queryCache = new QueryResultCache(Long.getLong(QUERY_CACHE_MAX_BYTES_PROPERTY,
+                                                                                  DEFAULT_QUERY_CACHE_MAX_BYTES),
+                                                                     TimeUnit.SECONDS.toMillis(Integer.getInteger(QUERY_CACHE_TTL_PROPERTY,
+                                                                                                                  DEFAULT_QUERY_CACHE_TTL)));
+
     public DefaultMetadataInstance(TeiidConnectionProvider connectionProvider) {
         this.connectionProvider = connectionProvider;
     }
@@ -163,6 +253,8 @@ public class DefaultMetadataInstance implements MetadataInstance {
     public void refresh() throws KException {
         try {
             this.connectionProvider.reconnect();
+            this.adminCache.clear();
+            this.queryCache.clear();
         } catch (Exception e) {
             throw new KException(e);
         }
@@ -206,11 +298,79 @@ public class DefaultMetadataInstance implements MetadataInstance {
     	return this.connectionProvider.ping(connectivityType);
     }
 
+    /**
+     * Adds a LIMIT clause to the query so the server only returns the requested rows.
+     *
+     * @param query the query
+     * @param skip the number of rows to skip
+     * @param limit the maximum number of rows to return or {@link #NO_LIMIT}
+     * @return the limited query or <code>null</code> if the query is not a query expression or already has a limit
+     */
+    static String limitQuery(String query, int skip, int limit) {
+        try {
+            Command command = QueryParser.getQueryParser().parseCommand(query);
+            if (! (command instanceof QueryCommand))
+                return null;
+
+            QueryCommand queryCommand = (QueryCommand)command;
+            if (queryCommand.getLimit() != null)
+                return null;
+
+            queryCommand.setLimit(new Limit(skip > 0 ? new Constant(skip) : null,
+                                            limit > NO_LIMIT ? new Constant(limit) : null));
+            return queryCommand.toString();
+        } catch (Exception ex) {
+            KLog.getLogger().debug("Unable to add a limit to query {0}", ex, query); //$NON-NLS-1$
+            return null;
+        }
+    }
+
     @Override
     public QSResult query(String vdb, String query, int offset, int limit) throws KException {
-        checkStarted();
+        return query(vdb, query, offset, limit, true);
+    }
+
+    @Override
+    public QSResult query(String vdb, String query, int offset, int limit, boolean useCache) throws KException {
+        QueryResultCache.Key key = null;
+
+        if (useCache && queryCache.isEnabled()) {
+            key = queryCache.key(vdb, query, offset, limit);
+
+            QSResult cached = queryCache.get(key);
+            if (cached != null) {
+                KLog.getLogger().debug("Query {0} answered from cached results", query); //$NON-NLS-1$
+                return cached;
+            }
+        }
+
+        final QSResult result = new QSResult();
+
+        query(vdb, query, offset, limit, new QSResultHandler() {
+
+            @Override
+            public void columns(List<QSColumn> columns) {
+                for (QSColumn column : columns) {
+                    result.addColumn(column);
+                }
+            }
+
+            @Override
+            public void row(QSRow row) {
+                result.addRow(row);
+            }
+        });
+
+        if (key != null)
+            queryCache.put(key, result);
 
-        QSResult result = new QSResult();
+        return result;
+    }
+
+    @Override
+    public void query(String vdb, String query, int offset, int limit, QSResultHandler handler) throws KException {
+        checkStarted();
+        ArgCheck.isNotNull(handler, "handler"); //$NON-NLS-1$
 
         KLog.getLogger().debug("Commencing query execution: {0}", query);
 
@@ -230,12 +390,36 @@ public class DefaultMetadataInstance implements MetadataInstance {
                 throw new KException(Messages.getString(Messages.MetadataServer.vdbConnectionFailure, vdb));
 
             statement = connection.createStatement();
+            statement.setQueryTimeout(Integer.getInteger(QUERY_TIMEOUT_PROPERTY, DEFAULT_QUERY_TIMEOUT));
+
+            //
+            // The offset is the one-based number of the first row to return so push it
+            // and the limit down to the server rather than skipping rows as they are read
+            //
+            int skip = offset > NO_OFFSET ? offset - 1 : 0;
+            String sql = query;
+            boolean limited = false;
+
+            if (skip > 0 || limit > NO_LIMIT) {
+                String limitedQuery = limitQuery(query, skip, limit);
+                if (limitedQuery != null) {
+                    sql = limitedQuery;
+                    limited = true;
+                }
+            }
+
+            if (limit > NO_LIMIT) {
+                statement.setMaxRows(limited ? limit : skip + limit);
+                statement.setFetchSize(Math.min(limit, MAX_FETCH_SIZE));
+            } else {
+                statement.setFetchSize(MAX_FETCH_SIZE);
+            }
 
             KLog.getLogger().debug("Executing SQL Statement for query {0} with offset of {1} and limit of {2}",
-                                   query,
+                                   sql,
                                    offset,
                                    limit);
-            rs = statement.executeQuery(query);
+            rs = statement.executeQuery(sql);
 
             ResultSetMetaData rsmd = rs.getMetaData();
             int columns = rsmd.getColumnCount();
@@ -243,24 +427,31 @@ public class DefaultMetadataInstance implements MetadataInstance {
             //
             // Populate the columns
             //
+            List<QSColumn> resultColumns = new ArrayList<>(columns);
             for (int i = 1; i <= columns; ++i) {
                 String columnName = rsmd.getColumnName(i);
                 String columnLabel = rsmd.getColumnLabel(i);
                 String colTypeName = rsmd.getColumnTypeName(i);
                 DataTypeName typeName = dataTypeService.getDataTypeName(colTypeName);
                 QSColumn column = new QSColumn(typeName, columnName, columnLabel);
-                result.addColumn(column);
+                resultColumns.add(column);
             }
 
+            handler.columns(resultColumns);
+
+            //
+            // Rows are handed over one at a time so only those in the current fetch are held
+            //
             int rowNum = 0;
+            int rowCount = 0;
             while (rs.next()) {
                 rowNum++;
 
-                if (offset > NO_OFFSET && rowNum < offset) {
+                if (! limited && rowNum <= skip) {
                     continue;
                 }
 
-                if (limit > NO_LIMIT && result.getRows().size() >= limit) {
+                if (limit > NO_LIMIT && rowCount >= limit) {
                     break;
                 }
 
@@ -270,22 +461,42 @@ public class DefaultMetadataInstance implements MetadataInstance {
                     row.add(value);
                 }
 
-                result.addRow(row);
+                handler.row(row);
+                rowCount++;
             }
 
-            KLog.getLogger().debug("Query executed and returning {0} results", result.getRows().size());
+            KLog.getLogger().debug("Query executed and returned {0} results", rowCount);
+        } catch (SQLTimeoutException ex) {
+            try {
+                // make sure the server stops working on the query
+                if (statement != null)
+                    statement.cancel();
+            } catch (SQLException e1) {
+                // ignore
+            }
 
-            return result;
+            throw new KException(ex);
         } catch (Throwable t) {
             throw new KException(t);
         } finally {
+            //
+            // Close each separately so the connection always goes back to its pool
+            //
             try {
                 if (rs != null)
                     rs.close();
+            } catch (SQLException e1) {
+                // ignore
+            }
 
+            try {
                 if (statement != null)
                     statement.close();
+            } catch (SQLException e1) {
+                // ignore
+            }
 
+            try {
                 if (connection != null)
                     connection.close();
             } catch (SQLException e1) {
@@ -329,13 +540,22 @@ public class DefaultMetadataInstance implements MetadataInstance {
 
         try {
             admin().deploy(driverName, iStream);
+            adminCache.invalidate(TEMPLATE_KEY);
 
-            // Give a 0.5 sec pause for the driver to finish loading.
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                // ignore
-            }
+            // Give the driver a moment to finish loading, returning as soon as it has
+            final String name = driverName;
+            poll(new DeploymentCheck() {
+
+                @Override
+                public boolean isComplete() throws Exception {
+                    for (String templateName : getDataSourceTemplateNames()) {
+                        if (templateName != null && templateName.startsWith(name))
+                            return true;
+                    }
+
+                    return false;
+                }
+            }, DEPLOY_READY_WAIT);
 
         } catch (Exception ex) {
             // Jar deployment failed
@@ -350,6 +570,7 @@ public class DefaultMetadataInstance implements MetadataInstance {
 
         try {
             admin().undeploy(driverName);
+            adminCache.invalidate(TEMPLATE_KEY);
         } catch (Exception ex) {
             // Jar deployment failed
             throw handleError(ex);
@@ -360,7 +581,7 @@ public class DefaultMetadataInstance implements MetadataInstance {
     public boolean dataSourceExists(String name) throws KException {
         checkStarted();
         try {
-            return admin().getDataSourceNames().contains(name);
+            return dataSourceNames().contains(name);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -415,6 +636,7 @@ public class DefaultMetadataInstance implements MetadataInstance {
         properties.setProperty(TeiidDataSource.DATASOURCE_DISPLAYNAME, displayName);
         try {
             admin().createDataSource(dsName, typeName, properties);
+            adminCache.invalidate(DATA_SOURCE_KEY);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -430,15 +652,20 @@ public class DefaultMetadataInstance implements MetadataInstance {
     }
 
     @Override
-    public TeiidDataSource getDataSource(String name) throws KException {
+    public TeiidDataSource getDataSource(final String name) throws KException {
         checkStarted();
-        Properties dataSource;
         try {
-            dataSource = admin().getDataSource(name);
-            if (dataSource == null)
-                return null;
+            return adminCache.get(DATA_SOURCE_KEY + COLON + name, DATA_SOURCE_TTL, new TeiidAdminCache.Loader<TeiidDataSource>() {
+
+                @Override
+                public TeiidDataSource load() throws Exception {
+                    Properties dataSource = admin().getDataSource(name);
+                    if (dataSource == null)
+                        return null;
 
-            return factory.createDataSource(name, dataSource);
+                    return factory.createDataSource(name, dataSource);
+                }
+            });
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -449,6 +676,7 @@ public class DefaultMetadataInstance implements MetadataInstance {
         checkStarted();
         try {
             admin().deleteDataSource(dsName);
+            adminCache.invalidate(DATA_SOURCE_KEY);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -458,7 +686,7 @@ public class DefaultMetadataInstance implements MetadataInstance {
     public Collection<TeiidDataSource> getDataSources() throws KException {
         checkStarted();
         try {
-            Collection<String> dsNames = admin().getDataSourceNames();
+            Collection<String> dsNames = dataSourceNames();
             if (dsNames.isEmpty())
                 return Collections.emptyList();
 
@@ -474,11 +702,27 @@ public class DefaultMetadataInstance implements MetadataInstance {
         }
     }
 
+    private Collection<String> dataSourceNames() throws Exception {
+        return adminCache.get(DATA_SOURCE_KEY, DATA_SOURCE_TTL, new TeiidAdminCache.Loader<Collection<String>>() {
+
+            @Override
+            public Collection<String> load() throws Exception {
+                return Collections.unmodifiableCollection(new ArrayList<>(admin().getDataSourceNames()));
+            }
+        });
+    }
+
     @Override
-    public TeiidTranslator getTranslator(String name) throws KException {
+    public TeiidTranslator getTranslator(final String name) throws KException {
         checkStarted();
         try {
-            return factory.createTranslator(admin().getTranslator(name));
+            return adminCache.get(TRANSLATOR_KEY + COLON + name, TEMPLATE_TTL, new TeiidAdminCache.Loader<TeiidTranslator>() {
+
+                @Override
+                public TeiidTranslator load() throws Exception {
+                    return factory.createTranslator(admin().getTranslator(name));
+                }
+            });
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -488,16 +732,24 @@ public class DefaultMetadataInstance implements MetadataInstance {
     public Collection<TeiidTranslator> getTranslators() throws KException {
         checkStarted();
         try {
-            Collection<? extends Translator> translators = admin().getTranslators();
-            if (translators.isEmpty())
-                return Collections.emptyList();
+            List<TeiidTranslator> teiidTranslators = adminCache.get(TRANSLATOR_KEY, TEMPLATE_TTL, new TeiidAdminCache.Loader<List<TeiidTranslator>>() {
 
-            List<TeiidTranslator> teiidTranslators = new ArrayList<>();
-            for (Translator translator : translators) {
-                teiidTranslators.add(factory.createTranslator(translator));
-            }
+                @Override
+                public List<TeiidTranslator> load() throws Exception {
+                    Collection<? extends Translator> translators = admin().getTranslators();
+                    List<TeiidTranslator> teiidTranslators = new ArrayList<>();
+                    for (Translator translator : translators) {
+                        teiidTranslators.add(factory.createTranslator(translator));
+                    }
+
+                    return teiidTranslators;
+                }
+            });
 
-            return teiidTranslators;
+            if (teiidTranslators.isEmpty())
+                return Collections.emptyList();
+
+            return new ArrayList<>(teiidTranslators);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -517,16 +769,24 @@ public class DefaultMetadataInstance implements MetadataInstance {
     public Collection<String> getVdbNames() throws KException {
         checkStarted();
         try {
-            Collection<? extends VDB> vdbs = admin().getVDBs();
-            if (vdbs.isEmpty())
-                return Collections.emptyList();
+            List<String> teiidVdbNames = adminCache.get(VDB_KEY + "Names", VDB_TTL, new TeiidAdminCache.Loader<List<String>>() { //$NON-NLS-1$
 
-            List<String> teiidVdbNames = new ArrayList<String>();
-            for (VDB vdb : vdbs) {
-                teiidVdbNames.add(vdb.getName());
-            }
+                @Override
+                public List<String> load() throws Exception {
+                    Collection<? extends VDB> vdbs = admin().getVDBs();
+                    List<String> teiidVdbNames = new ArrayList<String>();
+                    for (VDB vdb : vdbs) {
+                        teiidVdbNames.add(vdb.getName());
+                    }
+
+                    return teiidVdbNames;
+                }
+            });
 
-            return teiidVdbNames;
+            if (teiidVdbNames.isEmpty())
+                return Collections.emptyList();
+
+            return new ArrayList<>(teiidVdbNames);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -541,82 +801,198 @@ public class DefaultMetadataInstance implements MetadataInstance {
     @Override
     public boolean isVdbActive(String vdbName) throws KException {
         checkStarted();
-        if (!hasVdb(vdbName))
+        TeiidVdb vdb = getVdb(vdbName);
+        if (vdb == null)
             return false;
 
-        return getVdb(vdbName).isActive();
+        return vdb.isActive();
     }
 
     @Override
     public boolean isVdbLoading(String vdbName) throws KException {
         checkStarted();
-        if (!hasVdb(vdbName))
+        TeiidVdb vdb = getVdb(vdbName);
+        if (vdb == null)
             return false;
 
-        return getVdb(vdbName).isLoading();
+        return vdb.isLoading();
     }
 
     @Override
     public boolean hasVdbFailed(String vdbName) throws KException {
         checkStarted();
-        if (!hasVdb(vdbName))
+        TeiidVdb vdb = getVdb(vdbName);
+        if (vdb == null)
             return false;
 
-        return getVdb(vdbName).hasFailed();
+        return vdb.hasFailed();
     }
 
     @Override
     public boolean wasVdbRemoved(String vdbName) throws KException {
         checkStarted();
-        if (!hasVdb(vdbName))
+        TeiidVdb vdb = getVdb(vdbName);
+        if (vdb == null)
             return false;
 
-        return getVdb(vdbName).wasRemoved();
+        return vdb.wasRemoved();
+    }
+
+    @Override
+    public TeiidVdb waitForVdb(String vdbName, long timeoutMillis) throws KException {
+        return waitForVdbs(Collections.singleton(vdbName), timeoutMillis).get(vdbName);
+    }
+
+    @Override
+    public Map<String, TeiidVdb> waitForVdbs(Collection<String> vdbNames, long timeoutMillis) throws KException {
+        checkStarted();
+        ArgCheck.isNotNull(vdbNames, "vdbNames"); //$NON-NLS-1$
+
+        final Map<String, VDB> latest = new HashMap<>();
+        final Set<String> pending = new HashSet<>(vdbNames);
+
+        //
+        // Every pending vdb is checked with a single request to the server
+        //
+        poll(new DeploymentCheck() {
+
+            @Override
+            public boolean isComplete() throws Exception {
+                latest.keySet().removeAll(pending);
+                for (VDB vdb : admin().getVDBs()) {
+                    if (pending.contains(vdb.getName()) && isDynamic(vdb))
+                        latest.put(vdb.getName(), vdb);
+                }
+
+                for (Iterator<String> iter = pending.iterator(); iter.hasNext();) {
+                    VDB vdb = latest.get(iter.next());
+                    if (vdb != null && vdb.getStatus() != Status.LOADING)
+                        iter.remove();
+                }
+
+                return pending.isEmpty();
+            }
+        }, timeoutMillis);
+
+        if (!pending.isEmpty())
+            KLog.getLogger().debug("Vdbs {0} had not finished loading after {1} milliseconds", pending, timeoutMillis); //$NON-NLS-1$
+
+        try {
+            Map<String, TeiidVdb> result = new HashMap<>();
+            for (String name : vdbNames) {
+                VDB vdb = latest.get(name);
+                result.put(name, vdb == null ? null : factory.createVdb(vdb));
+            }
+
+            return result;
+        } catch (Exception ex) {
+            throw handleError(ex);
+        }
+    }
+
+    @Override
+    public boolean waitForDeployment(DeploymentCheck check, long timeoutMillis) throws KException {
+        checkStarted();
+        ArgCheck.isNotNull(check, "check"); //$NON-NLS-1$
+
+        return poll(check, timeoutMillis);
+    }
+
+    /**
+     * Runs the check straight away so that a deployment that has already taken effect costs no waiting, then at growing
+     * intervals until it passes or the time runs out. The cached state of the server is dropped before each check.
+     *
+     * @param check the check
+     * @param timeoutMillis the most milliseconds to wait
+     * @return <code>true</code> if the check passed in time
+     * @throws KException
+     */
+    private boolean poll(DeploymentCheck check, long timeoutMillis) throws KException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long pause = READY_POLL_MIN;
+
+        try {
+            while (true) {
+                adminCache.invalidate(VDB_KEY, DATA_SOURCE_KEY, TEMPLATE_KEY);
+                if (check.isComplete())
+                    return true;
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+
+                Thread.sleep(Math.min(pause, remaining));
+                pause = Math.min(pause * 2, READY_POLL_MAX);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            throw handleError(ex);
+        } finally {
+            // the state of the server has been read afresh so drop any older one
+            adminCache.invalidate(VDB_KEY, DATA_SOURCE_KEY, TEMPLATE_KEY);
+        }
     }
 
     @Override
     public List<String> retrieveVdbValidityErrors(String vdbName) throws KException {
         checkStarted();
-        if (!hasVdb(vdbName))
+        TeiidVdb vdb = getVdb(vdbName);
+        if (vdb == null)
             return Collections.emptyList();
 
-        return getVdb(vdbName).getValidityErrors();
+        return vdb.getValidityErrors();
     }
 
     @Override
     public Collection<TeiidVdb> getVdbs() throws KException {
         checkStarted();
         try {
-            Collection<? extends VDB> vdbs = admin().getVDBs();
-            if (vdbs.isEmpty())
-                return Collections.emptyList();
+            List<TeiidVdb> teiidVdbs = adminCache.get(VDB_KEY, VDB_TTL, new TeiidAdminCache.Loader<List<TeiidVdb>>() {
 
-            List<TeiidVdb> teiidVdbs = new ArrayList<>();
-            for (VDB vdb : vdbs) {
-                if (!isDynamic(vdb))
-                    continue;
+                @Override
+                public List<TeiidVdb> load() throws Exception {
+                    Collection<? extends VDB> vdbs = admin().getVDBs();
+                    List<TeiidVdb> teiidVdbs = new ArrayList<>();
+                    for (VDB vdb : vdbs) {
+                        if (!isDynamic(vdb))
+                            continue;
 
-                teiidVdbs.add(factory.createVdb(vdb));
-            }
+                        teiidVdbs.add(factory.createVdb(vdb));
+                    }
+
+                    return teiidVdbs;
+                }
+            });
+
+            if (teiidVdbs.isEmpty())
+                return Collections.emptyList();
 
-            return teiidVdbs;
+            return new ArrayList<>(teiidVdbs);
         } catch (Exception ex) {
             throw handleError(ex);
         }
     }
 
     @Override
-    public TeiidVdb getVdb(String name) throws KException {
+    public TeiidVdb getVdb(final String name) throws KException {
         checkStarted();
         try {
-            VDB vdb = admin().getVDB(name, "1");
-            if (vdb == null)
-                return null;
+            return adminCache.get(VDB_KEY + COLON + name, VDB_TTL, new TeiidAdminCache.Loader<TeiidVdb>() {
 
-            if (!isDynamic(vdb))
-                return null;
+                @Override
+                public TeiidVdb load() throws Exception {
+                    VDB vdb = admin().getVDB(name, "1");
+                    if (vdb == null)
+                        return null;
 
-            return factory.createVdb(vdb);
+                    if (!isDynamic(vdb))
+                        return null;
+
+                    return factory.createVdb(vdb);
+                }
+            });
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -631,19 +1007,55 @@ public class DefaultMetadataInstance implements MetadataInstance {
             ArgCheck.isNotNull(inStream, "inStream"); //$NONNLS1$
 
             admin().deploy(deploymentName, inStream);
+            adminCache.invalidate(VDB_KEY);
 
-            // Give a 0.5 sec pause for the VDB to finish loading metadata.
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                // ignore
-            }
+            // Connections opened before the deployment belong to the replaced vdb
+            if (deploymentName.endsWith(TeiidVdb.DYNAMIC_VDB_SUFFIX)) {
+                String vdbName = deploymentName.substring(0, deploymentName.length() - TeiidVdb.DYNAMIC_VDB_SUFFIX.length());
+                invalidate(vdbName);
 
+                // Give the VDB a moment to finish loading metadata, returning as soon as it has
+                waitForVdb(vdbName, DEPLOY_READY_WAIT);
+            } else {
+                // Give a 0.5 sec pause for the VDB to finish loading metadata.
+                Thread.sleep(DEPLOY_READY_WAIT);
+            }
         } catch (Exception ex) {
             throw handleError(ex);
         }
     }
 
+    /**
+     * Discards the pooled connections and cached query results of the vdb
+     *
+     * @param vdbName the name of the vdb
+     */
+    private void invalidate(String vdbName) {
+        connectionProvider.invalidate(vdbName);
+        queryCache.invalidate(vdbName);
+    }
+
+    /**
+     * @return the hit and miss counts, hit ratio and size of the query result cache keyed by statistic name (never <code>null</code>)
+     */
+    public Map<String, Long> getQueryCacheStatistics() {
+        return queryCache.getStatistics();
+    }
+
+    /**
+     * Drops the cached data source metadata, for use after data sources have been changed through the admin api directly
+     */
+    public void invalidateDataSources() {
+        adminCache.invalidate(DATA_SOURCE_KEY);
+    }
+
+    /**
+     * @return the hit and miss counts and size of the cache of admin metadata keyed by statistic name (never <code>null</code>)
+     */
+    public Map<String, Long> getAdminCacheStatistics() {
+        return adminCache.getStatistics();
+    }
+
     /**
      * Append the suffix for dynamic VDB to the vdb name if not already appended.
      * 
@@ -664,8 +1076,9 @@ public class DefaultMetadataInstance implements MetadataInstance {
             TeiidVdb vdb = getVdb(vdbName);
             if (vdb != null) {
                 admin().undeploy(appendDynamicVdbSuffix(vdbName));
+                adminCache.invalidate(VDB_KEY);
+                invalidate(vdbName);
             }
-            vdb = getVdb(vdbName);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -685,39 +1098,56 @@ public class DefaultMetadataInstance implements MetadataInstance {
     public Set<String> getDataSourceTemplateNames() throws KException {
         checkStarted();
         try {
-            Set<String> templateNames = admin().getDataSourceTemplateNames();
-
-            //
-            // Workaround for removing vdb-builder.war
-            // H2 driver which appear to return a null name
-            //
-            Iterator<String> iter = templateNames.iterator();
-            while (iter.hasNext()) {
-                String name = iter.next();
-                if (name == null)
-                    iter.remove();
-            }
+            Set<String> templateNames = adminCache.get(TEMPLATE_KEY, TEMPLATE_TTL, new TeiidAdminCache.Loader<Set<String>>() {
+
+                @Override
+                public Set<String> load() throws Exception {
+                    Set<String> templateNames = new HashSet<>(admin().getDataSourceTemplateNames());
+
+                    //
+                    // Workaround for removing vdb-builder.war
+                    // H2 driver which appear to return a null name
+                    //
+                    Iterator<String> iter = templateNames.iterator();
+                    while (iter.hasNext()) {
+                        String name = iter.next();
+                        if (name == null)
+                            iter.remove();
+                    }
+
+                    return templateNames;
+                }
+            });
 
-            return templateNames;
+            return new HashSet<>(templateNames);
         } catch (Exception ex) {
             throw handleError(ex);
         }
     }
 
     @Override
-    public Collection<TeiidPropertyDefinition> getTemplatePropertyDefns(String templateName) throws KException {
+    public Collection<TeiidPropertyDefinition> getTemplatePropertyDefns(final String templateName) throws KException {
         checkStarted();
         try {
-            Collection<? extends PropertyDefinition> propDefs = admin().getTemplatePropertyDefinitions(templateName);
-            if (propDefs.isEmpty())
-                return Collections.emptyList();
+            List<TeiidPropertyDefinition> teiidPropDefs = adminCache.get(TEMPLATE_KEY + COLON + templateName, TEMPLATE_TTL,
+                                                                         new TeiidAdminCache.Loader<List<TeiidPropertyDefinition>>() {
+
+                @Override
+                public List<TeiidPropertyDefinition> load() throws Exception {
+                    Collection<? extends PropertyDefinition> propDefs = admin().getTemplatePropertyDefinitions(templateName);
+                    List<TeiidPropertyDefinition> teiidPropDefs = new ArrayList<>();
+                    for (PropertyDefinition propDef : propDefs) {
+                        teiidPropDefs.add(factory.createPropertyDefinition(propDef));
+                    }
+
+                    return teiidPropDefs;
+                }
+            });
 
-            List<TeiidPropertyDefinition> teiidPropDefs = new ArrayList<>();
-            for (PropertyDefinition propDef : propDefs) {
-                teiidPropDefs.add(factory.createPropertyDefinition(propDef));
-            }
+            if (teiidPropDefs.isEmpty())
+                return Collections.emptyList();
 
-            return teiidPropDefs;
+            return new ArrayList<>(teiidPropDefs);
         } catch (Exception ex) {
             throw handleError(ex);
         }
@@ -56,7 +56,10 @@ public class Messages implements StringConstants {
         cannotRefreshError,
         serverCanNotBeReached,
         startStopFailure,
-        notImplemented;
+        notImplemented,
+        connectionPoolClosed,
+        connectionPoolExhausted,
+        pooledConnectionClosed;
 
         @Override
         public String toString() {
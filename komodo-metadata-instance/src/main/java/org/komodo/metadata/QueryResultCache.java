@@ -0,0 +1,351 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.komodo.spi.query.QSColumn;
+import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSRow;
+
+/**
+ * A cache of query results bounded by an estimate of the bytes the results occupy. The least recently used results are
+ * dropped first and results older than the time to live are not used. Results are keyed by the deployment of the vdb they were read from so redeploying or undeploying a vdb
+ * invalidates its results, including those of queries that were running at the time.
+ */
+class QueryResultCache {
+
+    /**
+     * Identifies a query against a deployment of a vdb
+     */
+    static final class Key {
+
+        private final String vdb;
+        private final long epoch;
+        private final long deployment;
+        private final String sql;
+        private final int offset;
+        private final int limit;
+
+        private Key(String vdb, long epoch, long deployment, String sql, int offset, int limit) {
+            this.vdb = vdb;
+            this.epoch = epoch;
+            this.deployment = deployment;
+            this.sql = sql;
+            this.offset = offset;
+            this.limit = limit;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vdb, epoch, deployment, sql, offset, limit);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key)obj;
+            return epoch == other.epoch && deployment == other.deployment && offset == other.offset && limit == other.limit
+                   && vdb.equals(other.vdb) && sql.equals(other.sql);
+        }
+    }
+
+    private static final class Entry {
+
+        private final QSResult result;
+        private final long bytes;
+        private final long created;
+
+        private Entry(QSResult result, long bytes, long created) {
+            this.result = result;
+            this.bytes = bytes;
+            this.created = created;
+        }
+    }
+
+    /**
+     * The name of the statistic counting the queries answered from the cache.
+     */
+    static final String HITS = "hits"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the queries that had to be executed.
+     */
+    static final String MISSES = "misses"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the percentage of queries answered from the cache.
+     */
+    static final String HIT_RATIO = "hitRatioPercent"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the results dropped to stay within the size bound.
+     */
+    static final String EVICTIONS = "evictions"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the results dropped because they were older than the time to live.
+     */
+    static final String EXPIRATIONS = "expirations"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the number of cached results.
+     */
+    static final String ENTRIES = "entries"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the estimated bytes of the cached results.
+     */
+    static final String BYTES = "bytes"; //$NON-NLS-1$
+
+    private static final int ROW_OVERHEAD = 40;
+
+    private static final int VALUE_OVERHEAD = 16;
+
+    private final long maxBytes;
+
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Long> deployments = new HashMap<>();
+
+    private long epoch;
+
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long expirations;
+
+    /**
+     * @param maxBytes the most bytes, as estimated, the cached results may occupy (zero or less disables the cache)
+     * @param ttlMillis the milliseconds results are used after being cached (zero or less keeps them until evicted)
+     */
+    QueryResultCache(long maxBytes, long ttlMillis) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return <code>true</code> if results can be cached
+     */
+    boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * @param vdb the name of the vdb being queried
+     * @param sql the query
+     * @param offset the offset of the results
+     * @param limit the limit on the number of results
+     * @return the key of the query against the current deployment of the vdb
+     */
+    synchronized Key key(String vdb, String sql, int offset, int limit) {
+        return new Key(vdb, epoch, deployment(vdb), normalize(sql), offset, limit);
+    }
+
+    /**
+     * @param key the key of the query
+     * @return the cached results, which must not be modified, or <code>null</code> if none are cached
+     */
+    synchronized QSResult get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && ttlMillis > 0 && (System.currentTimeMillis() - entry.created) > ttlMillis) {
+            entries.remove(key);
+            bytes -= entry.bytes;
+            expirations++;
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.result;
+    }
+
+    /**
+     * Caches the results unless they are too large, hold values that cannot be kept once the query has finished
+     * or the vdb has been deployed again since the key was obtained.
+     *
+     * @param key the key of the query
+     * @param result the results of the query
+     */
+    synchronized void put(Key key, QSResult result) {
+        if (key.epoch != epoch || key.deployment != deployment(key.vdb))
+            return;
+
+        long size = estimateBytes(result);
+        if (size < 0 || size > maxBytes)
+            return;
+
+        Entry previous = entries.put(key, new Entry(result, size, System.currentTimeMillis()));
+        if (previous != null)
+            bytes -= previous.bytes;
+
+        bytes += size;
+
+        Iterator<Entry> iter = entries.values().iterator();
+        while (bytes > maxBytes && iter.hasNext()) {
+            bytes -= iter.next().bytes;
+            iter.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops the results of the vdb and moves to its next deployment.
+     *
+     * @param vdb the name of the vdb
+     */
+    synchronized void invalidate(String vdb) {
+        deployments.put(vdb, deployment(vdb) + 1);
+
+        for (Iterator<Map.Entry<Key, Entry>> iter = entries.entrySet().iterator(); iter.hasNext();) {
+            Map.Entry<Key, Entry> entry = iter.next();
+            if (entry.getKey().vdb.equals(vdb)) {
+                bytes -= entry.getValue().bytes;
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all results, for instance after reconnecting to a server whose vdbs may have changed.
+     */
+    synchronized void clear() {
+        epoch++;
+        deployments.clear();
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return the hit, miss, eviction and expiration counts, the hit ratio and the number and estimated bytes of the cached results
+     *         keyed by statistic name (never <code>null</code>)
+     */
+    synchronized Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new TreeMap<>();
+        stats.put(HITS, hits);
+        stats.put(MISSES, misses);
+        stats.put(HIT_RATIO, (hits + misses) == 0 ? 0 : (hits * 100) / (hits + misses));
+        stats.put(EVICTIONS, evictions);
+        stats.put(EXPIRATIONS, expirations);
+        stats.put(ENTRIES, (long)entries.size());
+        stats.put(BYTES, bytes);
+        return stats;
+    }
+
+    private long deployment(String vdb) {
+        Long deployment = deployments.get(vdb);
+        return deployment == null ? 0 : deployment;
+    }
+
+    /**
+     * Collapses whitespace outside of quoted literals and identifiers so that differently formatted copies of a query
+     * share their results.
+     *
+     * @param sql the query
+     * @return the normalized query
+     */
+    static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean space = false;
+
+        for (char c : sql.trim().toCharArray()) {
+            if (quote == 0 && Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+
+            if (quote == 0 && (c == '\'' || c == '"'))
+                quote = c;
+            else if (c == quote)
+                quote = 0;
+
+            normalized.append(c);
+        }
+
+        return normalized.toString();
+    }
+
+    /**
+     * @param result the query results
+     * @return the estimated bytes of the results or -1 if they hold values, such as lobs, that cannot be cached
+     */
+    static long estimateBytes(QSResult result) {
+        long size = 0;
+
+        for (QSColumn column : result.getColumns()) {
+            size += ROW_OVERHEAD + sizeOf(column.getColumnName()) + sizeOf(column.getColumnLabel());
+        }
+
+        for (QSRow row : result.getRows()) {
+            size += ROW_OVERHEAD;
+
+            for (Object value : row.getValues()) {
+                if (value == null) {
+                    size += VALUE_OVERHEAD;
+                } else if (value instanceof String) {
+                    size += sizeOf((String)value);
+                } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+                    size += VALUE_OVERHEAD + sizeOf(value.toString());
+                } else if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                           || value instanceof java.util.Date) {
+                    size += VALUE_OVERHEAD + 8;
+                } else {
+                    return -1;
+                }
+            }
+        }
+
+        return size;
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? VALUE_OVERHEAD : VALUE_OVERHEAD + 24 + (2L * value.length());
+    }
+
+}
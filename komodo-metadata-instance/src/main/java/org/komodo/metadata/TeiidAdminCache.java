@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the results of calls to the teiid admin api for a short time so that repeated requests for the same metadata
+ * do not each go to the server. Entries are dropped when they expire or when komodo itself changes the metadata
+ * they were read from.
+ */
+class TeiidAdminCache {
+
+    /**
+     * Reads a value from the server
+     *
+     * @param <V> the type of value
+     */
+    interface Loader<V> {
+
+        /**
+         * @return the value (can be <code>null</code>)
+         * @throws Exception if the value could not be read
+         */
+        V load() throws Exception;
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long expires;
+
+        Entry(Object value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * The name of the statistic counting the values answered from the cache.
+     */
+    static final String HITS = "hits"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the values read from the server.
+     */
+    static final String MISSES = "misses"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the number of cached values.
+     */
+    static final String SIZE = "size"; //$NON-NLS-1$
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param key the key of the value
+     * @param ttlMillis the time the value is kept once read
+     * @param loader reads the value if it is not cached
+     * @return the value (can be <code>null</code>)
+     * @throws Exception if the value had to be read and could not be
+     */
+    @SuppressWarnings( "unchecked" )
+    <V> V get(String key, long ttlMillis, Loader<V> loader) throws Exception {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+
+        if (entry != null && entry.expires > now) {
+            hits.incrementAndGet();
+            return (V)entry.value;
+        }
+
+        misses.incrementAndGet();
+
+        //
+        // A value read while the metadata was being changed may already be out of date so only keep
+        // the value if there has been no invalidation since the read began
+        //
+        long readGeneration = generation.get();
+        V value = loader.load();
+
+        if (ttlMillis > 0 && generation.get() == readGeneration) {
+            entries.put(key, new Entry(value, now + ttlMillis));
+
+            if (generation.get() != readGeneration)
+                entries.remove(key);
+        }
+
+        return value;
+    }
+
+    /**
+     * Drops the values whose keys start with any of the prefixes
+     *
+     * @param prefixes the prefixes of the keys
+     */
+    void invalidate(String... prefixes) {
+        generation.incrementAndGet();
+
+        for (Iterator<String> iter = entries.keySet().iterator(); iter.hasNext();) {
+            String key = iter.next();
+
+            for (String prefix : prefixes) {
+                if (key.startsWith(prefix)) {
+                    iter.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all values
+     */
+    void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * @return the hit and miss counts and the number of cached values keyed by statistic name (never <code>null</code>)
+     */
+    Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new TreeMap<>();
+        stats.put(HITS, hits.get());
+        stats.put(MISSES, misses.get());
+        stats.put(SIZE, (long)entries.size());
+        return stats;
+    }
+
+}
@@ -0,0 +1,352 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.metadata.Messages.MetadataServer;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * A bounded pool of JDBC connections to a single VDB. Idle connections are validated before being handed out and are closed
+ * once they have been idle for too long. Closing a connection obtained from the pool returns it to the pool.
+ */
+public class TeiidConnectionPool {
+
+    /**
+     * Opens the physical connections of the pool.
+     */
+    public interface ConnectionFactory {
+
+        /**
+         * @return a new connection (never <code>null</code>)
+         * @throws SQLException
+         *         if the connection could not be opened
+         */
+        Connection create() throws SQLException;
+
+    }
+
+    /**
+     * The name of the statistic counting the physical connections opened.
+     */
+    public static final String CREATED = "created"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the connections handed out.
+     */
+    public static final String BORROWED = "borrowed"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the idle connections closed because they failed validation.
+     */
+    public static final String VALIDATION_FAILURES = "validationFailures"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the idle connections closed because they were idle for too long.
+     */
+    public static final String EVICTIONS = "evictions"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the number of connections currently handed out.
+     */
+    public static final String ACTIVE = "active"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the number of idle connections.
+     */
+    public static final String IDLE = "idle"; //$NON-NLS-1$
+
+    private static class IdleConnection {
+
+        private final Connection connection;
+        private final long since;
+
+        IdleConnection( final Connection connection,
+                        final long since ) {
+            this.connection = connection;
+            this.since = since;
+        }
+
+    }
+
+    private final ConnectionFactory factory;
+    private final long maxIdleMillis;
+    private final long maxWaitMillis;
+    private final int validationTimeoutSeconds;
+    private final Semaphore permits;
+    private final Deque< IdleConnection > idle = new ConcurrentLinkedDeque<>();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param factory
+     *        opens the physical connections (cannot be <code>null</code>)
+     * @param maxSize
+     *        the most connections, idle or handed out, the pool holds at the same time (must be positive)
+     * @param maxIdleMillis
+     *        the time after which an idle connection is closed
+     * @param maxWaitMillis
+     *        the time to wait for a connection when all connections are handed out
+     * @param validationTimeoutSeconds
+     *        the time allowed for validating an idle connection
+     */
+    public TeiidConnectionPool( final ConnectionFactory factory,
+                                final int maxSize,
+                                final long maxIdleMillis,
+                                final long maxWaitMillis,
+                                final int validationTimeoutSeconds ) {
+        ArgCheck.isNotNull( factory, "factory" ); //$NON-NLS-1$
+        ArgCheck.isTrue( maxSize > 0, "maxSize must be positive" ); //$NON-NLS-1$
+
+        this.factory = factory;
+        this.maxIdleMillis = maxIdleMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore( maxSize, true );
+    }
+
+    /**
+     * Hands out an idle connection that is still valid or, if there is none, opens a new one. Waits for a connection to be
+     * returned when the pool is at its maximum size.
+     *
+     * @return the connection, which is returned to the pool when closed (never <code>null</code>)
+     * @throws SQLException
+     *         if the pool is closed, no connection was returned in time or a connection could not be opened
+     */
+    public Connection getConnection() throws SQLException {
+        checkOpen();
+
+        try {
+            if ( !this.permits.tryAcquire( this.maxWaitMillis, TimeUnit.MILLISECONDS ) ) {
+                throw new SQLException( Messages.getString( MetadataServer.connectionPoolExhausted, this.maxWaitMillis ) );
+            }
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new SQLException( e );
+        }
+
+        try {
+            checkOpen();
+            evictIdle();
+
+            Connection connection = null;
+            IdleConnection candidate;
+
+            while ( ( connection == null ) && ( ( candidate = this.idle.pollFirst() ) != null ) ) {
+                if ( isValid( candidate.connection ) ) {
+                    connection = candidate.connection;
+                } else {
+                    this.validationFailures.incrementAndGet();
+                    closeQuietly( candidate.connection );
+                }
+            }
+
+            if ( connection == null ) {
+                connection = this.factory.create();
+                this.created.incrementAndGet();
+            }
+
+            this.borrowed.incrementAndGet();
+            this.active.incrementAndGet();
+            return wrap( connection );
+        } catch ( final SQLException | RuntimeException e ) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the idle connections and stops handing out connections. Connections that are handed out are closed when they are
+     * returned.
+     */
+    public void close() {
+        this.closed = true;
+
+        IdleConnection candidate;
+        while ( ( candidate = this.idle.pollFirst() ) != null ) {
+            closeQuietly( candidate.connection );
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the pool has been closed
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * @return the counts of connections created, handed out, failing validation and evicted and the number of active and idle
+     *         connections keyed by statistic name (never <code>null</code>)
+     */
+    public Map< String, Long > getStatistics() {
+        final Map< String, Long > stats = new TreeMap<>();
+        stats.put( CREATED, this.created.get() );
+        stats.put( BORROWED, this.borrowed.get() );
+        stats.put( VALIDATION_FAILURES, this.validationFailures.get() );
+        stats.put( EVICTIONS, this.evictions.get() );
+        stats.put( ACTIVE, ( long )this.active.get() );
+        stats.put( IDLE, ( long )this.idle.size() );
+        return stats;
+    }
+
+    /**
+     * Closes the connections that have been idle for longer than allowed. Called when a connection is requested and periodically
+     * by the owner of the pool, so that connections of a pool that is no longer used are closed as well.
+     */
+    public void evictIdle() {
+        final long now = System.currentTimeMillis();
+
+        for ( final Iterator< IdleConnection > iter = this.idle.iterator(); iter.hasNext(); ) {
+            final IdleConnection candidate = iter.next();
+
+            if ( ( now - candidate.since ) > this.maxIdleMillis && this.idle.removeFirstOccurrence( candidate ) ) {
+                this.evictions.incrementAndGet();
+                closeQuietly( candidate.connection );
+            }
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if ( this.closed ) {
+            throw new SQLException( Messages.getString( MetadataServer.connectionPoolClosed ) );
+        }
+    }
+
+    private boolean isValid( final Connection connection ) {
+        try {
+            return !connection.isClosed() && connection.isValid( this.validationTimeoutSeconds );
+        } catch ( final SQLException e ) {
+            KLog.getLogger().debug( "Pooled connection failed validation", e ); //$NON-NLS-1$
+            return false;
+        }
+    }
+
+    private void release( final Connection connection ) {
+        this.active.decrementAndGet();
+
+        try {
+            if ( this.closed || connection.isClosed() ) {
+                closeQuietly( connection );
+                return;
+            }
+
+            //
+            // Leave no transaction open for the next borrower
+            //
+            if ( !connection.getAutoCommit() ) {
+                connection.rollback();
+                connection.setAutoCommit( true );
+            }
+
+            this.idle.offerFirst( new IdleConnection( connection, System.currentTimeMillis() ) );
+
+            // close may have run while the connection was being returned
+            if ( this.closed ) {
+                close();
+            }
+        } catch ( final SQLException e ) {
+            closeQuietly( connection );
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    private static void closeQuietly( final Connection connection ) {
+        try {
+            connection.close();
+        } catch ( final SQLException e ) {
+            KLog.getLogger().debug( "Failed to close pooled connection", e ); //$NON-NLS-1$
+        }
+    }
+
+    private Connection wrap( final Connection connection ) {
+        final AtomicBoolean returned = new AtomicBoolean();
+
+        return ( Connection )Proxy.newProxyInstance( TeiidConnectionPool.class.getClassLoader(),
+                                                     new Class< ? >[] { Connection.class },
+                                                     new InvocationHandler() {
+
+            @Override
+            public Object invoke( final Object proxy,
+                                  final Method method,
+                                  final Object[] args ) throws Throwable {
+                final String name = method.getName();
+
+                if ( method.getDeclaringClass() == Object.class ) {
+                    if ( "equals".equals( name ) ) { //$NON-NLS-1$
+                        return ( proxy == args[ 0 ] );
+                    }
+
+                    if ( "hashCode".equals( name ) ) { //$NON-NLS-1$
+                        return System.identityHashCode( proxy );
+                    }
+
+                    return method.invoke( connection, args );
+                }
+
+                if ( "close".equals( name ) && ( method.getParameterTypes().length == 0 ) ) { //$NON-NLS-1$
+                    if ( returned.compareAndSet( false, true ) ) {
+                        release( connection );
+                    }
+
+                    return null;
+                }
+
+                if ( "isClosed".equals( name ) && ( method.getParameterTypes().length == 0 ) && returned.get() ) { //$NON-NLS-1$
+                    return Boolean.TRUE;
+                }
+
+                if ( returned.get() ) {
+                    throw new SQLException( Messages.getString( MetadataServer.pooledConnectionClosed ) );
+                }
+
+                try {
+                    return method.invoke( connection, args );
+                } catch ( final InvocationTargetException e ) {
+                    throw e.getCause();
+                }
+            }
+        } );
+    }
+
+}
@@ -34,6 +34,14 @@ public interface TeiidConnectionProvider {
 	Admin getAdmin() throws AdminException;
 	
 	Connection getConnection(String vdb, String version) throws SQLException;
+
+	/**
+	 * Discards any connections kept for the VDB, for instance after it has been deployed again or undeployed,
+	 * so the next connection to the VDB is a new one.
+	 *
+	 * @param vdb the name of the VDB
+	 */
+	void invalidate(String vdb);
 	
 	Outcome ping(ConnectivityType connectivityType);
 
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertThat;
+import org.junit.Test;
+import org.komodo.spi.metadata.MetadataInstance;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestQueryLimit {
+
+    @Test
+    public void shouldAddOffsetAndLimit() {
+        String sql = DefaultMetadataInstance.limitQuery("SELECT * FROM states ORDER BY abbreviation", 4, 10);
+        assertThat(sql, containsString("ORDER BY abbreviation"));
+        assertThat(sql, containsString("LIMIT 4, 10"));
+    }
+
+    @Test
+    public void shouldAddLimitWithoutOffset() {
+        String sql = DefaultMetadataInstance.limitQuery("SELECT * FROM states", 0, 10);
+        assertThat(sql, containsString("LIMIT 10"));
+    }
+
+    @Test
+    public void shouldNotChangeQueryWithLimit() {
+        assertThat(DefaultMetadataInstance.limitQuery("SELECT * FROM states LIMIT 5", 4, MetadataInstance.NO_LIMIT),
+                   is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotChangeProcedureExecution() {
+        assertThat(DefaultMetadataInstance.limitQuery("EXEC getStates()", 4, 10), is(nullValue()));
+    }
+
+}
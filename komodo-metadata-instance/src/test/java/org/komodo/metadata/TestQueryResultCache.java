@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import java.sql.Blob;
+import org.junit.Test;
+import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSRow;
+import org.mockito.Mockito;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestQueryResultCache {
+
+    private static QSResult result(Object... values) {
+        QSResult result = new QSResult();
+        for (Object value : values) {
+            QSRow row = new QSRow();
+            row.add(value);
+            result.addRow(row);
+        }
+        return result;
+    }
+
+    @Test
+    public void shouldAnswerReformattedQueryFromCache() {
+        QueryResultCache cache = new QueryResultCache(1024 * 1024, 60000);
+        QSResult result = result("Alabama", "Alaska");
+
+        cache.put(cache.key("states", "SELECT *  FROM\n states", 0, 10), result);
+
+        assertThat(cache.get(cache.key("states", " SELECT * FROM states ", 0, 10)), is(sameInstance(result)));
+        assertThat(cache.get(cache.key("states", "SELECT * FROM states", 0, 20)), is(nullValue()));
+        assertThat(cache.getStatistics().get(QueryResultCache.HITS), is(1L));
+        assertThat(cache.getStatistics().get(QueryResultCache.MISSES), is(1L));
+        assertThat(cache.getStatistics().get(QueryResultCache.HIT_RATIO), is(50L));
+    }
+
+    @Test
+    public void shouldNotCollapseWhitespaceInLiterals() {
+        assertThat(QueryResultCache.normalize("SELECT  *  FROM t WHERE a = 'x  y'"),
+                   is("SELECT * FROM t WHERE a = 'x  y'"));
+    }
+
+    @Test
+    public void shouldInvalidateVdbResults() {
+        QueryResultCache cache = new QueryResultCache(1024 * 1024, 60000);
+        QueryResultCache.Key key = cache.key("states", "SELECT * FROM states", 0, 10);
+        cache.put(key, result("Alabama"));
+        cache.put(cache.key("cities", "SELECT * FROM cities", 0, 10), result("Boston"));
+
+        cache.invalidate("states");
+
+        assertThat(cache.get(cache.key("states", "SELECT * FROM states", 0, 10)), is(nullValue()));
+        assertThat(cache.getStatistics().get(QueryResultCache.ENTRIES), is(1L));
+
+        // results of a query started before the redeployment are not kept
+        cache.put(key, result("Alabama"));
+        assertThat(cache.getStatistics().get(QueryResultCache.ENTRIES), is(1L));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResults() {
+        QSResult first = result("Alabama");
+        QSResult second = result("Alaska");
+        QSResult third = result("Arizona");
+        long size = QueryResultCache.estimateBytes(first);
+        QueryResultCache cache = new QueryResultCache(size * 2, 60000);
+
+        cache.put(cache.key("states", "SELECT 1", 0, 10), first);
+        cache.put(cache.key("states", "SELECT 2", 0, 10), second);
+        cache.get(cache.key("states", "SELECT 1", 0, 10));
+        cache.put(cache.key("states", "SELECT 3", 0, 10), third);
+
+        assertThat(cache.get(cache.key("states", "SELECT 1", 0, 10)), is(sameInstance(first)));
+        assertThat(cache.get(cache.key("states", "SELECT 2", 0, 10)), is(nullValue()));
+        assertThat(cache.getStatistics().get(QueryResultCache.EVICTIONS), is(1L));
+    }
+
+    @Test
+    public void shouldExpireResults() throws Exception {
+        QueryResultCache cache = new QueryResultCache(1024 * 1024, 1);
+        cache.put(cache.key("states", "SELECT * FROM states", 0, 10), result("Alabama"));
+
+        Thread.sleep(5);
+
+        assertThat(cache.get(cache.key("states", "SELECT * FROM states", 0, 10)), is(nullValue()));
+        assertThat(cache.getStatistics().get(QueryResultCache.EXPIRATIONS), is(1L));
+        assertThat(cache.getStatistics().get(QueryResultCache.ENTRIES), is(0L));
+        assertThat(cache.getStatistics().get(QueryResultCache.BYTES), is(0L));
+    }
+
+    @Test
+    public void shouldNotCacheLobs() {
+        QueryResultCache cache = new QueryResultCache(1024 * 1024, 60000);
+        cache.put(cache.key("docs", "SELECT * FROM docs", 0, 10), result(Mockito.mock(Blob.class)));
+
+        assertThat(cache.getStatistics().get(QueryResultCache.ENTRIES), is(0L));
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestTeiidAdminCache {
+
+    private static class CountingLoader implements TeiidAdminCache.Loader<String> {
+
+        private final AtomicInteger loads = new AtomicInteger();
+        private final String value;
+
+        CountingLoader(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String load() {
+            loads.incrementAndGet();
+            return value;
+        }
+    }
+
+    private final TeiidAdminCache cache = new TeiidAdminCache();
+
+    @Test
+    public void shouldAnswerRepeatedReadsFromCache() throws Exception {
+        CountingLoader loader = new CountingLoader("active");
+
+        assertThat(cache.get("vdb:states", 60000, loader), is("active"));
+        assertThat(cache.get("vdb:states", 60000, loader), is("active"));
+
+        assertThat(loader.loads.get(), is(1));
+        assertThat(cache.getStatistics().get(TeiidAdminCache.HITS), is(1L));
+        assertThat(cache.getStatistics().get(TeiidAdminCache.MISSES), is(1L));
+    }
+
+    @Test
+    public void shouldCacheMissingValues() throws Exception {
+        CountingLoader loader = new CountingLoader(null);
+
+        assertThat(cache.get("vdb:missing", 60000, loader), is(nullValue()));
+        assertThat(cache.get("vdb:missing", 60000, loader), is(nullValue()));
+
+        assertThat(loader.loads.get(), is(1));
+    }
+
+    @Test
+    public void shouldReadAgainOnceExpired() throws Exception {
+        CountingLoader loader = new CountingLoader("loading");
+
+        cache.get("vdb:states", 1, loader);
+        Thread.sleep(5);
+        cache.get("vdb:states", 1, loader);
+
+        assertThat(loader.loads.get(), is(2));
+    }
+
+    @Test
+    public void shouldReadAgainOnceInvalidated() throws Exception {
+        CountingLoader vdbLoader = new CountingLoader("active");
+        CountingLoader dsLoader = new CountingLoader("h2");
+
+        cache.get("vdb:states", 60000, vdbLoader);
+        cache.get("dataSource:h2", 60000, dsLoader);
+        cache.invalidate("vdb");
+        cache.get("vdb:states", 60000, vdbLoader);
+        cache.get("dataSource:h2", 60000, dsLoader);
+
+        assertThat(vdbLoader.loads.get(), is(2));
+        assertThat(dsLoader.loads.get(), is(1));
+    }
+
+    @Test
+    public void shouldNotKeepValueReadDuringInvalidation() throws Exception {
+        TeiidAdminCache.Loader<String> loader = new TeiidAdminCache.Loader<String>() {
+
+            @Override
+            public String load() {
+                // komodo changes the vdb while its old state is being read
+                cache.invalidate("vdb");
+                return "stale";
+            }
+        };
+
+        cache.get("vdb:states", 60000, loader);
+
+        assertThat(cache.getStatistics().get(TeiidAdminCache.SIZE), is(0L));
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestTeiidConnectionPool {
+
+    private static class MockFactory implements TeiidConnectionPool.ConnectionFactory {
+
+        private Connection last;
+        private boolean valid = true;
+
+        @Override
+        public Connection create() throws SQLException {
+            this.last = Mockito.mock(Connection.class);
+            Mockito.when(this.last.isValid(Mockito.anyInt())).thenReturn(this.valid);
+            Mockito.when(this.last.getAutoCommit()).thenReturn(true);
+            return this.last;
+        }
+    }
+
+    private final MockFactory factory = new MockFactory();
+
+    private TeiidConnectionPool createPool(int maxSize, long maxIdleMillis) {
+        return new TeiidConnectionPool(this.factory, maxSize, maxIdleMillis, 100, 1);
+    }
+
+    @Test
+    public void shouldReuseReturnedConnection() throws Exception {
+        TeiidConnectionPool pool = createPool(2, 60000);
+
+        pool.getConnection().close();
+        Connection physical = this.factory.last;
+        pool.getConnection().close();
+
+        assertThat(this.factory.last, is(sameInstance(physical)));
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.CREATED), is(1L));
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.BORROWED), is(2L));
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.IDLE), is(1L));
+        Mockito.verify(physical, Mockito.never()).close();
+    }
+
+    @Test
+    public void shouldNotExceedMaxSize() throws Exception {
+        TeiidConnectionPool pool = createPool(1, 60000);
+        Connection connection = pool.getConnection();
+
+        try {
+            pool.getConnection();
+            fail("Pool should be exhausted");
+        } catch (SQLException ex) {
+            // expected
+        }
+
+        connection.close();
+        pool.getConnection();
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.ACTIVE), is(1L));
+    }
+
+    @Test
+    public void shouldReplaceInvalidConnection() throws Exception {
+        TeiidConnectionPool pool = createPool(2, 60000);
+        pool.getConnection().close();
+        Connection invalid = this.factory.last;
+        Mockito.when(invalid.isValid(Mockito.anyInt())).thenReturn(false);
+
+        pool.getConnection();
+
+        assertThat(this.factory.last, is(not(sameInstance(invalid))));
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.VALIDATION_FAILURES), is(1L));
+        Mockito.verify(invalid).close();
+    }
+
+    @Test
+    public void shouldEvictIdleConnection() throws Exception {
+        TeiidConnectionPool pool = createPool(2, 0);
+        pool.getConnection().close();
+        Connection idle = this.factory.last;
+
+        Thread.sleep(5);
+        pool.getConnection();
+
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.EVICTIONS), is(1L));
+        Mockito.verify(idle).close();
+    }
+
+    @Test
+    public void shouldEvictIdleConnectionWhenSwept() throws Exception {
+        TeiidConnectionPool pool = createPool(2, 0);
+        pool.getConnection().close();
+        Connection idle = this.factory.last;
+
+        Thread.sleep(5);
+        pool.evictIdle();
+
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.EVICTIONS), is(1L));
+        assertThat(pool.getStatistics().get(TeiidConnectionPool.IDLE), is(0L));
+        Mockito.verify(idle).close();
+    }
+
+    @Test
+    public void shouldCloseConnectionsWhenPoolClosed() throws Exception {
+        TeiidConnectionPool pool = createPool(2, 60000);
+        Connection returned = pool.getConnection();
+        Connection idle = this.factory.last;
+        Connection active = pool.getConnection();
+        Connection physical = this.factory.last;
+        returned.close();
+
+        pool.close();
+        Mockito.verify(idle).close();
+
+        active.close();
+        Mockito.verify(physical).close();
+        assertThat(active.isClosed(), is(true));
+
+        try {
+            pool.getConnection();
+            fail("Pool should be closed");
+        } catch (SQLException ex) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.metadata;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.metadata.MetadataInstance.DeploymentCheck;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.mockito.Mockito;
+import org.teiid.adminapi.Admin;
+import org.teiid.adminapi.VDB.Status;
+import org.teiid.adminapi.impl.VDBMetaData;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestVdbReadiness {
+
+    private Admin admin;
+
+    private DefaultMetadataInstance metadata;
+
+    private static VDBMetaData vdb(String name, Status status) {
+        VDBMetaData vdb = new VDBMetaData();
+        vdb.setName(name);
+        vdb.setVersion(1);
+        vdb.setXmlDeployment(true);
+        vdb.setStatus(status);
+        return vdb;
+    }
+
+    @Before
+    public void setup() throws Exception {
+        admin = Mockito.mock(Admin.class);
+        TeiidConnectionProvider provider = Mockito.mock(TeiidConnectionProvider.class);
+        Mockito.stub(provider.getAdmin()).toReturn(admin);
+        metadata = new DefaultMetadataInstance(provider);
+    }
+
+    @Test
+    public void shouldReturnActiveVdbWithoutWaiting() throws Exception {
+        Mockito.doReturn(Arrays.asList(vdb("states", Status.ACTIVE))).when(admin).getVDBs();
+
+        long start = System.currentTimeMillis();
+        TeiidVdb vdb = metadata.waitForVdb("states", 10000);
+
+        assertThat(vdb.isActive(), is(true));
+        assertThat(System.currentTimeMillis() - start < 5000, is(true));
+        Mockito.verify(admin, Mockito.times(1)).getVDBs();
+    }
+
+    @Test
+    public void shouldWaitUntilVdbHasLoaded() throws Exception {
+        Mockito.doReturn(Arrays.asList(vdb("states", Status.LOADING)))
+               .doReturn(Arrays.asList(vdb("states", Status.FAILED)))
+               .when(admin).getVDBs();
+
+        TeiidVdb vdb = metadata.waitForVdb("states", 10000);
+
+        assertThat(vdb.hasFailed(), is(true));
+        Mockito.verify(admin, Mockito.times(2)).getVDBs();
+    }
+
+    @Test
+    public void shouldReturnLoadingVdbOnceTimedOut() throws Exception {
+        Mockito.doReturn(Arrays.asList(vdb("states", Status.LOADING))).when(admin).getVDBs();
+
+        TeiidVdb vdb = metadata.waitForVdb("states", 100);
+
+        assertThat(vdb.isLoading(), is(true));
+    }
+
+    @Test
+    public void shouldReturnNullForVdbNotDeployed() throws Exception {
+        Mockito.doReturn(Collections.emptyList()).when(admin).getVDBs();
+
+        assertThat(metadata.waitForVdb("states", 100), is(nullValue()));
+    }
+
+    @Test
+    public void shouldWaitForSeveralVdbsTogether() throws Exception {
+        Mockito.doReturn(Arrays.asList(vdb("states", Status.ACTIVE), vdb("cities", Status.LOADING)))
+               .doReturn(Arrays.asList(vdb("states", Status.ACTIVE), vdb("cities", Status.ACTIVE)))
+               .when(admin).getVDBs();
+
+        Map<String, TeiidVdb> vdbs = metadata.waitForVdbs(Arrays.asList("states", "cities"), 10000);
+
+        assertThat(vdbs.get("states").isActive(), is(true));
+        assertThat(vdbs.get("cities").isActive(), is(true));
+        Mockito.verify(admin, Mockito.times(2)).getVDBs();
+    }
+
+    @Test
+    public void shouldReadServerAfreshWhileWaitingForRemoval() throws Exception {
+        Mockito.doReturn(Arrays.asList(vdb("states", Status.ACTIVE)))
+               .doReturn(Collections.emptyList())
+               .when(admin).getVDBs();
+
+        // caches the vdb before it is removed
+        assertThat(metadata.getVdbs().size(), is(1));
+
+        boolean removed = metadata.waitForDeployment(new DeploymentCheck() {
+
+            @Override
+            public boolean isComplete() throws Exception {
+                return metadata.getVdbs().isEmpty();
+            }
+        }, 10000);
+
+        assertThat(removed, is(true));
+        Mockito.verify(admin, Mockito.times(2)).getVDBs();
+    }
+
+    @Test
+    public void shouldReportDeploymentNotCompletedOnceTimedOut() throws Exception {
+        boolean complete = metadata.waitForDeployment(new DeploymentCheck() {
+
+            @Override
+            public boolean isComplete() throws Exception {
+                return false;
+            }
+        }, 100);
+
+        assertThat(complete, is(false));
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.relational;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.komodo.utils.ArgCheck;
+
+/**
+ * A deployment running in the background. The {@link DeployStatus status} collects the progress and error messages as the
+ * deployment proceeds so it can be polled using the job identifier.
+ */
+public class DeployJob {
+
+    /**
+     * The state of a deployment job.
+     */
+    public enum State {
+
+        /**
+         * The job has been submitted but has not started deploying.
+         */
+        QUEUED,
+
+        /**
+         * The job is deploying.
+         */
+        RUNNING,
+
+        /**
+         * The job has finished. The status indicates if the deployment succeeded.
+         */
+        COMPLETED
+
+    }
+
+    private final String id;
+    private final String name;
+    private final DeployStatus status;
+    private final CountDownLatch done = new CountDownLatch( 1 );
+    private final long submitted;
+    private volatile long finished;
+    private volatile State state = State.QUEUED;
+
+    /**
+     * @param name
+     *        the name of what is being deployed (cannot be empty)
+     * @param status
+     *        the status the deployment reports to (cannot be <code>null</code>)
+     */
+    public DeployJob( final String name,
+                      final DeployStatus status ) {
+        ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( status, "status" ); //$NON-NLS-1$
+
+        this.id = UUID.randomUUID().toString();
+        this.name = name;
+        this.status = status;
+        this.submitted = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the job identifier (never empty)
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * @return the name of what is being deployed (never empty)
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the deployment status, which changes until the job is {@link #isDone() done} (never <code>null</code>)
+     */
+    public DeployStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return the job state (never <code>null</code>)
+     */
+    public State getState() {
+        return this.state;
+    }
+
+    /**
+     * @return <code>true</code> if the job has finished
+     */
+    public boolean isDone() {
+        return this.state == State.COMPLETED;
+    }
+
+    /**
+     * @return the time the job was submitted in milliseconds
+     */
+    public long getSubmitted() {
+        return this.submitted;
+    }
+
+    /**
+     * @return the time the job finished in milliseconds or zero if it has not finished
+     */
+    public long getFinished() {
+        return this.finished;
+    }
+
+    /**
+     * Marks the job as deploying.
+     */
+    public void started() {
+        this.state = State.RUNNING;
+    }
+
+    /**
+     * Marks the job as finished and releases any threads waiting for it.
+     */
+    public void completed() {
+        this.finished = System.currentTimeMillis();
+        this.state = State.COMPLETED;
+        this.done.countDown();
+    }
+
+    /**
+     * Waits for the job to finish.
+     *
+     * @throws InterruptedException
+     *         if interrupted while waiting
+     */
+    public void await() throws InterruptedException {
+        this.done.await();
+    }
+
+    /**
+     * Waits for the job to finish.
+     *
+     * @param timeout
+     *        the maximum time to wait in milliseconds
+     * @return <code>true</code> if the job finished before the timeout elapsed
+     * @throws InterruptedException
+     *         if interrupted while waiting
+     */
+    public boolean await( final long timeout ) throws InterruptedException {
+        return this.done.await( timeout, TimeUnit.MILLISECONDS );
+    }
+
+}
@@ -21,19 +21,22 @@
  */
 package org.komodo.relational;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.StringUtils;
 
+/**
+ * The messages of a deployment. Messages may be added by the deploying threads while the status is being read.
+ */
 public class DeployStatus implements StringConstants {
 
     // Progress Messages
-    private List<String> progressMessages = new ArrayList<String>();
+    private List<String> progressMessages = new CopyOnWriteArrayList<String>();
 
     // Error Messages
-    private List<String> errorMessages = new ArrayList<String>();
+    private List<String> errorMessages = new CopyOnWriteArrayList<String>();
 
     public boolean ok() {
         return errorMessages.isEmpty();
@@ -68,7 +71,7 @@ public class DeployStatus implements StringConstants {
         ArgCheck.isNotNull(message, "error message"); //$NON-NLS-1$
 
         if (errorMessages == null) {
-            errorMessages = new ArrayList<String>();
+            errorMessages = new CopyOnWriteArrayList<String>();
         }
         errorMessages.add(message);
     }
@@ -79,7 +82,7 @@ public class DeployStatus implements StringConstants {
      */
     public List<String> getErrorMessages() {
         if (errorMessages == null) {
-            errorMessages = new ArrayList<String>();
+            errorMessages = new CopyOnWriteArrayList<String>();
         }
 
         return errorMessages;
@@ -110,7 +113,7 @@ public class DeployStatus implements StringConstants {
         ArgCheck.isNotNull(message, "progress message"); //$NON-NLS-1$
 
         if (progressMessages == null) {
-            progressMessages = new ArrayList<String>();
+            progressMessages = new CopyOnWriteArrayList<String>();
         }
 
         progressMessages.add(message);
@@ -118,7 +121,7 @@ public class DeployStatus implements StringConstants {
 
     public List<String> getProgressMessages() {
         if (progressMessages == null) {
-            progressMessages = new ArrayList<String>();
+            progressMessages = new CopyOnWriteArrayList<String>();
         }
 
         return progressMessages;
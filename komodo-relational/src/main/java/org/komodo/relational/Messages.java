@@ -371,6 +371,11 @@ public class Messages implements StringConstants {
          */
         DATA_SERVICE_DRIVER_SUCCESSFULLY_DEPLOYED,
 
+        /**
+         * A message indicating a driver is already deployed and was skipped.
+         */
+        DATA_SERVICE_DRIVER_UNCHANGED,
+
         /**
          * A message indicating a VDB is being deployed.
          */
@@ -381,10 +386,25 @@ public class Messages implements StringConstants {
          */
         DATA_SERVICE_VDB_SUCCESSFULLY_DEPLOYED,
 
+        /**
+         * A message indicating a VDB is already deployed and was skipped.
+         */
+        DATA_SERVICE_VDB_UNCHANGED,
+
         /**
          * An error message indicating the vdb contents cannot be exported from the data service
          */
-        DATA_SERVICE_VDB_CONTENTS_FAILURE;
+        DATA_SERVICE_VDB_CONTENTS_FAILURE,
+
+        /**
+         * An error message indicating a deployment was rejected because too many are waiting
+         */
+        DATA_SERVICE_DEPLOY_REJECTED,
+
+        /**
+         * An error message indicating a deployment was cancelled because the engine shut down
+         */
+        DATA_SERVICE_DEPLOY_CANCELLED;
 
         @Override
         public String toString() {
@@ -21,6 +21,7 @@
  */
 package org.komodo.relational.connection.internal;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Properties;
 import org.komodo.core.KomodoLexicon;
@@ -352,7 +353,7 @@ public class ConnectionImpl extends RelationalObjectImpl implements Connection,
                          xmlResult);
         }
 
-        return xmlResult.getBytes();
+        return xmlResult.getBytes(StandardCharsets.UTF_8);
     }
 
     /**
@@ -7,6 +7,7 @@
 */
 package org.komodo.relational.dataservice;
 
+import java.io.OutputStream;
 import java.util.Properties;
 import org.komodo.relational.Messages;
 import org.komodo.relational.Messages.Relational;
@@ -117,6 +118,29 @@ public interface DataServiceEntry< T extends Exportable & RelationalObject > ext
         return resource.export( transaction, properties );
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    default void export( final UnitOfWork transaction,
+                         final Properties properties,
+                         final OutputStream stream ) throws KException {
+        final T resource = getReference( transaction );
+
+        if ( resource == null ) {
+            if ( getPublishPolicy( transaction ) != PublishPolicy.NEVER ) {
+                throw new KException( Messages.getString( Relational.EXPORT_FAILED_NO_CONTENT, getAbsolutePath() ) );
+            }
+
+            return;
+        }
+
+        resource.export( transaction, properties, stream );
+    }
+
     /**
      * {@inheritDoc}
      *
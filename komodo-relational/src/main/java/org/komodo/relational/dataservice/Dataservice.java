@@ -23,6 +23,7 @@ package org.komodo.relational.dataservice;
 
 import java.util.Calendar;
 import org.komodo.core.repository.ObjectImpl;
+import org.komodo.relational.DeployJob;
 import org.komodo.relational.DeployStatus;
 import org.komodo.relational.RelationalObject;
 import org.komodo.relational.TypeResolver;
@@ -253,6 +254,18 @@ public interface Dataservice extends Exportable, RelationalObject, VdbEntryConta
      */
     DeployStatus deploy( UnitOfWork uow) throws KException;
 
+    /**
+     * Starts deploying this data service in the background. This data service is read before returning.
+     *
+     * @param uow
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @return the deployment job whose status can be polled (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    DeployJob startDeploy( UnitOfWork uow ) throws KException;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> and must have a state of
@@ -23,6 +23,7 @@ package org.komodo.relational.dataservice;
 
 import static org.komodo.spi.constants.StringConstants.COLON;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -498,7 +499,7 @@ public class DataserviceManifest implements Exportable {
                           transaction.getName(),
                           this.xml );
         }
-        return this.xml == null ? new byte[ 0 ] : this.xml.getBytes();
+        return this.xml == null ? new byte[ 0 ] : this.xml.getBytes( StandardCharsets.UTF_8 );
     }
 
     private String[] filter( final String[] propertyNames ) {
@@ -27,22 +27,53 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import org.komodo.importer.AbstractImporter;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
 import org.komodo.importer.ImportOptions.ExistingNodeOptions;
 import org.komodo.importer.ImportOptions.OptionKeys;
+import org.komodo.relational.DeployJob;
 import org.komodo.relational.DeployStatus;
 import org.komodo.relational.Messages;
 import org.komodo.relational.connection.Connection;
 import org.komodo.relational.dataservice.ConnectionEntry;
 import org.komodo.relational.dataservice.DataServiceEntry;
+import org.komodo.relational.dataservice.DataServiceEntry.PublishPolicy;
 import org.komodo.relational.dataservice.Dataservice;
 import org.komodo.relational.dataservice.DataserviceManifest;
 import org.komodo.relational.dataservice.DriverEntry;
@@ -61,9 +92,11 @@ import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.runtime.ConnectionDriver;
 import org.komodo.spi.runtime.TeiidDataSource;
 import org.komodo.spi.runtime.TeiidVdb;
 import org.komodo.utils.ArgCheck;
+import org.komodo.utils.DaemonThreadFactory;
 import org.komodo.utils.FileUtils;
 import org.komodo.utils.StringUtils;
 import org.teiid.modeshape.sequencer.dataservice.DataServiceManifest;
@@ -79,6 +112,50 @@ public class DataserviceConveyor implements StringConstants {
      */
     public static final int BUFFER_SIZE = 8192;
 
+    /**
+     * The number of drivers or connections deployed at the same time
+     */
+    public static final int DEPLOY_THREADS = 4;
+
+    /**
+     * The number of data services deployed at the same time
+     */
+    public static final int DEPLOY_JOB_THREADS = 2;
+
+    /**
+     * The number of deployment jobs that can wait to start before more are rejected
+     */
+    public static final int DEPLOY_JOB_QUEUE_SIZE = 20;
+
+    /**
+     * The time in milliseconds a finished deployment job can still be obtained
+     */
+    public static final long DEPLOY_JOB_RETENTION = 30 * 60 * 1000;
+
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+    /**
+     * The VDB property holding the hash of the content it was deployed with, which is read back from the server to tell if
+     * the VDB has changed since it was deployed
+     */
+    public static final String CONTENT_HASH_PROPERTY = "komodo.contentHash"; //$NON-NLS-1$
+
+    // vdb children that are written before its properties
+    private static final List< String > VDB_HEADER_ELEMENTS = Arrays.asList( "description", //$NON-NLS-1$
+                                                                               "connection-type", //$NON-NLS-1$
+                                                                               "property" ); //$NON-NLS-1$
+
+    // the server names a deployed driver using its deployment name followed by the driver class and version
+    private static final String DRIVER_SUFFIX_SEPARATOR = UNDERSCORE;
+
+    // deployment jobs keyed by job identifier
+    private static final Map< String, DeployJob > DEPLOY_JOBS = new ConcurrentHashMap<>();
+
+    // created by the first deployment after startup or a shutdown
+    private static ThreadPoolExecutor jobExecutor;
+
+    private static ExecutorService artifactExecutor;
+
     private final Repository repository;
 
     private final MetadataInstance metadataInstance;
@@ -91,19 +168,56 @@ public class DataserviceConveyor implements StringConstants {
         this.metadataInstance = metadataInstance;
     }
 
-    protected WorkspaceManager getWorkspaceManager(UnitOfWork transaction) throws KException {
-        return WorkspaceManager.getInstance(repository, transaction);
+    private static synchronized ThreadPoolExecutor jobExecutor() {
+        if ( jobExecutor == null ) {
+            jobExecutor = new ThreadPoolExecutor( DEPLOY_JOB_THREADS,
+                                                  DEPLOY_JOB_THREADS,
+                                                  0L,
+                                                  TimeUnit.MILLISECONDS,
+                                                  new ArrayBlockingQueue< Runnable >( DEPLOY_JOB_QUEUE_SIZE ),
+                                                  new DaemonThreadFactory( "komodo-deploy-job" ) ); //$NON-NLS-1$
+        }
+
+        return jobExecutor;
     }
 
-    private static String determineNewName(UnitOfWork transaction, KomodoObject parent, String nodeName) throws KException {
-        for (int i = 0; i < 1000; ++i) {
-            String newName = nodeName + UNDERSCORE + i;
-            if (!parent.hasChild(transaction, newName))
-                return newName;
+    private static synchronized ExecutorService artifactExecutor() {
+        if ( artifactExecutor == null ) {
+            artifactExecutor = Executors.newFixedThreadPool( DEPLOY_THREADS,
+                                                             new DaemonThreadFactory( "komodo-deploy" ) ); //$NON-NLS-1$
         }
 
-        throw new KException(org.komodo.importer.Messages.getString(
-                                                                    org.komodo.importer.Messages.IMPORTER.newNameFailure, nodeName));
+        return artifactExecutor;
+    }
+
+    /**
+     * Stops the deployments that are running and cancels those waiting to start. Called when the engine shuts down. The
+     * deployment threads are created again by the next deployment.
+     */
+    public static void shutdown() {
+        List< Runnable > waiting = Collections.emptyList();
+
+        synchronized ( DataserviceConveyor.class ) {
+            if ( jobExecutor != null ) {
+                waiting = jobExecutor.shutdownNow();
+                jobExecutor = null;
+            }
+
+            if ( artifactExecutor != null ) {
+                artifactExecutor.shutdownNow();
+                artifactExecutor = null;
+            }
+        }
+
+        for ( final Runnable task : waiting ) {
+            if ( task instanceof DeployTask ) {
+                ( ( DeployTask )task ).cancel();
+            }
+        }
+    }
+
+    protected WorkspaceManager getWorkspaceManager(UnitOfWork transaction) throws KException {
+        return WorkspaceManager.getInstance(repository, transaction);
     }
 
     public static boolean handleExistingNode(UnitOfWork transaction, KomodoObject parent, ImportOptions importOptions,
@@ -127,7 +241,7 @@ public class DataserviceConveyor implements StringConstants {
                 return false;
             // CREATE_NEW - Return 'true' - will create a new data service with new unique name.  Log a progress message.
             case CREATE_NEW:
-                String newName = determineNewName(transaction, parent, dsName);
+                String newName = AbstractImporter.determineNewName(transaction, parent, dsName);
                 importMessages.addProgressMessage(org.komodo.importer.Messages.getString(
                                                                                          org.komodo.importer.Messages.IMPORTER.nodeExistCreateNew, dsName, newName));
                 importOptions.setOption(OptionKeys.NAME, newName);
@@ -277,119 +391,254 @@ public class DataserviceConveyor implements StringConstants {
     public byte[] export( final UnitOfWork transaction,
                           final Dataservice dataService,
                           final Properties exportProperties ) throws KException {
+        try ( final ByteArrayOutputStream bos = new ByteArrayOutputStream() ) {
+            export( transaction, dataService, exportProperties, bos );
+            return bos.toByteArray();
+        } catch ( final IOException ex ) {
+            throw new KException( ex );
+        }
+    }
+
+    /**
+     * Export the given data service as a zip archive written directly to the given stream. Each archive entry is
+     * generated straight into the zip so the archive is never assembled in memory. The stream is not closed.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param dataService
+     *        the data service to export
+     * @param exportProperties
+     *        export properties to be used during the export procedure
+     * @param stream
+     *        the stream the archive is written to (cannot be <code>null</code>)
+     * @throws KException
+     *         if errors occurs
+     */
+    public void export( final UnitOfWork transaction,
+                        final Dataservice dataService,
+                        final Properties exportProperties,
+                        final OutputStream stream ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
 
-        ZipOutputStream zipStream = null;
-
-        try ( final ByteArrayOutputStream bos = new ByteArrayOutputStream() ) {
+        try {
             final DataServiceEntry< ? >[] entries = dataService.getChildren( transaction );
 
             if ( entries.length == 0 ) {
-                return bos.toByteArray();
+                return;
             }
 
-            zipStream = new ZipOutputStream(bos);
+            // not closed as that would close the caller's stream
+            final ZipOutputStream zipStream = new ZipOutputStream( stream );
 
             //
             // Generate manifest for data service
             //
             DataserviceManifest manifest = new DataserviceManifest( transaction, dataService );
-            byte[] manifestBytes = manifest.export( transaction, new Properties() );
 
             ZipEntry manZipEntry = new ZipEntry( DataserviceManifest.MANIFEST );
             zipStream.putNextEntry( manZipEntry );
-            zipStream.write( manifestBytes );
+            manifest.export( transaction, new Properties(), zipStream );
             zipStream.closeEntry();
 
             for ( final DataServiceEntry< ? > entry : entries ) {
-                final byte[] content = entry.export( transaction, new Properties() );
                 final String entryName = entry.getEntryPath( transaction );
                 final ZipEntry zipEntry = new ZipEntry( entryName );
 
                 zipStream.putNextEntry( zipEntry );
-                zipStream.write( content );
-                zipStream.flush();
+                entry.export( transaction, new Properties(), zipStream );
                 zipStream.closeEntry();
             }
 
             //
             // Required to ensure the zip is not corrupt
             //
-            zipStream.flush();
             zipStream.finish();
-            zipStream.close();
+            zipStream.flush();
+        } catch ( final KException ex ) {
+            throw ex;
+        } catch ( final Exception ex ) {
+            throw new KException( ex );
+        }
+    }
 
-            return bos.toByteArray();
+    private static boolean isPublished( final PublishPolicy policy ) {
+        return ( policy != PublishPolicy.NEVER );
+    }
 
-        } catch ( Exception ex ) {
-            throw new KException( ex );
-        } finally {
-            if ( zipStream != null ) {
-                try {
-                    zipStream.finish();
-                } catch ( IOException e ) {
-                    // nothing to do
+    private static MessageDigest newContentDigest() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance( CONTENT_HASH_ALGORITHM );
+    }
+
+    private static String toHex( final byte[] bytes ) {
+        final StringBuilder hex = new StringBuilder( bytes.length * 2 );
+
+        for ( final byte b : bytes ) {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) );
+            hex.append( Character.forDigit( b & 0xF, 16 ) );
+        }
+
+        return hex.toString();
+    }
+
+    /**
+     * Adds the {@link #CONTENT_HASH_PROPERTY content hash} to the vdb properties. It follows any existing properties so it
+     * replaces one already in the content.
+     */
+    private static byte[] stampContentHash( final byte[] vdbXml,
+                                            final String hash ) throws XMLStreamException {
+        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty( XMLInputFactory.SUPPORT_DTD, false );
+        inputFactory.setProperty( XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false );
+
+        final ByteArrayOutputStream stamped = new ByteArrayOutputStream( vdbXml.length + 128 );
+        final XMLEventReader reader = inputFactory.createXMLEventReader( new ByteArrayInputStream( vdbXml ) );
+        final XMLEventWriter writer = XMLOutputFactory.newInstance().createXMLEventWriter( stamped,
+                                                                                       StandardCharsets.UTF_8.name() );
+        final XMLEventFactory events = XMLEventFactory.newInstance();
+        QName vdbName = null;
+        boolean done = false;
+        int depth = 0;
+
+        try {
+            while ( reader.hasNext() ) {
+                final XMLEvent event = reader.nextEvent();
+
+                if ( event.isStartDocument() ) {
+                    writer.add( events.createStartDocument( StandardCharsets.UTF_8.name() ) );
+                    continue;
                 }
 
-                try {
-                    zipStream.close();
-                } catch ( IOException e ) {
-                    // nothing to do
+                if ( !done && ( depth == 1 ) ) {
+                    final boolean vdbEnd = event.isEndElement();
+                    final boolean bodyStart = event.isStartElement()
+                                              && !VDB_HEADER_ELEMENTS.contains( event.asStartElement().getName().getLocalPart() );
+
+                    if ( vdbEnd || bodyStart ) {
+                        final QName property = new QName( vdbName.getNamespaceURI(), "property", vdbName.getPrefix() ); //$NON-NLS-1$
+                        writer.add( events.createStartElement( property, null, null ) );
+                        writer.add( events.createAttribute( "name", CONTENT_HASH_PROPERTY ) ); //$NON-NLS-1$
+                        writer.add( events.createAttribute( "value", hash ) ); //$NON-NLS-1$
+                        writer.add( events.createEndElement( property, null ) );
+                        done = true;
+                    }
                 }
+
+                if ( event.isStartElement() ) {
+                    if ( depth == 0 ) {
+                        vdbName = event.asStartElement().getName();
+                    }
+
+                    ++depth;
+                } else if ( event.isEndElement() ) {
+                    --depth;
+                }
+
+                writer.add( event );
             }
+
+            writer.flush();
+        } finally {
+            writer.close();
+            reader.close();
         }
+
+        return stamped.toByteArray();
     }
 
-    private void deployConnection( final UnitOfWork uow,
-                                   final ConnectionEntry entry,
-                                   final DeployStatus status ) throws Exception {
-        final Connection connection = entry.getReference( uow );
-        final String connectionName = connection.getName( uow );
-        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_CONNECTION_START_DEPLOY,
-                                                       connectionName ) );
+    private void collectDrivers( final UnitOfWork uow,
+                                 final Dataservice dataservice,
+                                 final List< DriverArtifact > drivers ) throws Exception {
+        for ( final DriverEntry entry : dataservice.getDriverEntries( uow ) ) {
+            final Driver driver = entry.getReference( uow );
+            final PublishPolicy policy = entry.getPublishPolicy( uow );
 
-        final String jndiName = entry.getJndiName( uow );
-        final String sourceType = connection.getDriverName( uow );
-        final Properties properties = connection.getPropertiesForServerDeployment( uow );
+            if ( ( driver == null ) || !isPublished( policy ) ) {
+                continue; // nothing to deploy
+            }
 
-        final TeiidDataSource teiidDataSrc = metadataInstance.getOrCreateDataSource( connectionName,
-                                                                                  jndiName,
-                                                                                  sourceType,
-                                                                                  properties );
-        if ( teiidDataSrc == null ) {
-            String errorMsg = Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DATA_SOURCE_FAILED_TO_DEPLOY,
-                                                  connectionName );
-            status.addErrorMessage( errorMsg );
+            final String driverName = driver.getName( uow );
+            final DocumentType driverType = driver.getDocumentType( uow );
+            final File driverFile = File.createTempFile( driverName, driverType.toString() );
+            driverFile.deleteOnExit();
+
+            try ( final InputStream content = driver.getContent( uow ) ) {
+                FileUtils.write( content, driverFile );
+            }
+
+            drivers.add( new DriverArtifact( driverName, driverFile, policy ) );
         }
+    }
 
-        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_CONNECTION_SUCCESSFULLY_DEPLOYED,
-                                                       connectionName ) );
+    private void collectConnections( final UnitOfWork uow,
+                                     final Dataservice dataservice,
+                                     final List< ConnectionArtifact > connections ) throws Exception {
+        for ( final ConnectionEntry entry : dataservice.getConnectionEntries( uow ) ) {
+            final Connection connection = entry.getReference( uow );
+
+            if ( ( connection == null ) || !isPublished( entry.getPublishPolicy( uow ) ) ) {
+                continue; // nothing to deploy
+            }
+
+            connections.add( new ConnectionArtifact( connection.getName( uow ),
+                                                     entry.getJndiName( uow ),
+                                                     connection.getDriverName( uow ),
+                                                     connection.getPropertiesForServerDeployment( uow ) ) );
+        }
     }
 
-    private void deployDriver( final UnitOfWork uow,
-                               final Driver driver,
-                               final DeployStatus status ) throws Exception {
-        final String driverName = driver.getName( uow );
-        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DRIVER_START_DEPLOY,
-                                                       driverName ) );
+    /**
+     * @return <code>false</code> if the data service has no service vdb
+     */
+    private boolean collectVdbs( final UnitOfWork uow,
+                                 final Dataservice dataservice,
+                                 final List< VdbArtifact > vdbs,
+                                 final DeployStatus status ) throws Exception {
+        final ServiceVdbEntry serviceEntry = dataservice.getServiceVdbEntry( uow );
+
+        if ( ( serviceEntry == null ) || ( serviceEntry.getReference( uow ) == null ) ) {
+            String errorMsg = Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_VDB_NOT_FOUND,
+                                                  dataservice.getName( uow ) );
+            status.addErrorMessage( errorMsg );
+            return false;
+        }
 
-        final InputStream content = driver.getContent( uow );
-        final DocumentType driverType = driver.getDocumentType( uow );
-        final File driverFile = File.createTempFile( driverName, driverType.toString() );
-        FileUtils.write( content, driverFile );
+        final Map< String, VdbEntry > entries = new HashMap<>();
 
-        metadataInstance.deployDataSourceDriver( driverName, driverFile );
-        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DRIVER_SUCCESSFULLY_DEPLOYED,
-                                                       driverName ) );
+        for ( final VdbEntry entry : dataservice.getVdbEntries( uow ) ) {
+            final Vdb vdb = entry.getReference( uow );
+
+            if ( vdb != null ) {
+                entries.put( vdb.getAbsolutePath(), entry );
+            }
+        }
+
+        // the vdbs follow the plan order and the service vdb, which imports them, goes last
+        for ( final String path : dataservice.getVdbPlan( uow ) ) {
+            addVdb( uow, entries.remove( path ), vdbs, status );
+        }
+
+        addVdb( uow, serviceEntry, vdbs, status );
+        return true;
     }
 
-    private void deployVdb( final UnitOfWork uow,
-                            final VdbEntry entry,
-                            final DeployStatus status ) throws Exception {
+    private void addVdb( final UnitOfWork uow,
+                         final VdbEntry entry,
+                         final List< VdbArtifact > vdbs,
+                         final DeployStatus status ) throws Exception {
+        if ( entry == null ) {
+            return;
+        }
+
+        final PublishPolicy policy = entry.getPublishPolicy( uow );
+
+        if ( !isPublished( policy ) ) {
+            return;
+        }
+
         final Vdb vdb = entry.getReference( uow );
         final String vdbName = vdb.getName( uow );
-        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_VDB_START_DEPLOY, vdbName ) );
 
         // Get VDB content
         final byte[] vdbXml = vdb.export( uow, null );
@@ -406,17 +655,148 @@ public class DataserviceConveyor implements StringConstants {
             vdbDeploymentName = vdb.getProperty( uow, "deployment-name" ).getStringValue( uow ); //$NON-NLS-1$
         }
         if(StringUtils.isEmpty(vdbDeploymentName)) {
-        	vdbDeploymentName = vdb.getName(uow) + TeiidVdb.DYNAMIC_VDB_SUFFIX;
+        	vdbDeploymentName = vdbName + TeiidVdb.DYNAMIC_VDB_SUFFIX;
+        }
+
+        final MessageDigest digest = newContentDigest();
+        digest.update( vdbXml );
+        digest.update( vdbDeploymentName.getBytes( StandardCharsets.UTF_8 ) );
+
+        final String hash = toHex( digest.digest() );
+        vdbs.add( new VdbArtifact( vdbName, vdbDeploymentName, stampContentHash( vdbXml, hash ), hash, policy ) );
+    }
+
+    private boolean isDriverDeployed( final String driverName ) throws Exception {
+        for ( final ConnectionDriver driver : metadataInstance.getDataSourceDrivers() ) {
+            final String name = driver.getName();
+
+            if ( driverName.equals( name )
+                 || ( ( name != null ) && name.startsWith( driverName + DRIVER_SUFFIX_SEPARATOR ) ) ) {
+                return true;
+            }
         }
 
-        final InputStream stream = new ByteArrayInputStream( vdbXml );
-        metadataInstance.deployDynamicVdb( vdbDeploymentName, stream );
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if the server holds the vdb with the same content, which is known from the content hash it
+     *         was deployed with
+     */
+    private boolean isVdbDeployed( final VdbArtifact vdb ) throws Exception {
+        final TeiidVdb teiidVdb = metadataInstance.getVdb( vdb.name );
+        return ( teiidVdb != null ) && !teiidVdb.hasFailed() && !teiidVdb.wasRemoved()
+               && vdb.hash.equals( teiidVdb.getPropertyValue( CONTENT_HASH_PROPERTY ) );
+    }
+
+    private void deployConnection( final ConnectionArtifact connection,
+                                   final DeployStatus status ) throws Exception {
+        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_CONNECTION_START_DEPLOY,
+                                                       connection.name ) );
+
+        final TeiidDataSource teiidDataSrc = metadataInstance.getOrCreateDataSource( connection.name,
+                                                                                  connection.jndiName,
+                                                                                  connection.sourceType,
+                                                                                  connection.properties );
+        if ( teiidDataSrc == null ) {
+            String errorMsg = Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DATA_SOURCE_FAILED_TO_DEPLOY,
+                                                  connection.name );
+            status.addErrorMessage( errorMsg );
+        }
+
+        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_CONNECTION_SUCCESSFULLY_DEPLOYED,
+                                                       connection.name ) );
+    }
+
+    private void deployDriver( final DriverArtifact driver,
+                               final DeployStatus status ) throws Exception {
+        // the server does not keep the driver content so only its presence can be checked
+        if ( ( driver.policy == PublishPolicy.IF_MISSING ) && isDriverDeployed( driver.name ) ) {
+            status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DRIVER_UNCHANGED,
+                                                           driver.name ) );
+            return;
+        }
+
+        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DRIVER_START_DEPLOY,
+                                                       driver.name ) );
+
+        metadataInstance.deployDataSourceDriver( driver.name, driver.file );
+
+        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DRIVER_SUCCESSFULLY_DEPLOYED,
+                                                       driver.name ) );
+    }
+
+    /**
+     * @return <code>true</code> if the vdb was deployed or <code>false</code> if it was already deployed
+     */
+    private boolean deployVdb( final VdbArtifact vdb,
+                               final DeployStatus status ) throws Exception {
+        if ( ( vdb.policy == PublishPolicy.IF_MISSING ) && isVdbDeployed( vdb ) ) {
+            status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_VDB_UNCHANGED, vdb.name ) );
+            return false;
+        }
+
+        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_VDB_START_DEPLOY, vdb.name ) );
+
+        metadataInstance.deployDynamicVdb( vdb.deploymentName, new ByteArrayInputStream( vdb.content ) );
 
         status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_VDB_SUCCESSFULLY_DEPLOYED,
-                                                       vdbName ) );
+                                                       vdb.name ) );
+        return true;
+    }
+
+    /**
+     * Runs the tasks at the same time and reports their failures
+     *
+     * @return <code>true</code> if all the tasks completed without an exception
+     */
+    private static boolean deployInParallel( final ExecutorService executor,
+                                             final List< Callable< Void > > tasks,
+                                             final DeployStatus status ) throws InterruptedException {
+        boolean ok = true;
+
+        if ( tasks.isEmpty() ) {
+            return ok;
+        }
+
+        for ( final Future< Void > future : executor.invokeAll( tasks ) ) {
+            try {
+                future.get();
+            } catch ( final ExecutionException ex ) {
+                status.addErrorMessage( ex.getCause() );
+                ok = false;
+            }
+        }
+
+        return ok;
+    }
+
+    private static void deleteDriverFiles( final List< DriverArtifact > drivers ) {
+        for ( final DriverArtifact driver : drivers ) {
+            driver.file.delete();
+        }
+    }
+
+    /**
+     * Waits for the deployed vdbs to finish loading together and reports the status of each
+     */
+    private void awaitVdbs( final List< String > vdbNames,
+                            final DeployStatus status ) throws Exception {
+        if ( vdbNames.isEmpty() ) {
+            return;
+        }
+
+        final Map< String, TeiidVdb > teiidVdbs = metadataInstance.waitForVdbs( vdbNames,
+                                                                               MetadataInstance.DEFAULT_VDB_READY_TIMEOUT );
+
+        for ( final String vdbName : vdbNames ) {
+            reportVdbStatus( vdbName, teiidVdbs.get( vdbName ), status );
+        }
+    }
 
-        
-        TeiidVdb teiidVdb = metadataInstance.getVdb( vdbDeploymentName );
+    private void reportVdbStatus( final String vdbName,
+                                  final TeiidVdb teiidVdb,
+                                  final DeployStatus status ) {
         if ( teiidVdb == null ) {
             status.addProgressMessage( "Warning: Vdb " + vdbName + " not yet completed deployment" );
             return;
@@ -426,6 +806,8 @@ public class DataserviceConveyor implements StringConstants {
             status.addProgressMessage( "Vdb " + vdbName + " deployed to teiid and is active" );
         } else if ( teiidVdb.isLoading() ) {
             status.addProgressMessage( "Vdb " + vdbName + " deployed but still loading" );
+        } else if ( teiidVdb.hasFailed() ) {
+            status.addErrorMessage( "Vdb " + vdbName + " deployed but failed to load" );
         }
 
         List< String > vdbErrors = teiidVdb.getValidityErrors();
@@ -440,162 +822,288 @@ public class DataserviceConveyor implements StringConstants {
     }
 
     /**
-     * Deploy the {@link Dataservice} to the teiid instance
+     * Deploys the artifacts collected from the data service. No repository access happens here.
+     */
+    private void deploy( final String dsName,
+                         final ExecutorService executor,
+                         final List< DriverArtifact > drivers,
+                         final List< ConnectionArtifact > connections,
+                         final List< VdbArtifact > vdbs,
+                         final DeployStatus status ) {
+        try {
+            // the drivers do not depend on each other so are deployed at the same time
+            final List< Callable< Void > > driverTasks = new ArrayList<>( drivers.size() );
+
+            for ( final DriverArtifact driver : drivers ) {
+                driverTasks.add( new Callable< Void >() {
+
+                    @Override
+                    public Void call() throws Exception {
+                        deployDriver( driver, status );
+                        return null;
+                    }
+                } );
+            }
+
+            if ( !deployInParallel( executor, driverTasks, status ) ) {
+                return;
+            }
+
+            // the connections only depend on the drivers
+            final List< Callable< Void > > connectionTasks = new ArrayList<>( connections.size() );
+
+            for ( final ConnectionArtifact connection : connections ) {
+                connectionTasks.add( new Callable< Void >() {
+
+                    @Override
+                    public Void call() throws Exception {
+                        deployConnection( connection, status );
+                        return null;
+                    }
+                } );
+            }
+
+            if ( !deployInParallel( executor, connectionTasks, status ) ) {
+                return;
+            }
+
+            // the vdbs are deployed in dependency order
+            final List< String > deployedVdbs = new ArrayList<>();
+
+            for ( final VdbArtifact vdb : vdbs ) {
+                if ( deployVdb( vdb, status ) ) {
+                    deployedVdbs.add( vdb.name );
+                }
+            }
+
+            // the vdbs load on the server at the same time so wait for them together
+            awaitVdbs( deployedVdbs, status );
+
+            status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_SUCCESSFULLY_DEPLOYED,
+                                                           dsName ) );
+        } catch ( final Exception ex ) {
+            status.addErrorMessage( ex );
+        } finally {
+            deleteDriverFiles( drivers );
+        }
+    }
+
+    private static void addDeployJob( final DeployJob job ) {
+        final long expired = System.currentTimeMillis() - DEPLOY_JOB_RETENTION;
+        final Iterator< DeployJob > iter = DEPLOY_JOBS.values().iterator();
+
+        while ( iter.hasNext() ) {
+            final DeployJob old = iter.next();
+
+            if ( old.isDone() && ( old.getFinished() < expired ) ) {
+                iter.remove();
+            }
+        }
+
+        DEPLOY_JOBS.put( job.getId(), job );
+    }
+
+    /**
+     * @param jobId
+     *        the identifier of the deployment job (can be <code>null</code>)
+     * @return the deployment job or <code>null</code> if not found or it finished too long ago
+     * @see #DEPLOY_JOB_RETENTION
+     */
+    public static DeployJob getDeployJob( final String jobId ) {
+        if ( jobId == null ) {
+            return null;
+        }
+
+        return DEPLOY_JOBS.get( jobId );
+    }
+
+    /**
+     * Starts deploying the {@link Dataservice} to the teiid instance in the background. The data service is read using the
+     * transaction before returning. The drivers are then deployed at the same time, followed by the connections and then the
+     * vdbs in plan order. Artifacts published {@link PublishPolicy#ALWAYS always} are deployed again. Those published
+     * {@link PublishPolicy#IF_MISSING if missing} are skipped when a driver of the same name is on the server, or when the
+     * server holds the vdb with the same content. At most {@link #DEPLOY_JOB_THREADS} data
+     * services deploy at the same time. When {@link #DEPLOY_JOB_QUEUE_SIZE} more are already waiting the returned job has
+     * completed with an error.
      *
      * @param transaction
      *        the transaction (cannot be <code>null</code> and must have a state of {@link State#NOT_STARTED})
      * @param dataservice
      *        the data service to be deployed (cannot be <code>null</code>)
-     * @param teiid
-     *        the Teiid being deployed to (cannot be <code>null</code>)
-     * @return the deployment status (never <code>null</code>)
+     * @return the deployment job, which can be polled using its identifier (never <code>null</code>)
+     * @throws KException
+     *         if the data service name cannot be obtained
+     * @see #getDeployJob(String)
      */
-    public DeployStatus deploy(UnitOfWork transaction, Dataservice dataservice) {
+    public DeployJob startDeploy( final UnitOfWork transaction,
+                                  final Dataservice dataservice ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
         ArgCheck.isNotNull(dataservice, "dataservice"); //$NON-NLS-1$
 
+        final String dsName = dataservice.getName( transaction );
+        final DeployStatus status = new DeployStatus();
+        final DeployJob job = new DeployJob( dsName, status );
+        status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_START_DEPLOY, dsName ) );
+
+        // TODO deploy resources
+        // TODO deploy metadata files
+        // TODO deploy UDFs
+
+        final List< DriverArtifact > drivers = new ArrayList<>();
+        final List< ConnectionArtifact > connections = new ArrayList<>();
+        final List< VdbArtifact > vdbs = new ArrayList<>();
+        boolean collected = false;
+
+        // the transaction cannot be shared with the deploying threads so everything is read up front
+        try {
+            collectDrivers( transaction, dataservice, drivers );
+            collectConnections( transaction, dataservice, connections );
+            collected = collectVdbs( transaction, dataservice, vdbs, status );
+        } catch ( final Exception ex ) {
+            status.addErrorMessage( ex );
+        }
+
+        addDeployJob( job );
+
+        if ( !collected ) {
+            deleteDriverFiles( drivers );
+            job.completed();
+            return job;
+        }
+
+        try {
+            jobExecutor().execute( new DeployTask( job, artifactExecutor(), drivers, connections, vdbs ) );
+        } catch ( final RejectedExecutionException ex ) {
+            deleteDriverFiles( drivers );
+            status.addErrorMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DEPLOY_REJECTED, dsName ) );
+            job.completed();
+        }
+
+        return job;
+    }
+
+    /**
+     * Deploy the {@link Dataservice} to the teiid instance and wait for the deployment to finish
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of {@link State#NOT_STARTED})
+     * @param dataservice
+     *        the data service to be deployed (cannot be <code>null</code>)
+     * @return the deployment status (never <code>null</code>)
+     * @see #startDeploy(UnitOfWork, Dataservice)
+     */
+    public DeployStatus deploy(UnitOfWork transaction, Dataservice dataservice) {
         DeployStatus status = new DeployStatus();
 
         try {
-            final String dsName = dataservice.getName( transaction );
-            status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_START_DEPLOY, dsName ) );
-
-            // TODO deploy resources
-            // TODO deploy metadata files
-            // TODO deploy UDFs
-
-            { // Deploy the drivers
-                final DriverEntry[] entries = dataservice.getDriverEntries( transaction );
-
-                if ( entries.length != 0 ) {
-                    for ( final DriverEntry entry : entries ) {
-                        if ( entry.getReference( transaction ) == null ) {
-                            continue; // nothing to deploy
-                        }
-
-                        boolean deploy = false;
-
-                        switch ( entry.getPublishPolicy( transaction ) ) {
-                            case ALWAYS:
-                                deploy = true;
-                                break;
-                            case IF_MISSING:
-                                deploy = true; // TODO determine if not already deployed
-                                break;
-                            case NEVER:
-                            default:
-                                break;
-                        }
-
-                        if ( deploy ) {
-                            final Driver driver = entry.getReference( transaction );
-                            deployDriver( transaction, driver, status );
-                        }
-                    }
-                }
-            }
+            final DeployJob job = startDeploy( transaction, dataservice );
+            status = job.getStatus();
+            job.await();
+        } catch ( final KException ex ) {
+            status.addErrorMessage( ex );
+        } catch ( final InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            status.addErrorMessage( ex );
+        }
 
-            { // Deploy the connections
-                final ConnectionEntry[] entries = dataservice.getConnectionEntries( transaction );
-
-                if ( entries.length != 0 ) {
-                    for ( final ConnectionEntry entry : entries ) {
-                        if ( entry.getReference( transaction ) == null ) {
-                            continue; // nothing to deploy
-                        }
-
-                        boolean deploy = false;
-
-                        switch ( entry.getPublishPolicy( transaction ) ) {
-                            case ALWAYS:
-                                deploy = true;
-                                break;
-                            case IF_MISSING:
-                                deploy = true; // TODO determine if not already deployed
-                                break;
-                            case NEVER:
-                            default:
-                                break;
-                        }
-
-                        if ( deploy ) {
-                            deployConnection( transaction, entry, status );
-                        }
-                    }
-                }
-            }
+        return status;
+    }
 
-            { // deploy service VDB
-                final Vdb serviceVdb = dataservice.getServiceVdb( transaction );
-
-                if ( serviceVdb != null ) {
-                    final ServiceVdbEntry entry = dataservice.getServiceVdbEntry( transaction );
-                    boolean deploy = false;
-
-                    switch ( entry.getPublishPolicy( transaction ) ) {
-                        case ALWAYS:
-                            deploy = true;
-                            break;
-                        case IF_MISSING:
-                            deploy = true; // TODO determine if not already deployed
-                            break;
-                        case NEVER:
-                        default:
-                            break;
-                    }
+    private static class DriverArtifact {
 
-                    if ( deploy ) {
-                        deployVdb( transaction, entry, status );
-                    }
-                // No Service VDB - log error
-                } else {
-                    String errorMsg = Messages.getString(Messages.DataserviceConveyor.DATA_SERVICE_VDB_NOT_FOUND,dsName);
-                    status.addErrorMessage(errorMsg);
-                    return status;
-                }
-                
-            }
+        private final String name;
+        private final File file;
+        private final PublishPolicy policy;
 
-            //
-            // TODO need to guarantee the ordering of the vdbs
-            //
-            { // Deploy the VDBs
-                final VdbEntry[] entries = dataservice.getVdbEntries( transaction );
-
-                if ( entries.length != 0 ) {
-                    for ( final VdbEntry entry : entries ) {
-                        if ( entry.getReference( transaction ) == null ) {
-                            continue; // nothing to deploy
-                        }
-
-                        boolean deploy = false;
-
-                        switch ( entry.getPublishPolicy( transaction ) ) {
-                            case ALWAYS:
-                                deploy = true;
-                                break;
-                            case IF_MISSING:
-                                deploy = true; // TODO determine if not already deployed
-                                break;
-                            case NEVER:
-                            default:
-                                break;
-                        }
-
-                        if ( deploy ) {
-                            deployVdb( transaction, entry, status );
-                        }
-                    }
-                }
+        DriverArtifact( final String name,
+                        final File file,
+                        final PublishPolicy policy ) {
+            this.name = name;
+            this.file = file;
+            this.policy = policy;
+        }
+
+    }
+
+    private static class ConnectionArtifact {
+
+        private final String name;
+        private final String jndiName;
+        private final String sourceType;
+        private final Properties properties;
+
+        ConnectionArtifact( final String name,
+                            final String jndiName,
+                            final String sourceType,
+                            final Properties properties ) {
+            this.name = name;
+            this.jndiName = jndiName;
+            this.sourceType = sourceType;
+            this.properties = properties;
+        }
+
+    }
+
+    private static class VdbArtifact {
+
+        private final String name;
+        private final String deploymentName;
+        private final byte[] content;
+        private final String hash;
+        private final PublishPolicy policy;
+
+        VdbArtifact( final String name,
+                     final String deploymentName,
+                     final byte[] content,
+                     final String hash,
+                     final PublishPolicy policy ) {
+            this.name = name;
+            this.deploymentName = deploymentName;
+            this.content = content;
+            this.hash = hash;
+            this.policy = policy;
+        }
+
+    }
+
+    private class DeployTask implements Runnable {
+
+        private final DeployJob job;
+        private final ExecutorService executor;
+        private final List< DriverArtifact > drivers;
+        private final List< ConnectionArtifact > connections;
+        private final List< VdbArtifact > vdbs;
+
+        DeployTask( final DeployJob job,
+                    final ExecutorService executor,
+                    final List< DriverArtifact > drivers,
+                    final List< ConnectionArtifact > connections,
+                    final List< VdbArtifact > vdbs ) {
+            this.job = job;
+            this.executor = executor;
+            this.drivers = drivers;
+            this.connections = connections;
+            this.vdbs = vdbs;
+        }
+
+        @Override
+        public void run() {
+            this.job.started();
+
+            try {
+                deploy( this.job.getName(), this.executor, this.drivers, this.connections, this.vdbs, this.job.getStatus() );
+            } finally {
+                this.job.completed();
             }
+        }
 
-            status.addProgressMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_SUCCESSFULLY_DEPLOYED,
-                                                           dsName ) );
-        } catch (Exception ex) {
-            status.addErrorMessage(ex);
+        void cancel() {
+            deleteDriverFiles( this.drivers );
+            this.job.getStatus().addErrorMessage( Messages.getString( Messages.DataserviceConveyor.DATA_SERVICE_DEPLOY_CANCELLED,
+                                                                      this.job.getName() ) );
+            this.job.completed();
         }
 
-        return status;
     }
-}
\ No newline at end of file
+}
@@ -21,12 +21,14 @@
  */
 package org.komodo.relational.dataservice.internal;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import org.komodo.core.repository.RepositoryTools;
+import org.komodo.relational.DeployJob;
 import org.komodo.relational.DeployStatus;
 import org.komodo.relational.Messages;
 import org.komodo.relational.RelationalModelFactory;
@@ -130,6 +132,16 @@ public class DataserviceImpl extends RelationalObjectImpl implements Dataservice
         return conveyor.export(transaction, this, exportProperties);
     }
 
+    /* (non-Javadoc)
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties, java.io.OutputStream)
+     */
+    @Override
+    public void export(UnitOfWork transaction, Properties exportProperties, OutputStream stream) throws KException {
+        MetadataInstance metadata = getRepository().getMetadataInstance();
+        DataserviceConveyor conveyor = new DataserviceConveyor(getRepository(), metadata);
+        conveyor.export(transaction, this, exportProperties, stream);
+    }
+
     @Override
     public DocumentType getDocumentType(UnitOfWork transaction) {
         return DocumentType.ZIP;
@@ -484,6 +496,13 @@ public class DataserviceImpl extends RelationalObjectImpl implements Dataservice
         return conveyor.deploy(uow, this);
     }
 
+    @Override
+    public DeployJob startDeploy( final UnitOfWork uow ) throws KException {
+        MetadataInstance metadata = getRepository().getMetadataInstance();
+        DataserviceConveyor conveyor = new DataserviceConveyor(getRepository(), metadata);
+        return conveyor.startDeploy(uow, this);
+    }
+
     /* (non-Javadoc)
      * @see org.komodo.relational.dataservice.Dataservice#getDataserviceView(org.komodo.spi.repository.Repository.UnitOfWork)
      */
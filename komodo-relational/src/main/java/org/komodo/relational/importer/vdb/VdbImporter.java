@@ -21,12 +21,15 @@
  */
 package org.komodo.relational.importer.vdb;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 import org.komodo.importer.AbstractImporter;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
@@ -43,14 +46,93 @@ import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.utils.ArgCheck;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  *
  */
 public class VdbImporter extends AbstractImporter {
 
+    /**
+     * The maximum number of bytes read ahead when looking for the VDB name in the manifest's root element.
+     */
+    static final int NAME_PEEK_LIMIT = 64 * 1024;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY;
+
+    static {
+        XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+        XML_INPUT_FACTORY.setProperty( XMLInputFactory.SUPPORT_DTD, Boolean.FALSE );
+        XML_INPUT_FACTORY.setProperty( XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE );
+    }
+
+    /**
+     * Limits the bytes that can be read from the wrapped stream and never closes it, so that a parser
+     * can peek at the start of the stream without consuming or closing it.
+     */
+    private static class PeekInputStream extends FilterInputStream {
+
+        private int remaining;
+
+        PeekInputStream( final InputStream stream, final int limit ) {
+            super( stream );
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if ( this.remaining <= 0 ) {
+                return -1;
+            }
+
+            final int result = super.read();
+
+            if ( result != -1 ) {
+                --this.remaining;
+            }
+
+            return result;
+        }
+
+        @Override
+        public int read( final byte[] b,
+                         final int off,
+                         final int len ) throws IOException {
+            if ( this.remaining <= 0 ) {
+                return -1;
+            }
+
+            final int result = super.read( b, off, Math.min( len, this.remaining ) );
+
+            if ( result > 0 ) {
+                this.remaining -= result;
+            }
+
+            return result;
+        }
+
+        @Override
+        public long skip( final long n ) throws IOException {
+            final long result = super.skip( Math.min( n, this.remaining ) );
+            this.remaining -= result;
+            return result;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return Math.min( super.available(), this.remaining );
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // leave the wrapped stream open
+        }
+    }
+
     /**
      * constructor
      *
@@ -67,13 +149,36 @@ public class VdbImporter extends AbstractImporter {
                                                                      KomodoObject parentObject,
                                                                      ImportOptions importOptions,
                                                                      ImportMessages importMessages) throws KException {
+        createVdb(transaction, parentObject, importOptions).setProperty(transaction, JcrLexicon.JCR_DATA, content);
+    }
 
+    /**
+     * Stores the stream directly as the binary content of the VDB so that the manifest is never held as a string.
+     *
+     * @see org.komodo.importer.AbstractImporter#executeImport(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      java.io.InputStream, org.komodo.spi.repository.KomodoObject, org.komodo.importer.ImportOptions,
+     *      org.komodo.importer.ImportMessages)
+     */
+    @Override
+    protected void executeImport(UnitOfWork transaction,
+                                 InputStream content,
+                                 KomodoObject parentObject,
+                                 ImportOptions importOptions,
+                                 ImportMessages importMessages) throws KException {
+        createVdb(transaction, parentObject, importOptions).setProperty(transaction, JcrLexicon.JCR_DATA, content);
+    }
+
+    /**
+     * @return the content node of the newly created VDB
+     */
+    private KomodoObject createVdb(UnitOfWork transaction,
+                                   KomodoObject parentObject,
+                                   ImportOptions importOptions) throws KException {
         String vdbName = importOptions.getOption(OptionKeys.NAME).toString();
         String vdbFilePath = importOptions.getOption(OptionKeys.VDB_FILE_PATH).toString();
 
         Vdb vdb = getWorkspaceManager(transaction).createVdb(transaction, parentObject, vdbName, vdbFilePath);
-        KomodoObject fileNode = vdb.addChild(transaction, JcrLexicon.JCR_CONTENT, null);
-        fileNode.setProperty(transaction, JcrLexicon.JCR_DATA, content);
+        return vdb.addChild(transaction, JcrLexicon.JCR_CONTENT, null);
     }
 
     protected WorkspaceManager getWorkspaceManager(UnitOfWork transaction) throws KException {
@@ -117,6 +222,8 @@ public class VdbImporter extends AbstractImporter {
     }
 
     /**
+     * Only the start of the document is parsed, up to the root element, so the stream is not read to its end.
+     *
      * @param vdbStream the vdb input stream
      * @return the name of the vdb specified in the xml
      */
@@ -124,43 +231,69 @@ public class VdbImporter extends AbstractImporter {
         if (vdbStream == null)
             return null;
 
+        XMLStreamReader reader = null;
+
         try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document doc = db.parse(vdbStream);
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(vdbStream);
 
-            Element docElement = doc.getDocumentElement();
-            String docNodeName = docElement.getNodeName();
-            String vdbTag = KomodoType.VDB.getAliases().iterator().next();
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    String vdbTag = KomodoType.VDB.getAliases().iterator().next();
 
-            if (! vdbTag.equals(docNodeName)) {
-                return null;
+                    if (! vdbTag.equals(reader.getLocalName())) {
+                        return null;
+                    }
+
+                    return reader.getAttributeValue(null, "name"); //$NON-NLS-1$
+                }
             }
 
-            return docElement.getAttribute("name"); //$NON-NLS-1$
+            return null;
         } catch (Exception ex) {
             // Don't need to worry about the exception
             return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (Exception ex) {
+                    // nothing to do
+                }
+            }
         }
     }
 
     /**
      * Extracts the name attribute from the vdb xml file and sets it into
      * the import options to synchronise the imported node name with
-     * the vdb:name property.
+     * the vdb:name property. The stream is reset to its marked start afterwards.
      *
-     * @param vdbStream
+     * @param vdbStream a stream supporting mark/reset
      * @param importOptions
      * @throws Exception
      */
     private void overrideName(InputStream vdbStream, ImportOptions importOptions) throws Exception {
-        String vdbName = extractVdbName(vdbStream);
+        vdbStream.mark(NAME_PEEK_LIMIT);
+
+        String vdbName;
+        try {
+            vdbName = extractVdbName(new PeekInputStream(vdbStream, NAME_PEEK_LIMIT));
+        } finally {
+            vdbStream.reset();
+        }
+
         if (vdbName == null)
             return;
 
         importOptions.setOption(OptionKeys.NAME, vdbName);
     }
 
+    private void streamImport(UnitOfWork uow, InputStream vdbStream, KomodoObject parentObject, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
+        InputStream stream = vdbStream.markSupported() ? vdbStream : new BufferedInputStream(vdbStream);
+        overrideName(stream, importOptions);
+        doImport(uow, stream, parentObject, importOptions, importMessages);
+    }
+
     /**
      * Perform the vdb import using the specified xml Stream.
      *
@@ -174,11 +307,7 @@ public class VdbImporter extends AbstractImporter {
         ArgCheck.isNotNull(vdbStream);
 
         try {
-            String vdbXml = toString(vdbStream);
-            ByteArrayInputStream vdbNameStream = new ByteArrayInputStream(vdbXml.getBytes("UTF-8")); //$NON-NLS-1$
-            overrideName(vdbNameStream, importOptions);
-
-            doImport(uow, vdbXml, parentObject, importOptions, importMessages);
+            streamImport(uow, vdbStream, parentObject, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -196,10 +325,8 @@ public class VdbImporter extends AbstractImporter {
     public void importVdb(UnitOfWork uow, File vdbXmlFile, KomodoObject parentObject, ImportOptions importOptions, ImportMessages importMessages) {
         if (!validFile(vdbXmlFile, importMessages)) return;
 
-        try {
-            overrideName(new FileInputStream(vdbXmlFile), importOptions);
-
-            doImport(uow, toString(vdbXmlFile), parentObject, importOptions, importMessages);
+        try (InputStream vdbStream = new FileInputStream(vdbXmlFile)) {
+            streamImport(uow, vdbStream, parentObject, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -21,12 +21,16 @@
  */
 package org.komodo.relational.internal;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
 import org.komodo.relational.TypeResolver;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
 
 /**
  * Factory dedicated to adapting a {@link KomodoObject} into its
@@ -80,21 +84,17 @@ public class AdapterFactory {
 
             if (result == null) {
                 // Failed with the type identifier so try to be safe than sorry
-                // and iterate through all resolvers to check this object is really
-                // not resolvable.
-                for (final TypeResolver< ? > aResolver : registry.getResolvers()) {
-                    if (aResolver.resolvable(transaction, kObject)) {
-                        result = aResolver.resolve(transaction, kObject);
-                        break;
-                    }
-                }
+                // and check this object is really not resolvable by any resolver
+                // that can accept objects of its types.
+                result = registry.resolve(transaction, kObject);
             }
 
             if (result == null)
                 return null; // Type cannot be resolved so cannot be adapted
 
         } catch (final Exception e) {
-            // No need to log error
+            KLog.getLogger().debug("AdapterFactory: unable to adapt {0} to {1}", e, //$NON-NLS-1$
+                                   ((KomodoObject) object).getAbsolutePath(), adaptedClass.getName());
         }
 
         if (result == null)
@@ -106,4 +106,60 @@ public class AdapterFactory {
         return (T) result;
     }
 
+    /**
+     * Adapts a batch of objects to a relational model typed class. Objects that
+     * cannot be adapted are left out of the result. Objects of the same types are
+     * checked against the resolver of the adapted class without asking every other
+     * resolver about each one.
+     * @param <T> the result's type
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param objects objects to adapt (cannot be <code>null</code>)
+     * @param adaptedClass the expected class that the objects should be adapted to
+     * @return the adapted instances (never <code>null</code> but can be empty)
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T[] adaptAll(UnitOfWork transaction, KomodoObject[] objects, Class<T> adaptedClass) {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( objects, "objects" ); //$NON-NLS-1$
+
+        TypeResolverRegistry registry = TypeResolverRegistry.getInstance();
+        TypeResolver< ? > resolver = null;
+
+        if (KomodoObject.class.isAssignableFrom(adaptedClass))
+            resolver = registry.getResolver((Class<? extends KomodoObject>) adaptedClass);
+
+        List<T> result = new ArrayList<T>(objects.length);
+
+        for (KomodoObject kObject : objects) {
+            T adapted = null;
+
+            if (adaptedClass.isInstance(kObject)) {
+                adapted = (T) kObject;
+            } else if (resolver != null) {
+                try {
+                    if (registry.isResolvable(transaction, kObject, resolver))
+                        adapted = (T) resolver.resolve(transaction, kObject);
+                } catch (final Exception e) {
+                    KLog.getLogger().debug("AdapterFactory: unable to adapt {0} to {1}", e, //$NON-NLS-1$
+                                           kObject.getAbsolutePath(), adaptedClass.getName());
+                }
+            }
+
+            if (adapted == null)
+                adapted = adapt(transaction, kObject, adaptedClass);
+
+            if (adapted == null) {
+                KLog.getLogger().debug("AdapterFactory: {0} is not a {1} and was left out", //$NON-NLS-1$
+                                       kObject.getAbsolutePath(), adaptedClass.getName());
+            } else {
+                result.add(adapted);
+            }
+        }
+
+        return result.toArray((T[]) Array.newInstance(adaptedClass, result.size()));
+    }
+
 }
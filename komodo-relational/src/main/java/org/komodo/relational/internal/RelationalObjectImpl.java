@@ -30,6 +30,7 @@ import org.komodo.core.repository.ObjectImpl;
 import org.komodo.core.repository.Messages.Komodo;
 import org.komodo.relational.RelationalObject;
 import org.komodo.relational.TypeResolver;
+import org.komodo.relational.model.internal.OptionContainerUtils;
 import org.komodo.spi.KException;
 import org.komodo.spi.lexicon.LexiconConstants.JcrLexicon;
 import org.komodo.spi.repository.Descriptor;
@@ -528,6 +529,19 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.core.repository.ObjectImpl#remove(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public void remove( final UnitOfWork transaction ) throws KException {
+        super.remove( transaction );
+
+        // an object added later at the same path must not see the options read for this one
+        OptionContainerUtils.objectRemoved( transaction, getAbsolutePath() );
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -564,15 +578,10 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
             return resolver.resolve( transaction, kobject );
 
         // Failed with the type identifier so try to be safe than sorry
-        // and iterate through all resolvers to check this object is really
-        // not resolvable.
-        for ( final TypeResolver< ? > aResolver : getResolverRegistry().getResolvers() ) {
-            if ( aResolver.resolvable( transaction, kobject ) ) {
-                return aResolver.resolve( transaction, kobject );
-            }
-        }
-
-        return kobject;
+        // and check this object is really not resolvable by any resolver
+        // that can accept objects of its types.
+        final KomodoObject result = getResolverRegistry().resolve( transaction, kobject );
+        return ( ( result == null ) ? kobject : result );
     }
 
     /**
@@ -21,10 +21,22 @@
  */
 package org.komodo.relational.internal;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import org.komodo.core.repository.ObjectImpl;
 import org.komodo.relational.TypeResolver;
 import org.komodo.relational.connection.Connection;
 import org.komodo.relational.dataservice.Dataservice;
@@ -63,8 +75,12 @@ import org.komodo.relational.vdb.Permission;
 import org.komodo.relational.vdb.Translator;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.VdbImport;
+import org.komodo.spi.KException;
+import org.komodo.spi.repository.Descriptor;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.utils.KeyInValueMap;
 import org.komodo.spi.utils.KeyInValueMap.KeyFromValueAdapter;
 
@@ -80,6 +96,107 @@ public class TypeResolverRegistry {
         }
     }
 
+    /**
+     * The resolvers that may resolve objects having a given primary type and set of mixins, in registration order. A resolver is
+     * left out when it rejected such an object by only looking at its types. An empty dispatch records that no resolver can
+     * resolve those objects.
+     */
+    private static class Dispatch {
+
+        private final TypeResolver< ? >[] resolvers;
+
+        /**
+         * Indicates, for each resolver, that it accepted such an object by only looking at its types so that asking it again is
+         * not necessary.
+         */
+        private final boolean[] accepted;
+
+        Dispatch( final List< TypeResolver< ? > > resolvers,
+                  final List< Boolean > accepted ) {
+            this.resolvers = resolvers.toArray( new TypeResolver< ? >[ resolvers.size() ] );
+            this.accepted = new boolean[ accepted.size() ];
+
+            for ( int i = 0; i < this.accepted.length; ++i ) {
+                this.accepted[ i ] = accepted.get( i );
+            }
+        }
+
+    }
+
+    /**
+     * Delegates to an object while recording if anything other than the object's types was read. Reads made through the object's
+     * repository are recorded too, so the repository is handed out wrapped by another probe.
+     */
+    private static class TypeProbe implements InvocationHandler {
+
+        private static final Set< String > TYPE_METHODS = new HashSet<>( Arrays.asList( "getDescriptors", //$NON-NLS-1$
+                                                                                           "getPrimaryType", //$NON-NLS-1$
+                                                                                           "getTypeId", //$NON-NLS-1$
+                                                                                           "hasDescriptor", //$NON-NLS-1$
+                                                                                           "equals", //$NON-NLS-1$
+                                                                                           "hashCode", //$NON-NLS-1$
+                                                                                           "toString" ) ); //$NON-NLS-1$
+
+        private final KomodoObject delegate;
+        private boolean contentRead;
+
+        TypeProbe( final KomodoObject delegate ) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke( final Object proxy,
+                              final Method method,
+                              final Object[] args ) throws Throwable {
+            if ( "getRepository".equals( method.getName() ) ) { //$NON-NLS-1$
+                return Proxy.newProxyInstance( Repository.class.getClassLoader(),
+                                               new Class< ? >[] { Repository.class },
+                                               new RepositoryProbe( this, this.delegate.getRepository() ) );
+            }
+
+            if ( !TYPE_METHODS.contains( method.getName() ) ) {
+                this.contentRead = true;
+            }
+
+            return delegate( this.delegate, method, args );
+        }
+
+        static Object delegate( final Object target,
+                                final Method method,
+                                final Object[] args ) throws Throwable {
+            try {
+                return method.invoke( target, args );
+            } catch ( final InvocationTargetException e ) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+    /**
+     * Delegates to the repository of a probed object while recording any use of it as a read of the object's content.
+     */
+    private static class RepositoryProbe implements InvocationHandler {
+
+        private final TypeProbe probe;
+        private final Repository delegate;
+
+        RepositoryProbe( final TypeProbe probe,
+                         final Repository delegate ) {
+            this.probe = probe;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke( final Object proxy,
+                              final Method method,
+                              final Object[] args ) throws Throwable {
+            this.probe.contentRead = true;
+            return TypeProbe.delegate( this.delegate, method, args );
+        }
+
+    }
+
     private static TypeResolverRegistry instance;
 
     /**
@@ -98,6 +215,10 @@ public class TypeResolverRegistry {
     private Map<Class<? extends KomodoObject>, TypeResolver<?>> kClassIndex =
                     new HashMap<Class<? extends KomodoObject>, TypeResolver<?>>();
 
+    private List<TypeResolver<?>> resolvers = new ArrayList<TypeResolver<?>>();
+
+    private Map<String, Dispatch> dispatchTable = new ConcurrentHashMap<String, Dispatch>();
+
     private TypeResolverRegistry() {
 
         index(KomodoType.ACCESS_PATTERN, AccessPattern.RESOLVER);
@@ -176,6 +297,7 @@ public class TypeResolverRegistry {
     @SuppressWarnings( "unchecked" )
     private void index(KomodoType kType, TypeResolver<?> resolver) {
         kTypeIndex.add(resolver);
+        resolvers.add(resolver);
 
         // Indexes the impl class
         Class<? extends KomodoObject> owningClass = resolver.owningClass();
@@ -195,7 +317,7 @@ public class TypeResolverRegistry {
      * @return all registered resolvers
      */
     public Collection<TypeResolver<?>> getResolvers() {
-      return Collections.unmodifiableCollection(kClassIndex.values());
+      return Collections.unmodifiableCollection(resolvers);
     }
 
     /**
@@ -217,4 +339,109 @@ public class TypeResolverRegistry {
         TypeResolver<?> resolver = kClassIndex.get(kClass);
          return resolver;
     }
+
+    /**
+     * Plain objects are dispatched using their primary type and mixins. The first object having a combination of types is used to
+     * find out which resolvers need to be asked about objects having those types and which accept them outright.
+     *
+     * @param transaction the transaction (cannot be <code>null</code>)
+     * @param kobject the object whose dispatch is being requested (cannot be <code>null</code>)
+     * @return the dispatch or <code>null</code> if the object is not a plain object
+     * @throws KException if an error occurs
+     */
+    private Dispatch getDispatch(UnitOfWork transaction, KomodoObject kobject) throws KException {
+        // relational objects may filter their descriptors so only plain objects can be dispatched by type
+        if (kobject.getClass() != ObjectImpl.class)
+            return null;
+
+        Set<String> mixins = new TreeSet<String>();
+        for (Descriptor descriptor : kobject.getDescriptors(transaction)) {
+            mixins.add(descriptor.getName());
+        }
+
+        String key = kobject.getPrimaryType(transaction).getName() + mixins;
+        Dispatch dispatch = dispatchTable.get(key);
+
+        if (dispatch == null) {
+            List<TypeResolver<?>> candidates = new ArrayList<TypeResolver<?>>();
+            List<Boolean> accepted = new ArrayList<Boolean>();
+
+            for (TypeResolver<?> resolver : resolvers) {
+                TypeProbe handler = new TypeProbe(kobject);
+                KomodoObject probe = (KomodoObject)Proxy.newProxyInstance(KomodoObject.class.getClassLoader(),
+                                                                          new Class<?>[] { KomodoObject.class },
+                                                                          handler);
+                boolean resolvable = false;
+
+                try {
+                    resolvable = resolver.resolvable(transaction, probe);
+                } catch (Exception e) {
+                    // let the resolver be asked again about every object
+                    handler.contentRead = true;
+                }
+
+                if (resolvable || handler.contentRead) {
+                    candidates.add(resolver);
+                    accepted.add(resolvable && !handler.contentRead);
+                }
+            }
+
+            dispatch = new Dispatch(candidates, accepted);
+            dispatchTable.put(key, dispatch);
+        }
+
+        return dispatch;
+    }
+
+    /**
+     * @param transaction the transaction (cannot be <code>null</code>)
+     * @param kobject the object being checked (cannot be <code>null</code>)
+     * @param resolver the resolver being asked (cannot be <code>null</code>)
+     * @return <code>true</code> if the resolver can resolve the object
+     * @throws KException if an error occurs
+     */
+    public boolean isResolvable(UnitOfWork transaction, KomodoObject kobject, TypeResolver<?> resolver) throws KException {
+        Dispatch dispatch = getDispatch(transaction, kobject);
+
+        if (dispatch == null)
+            return resolver.resolvable(transaction, kobject);
+
+        for (int i = 0; i < dispatch.resolvers.length; ++i) {
+            if (dispatch.resolvers[i] == resolver)
+                return dispatch.accepted[i] || resolver.resolvable(transaction, kobject);
+        }
+
+        return false;
+    }
+
+    /**
+     * Resolves the object using the first registered resolver that accepts it. Plain objects are only offered to the resolvers
+     * that can accept objects having their types.
+     *
+     * @param transaction the transaction (cannot be <code>null</code>)
+     * @param kobject the object being resolved (cannot be <code>null</code>)
+     * @return the resolved object or <code>null</code> if no resolver accepts the object
+     * @throws KException if an error occurs
+     */
+    public KomodoObject resolve(UnitOfWork transaction, KomodoObject kobject) throws KException {
+        Dispatch dispatch = getDispatch(transaction, kobject);
+
+        if (dispatch == null) {
+            for (TypeResolver<?> resolver : resolvers) {
+                if (resolver.resolvable(transaction, kobject))
+                    return resolver.resolve(transaction, kobject);
+            }
+
+            return null;
+        }
+
+        for (int i = 0; i < dispatch.resolvers.length; ++i) {
+            TypeResolver<?> resolver = dispatch.resolvers[i];
+
+            if (dispatch.accepted[i] || resolver.resolvable(transaction, kobject))
+                return resolver.resolve(transaction, kobject);
+        }
+
+        return null;
+    }
 }
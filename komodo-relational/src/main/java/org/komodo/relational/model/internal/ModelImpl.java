@@ -21,6 +21,10 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -815,13 +819,41 @@ public final class ModelImpl extends RelationalObjectImpl implements Model {
                              result);
             }
 
-            return result.getBytes();
+            return result.getBytes(StandardCharsets.UTF_8);
 
         } catch (final Exception e) {
             throw handleError(e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties exportProperties,
+                        final OutputStream stream ) throws KException {
+        ArgCheck.isNotNull(transaction);
+        ArgCheck.isNotNull(stream, "stream"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("modelimpl-export: transaction = {0}", transaction.getName()); //$NON-NLS-1$
+        }
+
+        try {
+            final Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            MetadataInstance metadata = getRepository().getMetadataInstance();
+            DdlNodeVisitor visitor = new DdlNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), writer, false);
+            visitor.visit(transaction, this);
+            writer.flush();
+        } catch (final Exception e) {
+            throw handleError(e);
+        }
+    }
+
     @Override
     public DocumentType getDocumentType(UnitOfWork transaction) throws KException {
         return DocumentType.DDL;
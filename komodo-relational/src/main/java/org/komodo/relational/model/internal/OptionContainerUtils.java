@@ -22,6 +22,9 @@
 package org.komodo.relational.model.internal;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,9 +50,35 @@ import org.komodo.utils.StringUtils;
 
 /**
  * Utilities for retrieving and updating standard and custom statement options.
+ * <p>
+ * The statement options of a container are read once per container per transaction into a name/value map that is cached by the
+ * transaction. The map is updated in place when options are set or removed through the container or through the
+ * {@link StatementOption statement options} obtained from it.
  */
 public final class OptionContainerUtils {
 
+    /**
+     * The key of the transaction value holding the options read by the transaction keyed by container path.
+     */
+    private static final String OPTIONS_KEY = OptionContainerUtils.class.getName() + ".options"; //$NON-NLS-1$
+
+    /**
+     * The statement options of one container as read by one transaction.
+     */
+    private static final class CachedOptions {
+
+        /**
+         * The option values keyed by option name, in the order the options were found.
+         */
+        final Map< String, String > values = new LinkedHashMap<>();
+
+        /**
+         * The absolute paths of the option nodes keyed by option name.
+         */
+        final Map< String, String > paths = new HashMap<>();
+
+    }
+
     /**
      * A {@link PropertyDescriptor property descriptor} for an {@link StatementOption option}.
      */
@@ -283,13 +312,142 @@ public final class OptionContainerUtils {
     public static String getOption( final UnitOfWork transaction,
                                     final OptionContainer container,
                                     final String name ) throws KException {
-        final StatementOption option = getStatementOption( transaction, container, name );
+        ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+        return getOptionValues( transaction, container ).get( name );
+    }
 
-        if ( option == null ) {
-            return null;
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param container
+     *        the option container whose option values are being requested (cannot be <code>null</code>)
+     * @return the option values keyed by option name, in the order the options were found (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    private static Map< String, String > getOptionValues( final UnitOfWork transaction,
+                                                          final OptionContainer container ) throws KException {
+        return getCachedOptions( transaction, container ).values;
+    }
+
+    private static CachedOptions getCachedOptions( final UnitOfWork transaction,
+                                                   final OptionContainer container ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( container, "container" ); //$NON-NLS-1$
+
+        final Map< String, CachedOptions > containers = getContainers( transaction, true );
+        final String path = container.getAbsolutePath();
+        CachedOptions options = containers.get( path );
+
+        if ( options != null ) {
+            return options;
+        }
+
+        // must create a generic KomodoObject here so that we can get to the getChildrenOfType that does not filter result
+        final KomodoObject same = new ObjectImpl( container.getRepository(), path, container.getIndex() );
+        options = new CachedOptions();
+
+        for ( final KomodoObject kobject : same.getChildrenOfType( transaction, StandardDdlLexicon.TYPE_STATEMENT_OPTION ) ) {
+            final String name = kobject.getName( transaction );
+            final Property value = kobject.getProperty( transaction, StandardDdlLexicon.VALUE );
+            options.values.put( name, ( ( value == null ) ? null : value.getStringValue( transaction ) ) );
+            options.paths.put( name, kobject.getAbsolutePath() );
+        }
+
+        containers.put( path, options );
+        return options;
+    }
+
+    /**
+     * @param transaction
+     *        the transaction whose options are being requested (cannot be <code>null</code>)
+     * @param create
+     *        <code>true</code> if the options should be cached by the transaction when it has none
+     * @return the options read by the transaction keyed by container path (<code>null</code> only if not found and not created)
+     */
+    @SuppressWarnings( "unchecked" )
+    private static Map< String, CachedOptions > getContainers( final UnitOfWork transaction,
+                                                               final boolean create ) {
+        Map< String, CachedOptions > containers = ( Map< String, CachedOptions > )transaction.getCachedValue( OPTIONS_KEY );
+
+        if ( ( containers == null ) && create ) {
+            containers = new HashMap<>();
+            transaction.cacheValue( OPTIONS_KEY, containers );
+        }
+
+        return containers;
+    }
+
+    /**
+     * Forgets the options read by the transaction for the removed object and its descendants.
+     *
+     * @param transaction
+     *        the transaction that removed the object (cannot be <code>null</code>)
+     * @param path
+     *        the absolute path of the removed object (cannot be empty)
+     */
+    public static void objectRemoved( final UnitOfWork transaction,
+                                      final String path ) {
+        final Map< String, CachedOptions > containers = getContainers( transaction, false );
+
+        if ( containers != null ) {
+            final String descendantPrefix = path + StringConstants.FORWARD_SLASH;
+
+            for ( final Iterator< String > itr = containers.keySet().iterator(); itr.hasNext(); ) {
+                final String containerPath = itr.next();
+
+                if ( containerPath.equals( path ) || containerPath.startsWith( descendantPrefix ) ) {
+                    itr.remove();
+                }
+            }
         }
+    }
 
-        return option.getOption( transaction );
+    /**
+     * Updates the options already read by the transaction. Does nothing if the container's options have not been read.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param container
+     *        the option container whose option changed (cannot be <code>null</code>)
+     * @param option
+     *        the option that changed (cannot be <code>null</code>)
+     * @param name
+     *        the name of the option that changed (cannot be empty)
+     * @param value
+     *        the new option value or <code>null</code> if the option was removed
+     */
+    static void optionChanged( final UnitOfWork transaction,
+                               final OptionContainer container,
+                               final StatementOption option,
+                               final String name,
+                               final String value ) {
+        final Map< String, CachedOptions > containers = getContainers( transaction, false );
+
+        if ( containers != null ) {
+            final CachedOptions options = containers.get( container.getAbsolutePath() );
+
+            if ( options != null ) {
+                if ( value == null ) {
+                    options.values.remove( name );
+                    options.paths.remove( name );
+                } else {
+                    options.values.put( name, value );
+                    options.paths.put( name, option.getAbsolutePath() );
+                }
+            }
+        }
+    }
+
+    private static StatementOption createStatementOption( final UnitOfWork transaction,
+                                                          final OptionContainer container,
+                                                          final String name ) throws KException {
+        final StatementOptionImpl option = new StatementOptionImpl( transaction,
+                                                                    container.getRepository(),
+                                                                    getCachedOptions( transaction, container ).paths.get( name ) );
+        option.setContainer( container );
+        return option;
     }
 
     /**
@@ -344,15 +502,8 @@ public final class OptionContainerUtils {
      */
     public static String[] getOptionNames( final UnitOfWork transaction,
                                            final OptionContainer container ) throws KException {
-        final StatementOption[] options = getOptions( transaction, container );
-        final String[] names = new String[ options.length ];
-        int i = 0;
-
-        for ( final StatementOption option : options ) {
-            names[i++] = option.getName( transaction );
-        }
-
-        return names;
+        final Map< String, String > values = getOptionValues( transaction, container );
+        return values.keySet().toArray( new String[ values.size() ] );
     }
 
     /**
@@ -366,23 +517,16 @@ public final class OptionContainerUtils {
      */
     public static StatementOption[] getOptions( final UnitOfWork transaction,
                                                 final OptionContainer container ) throws KException {
-        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
-        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
-        ArgCheck.isNotNull( container, "container" ); //$NON-NLS-1$
+        final Map< String, String > values = getOptionValues( transaction, container );
 
-        // must create a generic KomodoObject here so that we can get to the getChildrenOfType that does not filter result
-        final KomodoObject same = new ObjectImpl( container.getRepository(), container.getAbsolutePath(), container.getIndex() );
-        final List< StatementOption > result = new ArrayList< StatementOption >();
-
-        for ( final KomodoObject kobject : same.getChildrenOfType( transaction, StandardDdlLexicon.TYPE_STATEMENT_OPTION ) ) {
-            final StatementOption option = new StatementOptionImpl( transaction,
-                                                                    container.getRepository(),
-                                                                    kobject.getAbsolutePath() );
-            result.add( option );
+        if ( values.isEmpty() ) {
+            return StatementOption.NO_OPTIONS;
         }
 
-        if ( result.isEmpty() ) {
-            return StatementOption.NO_OPTIONS;
+        final List< StatementOption > result = new ArrayList< StatementOption >( values.size() );
+
+        for ( final String name : values.keySet().toArray( new String[ values.size() ] ) ) {
+            result.add( createStatementOption( transaction, container, name ) );
         }
 
         return result.toArray( new StatementOption[ result.size() ] );
@@ -480,19 +624,11 @@ public final class OptionContainerUtils {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
         ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
 
-        StatementOption result = null;
-        final StatementOption[] options = getOptions( transaction, container );
-
-        if ( options.length != 0 ) {
-            for ( final StatementOption option : options ) {
-                if ( name.equals( option.getName( transaction ) ) ) {
-                    result = option;
-                    break;
-                }
-            }
+        if ( !getOptionValues( transaction, container ).containsKey( name ) ) {
+            return null;
         }
 
-        return result;
+        return createStatementOption( transaction, container, name );
     }
 
     /**
@@ -535,7 +671,8 @@ public final class OptionContainerUtils {
     public static boolean hasOption( final UnitOfWork transaction,
                                      final OptionContainer container,
                                      final String name ) throws KException {
-        return ( getStatementOption( transaction, container, name ) != null );
+        ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+        return getOptionValues( transaction, container ).containsKey( name );
     }
 
     /**
@@ -549,7 +686,7 @@ public final class OptionContainerUtils {
      */
     public static boolean hasOptions( final UnitOfWork transaction,
                                       final OptionContainer container ) throws KException {
-        return ( getOptions( transaction, container ).length > 0 );
+        return !getOptionValues( transaction, container ).isEmpty();
     }
 
     /**
@@ -607,22 +744,13 @@ public final class OptionContainerUtils {
         ArgCheck.isNotNull( container, "container" ); //$NON-NLS-1$
         ArgCheck.isNotEmpty( optionToRemove, "optionToRemove" ); //$NON-NLS-1$
 
-        boolean found = false;
-        final StatementOption[] options = getOptions( transaction, container );
-
-        if ( options.length != 0 ) {
-            for ( final StatementOption option : options ) {
-                if ( optionToRemove.equals( option.getName( transaction ) ) ) {
-                    option.remove( transaction );
-                    found = true;
-                    break;
-                }
-            }
-        }
+        final StatementOption option = getStatementOption( transaction, container, optionToRemove );
 
-        if ( !found ) {
+        if ( option == null ) {
             throw new KException( Messages.getString( Relational.STATEMENT_OPTION_NOT_FOUND_TO_REMOVE, optionToRemove ) );
         }
+
+        option.remove( transaction );
     }
 
     /**
@@ -660,6 +788,7 @@ public final class OptionContainerUtils {
                                                                    container,
                                                                    optionName,
                                                                    optionValue );
+            optionChanged( transaction, container, result, optionName, optionValue );
         } else {
             result.setOption( transaction, optionValue );
         }
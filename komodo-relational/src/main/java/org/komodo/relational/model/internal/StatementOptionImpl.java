@@ -27,6 +27,7 @@ import java.util.Calendar;
 import java.util.Date;
 import org.komodo.relational.Messages;
 import org.komodo.relational.internal.RelationalChildRestrictedObject;
+import org.komodo.relational.model.OptionContainer;
 import org.komodo.relational.model.StatementOption;
 import org.komodo.spi.KException;
 import org.komodo.spi.lexicon.ddl.StandardDdlLexicon;
@@ -47,6 +48,11 @@ public final class StatementOptionImpl extends RelationalChildRestrictedObject i
 
     private PropertyDescriptor descriptor;
 
+    /**
+     * The container whose cached option values are updated when this option changes (can be <code>null</code>).
+     */
+    private OptionContainer container;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
@@ -63,6 +69,15 @@ public final class StatementOptionImpl extends RelationalChildRestrictedObject i
         super( transaction, repository, workspacePath );
     }
 
+    /**
+     * @param optionContainer
+     *        the container this option was obtained from whose cached option values should track this option (can be
+     *        <code>null</code>)
+     */
+    void setContainer( final OptionContainer optionContainer ) {
+        this.container = optionContainer;
+    }
+
     @Override
     public InputStream getBinaryValue(UnitOfWork uow) throws KException {
         throw new UnsupportedOperationException();
@@ -302,6 +317,21 @@ public final class StatementOptionImpl extends RelationalChildRestrictedObject i
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.core.repository.ObjectImpl#remove(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public void remove( final UnitOfWork transaction ) throws KException {
+        final String name = getName( transaction );
+        super.remove( transaction );
+
+        if ( this.container != null ) {
+            OptionContainerUtils.optionChanged( transaction, this.container, this, name, null );
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -333,6 +363,8 @@ public final class StatementOptionImpl extends RelationalChildRestrictedObject i
 
         if ( StringUtils.isBlank( newOption ) ) {
             remove( transaction );
+        } else if ( this.container != null ) {
+            OptionContainerUtils.optionChanged( transaction, this.container, this, getName( transaction ), newOption );
         }
     }
 
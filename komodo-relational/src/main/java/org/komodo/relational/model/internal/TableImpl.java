@@ -21,6 +21,10 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -1043,15 +1047,19 @@ public class TableImpl extends RelationalObjectImpl implements Table {
         setStatementOption( transaction, StandardOption.UUID.name(), newUuid );
     }
 
-    private String exportDdl(UnitOfWork transaction, Properties exportProperties) throws Exception {
+    private VisitorExclusions[] exclusions(Properties exportProperties) {
         List<VisitorExclusions> exclusions = new ArrayList<VisitorExclusions>();
         if( exportProperties != null && !exportProperties.isEmpty() ) {
             if(exportProperties.containsKey(ExportConstants.EXCLUDE_TABLE_CONSTRAINTS_KEY)) {
                 exclusions.add(VisitorExclusions.EXCLUDE_TABLE_CONSTRAINTS);
             }
         }
+        return exclusions.toArray(new VisitorExclusions[0]);
+    }
+
+    private String exportDdl(UnitOfWork transaction, Properties exportProperties) throws Exception {
         MetadataInstance metadata = getRepository().getMetadataInstance();
-        DdlNodeVisitor visitor = new DdlNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), false, exclusions.toArray(new VisitorExclusions[0]));
+        DdlNodeVisitor visitor = new DdlNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), false, exclusions(exportProperties));
         visitor.visit(transaction, this);
 
         String result = visitor.getDdl();
@@ -1080,13 +1088,41 @@ public class TableImpl extends RelationalObjectImpl implements Table {
                              result);
             }
 
-            return result.getBytes();
+            return result.getBytes(StandardCharsets.UTF_8);
 
         } catch (final Exception e) {
             throw handleError(e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties exportProperties,
+                        final OutputStream stream ) throws KException {
+        ArgCheck.isNotNull(transaction);
+        ArgCheck.isNotNull(stream, "stream"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("tableimpl-export: transaction = {0}", transaction.getName()); //$NON-NLS-1$
+        }
+
+        try {
+            final Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            MetadataInstance metadata = getRepository().getMetadataInstance();
+            DdlNodeVisitor visitor = new DdlNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), writer, false, exclusions(exportProperties));
+            visitor.visit(transaction, this);
+            writer.flush();
+        } catch (final Exception e) {
+            throw handleError(e);
+        }
+    }
+
     @Override
     public DocumentType getDocumentType(UnitOfWork transaction) throws KException {
         return DocumentType.DDL;
@@ -22,7 +22,12 @@
 package org.komodo.relational.vdb.internal;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -58,6 +63,7 @@ import org.komodo.spi.repository.PropertyValueType;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.runtime.TeiidVdb;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.FileUtils;
 import org.w3c.dom.Document;
@@ -158,13 +164,7 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
             try {
                 final XMLOutputFactory xof = XMLOutputFactory.newInstance();
                 final XMLStreamWriter xsw = xof.createXMLStreamWriter(writer);
-                MetadataInstance metadata = getRepository().getMetadataInstance();
-                final VdbNodeVisitor visitor = new VdbNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), xsw);
-                if( exportProperties != null && !exportProperties.isEmpty() ) {
-                	boolean useTabs = exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY);
-                	visitor.setShowTabs(useTabs);
-                }
-                visitor.visit(transaction, vdb);
+                writeManifest(transaction, vdb, exportProperties, xsw);
             } catch (final Exception e) {
                 throw new KException(e);
             }
@@ -201,7 +201,7 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
          */
         @Override
         public byte[] export( final UnitOfWork transaction, Properties properties) {
-            return this.xml == null ? new byte[0] : this.xml.getBytes();
+            return this.xml == null ? new byte[0] : this.xml.getBytes(StandardCharsets.UTF_8);
         }
 
         @Override
@@ -210,6 +210,20 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         }
     }
 
+    private void writeManifest( final UnitOfWork transaction,
+                                final VdbImpl vdb,
+                                final Properties exportProperties,
+                                final XMLStreamWriter xsw ) throws Exception {
+        MetadataInstance metadata = getRepository().getMetadataInstance();
+        final VdbNodeVisitor visitor = new VdbNodeVisitor(metadata.getVersion(), metadata.getDataTypeService(), xsw);
+        if( exportProperties != null && !exportProperties.isEmpty() ) {
+        	boolean useTabs = exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY);
+        	visitor.setShowTabs(useTabs);
+        }
+        visitor.visit(transaction, vdb);
+        xsw.flush();
+    }
+
     /**
      * @param uow
      *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
@@ -320,6 +334,44 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The manifest is written straight to the stream as it is visited and is never held in memory. The bytes written are the
+     * same as those of {@link #export(UnitOfWork, Properties)}: UTF-8 with leading and trailing whitespace trimmed.
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.OutputStream)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties properties,
+                        final OutputStream stream ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
+
+        XMLStreamWriter xsw = null;
+
+        try {
+            final XMLOutputFactory xof = XMLOutputFactory.newInstance();
+            xsw = xof.createXMLStreamWriter( new TrimmingOutputStream( stream ), "UTF-8" ); //$NON-NLS-1$
+            writeManifest( transaction, this, properties, xsw );
+            stream.flush();
+        } catch ( final Exception e ) {
+            throw handleError( e );
+        } finally {
+            if ( xsw != null ) {
+                try {
+                    // does not close the underlying stream
+                    xsw.close();
+                } catch ( final Exception e ) {
+                    // nothing to do
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1247,6 +1299,20 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
             metadata.deployDynamicVdb(vdbDeploymentName, new ByteArrayInputStream(vdbXml));
 
             status.addProgressMessage("VDB deployed " + vdbName + " to teiid"); //$NON-NLS-1$ //$NON-NLS-2$
+
+            TeiidVdb teiidVdb = metadata.waitForVdb(vdbToDeployName, MetadataInstance.DEFAULT_VDB_READY_TIMEOUT);
+            if (teiidVdb == null) {
+                status.addProgressMessage("Warning: VDB " + vdbName + " not yet completed deployment"); //$NON-NLS-1$ //$NON-NLS-2$
+            } else if (teiidVdb.isActive()) {
+                status.addProgressMessage("VDB " + vdbName + " is active"); //$NON-NLS-1$ //$NON-NLS-2$
+            } else if (teiidVdb.isLoading()) {
+                status.addProgressMessage("VDB " + vdbName + " is still loading"); //$NON-NLS-1$ //$NON-NLS-2$
+            } else if (teiidVdb.hasFailed()) {
+                status.addErrorMessage("VDB " + vdbName + " failed to load"); //$NON-NLS-1$ //$NON-NLS-2$
+                for (String error : teiidVdb.getValidityErrors()) {
+                    status.addErrorMessage(error);
+                }
+            }
         } catch (Exception ex) {
             status.addErrorMessage(ex);
         }
@@ -1254,5 +1320,70 @@ public class VdbImpl extends RelationalObjectImpl implements Vdb {
         
         return status;
     }
-    
+
+    /**
+     * Drops the whitespace before the first and after the last non-whitespace byte, as {@link String#trim()} does for the
+     * manifest of the byte array export. UTF-8 encodes the characters trimmed as single bytes that never occur within a
+     * multi-byte sequence. Whitespace is held back until it is known not to be trailing. Closing does not close the
+     * underlying stream.
+     */
+    private static class TrimmingOutputStream extends FilterOutputStream {
+
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private boolean started;
+
+        TrimmingOutputStream( final OutputStream stream ) {
+            super( stream );
+        }
+
+        private static boolean isWhitespace( final byte b ) {
+            return ( b & 0xFF ) <= ' ';
+        }
+
+        @Override
+        public void write( final int b ) throws IOException {
+            write( new byte[] { ( byte )b }, 0, 1 );
+        }
+
+        @Override
+        public void write( final byte[] bytes,
+                           final int offset,
+                           final int length ) throws IOException {
+            final int end = offset + length;
+            int start = offset;
+
+            if ( !this.started ) {
+                while ( ( start < end ) && isWhitespace( bytes[ start ] ) ) {
+                    ++start;
+                }
+
+                if ( start == end ) {
+                    return;
+                }
+
+                this.started = true;
+            }
+
+            int last = end - 1;
+            while ( ( last >= start ) && isWhitespace( bytes[ last ] ) ) {
+                --last;
+            }
+
+            if ( last >= start ) {
+                this.pending.writeTo( this.out );
+                this.pending.reset();
+                this.out.write( bytes, start, last + 1 - start );
+                start = last + 1;
+            }
+
+            this.pending.write( bytes, start, end - start );
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
 }
@@ -0,0 +1,291 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.relational.workspace;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.spi.KException;
+import org.komodo.utils.ArgCheck;
+
+/**
+ * A concurrent cache that holds a bounded number of instances and drops the instances that have not been requested for a while.
+ * Instances are created outside of any lock. When several threads create an instance for the same key at the same time only
+ * the first one is cached and returned to all of them, and the others are {@link Factory#discard(Object) discarded}.
+ *
+ * @param <K>
+ *        the key type
+ * @param <V>
+ *        the instance type
+ */
+final class InstanceCache< K, V > {
+
+    /**
+     * Creates the instance of a key that is not cached.
+     *
+     * @param <V>
+     *        the instance type
+     */
+    interface Factory< V > {
+
+        /**
+         * @return the new instance (cannot be <code>null</code>)
+         * @throws KException
+         *         if the instance could not be created
+         */
+        V create() throws KException;
+
+        /**
+         * Releases an instance that was created but lost the race to be cached. The instance is never returned by the cache.
+         *
+         * @param instance
+         *        the instance that will not be cached (never <code>null</code>)
+         */
+        void discard( final V instance );
+
+    }
+
+    /**
+     * Notified after an instance has been removed from the cache.
+     *
+     * @param <K>
+     *        the key type
+     * @param <V>
+     *        the instance type
+     */
+    interface RemovalListener< K, V > {
+
+        /**
+         * @param key
+         *        the key of the removed instance (never <code>null</code>)
+         * @param value
+         *        the removed instance (never <code>null</code>)
+         * @param evicted
+         *        <code>true</code> if the instance was dropped because the cache was full or the instance was idle
+         */
+        void removed( final K key,
+                      final V value,
+                      final boolean evicted );
+
+    }
+
+    private static class Entry< V > {
+
+        private final V value;
+        private volatile long lastAccess;
+
+        Entry( final V value,
+               final long now ) {
+            this.value = value;
+            this.lastAccess = now;
+        }
+
+    }
+
+    /**
+     * The name of the statistic counting the requests answered from the cache.
+     */
+    static final String HITS = "hits"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the requests that created an instance.
+     */
+    static final String MISSES = "misses"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the instances dropped because the cache was full or they were idle.
+     */
+    static final String EVICTIONS = "evictions"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the number of cached instances.
+     */
+    static final String SIZE = "size"; //$NON-NLS-1$
+
+    private final ConcurrentMap< K, Entry< V > > entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final RemovalListener< K, V > listener;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile long lastSweep = System.currentTimeMillis();
+
+    /**
+     * @param maxSize
+     *        the most instances that are cached (must be positive)
+     * @param maxIdleMillis
+     *        the time after which an instance that has not been requested is dropped (must be positive)
+     * @param listener
+     *        the listener notified of removed instances (can be <code>null</code>)
+     */
+    InstanceCache( final int maxSize,
+                   final long maxIdleMillis,
+                   final RemovalListener< K, V > listener ) {
+        ArgCheck.isTrue( maxSize > 0, "maxSize must be positive" ); //$NON-NLS-1$
+        ArgCheck.isTrue( maxIdleMillis > 0, "maxIdleMillis must be positive" ); //$NON-NLS-1$
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+        this.listener = listener;
+    }
+
+    /**
+     * @param key
+     *        the key whose instance is being requested (cannot be <code>null</code>)
+     * @param factory
+     *        the factory used if the instance is not cached (cannot be <code>null</code>)
+     * @return the cached or newly created instance (never <code>null</code>)
+     * @throws KException
+     *         if the instance had to be created and could not be
+     */
+    V get( final K key,
+           final Factory< V > factory ) throws KException {
+        ArgCheck.isNotNull( key, "key" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( factory, "factory" ); //$NON-NLS-1$
+
+        final long now = System.currentTimeMillis();
+        sweep( now );
+
+        Entry< V > entry = this.entries.get( key );
+
+        if ( ( entry != null ) && isIdle( entry, now ) ) {
+            evict( key, entry );
+            entry = null;
+        }
+
+        if ( entry == null ) {
+            // create outside of the map so slow or re-entrant creation does not hold a lock
+            final Entry< V > newEntry = new Entry<>( factory.create(), now );
+            entry = this.entries.putIfAbsent( key, newEntry );
+
+            if ( entry == null ) {
+                this.misses.incrementAndGet();
+
+                if ( this.entries.size() > this.maxSize ) {
+                    evictLeastRecentlyUsed( key );
+                }
+
+                return newEntry.value;
+            }
+
+            // another thread cached an instance first
+            factory.discard( newEntry.value );
+        }
+
+        this.hits.incrementAndGet();
+        entry.lastAccess = now;
+        return entry.value;
+    }
+
+    /**
+     * @param key
+     *        the key whose instance is being removed (cannot be <code>null</code>)
+     * @return the removed instance or <code>null</code> if none was cached
+     */
+    V remove( final K key ) {
+        ArgCheck.isNotNull( key, "key" ); //$NON-NLS-1$
+        final Entry< V > entry = this.entries.remove( key );
+
+        if ( entry == null ) {
+            return null;
+        }
+
+        notifyRemoved( key, entry.value, false );
+        return entry.value;
+    }
+
+    /**
+     * @return the hit, miss and eviction counts and the current size keyed by statistic name (never <code>null</code>)
+     */
+    Map< String, Long > getStatistics() {
+        final Map< String, Long > stats = new TreeMap<>();
+        stats.put( HITS, this.hits.get() );
+        stats.put( MISSES, this.misses.get() );
+        stats.put( EVICTIONS, this.evictions.get() );
+        stats.put( SIZE, ( long )this.entries.size() );
+        return stats;
+    }
+
+    private boolean isIdle( final Entry< V > entry,
+                            final long now ) {
+        return ( ( now - entry.lastAccess ) > this.maxIdleMillis );
+    }
+
+    private void evict( final K key,
+                        final Entry< V > entry ) {
+        // only the thread that actually removes the entry counts and reports it
+        if ( this.entries.remove( key, entry ) ) {
+            this.evictions.incrementAndGet();
+            notifyRemoved( key, entry.value, true );
+        }
+    }
+
+    private void evictLeastRecentlyUsed( final K keep ) {
+        while ( this.entries.size() > this.maxSize ) {
+            K oldestKey = null;
+            Entry< V > oldest = null;
+
+            for ( final Map.Entry< K, Entry< V > > candidate : this.entries.entrySet() ) {
+                if ( !keep.equals( candidate.getKey() )
+                     && ( ( oldest == null ) || ( candidate.getValue().lastAccess < oldest.lastAccess ) ) ) {
+                    oldestKey = candidate.getKey();
+                    oldest = candidate.getValue();
+                }
+            }
+
+            if ( oldest == null ) {
+                return;
+            }
+
+            evict( oldestKey, oldest );
+        }
+    }
+
+    private void sweep( final long now ) {
+        // idle instances are looked for at most a few times per idle period
+        if ( ( now - this.lastSweep ) < ( this.maxIdleMillis / 4 ) ) {
+            return;
+        }
+
+        this.lastSweep = now;
+
+        for ( final Iterator< Map.Entry< K, Entry< V > > > itr = this.entries.entrySet().iterator(); itr.hasNext(); ) {
+            final Map.Entry< K, Entry< V > > candidate = itr.next();
+
+            if ( isIdle( candidate.getValue(), now ) ) {
+                evict( candidate.getKey(), candidate.getValue() );
+            }
+        }
+    }
+
+    private void notifyRemoved( final K key,
+                                final V value,
+                                final boolean evicted ) {
+        if ( this.listener != null ) {
+            this.listener.removed( key, value, evicted );
+        }
+    }
+
+}
@@ -26,7 +26,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.repository.ObjectImpl;
 import org.komodo.core.repository.RepositoryImpl;
@@ -75,8 +77,6 @@ import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.spi.storage.StorageConnector;
 import org.komodo.spi.storage.StorageReference;
 import org.komodo.spi.storage.StorageService;
-import org.komodo.spi.utils.KeyInValueMap;
-import org.komodo.spi.utils.KeyInValueMap.KeyFromValueAdapter;
 import org.komodo.storage.StorageServiceProvider;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.StringUtils;
@@ -151,24 +151,35 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         }
     }
 
-    private static class WskpMgrAdapter implements KeyFromValueAdapter< CacheKey, WorkspaceManager > {
-
-        @Override
-        public CacheKey getKey( WorkspaceManager value ) {
-            Repository repository = value.getRepository();
-            String user = value.getOwner();
+    /**
+     * The system property that sets the most workspace managers that are cached. Defaults to 1000.
+     */
+    public static final String CACHE_MAX_SIZE_PROPERTY = "komodo.workspaceManagerCache.maxSize"; //$NON-NLS-1$
 
-            return new CacheKey(repository.getId(), user);
-        }
-    }
+    /**
+     * The system property that sets the minutes after which a workspace manager that has not been requested is dropped from
+     * the cache. Defaults to 60.
+     */
+    public static final String CACHE_MAX_IDLE_PROPERTY = "komodo.workspaceManagerCache.maxIdleMinutes"; //$NON-NLS-1$
 
-    private static KeyFromValueAdapter< CacheKey, WorkspaceManager > adapter = new WskpMgrAdapter();
+    private static InstanceCache< CacheKey, WorkspaceManager > instances =
+        new InstanceCache< CacheKey, WorkspaceManager >( Integer.getInteger( CACHE_MAX_SIZE_PROPERTY, 1000 ),
+                                                         TimeUnit.MINUTES.toMillis( Long.getLong( CACHE_MAX_IDLE_PROPERTY, 60 ) ),
+                                                         new InstanceCache.RemovalListener< CacheKey, WorkspaceManager >() {
 
-    private static KeyInValueMap< CacheKey, WorkspaceManager > instances = 
-                                                                        new KeyInValueMap< CacheKey, WorkspaceManager >(adapter);
+            @Override
+            public void removed( final CacheKey key,
+                                 final WorkspaceManager value,
+                                 final boolean evicted ) {
+                // the manager no longer needs to know when its repository goes away
+                value.getRepository().removeObserver( value.disposalObserver );
+            }
+        } );
 
     private final String owner;
 
+    private final RepositoryObserver disposalObserver;
+
     /**
      * @param repository
      *        the repository whose workspace manager is being requested (cannot be <code>null</code>)
@@ -180,28 +191,44 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
      * @throws KException
      *         if there is an error obtaining the workspace manager
      */
-    public static WorkspaceManager getInstance( Repository repository, UnitOfWork transaction) throws KException {
-        boolean txNotProvided = transaction == null;
+    public static WorkspaceManager getInstance( final Repository repository, UnitOfWork transaction) throws KException {
+        final boolean txNotProvided = transaction == null;
 
         if (txNotProvided)
             transaction = repository.createTransaction(Repository.SYSTEM_USER, "createWorkspaceManager", false, null ); //$NON-NLS-1$
 
-        WorkspaceManager instance = instances.get(new CacheKey(repository.getId(), transaction.getUserName()));
+        final UnitOfWork uow = transaction;
+        final WorkspaceManager instance = instances.get( new CacheKey( repository.getId(), uow.getUserName() ),
+                                                         new InstanceCache.Factory< WorkspaceManager >() {
 
-        if ( instance == null ) {
-            // We must create a transaction here so that it can be passed on to the constructor. Since the
-            // node associated with the WorkspaceManager always exists we don't have to create it.
-            instance = new WorkspaceManager(repository, transaction);
+            @Override
+            public WorkspaceManager create() throws KException {
+                // We must create a transaction here so that it can be passed on to the constructor. Since the
+                // node associated with the WorkspaceManager always exists we don't have to create it.
+                return new WorkspaceManager( repository, uow );
+            }
 
-            if (txNotProvided)
-                transaction.commit();
+            @Override
+            public void discard( final WorkspaceManager instance ) {
+                // another manager is cached so this one must not keep listening to the repository
+                instance.getRepository().removeObserver( instance.disposalObserver );
+            }
+        } );
 
-            instances.add( instance );
-        }
+        if ( txNotProvided )
+            transaction.commit();
 
         return instance;
     }
 
+    /**
+     * @return the hit, miss and eviction counts and the size of the workspace manager cache keyed by statistic name (never
+     *         <code>null</code>)
+     */
+    public static Map< String, Long > getCacheStatistics() {
+        return instances.getStatistics();
+    }
+
     /**
      * @return the owner of this workspace manager
      */
@@ -260,13 +287,14 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         super( repository, RepositoryImpl.komodoWorkspacePath(uow), 0 );
         this.owner = uow.getUserName();
 
-        repository.addObserver(new RepositoryObserver() {
+        final CacheKey key = new CacheKey(repository.getId(), this.owner);
+        this.disposalObserver = new RepositoryObserver() {
 
             @Override
             public void eventOccurred(KEvent<?> event) {
                 // Disposal observer
                 if (getRepository() == null || State.NOT_REACHABLE == getRepository().getState() || !(getRepository().ping())) {
-                    instances.remove(adapter.getKey(WorkspaceManager.this));
+                    instances.remove(key);
                 }
             }
 
@@ -274,7 +302,9 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
             public void errorOccurred(Throwable e) {
                 // Nothing to do
             }
-        });
+        };
+
+        repository.addObserver(this.disposalObserver);
     }
 
     /**
@@ -551,6 +581,28 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
                                 String parentPath,
                                 final String namePattern,
                                 boolean includeSubTypes) throws KException {
+        final KomodoObject[] kobjects = findObjectsByType( transaction, type, parentPath, namePattern, includeSubTypes );
+        final int numPaths = kobjects.length;
+
+        if ( numPaths == 0 ) {
+            return StringConstants.EMPTY_ARRAY;
+        }
+
+        final String[] result = new String[ numPaths ];
+        int i = 0;
+
+        for ( final KomodoObject kObject : kobjects ) {
+            result[ i++ ] = kObject.getAbsolutePath();
+        }
+
+        return result;
+    }
+
+    private KomodoObject[] findObjectsByType( final UnitOfWork transaction,
+                                              final String type,
+                                              String parentPath,
+                                              final String namePattern,
+                                              boolean includeSubTypes ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state must be NOT_STARTED and was " + transaction.getState() ); //$NON-NLS-1$
@@ -579,20 +631,7 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
                 }
             }
 
-            final int numPaths = results.size();
-
-            if ( numPaths == 0 ) {
-                return StringConstants.EMPTY_ARRAY;
-            }
-
-            final String[] result = new String[ numPaths ];
-            int i = 0;
-
-            for ( final KomodoObject kObject : results ) {
-                result[ i++ ] = kObject.getAbsolutePath();
-            }
-
-            return result;
+            return results.toArray( new KomodoObject[ results.size() ] );
         } catch ( final Exception e ) {
             throw handleError( e );
         }
@@ -644,18 +683,21 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final String[] paths = findByType(transaction, VdbLexicon.Vdb.DECLARATIVE_MODEL);
-        Model[] result = null;
+        final KomodoObject[] kobjects = findObjectsByType( transaction,
+                                                           VdbLexicon.Vdb.DECLARATIVE_MODEL,
+                                                           RepositoryImpl.komodoWorkspacePath( transaction ),
+                                                           null,
+                                                           false );
 
-        if (paths.length == 0) {
-            result = Model.NO_MODELS;
-        } else {
-            result = new Model[paths.length];
-            int i = 0;
+        if ( kobjects.length == 0 ) {
+            return Model.NO_MODELS;
+        }
 
-            for (final String path : paths) {
-                result[i++] = new ModelImpl(transaction, getRepository(), path);
-            }
+        final Model[] result = new Model[ kobjects.length ];
+        int i = 0;
+
+        for ( final KomodoObject kobject : kobjects ) {
+            result[ i++ ] = new ModelImpl( transaction, getRepository(), kobject.getAbsolutePath() );
         }
 
         return result;
@@ -674,18 +716,21 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final String[] paths = findByType(transaction, KomodoLexicon.Schema.NODE_TYPE);
-        Schema[] result = null;
+        final KomodoObject[] kobjects = findObjectsByType( transaction,
+                                                           KomodoLexicon.Schema.NODE_TYPE,
+                                                           RepositoryImpl.komodoWorkspacePath( transaction ),
+                                                           null,
+                                                           false );
 
-        if (paths.length == 0) {
-            result = Schema.NO_SCHEMAS;
-        } else {
-            result = new Schema[paths.length];
-            int i = 0;
+        if ( kobjects.length == 0 ) {
+            return Schema.NO_SCHEMAS;
+        }
 
-            for (final String path : paths) {
-                result[i++] = new SchemaImpl(transaction, getRepository(), path);
-            }
+        final Schema[] result = new Schema[ kobjects.length ];
+        int i = 0;
+
+        for ( final KomodoObject kobject : kobjects ) {
+            result[ i++ ] = new SchemaImpl( transaction, getRepository(), kobject.getAbsolutePath() );
         }
 
         return result;
@@ -704,18 +749,21 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final String[] paths = findByType(transaction, DataVirtLexicon.DataService.NODE_TYPE);
-        Dataservice[] result = null;
+        final KomodoObject[] kobjects = findObjectsByType( transaction,
+                                                           DataVirtLexicon.DataService.NODE_TYPE,
+                                                           RepositoryImpl.komodoWorkspacePath( transaction ),
+                                                           null,
+                                                           false );
 
-        if (paths.length == 0) {
-            result = Dataservice.NO_DATASERVICES;
-        } else {
-            result = new Dataservice[paths.length];
-            int i = 0;
+        if ( kobjects.length == 0 ) {
+            return Dataservice.NO_DATASERVICES;
+        }
 
-            for (final String path : paths) {
-                result[i++] = new DataserviceImpl(transaction, getRepository(), path);
-            }
+        final Dataservice[] result = new Dataservice[ kobjects.length ];
+        int i = 0;
+
+        for ( final KomodoObject kobject : kobjects ) {
+            result[ i++ ] = new DataserviceImpl( transaction, getRepository(), kobject.getAbsolutePath() );
         }
 
         return result;
@@ -734,18 +782,21 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final String[] paths = findByType(transaction, DataVirtLexicon.Connection.NODE_TYPE);
-        Connection[] result = null;
+        final KomodoObject[] kobjects = findObjectsByType( transaction,
+                                                           DataVirtLexicon.Connection.NODE_TYPE,
+                                                           RepositoryImpl.komodoWorkspacePath( transaction ),
+                                                           null,
+                                                           false );
 
-        if (paths.length == 0) {
-            result = Connection.NO_CONNECTIONS;
-        } else {
-            result = new Connection[paths.length];
-            int i = 0;
+        if ( kobjects.length == 0 ) {
+            return Connection.NO_CONNECTIONS;
+        }
 
-            for (final String path : paths) {
-                result[i++] = new ConnectionImpl(transaction, getRepository(), path);
-            }
+        final Connection[] result = new Connection[ kobjects.length ];
+        int i = 0;
+
+        for ( final KomodoObject kobject : kobjects ) {
+            result[ i++ ] = new ConnectionImpl( transaction, getRepository(), kobject.getAbsolutePath() );
         }
 
         return result;
@@ -764,18 +815,21 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final String[] paths = findByType(transaction, DataVirtLexicon.ResourceFile.DRIVER_FILE_NODE_TYPE);
-        Driver[] result = null;
+        final KomodoObject[] kobjects = findObjectsByType( transaction,
+                                                           DataVirtLexicon.ResourceFile.DRIVER_FILE_NODE_TYPE,
+                                                           RepositoryImpl.komodoWorkspacePath( transaction ),
+                                                           null,
+                                                           false );
 
-        if (paths.length == 0) {
-            result = Driver.NO_DRIVERS;
-        } else {
-            result = new Driver[paths.length];
-            int i = 0;
+        if ( kobjects.length == 0 ) {
+            return Driver.NO_DRIVERS;
+        }
 
-            for (final String path : paths) {
-                result[i++] = new DriverImpl(transaction, getRepository(), path);
-            }
+        final Driver[] result = new Driver[ kobjects.length ];
+        int i = 0;
+
+        for ( final KomodoObject kobject : kobjects ) {
+            result[ i++ ] = new DriverImpl( transaction, getRepository(), kobject.getAbsolutePath() );
         }
 
         return result;
@@ -794,18 +848,21 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        final String[] paths = findByType(transaction, VdbLexicon.Vdb.VIRTUAL_DATABASE, false);
-        Vdb[] result = null;
+        final KomodoObject[] kobjects = findObjectsByType( transaction,
+                                                           VdbLexicon.Vdb.VIRTUAL_DATABASE,
+                                                           RepositoryImpl.komodoWorkspacePath( transaction ),
+                                                           null,
+                                                           false );
+
+        if ( kobjects.length == 0 ) {
+            return Vdb.NO_VDBS;
+        }
 
-        if (paths.length == 0) {
-            result = Vdb.NO_VDBS;
-        } else {
-            result = new Vdb[paths.length];
-            int i = 0;
+        final Vdb[] result = new Vdb[ kobjects.length ];
+        int i = 0;
 
-            for (final String path : paths) {
-                result[i++] = new VdbImpl(transaction, getRepository(), path);
-            }
+        for ( final KomodoObject kobject : kobjects ) {
+            result[ i++ ] = new VdbImpl( transaction, getRepository(), kobject.getAbsolutePath() );
         }
 
         return result;
@@ -868,6 +925,32 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         return kobject;
     }
 
+    /**
+     * Resolves a batch of objects, leaving out the objects that cannot be resolved. Objects of the same types are checked
+     * against the resolver of the desired class without asking every other resolver about each one.
+     *
+     * @param <T>
+     *        the desired outcome class
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param objects
+     *        the objects being resolved (cannot be <code>null</code>)
+     * @param resolvedClass
+     *        the class the objects should be resolved to (cannot be <code>null</code>)
+     * @return the strong typed objects of the desired type (never <code>null</code> but can be empty)
+     */
+    public <T> T[] resolveAll( final UnitOfWork transaction,
+                               final KomodoObject[] objects,
+                               final Class< T > resolvedClass ) {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+                         "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+
+        AdapterFactory adapter = new AdapterFactory( );
+        return adapter.adaptAll( transaction, objects, resolvedClass );
+    }
+
     /**
      * {@inheritDoc}
      *
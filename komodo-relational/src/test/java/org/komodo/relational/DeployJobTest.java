@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.relational;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+@SuppressWarnings( { "javadoc", "nls" } )
+public class DeployJobTest {
+
+    @Test
+    public void shouldBeQueuedWhenCreated() {
+        final DeployJob job = new DeployJob( "MyService", new DeployStatus() );
+        assertThat( job.getName(), is( "MyService" ) );
+        assertThat( job.getState(), is( DeployJob.State.QUEUED ) );
+        assertThat( job.isDone(), is( false ) );
+        assertThat( job.getFinished(), is( 0L ) );
+    }
+
+    @Test
+    public void shouldHaveUniqueIds() {
+        final DeployJob job1 = new DeployJob( "MyService", new DeployStatus() );
+        final DeployJob job2 = new DeployJob( "MyService", new DeployStatus() );
+        assertThat( job1.getId().equals( job2.getId() ), is( false ) );
+    }
+
+    @Test
+    public void shouldTimeOutWaitingForUnfinishedJob() throws Exception {
+        final DeployJob job = new DeployJob( "MyService", new DeployStatus() );
+        job.started();
+        assertThat( job.getState(), is( DeployJob.State.RUNNING ) );
+        assertThat( job.await( 10 ), is( false ) );
+    }
+
+    @Test
+    public void shouldReleaseWaitersWhenCompleted() throws Exception {
+        final DeployJob job = new DeployJob( "MyService", new DeployStatus() );
+        final CountDownLatch waiting = new CountDownLatch( 1 );
+        final Thread waiter = new Thread( new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    job.await();
+                    waiting.countDown();
+                } catch ( final InterruptedException e ) {
+                    // test fails on timeout
+                }
+            }
+        } );
+        waiter.start();
+
+        job.getStatus().addProgressMessage( "deployed" );
+        job.completed();
+
+        assertThat( waiting.await( 5000, TimeUnit.MILLISECONDS ), is( true ) );
+        assertThat( job.isDone(), is( true ) );
+        assertThat( job.getFinished() >= job.getSubmitted(), is( true ) );
+        assertThat( job.getStatus().getProgressMessages().size(), is( 1 ) );
+    }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.relational.dataservice.internal;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.relational.DeployJob;
+import org.komodo.relational.DeployStatus;
+import org.komodo.relational.connection.Connection;
+import org.komodo.relational.dataservice.ConnectionEntry;
+import org.komodo.relational.dataservice.DataServiceEntry.PublishPolicy;
+import org.komodo.relational.dataservice.Dataservice;
+import org.komodo.relational.dataservice.DriverEntry;
+import org.komodo.relational.dataservice.ServiceVdbEntry;
+import org.komodo.relational.dataservice.VdbEntry;
+import org.komodo.relational.resource.Driver;
+import org.komodo.relational.vdb.Vdb;
+import org.komodo.spi.metadata.MetadataInstance;
+import org.komodo.spi.repository.DocumentType;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.runtime.ConnectionDriver;
+import org.komodo.spi.runtime.TeiidDataSource;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.utils.FileUtils;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+@SuppressWarnings( { "javadoc", "nls" } )
+public class DataserviceConveyorTest {
+
+    private static final Pattern CONTENT_HASH = Pattern.compile( "<property name=\""
+                                                                  + DataserviceConveyor.CONTENT_HASH_PROPERTY
+                                                                  + "\" value=\"([0-9a-f]+)\"" );
+
+    private String driverName;
+    private String connectionName;
+    private String vdbName;
+    private UnitOfWork uow;
+    private MetadataInstance metadata;
+    private DataserviceConveyor conveyor;
+    private List< ConnectionDriver > serverDrivers;
+
+    @Before
+    public void init() throws Exception {
+        this.driverName = "driver.jar";
+        this.connectionName = "connection";
+        this.vdbName = "vdb";
+
+        this.uow = mock( UnitOfWork.class );
+        when( this.uow.getState() ).thenReturn( State.NOT_STARTED );
+
+        this.serverDrivers = new ArrayList<>();
+        this.metadata = mock( MetadataInstance.class );
+        when( this.metadata.getDataSourceDrivers() ).thenReturn( this.serverDrivers );
+        when( this.metadata.getOrCreateDataSource( any( String.class ),
+                                                   any( String.class ),
+                                                   any( String.class ),
+                                                   any( Properties.class ) ) ).thenReturn( mock( TeiidDataSource.class ) );
+        when( this.metadata.waitForVdbs( anyCollectionOf( String.class ), anyLong() ) ).thenReturn( Collections.< String, TeiidVdb >emptyMap() );
+
+        this.conveyor = new DataserviceConveyor( mock( Repository.class ), this.metadata );
+    }
+
+    @After
+    public void shutdown() {
+        DataserviceConveyor.shutdown();
+    }
+
+    private Dataservice mockDataservice( final PublishPolicy policy,
+                                         final String vdbContent ) throws Exception {
+        final Driver driver = mock( Driver.class );
+        when( driver.getName( this.uow ) ).thenReturn( this.driverName );
+        when( driver.getDocumentType( this.uow ) ).thenReturn( DocumentType.JAR );
+        when( driver.getContent( this.uow ) ).thenReturn( new ByteArrayInputStream( "driver content".getBytes() ) );
+
+        final DriverEntry driverEntry = mock( DriverEntry.class );
+        when( driverEntry.getReference( this.uow ) ).thenReturn( driver );
+        when( driverEntry.getPublishPolicy( this.uow ) ).thenReturn( policy );
+
+        final Connection connection = mock( Connection.class );
+        when( connection.getName( this.uow ) ).thenReturn( this.connectionName );
+        when( connection.getDriverName( this.uow ) ).thenReturn( this.driverName );
+        when( connection.getPropertiesForServerDeployment( this.uow ) ).thenReturn( new Properties() );
+
+        final ConnectionEntry connectionEntry = mock( ConnectionEntry.class );
+        when( connectionEntry.getReference( this.uow ) ).thenReturn( connection );
+        when( connectionEntry.getJndiName( this.uow ) ).thenReturn( "java:/" + this.connectionName );
+        when( connectionEntry.getPublishPolicy( this.uow ) ).thenReturn( policy );
+
+        final Vdb vdb = mock( Vdb.class );
+        when( vdb.getName( this.uow ) ).thenReturn( this.vdbName );
+        when( vdb.export( this.uow, null ) ).thenReturn( vdbContent.getBytes() );
+
+        final ServiceVdbEntry vdbEntry = mock( ServiceVdbEntry.class );
+        when( vdbEntry.getReference( this.uow ) ).thenReturn( vdb );
+        when( vdbEntry.getPublishPolicy( this.uow ) ).thenReturn( policy );
+
+        final Dataservice dataservice = mock( Dataservice.class );
+        when( dataservice.getName( this.uow ) ).thenReturn( "MyService" );
+        when( dataservice.getDriverEntries( this.uow ) ).thenReturn( new DriverEntry[] { driverEntry } );
+        when( dataservice.getConnectionEntries( this.uow ) ).thenReturn( new ConnectionEntry[] { connectionEntry } );
+        when( dataservice.getServiceVdbEntry( this.uow ) ).thenReturn( vdbEntry );
+        when( dataservice.getVdbEntries( this.uow ) ).thenReturn( new VdbEntry[ 0 ] );
+        when( dataservice.getVdbPlan( this.uow ) ).thenReturn( new String[ 0 ] );
+        return dataservice;
+    }
+
+    /**
+     * @param contentHash the content hash the vdb on the server was deployed with (can be <code>null</code>)
+     */
+    private void mockDeployedOnServer( final String deployedDriverName,
+                                       final String contentHash ) throws Exception {
+        final ConnectionDriver driver = mock( ConnectionDriver.class );
+        when( driver.getName() ).thenReturn( deployedDriverName );
+        this.serverDrivers.add( driver );
+
+        final TeiidVdb teiidVdb = mock( TeiidVdb.class );
+        when( teiidVdb.isActive() ).thenReturn( true );
+        when( teiidVdb.getPropertyValue( DataserviceConveyor.CONTENT_HASH_PROPERTY ) ).thenReturn( contentHash );
+        when( this.metadata.getVdb( this.vdbName ) ).thenReturn( teiidVdb );
+    }
+
+    /**
+     * @return the content of the vdb last deployed
+     */
+    private String deployedVdb() throws Exception {
+        final ArgumentCaptor< InputStream > content = ArgumentCaptor.forClass( InputStream.class );
+        verify( this.metadata, atLeastOnce() ).deployDynamicVdb( eq( vdbDeploymentName() ), content.capture() );
+
+        return FileUtils.read( new InputStreamReader( content.getValue(), StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * @return the content hash of the vdb last deployed
+     */
+    private String deployedContentHash() throws Exception {
+        final Matcher matcher = CONTENT_HASH.matcher( deployedVdb() );
+        assertThat( matcher.find(), is( true ) );
+        return matcher.group( 1 );
+    }
+
+    private String vdbDeploymentName() {
+        return this.vdbName + TeiidVdb.DYNAMIC_VDB_SUFFIX;
+    }
+
+    @Test
+    public void shouldDeployDriversThenConnectionsThenVdbs() throws Exception {
+        final DeployStatus status = this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, "<vdb/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+
+        final InOrder order = inOrder( this.metadata );
+        order.verify( this.metadata ).deployDataSourceDriver( eq( this.driverName ), any( File.class ) );
+        order.verify( this.metadata ).getOrCreateDataSource( eq( this.connectionName ),
+                                                             eq( "java:/" + this.connectionName ),
+                                                             eq( this.driverName ),
+                                                             any( Properties.class ) );
+        order.verify( this.metadata ).deployDynamicVdb( eq( vdbDeploymentName() ), any( InputStream.class ) );
+    }
+
+    @Test
+    public void shouldStampContentHashAfterVdbProperties() throws Exception {
+        final String vdb = "<vdb name=\"vdb\" version=\"1\"><description>d</description>"
+                           + "<property name=\"a\" value=\"b\"/><model name=\"m\"/></vdb>";
+        this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, vdb ) );
+
+        final String deployed = deployedVdb();
+        final Matcher matcher = CONTENT_HASH.matcher( deployed );
+        assertThat( matcher.find(), is( true ) );
+        assertThat( deployed.indexOf( "<property name=\"a\"" ) < matcher.start(), is( true ) );
+        assertThat( matcher.end() < deployed.indexOf( "<model" ), is( true ) );
+    }
+
+    @Test
+    public void shouldAlwaysRedeployWhenPublishedAlways() throws Exception {
+        this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, "<vdb/>" ) );
+        mockDeployedOnServer( this.driverName, deployedContentHash() );
+
+        final DeployStatus status = this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, "<vdb/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+
+        verify( this.metadata, times( 2 ) ).deployDataSourceDriver( eq( this.driverName ), any( File.class ) );
+        verify( this.metadata, times( 2 ) ).deployDynamicVdb( eq( vdbDeploymentName() ), any( InputStream.class ) );
+    }
+
+    @Test
+    public void shouldSkipArtifactsOnServerWhenPublishedIfMissing() throws Exception {
+        this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.IF_MISSING, "<vdb/>" ) );
+        mockDeployedOnServer( this.driverName + "_org.MyDriver_1_0", deployedContentHash() );
+
+        final DeployStatus status = this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.IF_MISSING, "<vdb/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+
+        verify( this.metadata, times( 1 ) ).deployDataSourceDriver( eq( this.driverName ), any( File.class ) );
+        verify( this.metadata, times( 1 ) ).deployDynamicVdb( eq( vdbDeploymentName() ), any( InputStream.class ) );
+    }
+
+    @Test
+    public void shouldRedeployChangedVdbWhenPublishedIfMissing() throws Exception {
+        this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.IF_MISSING, "<vdb/>" ) );
+        mockDeployedOnServer( this.driverName, deployedContentHash() );
+
+        final DeployStatus status = this.conveyor.deploy( this.uow,
+                                                          mockDataservice( PublishPolicy.IF_MISSING, "<vdb changed='true'/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+
+        verify( this.metadata, times( 1 ) ).deployDataSourceDriver( eq( this.driverName ), any( File.class ) );
+        verify( this.metadata, times( 2 ) ).deployDynamicVdb( eq( vdbDeploymentName() ), any( InputStream.class ) );
+    }
+
+    @Test
+    public void shouldRedeployVdbReplacedOnServer() throws Exception {
+        this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.IF_MISSING, "<vdb/>" ) );
+
+        // the vdb was since deployed with other content without using the conveyor
+        mockDeployedOnServer( this.driverName, null );
+
+        final DeployStatus status = this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.IF_MISSING, "<vdb/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+
+        verify( this.metadata, times( 2 ) ).deployDynamicVdb( eq( vdbDeploymentName() ), any( InputStream.class ) );
+    }
+
+    @Test
+    public void shouldNotTakeDriverWithLongerNameAsDeployed() throws Exception {
+        mockDeployedOnServer( this.driverName + "-old.jar", null );
+
+        final DeployStatus status = this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.IF_MISSING, "<vdb/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+
+        verify( this.metadata ).deployDataSourceDriver( eq( this.driverName ), any( File.class ) );
+    }
+
+    @Test
+    public void shouldCancelWaitingDeploymentsOnShutdown() throws Exception {
+        final CountDownLatch deploying = new CountDownLatch( DataserviceConveyor.DEPLOY_JOB_THREADS );
+        final CountDownLatch release = new CountDownLatch( 1 );
+
+        // the drivers block until released so the deployment threads stay busy
+        final Answer< Void > block = new Answer< Void >() {
+
+            @Override
+            public Void answer( final InvocationOnMock invocation ) throws Throwable {
+                deploying.countDown();
+                release.await();
+                return null;
+            }
+        };
+
+        doAnswer( block ).when( this.metadata ).deployDataSourceDriver( any( String.class ), any( File.class ) );
+
+        final List< DeployJob > running = new ArrayList<>();
+
+        for ( int i = 0; i < DataserviceConveyor.DEPLOY_JOB_THREADS; ++i ) {
+            running.add( this.conveyor.startDeploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, "<vdb/>" ) ) );
+        }
+
+        deploying.await();
+
+        final DeployJob waiting = this.conveyor.startDeploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, "<vdb/>" ) );
+        assertThat( waiting.getState(), is( DeployJob.State.QUEUED ) );
+
+        DataserviceConveyor.shutdown();
+
+        assertThat( waiting.await( 5000 ), is( true ) );
+        assertThat( waiting.getStatus().ok(), is( false ) );
+
+        for ( final DeployJob job : running ) {
+            assertThat( job.await( 5000 ), is( true ) );
+            assertThat( job.getStatus().ok(), is( false ) );
+        }
+
+        release.countDown();
+
+        // the next deployment starts new threads
+        doNothing().when( this.metadata ).deployDataSourceDriver( any( String.class ), any( File.class ) );
+        final DeployStatus status = this.conveyor.deploy( this.uow, mockDataservice( PublishPolicy.ALWAYS, "<vdb/>" ) );
+        assertThat( status.errorMessagesToString(), status.ok(), is( true ) );
+    }
+
+}
@@ -24,9 +24,13 @@ package org.komodo.relational.importer.vdb;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
@@ -36,6 +40,7 @@ import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.komodo.core.internal.repository.search.ObjectSearcher;
 import org.komodo.core.repository.SynchronousCallback;
+import org.komodo.importer.AbstractImporter;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
 import org.komodo.importer.ImportOptions.ExistingNodeOptions;
@@ -416,6 +421,111 @@ public class TestTeiidVdbImporter extends AbstractImporterTest {
         verifyTweetExampleNode(vdbNode, TWITTER_MODEL, TWITTER_VIEW_MODEL, TWEET_EXAMPLE_DDL);
     }
 
+    // A stream that cannot be reset, like a request body, so the importer has to buffer it to peek at the VDB name
+    private InputStream unmarkableStream(String content) {
+        return new FilterInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    private KomodoObject importStreamedVdb(String manifest, String fallbackName) throws Exception {
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setOption(OptionKeys.NAME, fallbackName);
+        ImportMessages importMessages = new ImportMessages();
+
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        executeImporter(unmarkableStream(manifest), workspace, importOptions, importMessages);
+        commitHandleErrors(importMessages);
+        assertFalse(importMessages.errorMessagesToString(), importMessages.hasError());
+
+        return workspace.getChild(getTransaction(), importOptions.getOption(OptionKeys.NAME).toString(), VdbLexicon.Vdb.VIRTUAL_DATABASE);
+    }
+
+    @Test
+    public void testLargeStreamedVdbImport() throws Exception {
+        StringBuilder description = new StringBuilder();
+        while (description.length() < 16 * VdbImporter.NAME_PEEK_LIMIT) {
+            description.append("A description longer than any buffer used while importing. ");
+        }
+
+        String manifest = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEW_LINE +
+                          "<vdb name=\"LargeVdb\" version=\"1\">" + NEW_LINE +
+                          "<description>" + description + "</description>" + NEW_LINE +
+                          "</vdb>";
+
+        KomodoObject vdbNode = importStreamedVdb(manifest, "fallbackName");
+
+        // the manifest name is used and the whole manifest is stored
+        assertNotNull("Failed - No Vdb Created ", vdbNode);
+        assertEquals("LargeVdb", vdbNode.getName(getTransaction()));
+        verifyProperty(getTransaction(), vdbNode, VdbLexicon.Vdb.DESCRIPTION, description.toString());
+    }
+
+    @Test
+    public void testVdbRootElementBeyondNamePeekLimit() throws Exception {
+        StringBuilder comment = new StringBuilder("<!-- ");
+        while (comment.length() < VdbImporter.NAME_PEEK_LIMIT) {
+            comment.append("padding ");
+        }
+        comment.append("-->");
+
+        String manifest = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEW_LINE +
+                          comment + NEW_LINE +
+                          "<vdb name=\"BeyondPeekVdb\" version=\"1\">" + NEW_LINE +
+                          "<description>Root element beyond the peek limit</description>" + NEW_LINE +
+                          "</vdb>";
+
+        KomodoObject vdbNode = importStreamedVdb(manifest, "fallbackName");
+
+        // the name is not found in time but the stream is rewound so the manifest is imported whole
+        assertNotNull("Failed - No Vdb Created ", vdbNode);
+        assertEquals("fallbackName", vdbNode.getName(getTransaction()));
+        verifyProperty(getTransaction(), vdbNode, VdbLexicon.Vdb.NAME, "BeyondPeekVdb");
+    }
+
+    @Test
+    public void testVdbNameAttributeBeyondNamePeekLimit() throws Exception {
+        StringBuilder whitespace = new StringBuilder();
+        while (whitespace.length() < VdbImporter.NAME_PEEK_LIMIT) {
+            whitespace.append("        ");
+        }
+
+        String manifest = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEW_LINE +
+                          "<vdb version=\"1\"" + whitespace + "name=\"BeyondPeekVdb\">" + NEW_LINE +
+                          "<description>Name attribute beyond the peek limit</description>" + NEW_LINE +
+                          "</vdb>";
+
+        KomodoObject vdbNode = importStreamedVdb(manifest, "fallbackName");
+
+        assertNotNull("Failed - No Vdb Created ", vdbNode);
+        assertEquals("fallbackName", vdbNode.getName(getTransaction()));
+        verifyProperty(getTransaction(), vdbNode, VdbLexicon.Vdb.NAME, "BeyondPeekVdb");
+    }
+
+    @Test
+    public void testVdbNameNotTakenFromDtd() throws Exception {
+        // entities are not expanded, so a name made of one is not extracted
+        String externalEntity = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                                "<!DOCTYPE vdb [<!ENTITY xxe SYSTEM \"file:///etc/hostname\">]>" +
+                                "<vdb name=\"&xxe;\" version=\"1\"></vdb>";
+        assertNull(VdbImporter.extractVdbName(unmarkableStream(externalEntity)));
+
+        String internalEntity = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                                "<!DOCTYPE vdb [<!ENTITY injected \"Injected\">]>" +
+                                "<vdb name=\"&injected;\" version=\"1\"></vdb>";
+        assertNull(VdbImporter.extractVdbName(unmarkableStream(internalEntity)));
+
+        // an external DTD is never fetched
+        String externalDtd = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                             "<!DOCTYPE vdb SYSTEM \"http://example.invalid/vdb.dtd\">" +
+                             "<vdb name=\"DtdVdb\" version=\"1\"></vdb>";
+        assertEquals("DtdVdb", VdbImporter.extractVdbName(unmarkableStream(externalDtd)));
+    }
+
     @Test
     public void testBasicVdbImportCannotCreateVdb() throws Exception {
         // Import the original vdb import first
@@ -445,6 +555,18 @@ public class TestTeiidVdbImporter extends AbstractImporterTest {
         assertEquals(Messages.getString(Messages.IMPORTER.nodeExistsReturn, TestUtilities.TWEET_EXAMPLE_VDB_NAME), errorMessages.get(0));
     }
 
+    @Test
+    public void shouldDetermineFirstFreeNewName() throws Exception {
+        WorkspaceManager mgr = WorkspaceManager.getInstance(_repo, getTransaction());
+        for (String name : new String[] { "myVdb", "myVdb_0", "myVdb_2", "myVdb_01", "myVdb_x", "myVdb_1_1" }) {
+            mgr.createVdb(getTransaction(), null, name, "/test/" + name);
+        }
+
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        assertEquals("myVdb_1", AbstractImporter.determineNewName(getTransaction(), workspace, "myVdb"));
+        assertEquals("otherVdb_0", AbstractImporter.determineNewName(getTransaction(), workspace, "otherVdb"));
+    }
+
     @Test
     public void testBasicVdbImportInvalidVdbSequencerError() throws Exception {
         InputStream vdbStream =  TestUtilities.getResourceAsStream(getClass(),
@@ -665,6 +665,38 @@ public final class ColumnImplTest extends RelationalModelTest {
         }
     }
 
+    @Test
+    public void shouldReflectOptionChangesMadeThroughStatementOptions() throws Exception {
+        this.column.setDescription( getTransaction(), "blah" );
+        assertThat( this.column.getDescription( getTransaction() ), is( "blah" ) );
+
+        final StatementOption option = this.column.getStatementOptions( getTransaction() )[ 0 ];
+        option.setOption( getTransaction(), "newDescription" );
+        assertThat( this.column.getDescription( getTransaction() ), is( "newDescription" ) );
+
+        option.remove( getTransaction() );
+        assertThat( this.column.getDescription( getTransaction() ), is( nullValue() ) );
+        assertThat( this.column.getStatementOptions( getTransaction() ).length, is( 0 ) );
+    }
+
+    @Test
+    public void shouldShareOptionsReadByTransactionAcrossColumnObjects() throws Exception {
+        this.column.setDescription( getTransaction(), "blah" );
+
+        final Column same = this.table.getColumns( getTransaction(), NAME )[ 0 ];
+        assertThat( same.getDescription( getTransaction() ), is( "blah" ) );
+    }
+
+    @Test
+    public void shouldNotReuseOptionsOfRemovedColumn() throws Exception {
+        this.column.setDescription( getTransaction(), "blah" );
+        assertThat( this.column.getDescription( getTransaction() ), is( "blah" ) );
+
+        this.table.removeColumn( getTransaction(), NAME );
+        final Column replacement = this.table.addColumn( getTransaction(), NAME );
+        assertThat( replacement.getDescription( getTransaction() ), is( nullValue() ) );
+    }
+
     @Test
     public void shouldObtainCustomOptions() throws Exception {
         final String sledge = "sledge";
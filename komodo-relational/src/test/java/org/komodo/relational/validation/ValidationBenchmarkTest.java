@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.relational.validation;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.komodo.relational.model.Column;
+import org.komodo.relational.model.Model;
+import org.komodo.relational.model.Table;
+import org.komodo.relational.vdb.Vdb;
+import org.komodo.spi.repository.ValidationManager;
+import org.komodo.spi.repository.validation.Result;
+import org.komodo.utils.KLog;
+
+/**
+ * Times a full validation of a large table against the default rules provided by the relational rules provider. Remove the
+ * ignore to run it.
+ */
+@SuppressWarnings( { "javadoc", "nls" } )
+public final class ValidationBenchmarkTest extends RelationalValidationTest {
+
+    private static final int NUM_COLUMNS = 10000;
+    private static final int RULES_PER_COLUMN = 3; // name, datatype, and string length rules
+
+    @Ignore( "Benchmark to be run manually" )
+    @Test
+    public void shouldFullyValidateTableWithManyColumns() throws Exception {
+        final Vdb vdb = createVdb( "benchmarkVdb" );
+        final Model model = addModel( vdb, "benchmarkModel" );
+        final Table table = addTable( model, "benchmarkTable" );
+
+        for ( int i = 0; i < NUM_COLUMNS; ++i ) {
+            final Column column = table.addColumn( getTransaction(), "column" + i );
+            column.setDatatypeName( getTransaction(), "string" );
+        }
+
+        final ValidationManager validationMgr = _repo.getValidationManager();
+
+        // first pass compiles the rules
+        long start = System.currentTimeMillis();
+        validationMgr.evaluate( getTransaction(), table, true );
+        final long firstPass = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        final Result[] results = validationMgr.evaluate( getTransaction(), table, true );
+        final long secondPass = System.currentTimeMillis() - start;
+
+        KLog.getLogger().info( "Validated {0} columns: first pass {1}ms, second pass {2}ms, {3} results",
+                               NUM_COLUMNS,
+                               firstPass,
+                               secondPass,
+                               results.length );
+
+        int columnResults = 0;
+
+        for ( final Result result : results ) {
+            if ( result.getRuleId().startsWith( "default.column." ) ) {
+                ++columnResults;
+            }
+        }
+
+        assertThat( columnResults, is( NUM_COLUMNS * RULES_PER_COLUMN ) );
+    }
+
+}
@@ -29,6 +29,7 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,6 +53,7 @@ import org.komodo.relational.vdb.Vdb.VdbManifest;
 import org.komodo.relational.vdb.VdbImport;
 import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.spi.KException;
+import org.komodo.spi.constants.ExportConstants;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
@@ -241,6 +243,36 @@ public final class VdbImplTest extends RelationalModelTest {
         assertTrue( manifest.length > 0 );
     }
 
+    @Test
+    public void shouldStreamSameBytesAsExport() throws Exception {
+        final InputStream vdbStream = getClass().getClassLoader().getResourceAsStream("AzureService-vdb.xml");
+        assertThat( vdbStream, is( notNullValue() ) );
+
+        final VdbImporter importer = new VdbImporter( _repo );
+        final ImportOptions importOptions = new ImportOptions();
+        importOptions.setOption( OptionKeys.NAME, "AzureService" );
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        importer.importVdb( getTransaction(), vdbStream, workspace, importOptions, new ImportMessages() );
+        commit(); // commit the import
+
+        Vdb importedVdb = null;
+        for ( final Vdb found : WorkspaceManager.getInstance( _repo, getTransaction() ).findVdbs( getTransaction() ) ) {
+            if ( "AzureService".equals( found.getName( getTransaction() ) ) ) {
+                importedVdb = found;
+            }
+        }
+        assertThat( importedVdb, is( notNullValue() ) );
+        importedVdb.setDescription( getTransaction(), "Prix en \u20ac pour les caf\u00e9s" );
+
+        final Properties properties = new Properties();
+        properties.setProperty( ExportConstants.USE_TABS_PROP_KEY, Boolean.TRUE.toString() );
+
+        final ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        importedVdb.export( getTransaction(), properties, streamed );
+
+        assertThat( streamed.toByteArray(), is( importedVdb.export( getTransaction(), properties ) ) );
+    }
+
     @Test
     public void shouldFailConstructionIfNotVdb() {
         if ( RelationalObjectImpl.VALIDATE_INITIAL_STATE ) {
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.relational.workspace;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.komodo.spi.KException;
+
+@SuppressWarnings( { "javadoc", "nls" } )
+public final class InstanceCacheTest {
+
+    private static class Counter implements InstanceCache.Factory< Object > {
+
+        private int count;
+        private final List< Object > discarded = new ArrayList<>();
+
+        @Override
+        public Object create() {
+            ++this.count;
+            return new Object();
+        }
+
+        @Override
+        public void discard( final Object instance ) {
+            this.discarded.add( instance );
+        }
+
+    }
+
+    private final List< String > removed = new ArrayList<>();
+
+    private final InstanceCache.RemovalListener< String, Object > listener = new InstanceCache.RemovalListener< String, Object >() {
+
+        @Override
+        public void removed( final String key,
+                             final Object value,
+                             final boolean evicted ) {
+            InstanceCacheTest.this.removed.add( key + ( evicted ? "-evicted" : "-removed" ) );
+        }
+    };
+
+    @Test
+    public void shouldCreateInstanceOnce() throws Exception {
+        final InstanceCache< String, Object > cache = new InstanceCache<>( 10, 60000, this.listener );
+        final Counter factory = new Counter();
+        final Object instance = cache.get( "a", factory );
+
+        assertThat( cache.get( "a", factory ), is( sameInstance( instance ) ) );
+        assertThat( factory.count, is( 1 ) );
+        assertThat( cache.getStatistics().get( InstanceCache.HITS ), is( 1L ) );
+        assertThat( cache.getStatistics().get( InstanceCache.MISSES ), is( 1L ) );
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWhenFull() throws Exception {
+        final InstanceCache< String, Object > cache = new InstanceCache<>( 2, 60000, this.listener );
+        final Counter factory = new Counter();
+        cache.get( "a", factory );
+        Thread.sleep( 5 );
+        cache.get( "b", factory );
+        Thread.sleep( 5 );
+        cache.get( "a", factory );
+        cache.get( "c", factory );
+
+        assertThat( this.removed.size(), is( 1 ) );
+        assertThat( this.removed.get( 0 ), is( "b-evicted" ) );
+        assertThat( cache.getStatistics().get( InstanceCache.EVICTIONS ), is( 1L ) );
+        assertThat( cache.getStatistics().get( InstanceCache.SIZE ), is( 2L ) );
+    }
+
+    @Test
+    public void shouldEvictIdleInstance() throws Exception {
+        final InstanceCache< String, Object > cache = new InstanceCache<>( 10, 20, this.listener );
+        final Counter factory = new Counter();
+        final Object instance = cache.get( "a", factory );
+        Thread.sleep( 50 );
+
+        assertThat( cache.get( "a", factory ) == instance, is( false ) );
+        assertThat( factory.count, is( 2 ) );
+        assertThat( this.removed.get( 0 ), is( "a-evicted" ) );
+    }
+
+    @Test
+    public void shouldNotifyWhenRemoved() throws Exception {
+        final InstanceCache< String, Object > cache = new InstanceCache<>( 10, 60000, this.listener );
+        cache.get( "a", new Counter() );
+        cache.remove( "a" );
+
+        assertThat( this.removed.get( 0 ), is( "a-removed" ) );
+        assertThat( cache.getStatistics().get( InstanceCache.SIZE ), is( 0L ) );
+    }
+
+    @Test( expected = KException.class )
+    public void shouldPropagateCreationError() throws Exception {
+        final InstanceCache< String, Object > cache = new InstanceCache<>( 10, 60000, this.listener );
+        cache.get( "a", new InstanceCache.Factory< Object >() {
+
+            @Override
+            public Object create() throws KException {
+                throw new KException( "failed" );
+            }
+
+            @Override
+            public void discard( final Object instance ) {
+                // nothing created
+            }
+        } );
+    }
+
+    @Test
+    public void shouldDiscardInstanceCreatedWhileAnotherWasCached() throws Exception {
+        final InstanceCache< String, Object > cache = new InstanceCache<>( 10, 60000, this.listener );
+        final Counter winner = new Counter();
+        final Counter loser = new Counter() {
+
+            @Override
+            public Object create() {
+                // another request for the same key completes while this instance is being created
+                cache.get( "a", winner );
+                return super.create();
+            }
+        };
+
+        final Object instance = cache.get( "a", loser );
+
+        assertThat( cache.get( "a", winner ), is( sameInstance( instance ) ) );
+        assertThat( winner.count, is( 1 ) );
+        assertThat( loser.discarded.size(), is( 1 ) );
+        assertThat( loser.discarded.get( 0 ) == instance, is( false ) );
+        assertThat( cache.getStatistics().get( InstanceCache.SIZE ), is( 1L ) );
+    }
+
+}
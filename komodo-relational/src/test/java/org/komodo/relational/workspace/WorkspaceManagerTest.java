@@ -385,6 +385,28 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
         assertNull(this.wsMgr.resolve(getTransaction(), kobject, Vdb.class));
     }
 
+    @Test
+    public void shouldNotResolveUnknownObjectRepeatedly() throws Exception {
+        final KomodoObject kobject = _repo.add(getTransaction(), null, "blah", null);
+        assertNull(this.wsMgr.resolve(getTransaction(), kobject, Vdb.class));
+        assertNull(this.wsMgr.resolve(getTransaction(), kobject, Vdb.class));
+    }
+
+    @Test
+    public void shouldResolveAll() throws Exception {
+        final Model model = createModel();
+        final Table table = model.addTable(getTransaction(), "table");
+        final View view = model.addView(getTransaction(), "view");
+
+        final KomodoObject[] kobjects = { new ObjectImpl(_repo, table.getAbsolutePath(), table.getIndex()),
+                                          new ObjectImpl(_repo, model.getAbsolutePath(), model.getIndex()),
+                                          new ObjectImpl(_repo, view.getAbsolutePath(), view.getIndex()) };
+        final Table[] tables = this.wsMgr.resolveAll(getTransaction(), kobjects, Table.class);
+        assertThat(tables.length, is(2));
+        assertThat(tables[0].getAbsolutePath(), is(table.getAbsolutePath()));
+        assertThat(tables[1], is(instanceOf(View.class)));
+    }
+
     @Test
     public void shouldResolveAccessPattern() throws Exception {
         final Table table = createTable();
@@ -676,7 +698,7 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
 
         Vdb vdb = mock(Vdb.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
-        when(vdb.export(getTransaction(), parameters)).thenReturn(sampleExample.getBytes());
+        TestUtilities.mockExport(vdb, getTransaction(), parameters, sampleExample.getBytes());
         when(vdb.getName(getTransaction())).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         wsMgr.exportArtifact(getTransaction(), vdb, StorageConnector.Types.FILE.id(), parameters);
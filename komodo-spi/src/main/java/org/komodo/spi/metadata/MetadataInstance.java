@@ -25,12 +25,14 @@ import java.io.File;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSResultHandler;
 import org.komodo.spi.runtime.ConnectionDriver;
 import org.komodo.spi.runtime.TeiidDataSource;
 import org.komodo.spi.runtime.TeiidPropertyDefinition;
@@ -132,6 +134,11 @@ public interface MetadataInstance extends StringConstants {
      */
     int NO_OFFSET = 0;
 
+    /**
+     * The default milliseconds to wait for a deployed vdb to finish loading
+     */
+    long DEFAULT_VDB_READY_TIMEOUT = 10000;
+
     /**
      * The server state.
      */
@@ -154,6 +161,19 @@ public interface MetadataInstance extends StringConstants {
 
     }
 
+    /**
+     * A check of whether a deployment or removal on the server has taken effect
+     */
+    interface DeploymentCheck {
+
+        /**
+         * @return <code>true</code> if the deployment or removal has taken effect
+         * @throws Exception if the state of the server could not be read
+         */
+        boolean isComplete() throws Exception;
+
+    }
+
     /**
      * @return the condition of the server
      */
@@ -210,6 +230,32 @@ public interface MetadataInstance extends StringConstants {
      */
     QSResult query(String vdbName, String query, int offset, int limit) throws KException;
 
+    /**
+     * Query the vdb with given name, answering from the results of an identical earlier query
+     * against the same deployment of the vdb when they are cached
+     *
+     * @param vdbName the name of the vdb to query
+     * @param query the SQL query
+     * @param offset an offset of the results to return
+     * @param limit a limit on the number of results to return
+     * @param useCache <code>false</code> to always execute the query against the vdb
+     * @return the set of results, which must not be modified
+     * @throws KException
+     */
+    QSResult query(String vdbName, String query, int offset, int limit, boolean useCache) throws KException;
+
+    /**
+     * Query the vdb with given name, passing the results to the handler as they are read rather than holding them in memory
+     *
+     * @param vdbName the name of the vdb to query
+     * @param query the SQL query
+     * @param offset an offset of the results to return
+     * @param limit a limit on the number of results to return
+     * @param handler the handler of the results
+     * @throws KException
+     */
+    void query(String vdbName, String query, int offset, int limit, QSResultHandler handler) throws KException;
+
     /**
      * @return the collection of deployed vdbs
      * @throws KException 
@@ -267,6 +313,39 @@ public interface MetadataInstance extends StringConstants {
      * @throws KException
      */
     boolean wasVdbRemoved(String vdbName) throws KException;
+
+    /**
+     * Waits for the vdb to finish loading, returning as soon as it is active or has failed
+     *
+     * @param vdbName the name of the vdb
+     * @param timeoutMillis the most milliseconds to wait
+     * @return the vdb once it has finished loading, or as it was when the time ran out, or
+     *          <code>null</code> if it was not deployed in time
+     * @throws KException
+     */
+    TeiidVdb waitForVdb(String vdbName, long timeoutMillis) throws KException;
+
+    /**
+     * Waits for several vdbs to finish loading at the same time, returning as soon as each is active or has failed
+     *
+     * @param vdbNames the names of the vdbs
+     * @param timeoutMillis the most milliseconds to wait for all of the vdbs
+     * @return the vdbs keyed by name, each once it has finished loading, or as it was when the time ran out, or
+     *          <code>null</code> if it was not deployed in time
+     * @throws KException
+     */
+    Map<String, TeiidVdb> waitForVdbs(Collection<String> vdbNames, long timeoutMillis) throws KException;
+
+    /**
+     * Waits for a deployment or removal to take effect, checking straight away and then at growing intervals in the same way
+     * as waiting for vdbs. The state of the server cached by this instance is read afresh for each check.
+     *
+     * @param check the check of whether the deployment or removal has taken effect
+     * @param timeoutMillis the most milliseconds to wait
+     * @return <code>true</code> if the deployment or removal took effect in time
+     * @throws KException
+     */
+    boolean waitForDeployment(DeploymentCheck check, long timeoutMillis) throws KException;
     
     /**
      * @param vdbName
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.spi.query;
+
+import java.util.List;
+
+/**
+ * Receives the results of a query as they are read so that they never have to be held in a {@link QSResult}.
+ */
+public interface QSResultHandler {
+
+    /**
+     * Called once, before any rows.
+     *
+     * @param columns the columns of the results (never <code>null</code>)
+     * @throws Exception if the columns cannot be handled, which stops the query
+     */
+    void columns(List<QSColumn> columns) throws Exception;
+
+    /**
+     * Called for each row as it is read. The next row is not read until this returns.
+     *
+     * @param row the row (never <code>null</code>)
+     * @throws Exception if the row cannot be handled, which stops the query
+     */
+    void row(QSRow row) throws Exception;
+
+}
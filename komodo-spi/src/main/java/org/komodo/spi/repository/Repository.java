@@ -193,11 +193,31 @@ public interface Repository {
 
         }
 
+        /**
+         * Caches a value for the remainder of the transaction. Cached values are discarded when the transaction commits or rolls
+         * back.
+         *
+         * @param key
+         *        the key of the value (cannot be <code>null</code>)
+         * @param value
+         *        the value being cached (cannot be <code>null</code>)
+         */
+        void cacheValue( final Object key,
+                         final Object value );
+
         /**
          * Saves all changes made during the transaction. If this is a roll back transaction then {@link #rollback()} is called.
          */
         void commit();
 
+        /**
+         * @param key
+         *        the key of the value being requested (cannot be <code>null</code>)
+         * @return the value cached by this transaction or <code>null</code> if not found
+         * @see #cacheValue(Object, Object)
+         */
+        Object getCachedValue( final Object key );
+
         /**
          * @return the listener being notified when the transaction is finished (can be <code>null</code>)
          */
@@ -22,7 +22,9 @@
 package org.komodo.spi.repository;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Future;
 import org.komodo.spi.KException;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -112,11 +114,45 @@ public interface ValidationManager {
      * @param uow the transaction
      * @param kObject the object to validate
      * @param full <code>true</code> will validate the node and all of its ancestors.  <code>false</code> only validates the supplied node.
+     *        A full validation in a transaction without pending changes is done in parallel (see {@link #evaluateParallel}).
      * @return the results from all rule validations (never <code>null</code> but can be empty)
      * @throws KException if an error occurs
      */
     Result[] evaluate( final UnitOfWork uow, final KomodoObject kObject, boolean full  ) throws KException;
 
+    /**
+     * Evaluate the supplied object and all of its descendants using all applicable rules for each object. The tree is split
+     * across a fork/join pool and each task reads the objects it validates with its own read-only transaction, so only
+     * committed changes are validated.
+     * @param uow the transaction used to obtain the rules
+     * @param kObject the root of the tree to validate
+     * @param parallelism the number of threads to validate with, or zero to use the number of available processors
+     * @return the running evaluation, which can be cancelled, whose value is the results from all rule validations
+     * @throws KException if an error occurs
+     */
+    Future< Collection< Result > > evaluateParallel( final UnitOfWork uow,
+                                                     final KomodoObject kObject,
+                                                     final int parallelism ) throws KException;
+
+    /**
+     * Turns incremental validation on or off. When on, the objects changed by each committed transaction are validated in the
+     * background and their results are persisted so they can be obtained without evaluating the rules again.
+     * @param enabled <code>true</code> to validate committed changes in the background
+     */
+    void setIncrementalValidationEnabled( final boolean enabled );
+
+    /**
+     * Obtains the results persisted by incremental validation for the supplied object and its descendants. Results are discarded
+     * whenever the rules change. When there are no current results and incremental validation is on, the object is revalidated
+     * in the background so that a later request finds them.
+     * @param uow the transaction
+     * @param kObject the object whose results are being requested
+     * @return the results that did not pass the last validation of the object and its descendants (empty if they are valid) or
+     *         <code>null</code> if the object has not been validated since the rules last changed
+     * @throws KException if an error occurs
+     */
+    Collection< Result > getCachedResults( final UnitOfWork uow, final KomodoObject kObject ) throws KException;
+
     /**
      * Evaluate the supplied object using the specified rules (if the rule is applicable for the object).
      * @param uow the transaction
@@ -35,6 +35,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -340,16 +341,18 @@ public class FileUtils implements StringConstants {
 //        return toFile;
 //    }
 //
-//    /**
-//     * @param source
-//     * @param destination
-//     * @throws Exception
-//     */
-//    public static void copy(final InputStream source, final OutputStream destination) throws Exception {
-//        final byte[] buf = new byte[DEFAULT_BUFFER_SIZE];
-//        for (int len = source.read(buf); len >= 0; len = source.read(buf))
-//            destination.write(buf, 0, len);
-//    }
+    /**
+     * Copies the source stream to the destination stream. Neither stream is closed.
+     *
+     * @param source
+     * @param destination
+     * @throws IOException
+     */
+    public static void copy(final InputStream source, final OutputStream destination) throws IOException {
+        final byte[] buf = new byte[DEFAULT_BUFFER_SIZE];
+        for (int len = source.read(buf); len >= 0; len = source.read(buf))
+            destination.write(buf, 0, len);
+    }
 //
 //    /**
 //     * Copy a file. Overwrites the destination file if it exists.
@@ -25,6 +25,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
@@ -39,6 +43,7 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Properties;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 import java.util.zip.ZipEntry;
@@ -61,10 +66,13 @@ import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.LexiconConstants.CoreLexicon;
 import org.komodo.spi.lexicon.datavirt.DataVirtLexicon;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
+import org.komodo.spi.repository.Exportable;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.FileUtils;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -1043,6 +1051,28 @@ public class TestUtilities implements StringConstants {
         }
     }
 
+    /**
+     * Stubs both the byte array and the streaming export of a mocked artifact to produce the given content.
+     *
+     * @param artifact the mocked artifact
+     * @param transaction the transaction the export is expected with
+     * @param parameters the export parameters the export is expected with
+     * @param content the exported content
+     * @throws Exception if the stubbing fails
+     */
+    public static void mockExport(final Exportable artifact, final UnitOfWork transaction,
+                                  final Properties parameters, final byte[] content) throws Exception {
+        when(artifact.export(transaction, parameters)).thenReturn(content);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                OutputStream stream = (OutputStream)invocation.getArguments()[2];
+                stream.write(content);
+                return null;
+            }
+        }).when(artifact).export(eq(transaction), eq(parameters), any(OutputStream.class));
+    }
+
     /**
      * @param klazz class related to the resource
      * @param parentDirectory parent directory of the resource location
@@ -0,0 +1,31 @@
+package org.komodo.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.util.zip.CRC32;
+import org.junit.Test;
+
+public final class ChecksumUtilsTest {
+
+    private static final byte[] CONTENT = "<vdb name=\"myVdb\" version=\"1\"></vdb>".getBytes(); //$NON-NLS-1$
+
+    @Test
+    public void shouldComputeSameChecksumFromStreamAndBytes() throws Exception {
+        final long fromStream = ChecksumUtils.computeChecksum( new ByteArrayInputStream( CONTENT ) ).getValue();
+        assertEquals( fromStream, ChecksumUtils.computeChecksum( CONTENT ) );
+    }
+
+    @Test
+    public void shouldComputeDifferentChecksumsForDifferentContent() {
+        final byte[] changed = "<vdb name=\"myVdb\" version=\"2\"></vdb>".getBytes(); //$NON-NLS-1$
+        assertTrue( ChecksumUtils.computeChecksum( changed ) != ChecksumUtils.computeChecksum( CONTENT ) );
+    }
+
+    @Test
+    public void shouldCountBytesProcessed() throws Exception {
+        final long size = ChecksumUtils.computeChecksum( new ByteArrayInputStream( CONTENT ), new CRC32() );
+        assertEquals( CONTENT.length, size );
+    }
+
+}
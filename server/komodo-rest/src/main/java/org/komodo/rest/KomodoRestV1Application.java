@@ -32,9 +32,11 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.annotation.PreDestroy;
 import javax.ws.rs.ApplicationPath;
@@ -48,7 +50,9 @@ import org.komodo.core.repository.LocalRepository;
 import org.komodo.core.repository.SynchronousCallback;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
+import org.komodo.relational.dataservice.internal.DataserviceConveyor;
 import org.komodo.relational.importer.vdb.VdbImporter;
+import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
 import org.komodo.rest.cors.KCorsFactory;
 import org.komodo.rest.cors.KCorsHandler;
@@ -75,8 +79,10 @@ import org.komodo.rest.swagger.RestVdbModelSourceConverter;
 import org.komodo.rest.swagger.RestVdbPermissionConverter;
 import org.komodo.rest.swagger.RestVdbTranslatorConverter;
 import org.komodo.servicecatalog.TeiidOpenShiftClient;
+import org.komodo.spi.KEvent;
 import org.komodo.spi.KEvent.Type;
 import org.komodo.spi.KException;
+import org.komodo.spi.KObserver;
 import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.logging.KLogger.Level;
 import org.komodo.spi.repository.ApplicationProperties;
@@ -252,12 +258,37 @@ public class KomodoRestV1Application extends Application implements SystemConsta
          * The name of the URI path segment for DataService deployable status
          */
         String DEPLOYABLE_STATUS_SEGMENT = "deployableStatus"; //$NON-NLS-1$
+
+        /**
+         * The name of the URI path segment for a DataService deployment running in the background
+         */
+        String DEPLOYMENT_SEGMENT = "deployment"; //$NON-NLS-1$
+
+        /**
+         * Placeholder added to an URI to allow a specific deployment job id
+         */
+        String DEPLOYMENT_JOB_PLACEHOLDER = "{jobId}"; //$NON-NLS-1$
+
+        /**
+         * The name of the URI parameter requesting an operation run in the background
+         */
+        String ASYNC_PARAMETER = "async"; //$NON-NLS-1$
+
+        /**
+         * The name of the URI parameter requesting cached metadata be read again
+         */
+        String REFRESH_PARAMETER = "refresh"; //$NON-NLS-1$
         
         /**
          * The name of the URI path segment for validating a data service or connection name.
          */
         String NAME_VALIDATION_SEGMENT = "nameValidation"; //$NON-NLS-1$
 
+        /**
+         * The name of the response header of a failed name validation that holds an available alternative name.
+         */
+        String SUGGESTED_NAME_HEADER = "Suggested-Name"; //$NON-NLS-1$
+
         /**
          * The name of the URI path segment for finding source vdb matches for a DataService
          */
@@ -353,6 +384,11 @@ public class KomodoRestV1Application extends Application implements SystemConsta
          */
         String MODEL_PLACEHOLDER = "{modelName}"; //$NON-NLS-1$
 
+        /**
+         * The name of the URI path segment for the persisted validation status of a vdb
+         */
+        String VALIDATION_STATUS_SEGMENT = "ValidationStatus"; //$NON-NLS-1$
+
         /**
          * The name of the URI path segment for the collection of sources of a model
          */
@@ -523,6 +559,21 @@ public class KomodoRestV1Application extends Application implements SystemConsta
          */
         String VDB_EXPORT_XML_PROPERTY = "vdb-export-xml"; //$NON-NLS-1$
 
+        /**
+         * The entity fields property. When present, only the named fields are read and returned for each entity.
+         */
+        String ENTITY_FIELDS_PROPERTY = "entity-fields"; //$NON-NLS-1$
+
+        /**
+         * The entity depth property. The number of levels of children to include inline with each entity.
+         */
+        String ENTITY_DEPTH_PROPERTY = "entity-depth"; //$NON-NLS-1$
+
+        /**
+         * The maximum number of levels of children that can be included inline with an entity
+         */
+        int MAX_ENTITY_DEPTH = 5;
+
         /**
          * The name of the URI path segment for creating a workspace vdb model using teiid ddl
          */
@@ -578,6 +629,16 @@ public class KomodoRestV1Application extends Application implements SystemConsta
          */
         String QUERY_SEGMENT = "query"; //$NON-NLS-1$
 
+        /**
+         * The segment for streaming the results of a query against the teiid server
+         */
+        String STREAM_SEGMENT = "stream"; //$NON-NLS-1$
+
+        /**
+         * The media type of newline delimited json, where each line is a json document
+         */
+        String APPLICATION_NDJSON = "application/x-ndjson"; //$NON-NLS-1$
+
         /**
          * The teiid segment for running a ping against the teiid server
          */
@@ -619,10 +680,17 @@ public class KomodoRestV1Application extends Application implements SystemConsta
         String PUBLISH = "publish"; //$NON-NLS-1$
     }
 
+    /**
+     * The system property that turns on background validation of committed changes, which is where the VDB validation status is
+     * read from. Off by default.
+     */
+    public static final String INCREMENTAL_VALIDATION_PROPERTY = "komodo.incrementalValidation"; //$NON-NLS-1$
+
     private static final int TIMEOUT = 1;
     private static final TimeUnit UNIT = TimeUnit.MINUTES;
 
     private KEngine kengine;
+    private TeiidOpenShiftClient openShiftClient;
     private final Set< Object > singletons;
 
     /**
@@ -659,9 +727,8 @@ public class KomodoRestV1Application extends Application implements SystemConsta
         }
 
         this.kengine = start();
-        TeiidOpenShiftClient openShiftClient = null;
         try {
-            openShiftClient = new TeiidOpenShiftClient(
+            this.openShiftClient = new TeiidOpenShiftClient(
                     (TeiidSwarmMetadataInstance) this.kengine.getMetadataInstance());
         } catch (KException e) {
             throw new WebApplicationException(e, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
@@ -671,11 +738,11 @@ public class KomodoRestV1Application extends Application implements SystemConsta
         objs.add( new KomodoExceptionMapper() );
         objs.add( new KomodoUtilService( this.kengine ) );
         objs.add( new KomodoDataserviceService( this.kengine ) );
-        objs.add( new KomodoConnectionService( this.kengine, openShiftClient) );
+        objs.add( new KomodoConnectionService( this.kengine, this.openShiftClient) );
         objs.add( new KomodoDriverService( this.kengine ) );
         objs.add( new KomodoVdbService( this.kengine ) );
         objs.add( new KomodoSearchService( this.kengine ));
-        objs.add( new KomodoMetadataService( this.kengine, openShiftClient));
+        objs.add( new KomodoMetadataService( this.kengine, this.openShiftClient));
         objs.add( new KomodoImportExportService( this.kengine ));
         objs.add(new AuthHandlingFilter());
         objs.add(corsHandler);
@@ -918,15 +985,68 @@ public class KomodoRestV1Application extends Application implements SystemConsta
         try {
 
         	// configure metadata
-        	TeiidSwarmConnectionProvider connectionProvider = new TeiidSwarmConnectionProvider();
-        	TeiidSwarmMetadataInstance metadata = new TeiidSwarmMetadataInstance(connectionProvider);
+        	final TeiidSwarmConnectionProvider connectionProvider = new TeiidSwarmConnectionProvider();
+        	final TeiidSwarmMetadataInstance metadata = new TeiidSwarmMetadataInstance(connectionProvider);
         	kengine.setMetadataInstance(metadata);
         	
         	// configure repository
         	LocalRepository repository = new LocalRepository(); 
         	kengine.setDefaultRepository(repository);
+
+        	// stop the background deployments with the engine
+        	kengine.addObserver( new KObserver() {
+
+        	    @Override
+        	    public void eventOccurred( final KEvent< ? > event ) {
+        	        if ( event.getType() == Type.ENGINE_SHUTDOWN ) {
+        	            DataserviceConveyor.shutdown();
+        	        }
+        	    }
+
+        	    @Override
+        	    public void errorOccurred( final Throwable e ) {
+        	        // nothing to do
+        	    }
+        	} );
         	
         	started = kengine.startAndWait();
+
+        	// validate committed changes in the background so validation status can be returned without evaluating rules
+        	if ( started && Boolean.getBoolean( INCREMENTAL_VALIDATION_PROPERTY ) ) {
+        	    kengine.getDefaultRepository().getValidationManager().setIncrementalValidationEnabled( true );
+        	}
+
+        	kengine.addMetrics( "workspaceManagerCache", new Supplier< Map< String, Long > >() { //$NON-NLS-1$
+
+        	    @Override
+        	    public Map< String, Long > get() {
+        	        return WorkspaceManager.getCacheStatistics();
+        	    }
+        	} );
+
+        	kengine.addMetrics( "teiidConnectionPools", new Supplier< Map< String, Long > >() { //$NON-NLS-1$
+
+        	    @Override
+        	    public Map< String, Long > get() {
+        	        return connectionProvider.getPoolStatistics();
+        	    }
+        	} );
+
+        	kengine.addMetrics( "queryResultCache", new Supplier< Map< String, Long > >() { //$NON-NLS-1$
+
+        	    @Override
+        	    public Map< String, Long > get() {
+        	        return metadata.getQueryCacheStatistics();
+        	    }
+        	} );
+
+        	kengine.addMetrics( "teiidAdminCache", new Supplier< Map< String, Long > >() { //$NON-NLS-1$
+
+        	    @Override
+        	    public Map< String, Long > get() {
+        	        return metadata.getAdminCacheStatistics();
+        	    }
+        	} );
         } catch (Exception e) {
             throw new WebApplicationException( e, Status.INTERNAL_SERVER_ERROR );
         }
@@ -947,6 +1067,11 @@ public class KomodoRestV1Application extends Application implements SystemConsta
      */
     @PreDestroy
     public void stop() throws WebApplicationException {
+        if (this.openShiftClient != null) {
+            this.openShiftClient.close();
+            this.openShiftClient = null;
+        }
+
         if (this.kengine == null)
             return;
 
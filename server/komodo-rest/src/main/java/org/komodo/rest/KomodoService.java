@@ -22,21 +22,35 @@
 package org.komodo.rest;
 
 import static org.komodo.rest.Messages.Error.COMMIT_TIMEOUT;
+import static org.komodo.rest.Messages.Error.JSON_OUTPUT_ERROR;
 import static org.komodo.rest.Messages.Error.RESOURCE_NOT_FOUND;
 import static org.komodo.rest.Messages.General.GET_OPERATION_NAME;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Variant;
 import javax.ws.rs.core.Variant.VariantListBuilder;
 import javax.xml.bind.JAXBContext;
@@ -44,8 +58,10 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Marshaller;
 import javax.xml.namespace.QName;
 import org.komodo.core.KEngine;
+import org.komodo.core.repository.LocalRepository;
 import org.komodo.core.repository.RepositoryImpl;
 import org.komodo.core.repository.SynchronousCallback;
+import org.komodo.importer.AbstractImporter;
 import org.komodo.relational.connection.Connection;
 import org.komodo.relational.dataservice.Dataservice;
 import org.komodo.relational.profile.Profile;
@@ -55,6 +71,7 @@ import org.komodo.rest.AuthHandlingFilter.OAuthCredentials;
 import org.komodo.rest.AuthHandlingFilter.AuthToken;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
 import org.komodo.rest.RestBasicEntity.ResourceNotFound;
+import org.komodo.rest.relational.KomodoProperties;
 import org.komodo.rest.relational.RelationalMessages;
 import org.komodo.rest.relational.RestEntityFactory;
 import org.komodo.rest.relational.connection.RestConnection;
@@ -67,6 +84,7 @@ import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWorkListener;
+import org.komodo.utils.ChecksumUtils;
 import org.komodo.utils.KLog;
 import org.komodo.utils.StringNameValidator;
 import org.komodo.utils.StringUtils;
@@ -94,6 +112,7 @@ public abstract class KomodoService implements V1Constants {
     protected final static String DSB_PROP_SOURCE_TRANSLATOR = "dsbSourceTranslator"; //$NON-NLS-1$
     protected final static String DSB_PROP_METADATA_STATUS = "dsbMetadataStatus"; //$NON-NLS-1$
     protected final static String DSB_PROP_METADATA_STATUS_MSG = "dsbMetadataStatusMessage"; //$NON-NLS-1$
+    protected final static String DSB_PROP_TEIID_CHECKSUM = "dsbTeiidChecksum"; //$NON-NLS-1$
 
     private static final int TIMEOUT = 30;
     private static final TimeUnit UNIT = TimeUnit.SECONDS;
@@ -122,6 +141,16 @@ public abstract class KomodoService implements V1Constants {
          * The Komodo Type required.
          */
         String KTYPE = "ktype"; //$NON-NLS-1$
+
+        /**
+         * A comma-separated list of the fields to return for each object. If not present, all fields are returned.
+         */
+        String FIELDS = "fields"; //$NON-NLS-1$
+
+        /**
+         * The number of levels of children to include inline with each object. Defaults to zero.
+         */
+        String DEPTH = "depth"; //$NON-NLS-1$
     }
 
     private class ErrorResponse {
@@ -204,6 +233,41 @@ public abstract class KomodoService implements V1Constants {
         return value;
     }
 
+    /**
+     * Adds the {@link QueryParamKeys#FIELDS fields} and {@link QueryParamKeys#DEPTH depth} query parameters, if present, to the
+     * properties used by the {@link RestEntityFactory} when creating entities.
+     *
+     * @param uriInfo the request URI information (cannot be <code>null</code>)
+     * @param properties the entity factory properties being added to (cannot be <code>null</code>)
+     */
+    protected void addProjectionProperties(final UriInfo uriInfo, final KomodoProperties properties) {
+        final String fieldsParam = uriInfo.getQueryParameters().getFirst(QueryParamKeys.FIELDS);
+
+        if (!StringUtils.isBlank(fieldsParam)) {
+            final Set<String> fields = new LinkedHashSet<>();
+
+            for (final String field : fieldsParam.split(COMMA)) {
+                if (!StringUtils.isBlank(field))
+                    fields.add(field.trim());
+            }
+
+            properties.addProperty(ENTITY_FIELDS_PROPERTY, fields);
+        }
+
+        final String depthParam = uriInfo.getQueryParameters().getFirst(QueryParamKeys.DEPTH);
+
+        if (depthParam != null) {
+            try {
+                final int depth = Integer.parseInt(depthParam);
+
+                if (depth > 0)
+                    properties.addProperty(ENTITY_DEPTH_PROPERTY, Math.min(depth, MAX_ENTITY_DEPTH));
+            } catch (final NumberFormatException e) {
+                // no children are included
+            }
+        }
+    }
+
     protected AuthToken getAuthenticationToken() {
         return AuthHandlingFilter.threadOAuthCredentials.get().getToken();
     }
@@ -253,6 +317,78 @@ public abstract class KomodoService implements V1Constants {
         return WorkspaceManager.getInstance(repo, transaction);
     }
 
+    /**
+     * The tag changes whenever anything in the user's workspace changes so it can be used to validate any content built only
+     * from the workspace without reading the repository. The tag is weak and also depends on the request URI, including its
+     * query parameters, and on the media type of the response, so each variant of the content has its own tag.
+     *
+     * @param principal
+     *        the user whose workspace the response content is built from (cannot be <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (cannot be <code>null</code>)
+     * @param mediaType
+     *        the media type of the response content (cannot be <code>null</code>)
+     * @return the entity tag of the current revision of the user's workspace or <code>null</code> if revisions are not tracked
+     */
+    protected EntityTag workspaceEntityTag(final SecurityPrincipal principal, final UriInfo uriInfo, final MediaType mediaType) {
+        Repository repo = this.kengine.getDefaultRepository();
+        if (!(repo instanceof LocalRepository))
+            return null;
+
+        String path = RepositoryImpl.userWorkspacePath(principal.getUserName());
+        String variant = uriInfo.getRequestUri().toString() + SPACE + mediaType.getType() + FORWARD_SLASH + mediaType.getSubtype();
+        long variantChecksum = ChecksumUtils.computeChecksum(variant.getBytes(StandardCharsets.UTF_8));
+
+        return new EntityTag(((LocalRepository)repo).getRevisionTracker().getTag(path) + HYPHEN
+                             + Long.toString(variantChecksum, Character.MAX_RADIX), true);
+    }
+
+    /**
+     * @param headers
+     *        the request headers (cannot be <code>null</code>)
+     * @param entityTag
+     *        the entity tag of the current response content (can be <code>null</code>)
+     * @return <code>true</code> if the request's <code>If-None-Match</code> header matches the entity tag
+     */
+    protected static boolean isNotModified(final HttpHeaders headers, final EntityTag entityTag) {
+        if (entityTag == null)
+            return false;
+
+        List<String> values = headers.getRequestHeader(HttpHeaders.IF_NONE_MATCH);
+        if (values == null)
+            return false;
+
+        String quotedTag = SPEECH_MARK + entityTag.getValue() + SPEECH_MARK;
+        for (String value : values) {
+            for (String candidate : value.split(COMMA)) {
+                candidate = candidate.trim();
+
+                // weak comparison is used for GET requests
+                if (candidate.startsWith("W/")) //$NON-NLS-1$
+                    candidate = candidate.substring(2);
+
+                if (STAR.equals(candidate) || quotedTag.equals(candidate))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param response
+     *        the response (cannot be <code>null</code>)
+     * @param entityTag
+     *        the entity tag of the response content (can be <code>null</code>)
+     * @return the response with the entity tag added if the response is successful
+     */
+    protected static Response withEntityTag(final Response response, final EntityTag entityTag) {
+        if (entityTag == null || response.getStatus() != Status.OK.getStatusCode())
+            return response;
+
+        return Response.fromResponse(response).tag(entityTag).build();
+    }
+
     protected Profile getUserProfile(UnitOfWork transaction) throws KException {
         Repository repo = this.kengine.getDefaultRepository();
         KomodoObject userProfileObj = repo.komodoProfile(transaction);
@@ -407,6 +543,65 @@ public abstract class KomodoService implements V1Constants {
         return false;
     }
 
+    /**
+     * Response content that writes a JSON representation as it is serialized. The entities being serialized are built before the
+     * response is written, only their JSON text is not held in memory.
+     * <p>
+     * A serialization failure is logged and rethrown as a {@link WebApplicationException server error}. If no content has reached
+     * the client yet the container sends that error, otherwise the container aborts the response so that the client does not
+     * receive a truncated JSON document as a complete one.
+     */
+    private static abstract class JsonOutput implements StreamingOutput {
+
+        protected abstract void marshall( final Writer writer ) throws IOException;
+
+        @Override
+        public void write( final OutputStream output ) throws IOException {
+            final Writer writer = new BufferedWriter( new OutputStreamWriter( output, StandardCharsets.UTF_8 ) );
+
+            try {
+                marshall( writer );
+            } catch ( final RuntimeException e ) {
+                // do not flush the partial document
+                LOGGER.error( Messages.getString( JSON_OUTPUT_ERROR, e.getLocalizedMessage() ), e );
+                throw new WebApplicationException( e, Status.INTERNAL_SERVER_ERROR );
+            }
+
+            writer.flush();
+        }
+
+    }
+
+    /**
+     * @param entity
+     *        the entity whose JSON representation is the response content (cannot be <code>null</code>)
+     * @return the response content that writes the JSON representation as it is serialized (never <code>null</code>)
+     */
+    protected static StreamingOutput jsonOutput( final KRestEntity entity ) {
+        return new JsonOutput() {
+
+            @Override
+            protected void marshall( final Writer writer ) throws IOException {
+                KomodoJsonMarshaller.marshall( entity, true, writer );
+            }
+        };
+    }
+
+    /**
+     * @param entities
+     *        the entities whose JSON array representation is the response content (cannot be <code>null</code>)
+     * @return the response content that writes the JSON representation as each entity is serialized (never <code>null</code>)
+     */
+    protected static StreamingOutput jsonArrayOutput( final Collection< ? extends KRestEntity > entities ) {
+        return new JsonOutput() {
+
+            @Override
+            protected void marshall( final Writer writer ) throws IOException {
+                KomodoJsonMarshaller.marshallArray( entities, true, writer );
+            }
+        };
+    }
+
     protected Response commit(List<MediaType> acceptableMediaTypes, final KRestEntity entity) throws Exception {
         ResponseBuilder builder = null;
 
@@ -426,7 +621,7 @@ public abstract class KomodoService implements V1Constants {
             // Json will always be preferred over XML if both or the wildcard are present in the header
             //
             if (isAcceptable(acceptableMediaTypes, MediaType.APPLICATION_JSON_TYPE))
-                builder = Response.ok( KomodoJsonMarshaller.marshall( entity ), MediaType.APPLICATION_JSON );
+                builder = Response.ok( jsonOutput( entity ), MediaType.APPLICATION_JSON );
             else if (isAcceptable(acceptableMediaTypes, MediaType.APPLICATION_XML_TYPE) && entity.supports(MediaType.APPLICATION_XML_TYPE))
                 builder = Response.ok( entity.getXml(), MediaType.APPLICATION_XML );
             else {
@@ -533,7 +728,7 @@ public abstract class KomodoService implements V1Constants {
         } else {
 
             if (isAcceptable(acceptableMediaTypes, MediaType.APPLICATION_JSON_TYPE))
-                builder = Response.ok( KomodoJsonMarshaller.marshallArray(entities.toArray(new KRestEntity[0]), true), MediaType.APPLICATION_JSON );
+                builder = Response.ok( jsonArrayOutput( entities ), MediaType.APPLICATION_JSON );
             else {
                 builder = notAcceptableMediaTypesBuilder();
             }
@@ -631,6 +826,29 @@ public abstract class KomodoService implements V1Constants {
         }
     }
 
+    /**
+     * @param uow
+     *        the transaction (cannot be <code>null</code>)
+     * @param name
+     *        the name that already exists in the workspace (cannot be empty)
+     * @param errorMsg
+     *        the name validation error message (cannot be empty)
+     * @return the name validation response, including an available alternative name in the
+     *         {@link V1Constants#SUGGESTED_NAME_HEADER} header when one can be found (never <code>null</code>)
+     */
+    protected Response nameExistsResponse(UnitOfWork uow, String name, String errorMsg) {
+        ResponseBuilder builder = Response.ok().entity(errorMsg);
+
+        try {
+            KomodoObject workspace = this.kengine.getDefaultRepository().komodoWorkspace(uow);
+            builder.header(SUGGESTED_NAME_HEADER, AbstractImporter.determineNewName(uow, workspace, name));
+        } catch (KException ex) {
+            LOGGER.debug("nameExistsResponse: no alternative name available for '{0}'", name); //$NON-NLS-1$
+        }
+
+        return builder.build();
+    }
+
     protected Dataservice findDataservice(UnitOfWork uow, String dataserviceName) throws KException {
         if (! getWorkspaceManager(uow).hasChild( uow, dataserviceName, DataVirtLexicon.DataService.NODE_TYPE ) ) {
             return null;
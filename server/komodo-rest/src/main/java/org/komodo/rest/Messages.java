@@ -101,6 +101,11 @@ public final class Messages {
          * An error indicating the token found in a JSON representation is unknown or misplaced.
          */
         UNEXPECTED_JSON_TOKEN,
+
+        /**
+         * An error indicating the JSON representation of a response could not be written.
+         */
+        JSON_OUTPUT_ERROR,
         
         /**
          * CORS Filter error
@@ -24,6 +24,7 @@ package org.komodo.rest;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import org.komodo.relational.workspace.WorkspaceManager;
@@ -88,6 +89,8 @@ public class RestBasicEntity extends AbstractKEntity {
         // nothing to do
     };
 
+    private List<RestBasicEntity> children = Collections.emptyList();
+
     /**
      * Used for NO_CONTENT and ResourceNotFound
      */
@@ -122,18 +125,29 @@ public class RestBasicEntity extends AbstractKEntity {
         setHasChildren(kObject.hasChildren(uow));
 
         if (createCommonLinks) {
-            KomodoProperties properties = new KomodoProperties();
-            properties.addProperty(SEARCH_PATH_PARAMETER, getDataPath());
-            addLink(new RestLink(LinkType.SELF, getUriBuilder().searchUri(properties)));
+            addCommonLinks(uow, kObject);
+        }
+    }
+
+    /**
+     * Adds the self, parent and children links of the given {@link KomodoObject} to this entity
+     *
+     * @param uow transaction required for fetching the parent of the {@link KomodoObject}
+     * @param kObject the source {@link KomodoObject}
+     * @throws KException if error occurs
+     */
+    public void addCommonLinks(UnitOfWork uow, KomodoObject kObject) throws KException {
+        KomodoProperties properties = new KomodoProperties();
+        properties.addProperty(SEARCH_PATH_PARAMETER, getDataPath());
+        addLink(new RestLink(LinkType.SELF, getUriBuilder().searchUri(properties)));
 
-            KomodoObject parent = kObject.getParent(uow);
-            ArgCheck.isNotNull(parent);
-            properties = new KomodoProperties();
-            properties.addProperty(SEARCH_PATH_PARAMETER, parent.getAbsolutePath());
-            addLink(new RestLink(LinkType.PARENT, getUriBuilder().searchUri(properties)));
+        KomodoObject parent = kObject.getParent(uow);
+        ArgCheck.isNotNull(parent);
+        properties = new KomodoProperties();
+        properties.addProperty(SEARCH_PATH_PARAMETER, parent.getAbsolutePath());
+        addLink(new RestLink(LinkType.PARENT, getUriBuilder().searchUri(properties)));
 
-            createChildLink();
-        }
+        createChildLink();
     }
 
     protected void createChildLink() {
@@ -232,6 +246,28 @@ public class RestBasicEntity extends AbstractKEntity {
         tuples.put(HAS_CHILDREN, hasChildren);
     }
 
+    /**
+     * @return the children included inline with this entity (never <code>null</code> but can be empty)
+     */
+    public List<RestBasicEntity> getChildren() {
+        return this.children;
+    }
+
+    /**
+     * @param children the children to include inline with this entity (can be <code>null</code>)
+     */
+    public void setChildren(List<RestBasicEntity> children) {
+        this.children = (children == null) ? Collections.<RestBasicEntity>emptyList() : children;
+    }
+
+    @Override
+    public void clone(AbstractKEntity instance) {
+        super.clone(instance);
+
+        if (instance instanceof RestBasicEntity)
+            ((RestBasicEntity)instance).children = this.children;
+    }
+
     protected boolean hasPrefix(String name) {
         return name.matches(PREFIX_PATTERN);
     }
@@ -284,6 +320,6 @@ public class RestBasicEntity extends AbstractKEntity {
     @SuppressWarnings( "nls" )
     @Override
     public String toString() {
-        return "RestBasicEntity [tuples=" + this.tuples + ", properties=" + this.properties + ", links=" + this.links + "]";
+        return "RestBasicEntity [tuples=" + this.tuples + ", properties=" + this.properties + ", links=" + this.links + ", children=" + this.children + "]";
     }
 }
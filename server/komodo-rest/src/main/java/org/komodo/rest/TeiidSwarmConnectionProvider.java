@@ -24,11 +24,22 @@ package org.komodo.rest;
 import java.io.ByteArrayInputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.komodo.metadata.TeiidConnectionPool;
 import org.komodo.metadata.TeiidConnectionProvider;
 import org.komodo.spi.metadata.MetadataInstance.ConnectivityType;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.outcome.OutcomeFactory;
+import org.komodo.utils.DaemonThreadFactory;
 import org.teiid.adminapi.Admin;
 import org.teiid.adminapi.AdminException;
 import org.teiid.adminapi.jboss.AdminFactory;
@@ -44,11 +55,97 @@ public class TeiidSwarmConnectionProvider implements TeiidConnectionProvider {
                     "</metadata>" +
                 "</model>" +
             "</vdb>";	
-	
+
+    /**
+     * The system property giving the most connections pooled for each vdb
+     */
+    public static final String POOL_MAX_SIZE_PROPERTY = "komodo.connectionPoolMaxSize"; //$NON-NLS-1$
+
+    /**
+     * The system property giving the seconds after which an idle pooled connection is closed
+     */
+    public static final String POOL_MAX_IDLE_PROPERTY = "komodo.connectionPoolMaxIdleSeconds"; //$NON-NLS-1$
+
+    /**
+     * The default most connections pooled for each vdb
+     */
+    public static final int DEFAULT_POOL_MAX_SIZE = 10;
+
+    /**
+     * The default seconds after which an idle pooled connection is closed
+     */
+    public static final int DEFAULT_POOL_MAX_IDLE = 300;
+
+    private static final long POOL_MAX_WAIT = TimeUnit.SECONDS.toMillis(30);
+
+    private static final int VALIDATION_TIMEOUT = 5;
+
+    private static final long RECONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private static final long RECONNECT_POLL_MIN = 25;
+
+    private static final long RECONNECT_POLL_MAX = 1000;
+
+    /**
+     * Identifies the pool of a vdb version
+     */
+    private static class PoolKey {
+
+        private final String vdb;
+        private final String version;
+
+        PoolKey(String vdb, String version) {
+            this.vdb = vdb;
+            this.version = version;
+        }
+
+        String getUrl() {
+            return "jdbc:teiid:" + vdb + "." + version;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PoolKey))
+                return false;
+
+            PoolKey that = (PoolKey)obj;
+            return vdb.equals(that.vdb) && version.equals(that.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * vdb.hashCode() + version.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return vdb + "." + version;
+        }
+    }
+
 	private Admin admin;
+
+	private final ConcurrentMap<PoolKey, TeiidConnectionPool> pools = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("teiid-pool-sweeper"));
 	
 	public TeiidSwarmConnectionProvider() throws AdminException {
 		connect();
+
+		//
+		// Idle connections are also closed when a connection is requested, but
+		// the pool of a vdb that is no longer queried would otherwise keep them
+		//
+		long sweepSeconds = Math.max(1, Integer.getInteger(POOL_MAX_IDLE_PROPERTY, DEFAULT_POOL_MAX_IDLE) / 2);
+		sweeper.scheduleWithFixedDelay(new Runnable() {
+
+		    @Override
+		    public void run() {
+		        for (TeiidConnectionPool pool : pools.values()) {
+		            pool.evictIdle();
+		        }
+		    }
+		}, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
 	}
 
     protected synchronized void connect() throws AdminException {
@@ -71,10 +168,78 @@ public class TeiidSwarmConnectionProvider implements TeiidConnectionProvider {
 	}
 
 	@Override
-	public Connection getConnection(String vdb, String version) throws SQLException {
-		Properties props = new Properties();
-		//TODO: when security working the user name needs to be passed in we need to work delegation model for security
-		return new TeiidDriver().connect("jdbc:teiid:"+vdb+"."+version, props);
+	public Connection getConnection(final String vdb, final String version) throws SQLException {
+	    final PoolKey key = new PoolKey(vdb, version);
+
+	    while (true) {
+	        TeiidConnectionPool pool = pools.get(key);
+	        if (pool == null) {
+	            TeiidConnectionPool newPool = createPool(key.getUrl());
+	            pool = pools.putIfAbsent(key, newPool);
+	            if (pool == null)
+	                pool = newPool;
+	        }
+
+	        try {
+	            return pool.getConnection();
+	        } catch (SQLException ex) {
+	            // the vdb was redeployed while the connection was requested so use the new pool
+	            if (!pool.isClosed())
+	                throw ex;
+	        }
+	    }
+	}
+
+	private TeiidConnectionPool createPool(final String url) {
+	    return new TeiidConnectionPool(new TeiidConnectionPool.ConnectionFactory() {
+
+	        @Override
+	        public Connection create() throws SQLException {
+	            Properties props = new Properties();
+	            //TODO: when security working the user name needs to be passed in we need to work delegation model for security
+	            return new TeiidDriver().connect(url, props);
+	        }
+	    },
+	    Integer.getInteger(POOL_MAX_SIZE_PROPERTY, DEFAULT_POOL_MAX_SIZE),
+	    TimeUnit.SECONDS.toMillis(Integer.getInteger(POOL_MAX_IDLE_PROPERTY, DEFAULT_POOL_MAX_IDLE)),
+	    POOL_MAX_WAIT,
+	    VALIDATION_TIMEOUT);
+	}
+
+	@Override
+	public void invalidate(String vdb) {
+	    for (Iterator<Entry<PoolKey, TeiidConnectionPool>> iter = pools.entrySet().iterator(); iter.hasNext();) {
+	        Entry<PoolKey, TeiidConnectionPool> entry = iter.next();
+	        if (entry.getKey().vdb.equals(vdb)) {
+	            iter.remove();
+	            entry.getValue().close();
+	        }
+	    }
+	}
+
+	/**
+	 * @return the statistics of each vdb connection pool keyed by vdb and statistic name separated by a dot (never <code>null</code>)
+	 */
+	public Map<String, Long> getPoolStatistics() {
+	    Map<String, Long> stats = new TreeMap<>();
+	    long active = 0;
+	    long idle = 0;
+
+	    for (Entry<PoolKey, TeiidConnectionPool> entry : pools.entrySet()) {
+	        String vdb = entry.getKey().toString();
+	        Map<String, Long> poolStats = entry.getValue().getStatistics();
+	        for (Entry<String, Long> stat : poolStats.entrySet()) {
+	            stats.put(vdb + "." + stat.getKey(), stat.getValue());
+	        }
+
+	        active += poolStats.get(TeiidConnectionPool.ACTIVE);
+	        idle += poolStats.get(TeiidConnectionPool.IDLE);
+	    }
+
+	    stats.put("pools", (long)pools.size());
+	    stats.put(TeiidConnectionPool.ACTIVE, active);
+	    stats.put(TeiidConnectionPool.IDLE, idle);
+	    return stats;
 	}
 
 	@Override
@@ -83,7 +248,9 @@ public class TeiidSwarmConnectionProvider implements TeiidConnectionProvider {
 			if (connectivityType == ConnectivityType.ADMIN) {
 				admin.getSessions();
 			} else {
-				new TeiidDriver().connect("jdbc:teiid:ping", new Properties());
+				Connection connection = new TeiidDriver().connect("jdbc:teiid:ping", new Properties());
+				if (connection != null)
+				    connection.close();
 			}
 		} catch (AdminException | SQLException e) {
 			return OutcomeFactory.getInstance().createError(e.getLocalizedMessage(), e);
@@ -96,13 +263,34 @@ public class TeiidSwarmConnectionProvider implements TeiidConnectionProvider {
 	    disconnect();
 
 	    //
-	    // Give disconnect and teiid connection time to clear up
+	    // Reconnect straight away, backing off while the teiid connection
+	    // is still clearing up, until the server answers or time runs out
 	    //
-	    Thread.sleep(500);
+	    long deadline = System.currentTimeMillis() + RECONNECT_TIMEOUT;
+	    long pause = RECONNECT_POLL_MIN;
+
+	    while (true) {
+	        try {
+	            // Refresh is implied in the getting of the admin object since it will
+	            // automatically load and refresh.
+	            connect();
+	            admin.getSessions();
+	            return;
+	        } catch (AdminException ex) {
+	            long remaining = deadline - System.currentTimeMillis();
+	            if (remaining <= 0)
+	                throw ex;
+
+	            try {
+	                disconnect();
+	            } catch (AdminException e1) {
+	                // ignore
+	            }
 
-	    // Refresh is implied in the getting of the admin object since it will
-	    // automatically load and refresh.
-	    connect();
+	            Thread.sleep(Math.min(pause, remaining));
+	            pause = Math.min(pause * 2, RECONNECT_POLL_MAX);
+	        }
+	    }
 	}
 
 	@Override
@@ -116,7 +304,11 @@ public class TeiidSwarmConnectionProvider implements TeiidConnectionProvider {
 
 	@Override
 	public void onShutdown() {
-		// TODO Auto-generated method stub
+	    sweeper.shutdownNow();
 
+	    for (TeiidConnectionPool pool : pools.values()) {
+	        pool.close();
+	    }
+	    pools.clear();
 	}
 }
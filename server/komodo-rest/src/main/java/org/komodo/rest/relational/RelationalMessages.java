@@ -97,6 +97,21 @@ public final class RelationalMessages {
          */
         VDB_STATUS_MSG_UNKNOWN,
 
+        /**
+         * The title of a VDB validation status
+         */
+        VDB_VALIDATION_STATUS_TITLE,
+
+        /**
+         * Message for a VDB without current validation results
+         */
+        VDB_VALIDATION_STATUS_NOT_VALIDATED,
+
+        /**
+         * Message for a VDB that passed validation
+         */
+        VDB_VALIDATION_STATUS_VALID,
+
         /**
          * Message for VDB already deployed message
          */
@@ -723,6 +738,11 @@ public final class RelationalMessages {
          */
         VDB_SERVICE_GET_TRANSLATORS_ERROR,
 
+        /**
+         * An error indicating an error occurred trying to obtain a VDB's validation status
+         */
+        VDB_SERVICE_GET_VALIDATION_STATUS_ERROR,
+
         /**
          * An error indicating an error occurred trying to obain a VDB's translator
          */
@@ -1299,6 +1319,11 @@ public final class RelationalMessages {
          */
         IMPORT_EXPORT_SERVICE_EXPORT_ERROR,
 
+        /**
+         * An import export service download error
+         */
+        IMPORT_EXPORT_SERVICE_DOWNLOAD_ERROR,
+
         /**
          * An import export service import error
          */
@@ -47,7 +47,9 @@ import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.VdbImport;
 import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
+import org.komodo.rest.KomodoService;
 import org.komodo.rest.RestBasicEntity;
+import org.komodo.rest.json.JsonConstants;
 import org.komodo.rest.relational.connection.RestConnection;
 import org.komodo.rest.relational.dataservice.RestDataservice;
 import org.komodo.rest.relational.response.RestServiceCatalogDataSource;
@@ -73,6 +75,7 @@ import org.komodo.spi.KException;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
+import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
@@ -97,6 +100,10 @@ public class RestEntityFactory implements V1Constants {
     }
 
     /**
+     * If the {@link #ENTITY_FIELDS_PROPERTY fields property} is present, a {@link RestBasicEntity} holding only the requested
+     * fields is returned instead of the rest object of the kObject's type. Only the id, data path and type are always included.
+     * If the {@link #ENTITY_DEPTH_PROPERTY depth property} is present, that many levels of children are included inline.
+     *
      * @param kObject the object
      * @param baseUri the base uri
      * @param transaction the transaction
@@ -109,56 +116,116 @@ public class RestEntityFactory implements V1Constants {
         throws KException {
         checkTransaction(transaction);
 
-        WorkspaceManager wsMgr = WorkspaceManager.getInstance(kObject.getRepository(), transaction);
         KomodoType kType = kObject.getTypeIdentifier(transaction);
+        if (kType == KomodoType.UNKNOWN)
+            return null;
+
+        Collection<String> fields = (Collection<String>)properties.getProperty(ENTITY_FIELDS_PROPERTY);
+        RestBasicEntity entity = (fields == null) ? createEntity(kObject, kType, baseUri, transaction, properties) :
+                                                    createProjection(kObject, kType, baseUri, transaction, fields);
+
+        int depth = properties.getProperty(ENTITY_DEPTH_PROPERTY, 0);
+        if (depth > 0) {
+            KomodoProperties childProperties = new KomodoProperties();
+            childProperties.putAll(properties);
+            childProperties.addProperty(ENTITY_DEPTH_PROPERTY, depth - 1);
+
+            List<RestBasicEntity> children = new ArrayList<>();
+            for (KomodoObject child : kObject.getChildren(transaction)) {
+                RestBasicEntity childEntity = create(child, baseUri, transaction, childProperties);
+                if (childEntity != null)
+                    children.add(childEntity);
+            }
+
+            entity.setChildren(children);
+        }
+
+        return (T)entity;
+    }
+
+    private RestBasicEntity createProjection(KomodoObject kObject, KomodoType kType, URI baseUri, UnitOfWork transaction,
+                                             Collection<String> fields) throws KException {
+        RestBasicEntity entity = new RestBasicEntity(baseUri);
+        entity.setId(kObject.getName(transaction));
+        entity.setDataPath(kObject.getAbsolutePath());
+        entity.setkType(kType);
+
+        for (String field : fields) {
+            if (JsonConstants.ID.equals(field) || JsonConstants.DATA_PATH.equals(field) || JsonConstants.KTYPE.equals(field))
+                continue;
+
+            if (JsonConstants.HAS_CHILDREN.equals(field)) {
+                entity.setHasChildren(kObject.hasChildren(transaction));
+            } else if (JsonConstants.LINKS.equals(field)) {
+                entity.addCommonLinks(transaction, kObject);
+            } else if (JsonConstants.PROPERTIES.equals(field)) {
+                entity.addExecutionProperties(transaction, kObject);
+            } else {
+                // fields are named as in the json, so the namespace prefix of the property name is protected
+                Property property = kObject.getProperty(transaction, KomodoService.unprotectPrefix(field));
+                if (property == null)
+                    continue;
+
+                String name = KomodoService.protectPrefix(field);
+                if (property.isMultiple(transaction))
+                    entity.addTuple(name, property.getValues(transaction));
+                else
+                    entity.addTuple(name, property.getValue(transaction));
+            }
+        }
+
+        return entity;
+    }
+
+    private RestBasicEntity createEntity(KomodoObject kObject, KomodoType kType, URI baseUri, UnitOfWork transaction,
+                                         KomodoProperties properties) throws KException {
+        WorkspaceManager wsMgr = WorkspaceManager.getInstance(kObject.getRepository(), transaction);
 
         switch (kType) {
             case VDB:
                 Vdb vdb = wsMgr.resolve(transaction, kObject, Vdb.class);
                 Boolean exportXml = properties.getProperty(VDB_EXPORT_XML_PROPERTY, Boolean.FALSE);
-                return (T)new RestVdb(baseUri, vdb, exportXml, transaction);
+                return new RestVdb(baseUri, vdb, exportXml, transaction);
             case VDB_CONDITION:
                 Condition condition = wsMgr.resolve(transaction, kObject, Condition.class);
-                return (T)new RestVdbCondition(baseUri, condition, transaction);
+                return new RestVdbCondition(baseUri, condition, transaction);
             case VDB_DATA_ROLE:
                 DataRole dataRole = (kObject instanceof DataRole) ? (DataRole)kObject : wsMgr.resolve(transaction,
                                                                                                       kObject,
                                                                                                       DataRole.class);
-                return (T)new RestVdbDataRole(baseUri, dataRole, transaction);
+                return new RestVdbDataRole(baseUri, dataRole, transaction);
             case VDB_IMPORT:
                 VdbImport vdbImport = wsMgr.resolve(transaction, kObject, VdbImport.class);
-                return (T)new RestVdbImport(baseUri, vdbImport, transaction);
+                return new RestVdbImport(baseUri, vdbImport, transaction);
             case VDB_MASK:
                 Mask mask = wsMgr.resolve(transaction, kObject, Mask.class);
-                return (T)new RestVdbMask(baseUri, mask, transaction);
+                return new RestVdbMask(baseUri, mask, transaction);
             case MODEL:
                 Model model = wsMgr.resolve(transaction, kObject, Model.class);
-                return (T)new RestVdbModel(baseUri, model, transaction);
+                return new RestVdbModel(baseUri, model, transaction);
             case VDB_MODEL_SOURCE:
                 ModelSource source = wsMgr.resolve(transaction, kObject, ModelSource.class);
-                return (T)new RestVdbModelSource(baseUri, source, transaction);
+                return new RestVdbModelSource(baseUri, source, transaction);
             case TABLE:
                 Table table = wsMgr.resolve(transaction, kObject, Table.class);
-                return (T)new RestVdbModelTable(baseUri, table, transaction);
+                return new RestVdbModelTable(baseUri, table, transaction);
             case COLUMN:
                 Column column = wsMgr.resolve(transaction, kObject, Column.class);
-                return (T)new RestVdbModelTableColumn(baseUri, column, transaction);
+                return new RestVdbModelTableColumn(baseUri, column, transaction);
             case VDB_PERMISSION:
                 Permission permission = wsMgr.resolve(transaction, kObject, Permission.class);
-                return (T)new RestVdbPermission(baseUri, permission, transaction);
+                return new RestVdbPermission(baseUri, permission, transaction);
             case VDB_TRANSLATOR:
                 Translator translator = wsMgr.resolve(transaction, kObject, Translator.class);
-                return (T)new RestVdbTranslator(baseUri, translator, transaction);
+                return new RestVdbTranslator(baseUri, translator, transaction);
             case CONNECTION:
                 Connection connection = wsMgr.resolve(transaction, kObject, Connection.class);
-                return (T)new RestConnection(baseUri, connection, transaction);
+                return new RestConnection(baseUri, connection, transaction);
             case DATASERVICE:
                 Dataservice dataService = wsMgr.resolve(transaction, kObject, Dataservice.class);
-                return (T)new RestDataservice(baseUri, dataService, false, transaction);
-            case UNKNOWN:
-                return null;
+                return new RestDataservice(baseUri, dataService, false, transaction);
             default:
-                return (T)new RestBasicEntity(baseUri, kObject, transaction);
+                return new RestBasicEntity(baseUri, kObject, transaction);
         }
     }
 
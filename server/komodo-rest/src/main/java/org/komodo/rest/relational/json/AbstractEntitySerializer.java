@@ -105,6 +105,8 @@ public abstract class AbstractEntitySerializer< T extends AbstractKEntity > exte
                 readProperties(in, entity);
             else if (LINKS.equals(name))
                 readLinks(in, entity);
+            else if (CHILDREN.equals(name))
+                readChildren(in, entity);
             else {
                 JsonToken token = in.peek();
                 switch (token) {
@@ -171,6 +173,19 @@ public abstract class AbstractEntitySerializer< T extends AbstractKEntity > exte
         value.setLinks( Arrays.asList(links) );
     }
 
+    /**
+     * Sub-classes whose entities can include their children inline should override this to read them.
+     * By default the children are skipped.
+     *
+     * @param in
+     * @param value
+     * @throws IOException
+     */
+    protected void readChildren( final JsonReader in,
+                                 final T value ) throws IOException {
+        in.skipValue();
+    }
+
 
     /**
      * Sub-classes should implement this to write further data to the json
@@ -202,6 +217,8 @@ public abstract class AbstractEntitySerializer< T extends AbstractKEntity > exte
 
         writeLinks(out, entity);
 
+        writeChildren(out, entity);
+
         endWrite(out);
     }
 
@@ -221,6 +238,18 @@ public abstract class AbstractEntitySerializer< T extends AbstractKEntity > exte
         }
     }
 
+    /**
+     * Sub-classes whose entities can include their children inline should override this to write them.
+     *
+     * @param out
+     * @param value
+     * @throws IOException
+     */
+    protected void writeChildren( final JsonWriter out,
+                                  final T value ) throws IOException {
+        // Do nothing by default
+    }
+
     protected void writeValue(final JsonWriter out, Object value) throws IOException {
         if (value == null)
             out.nullValue();
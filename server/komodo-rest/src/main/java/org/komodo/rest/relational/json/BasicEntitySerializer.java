@@ -21,7 +21,10 @@
  */
 package org.komodo.rest.relational.json;
 
+import static org.komodo.rest.relational.json.KomodoJsonMarshaller.BUILDER;
 import java.io.IOException;
+import java.util.Arrays;
+import org.komodo.rest.KRestEntity;
 import org.komodo.rest.RestBasicEntity;
 import org.komodo.utils.StringUtils;
 import com.google.gson.stream.JsonReader;
@@ -49,6 +52,22 @@ public class BasicEntitySerializer<T extends RestBasicEntity> extends AbstractEn
         // Do nothing by default
     }
 
+    @Override
+    protected void readChildren(final JsonReader in, final T entity) throws IOException {
+        final RestBasicEntity[] children = BUILDER.fromJson(in, RestBasicEntity[].class);
+        entity.setChildren((children == null) ? null : Arrays.asList(children));
+    }
+
+    @Override
+    protected void writeChildren(final JsonWriter out, final T entity) throws IOException {
+        if (entity.getChildren().isEmpty())
+            return;
+
+        // written as KRestEntity so that each child uses the serializer of its own type
+        out.name(CHILDREN);
+        BUILDER.toJson(entity.getChildren().toArray(new KRestEntity[0]), KRestEntity[].class, out);
+    }
+
     @Override
     protected boolean isComplete(T entity) {
         return ! StringUtils.isBlank(entity.getId()) && ! StringUtils.isBlank(entity.getDataPath()) &&
@@ -60,6 +60,15 @@ public final class DataSourceJdbcTableAttributesSerializer extends TypeAdapter<
                 case KomodoDataSourceJdbcTableAttributes.TABLE_FILTER_LABEL:
                     updateAttrs.setTableFilter(in.nextString());
                     break;
+                case KomodoDataSourceJdbcTableAttributes.LIMIT_LABEL:
+                    updateAttrs.setLimit(in.nextInt());
+                    break;
+                case KomodoDataSourceJdbcTableAttributes.OFFSET_LABEL:
+                    updateAttrs.setOffset(in.nextInt());
+                    break;
+                case KomodoDataSourceJdbcTableAttributes.REFRESH_LABEL:
+                    updateAttrs.setRefresh(in.nextBoolean());
+                    break;
                 default:
                     throw new IOException( Messages.getString( UNEXPECTED_JSON_TOKEN, name ) );
             }
@@ -93,6 +102,15 @@ public final class DataSourceJdbcTableAttributesSerializer extends TypeAdapter<
         out.name(KomodoDataSourceJdbcTableAttributes.TABLE_FILTER_LABEL);
         out.value(value.getTableFilter());
 
+        out.name(KomodoDataSourceJdbcTableAttributes.LIMIT_LABEL);
+        out.value(value.getLimit());
+
+        out.name(KomodoDataSourceJdbcTableAttributes.OFFSET_LABEL);
+        out.value(value.getOffset());
+
+        out.name(KomodoDataSourceJdbcTableAttributes.REFRESH_LABEL);
+        out.value(value.isRefresh());
+
         out.endObject();
     }
 
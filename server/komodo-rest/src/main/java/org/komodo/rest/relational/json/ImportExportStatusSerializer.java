@@ -102,8 +102,10 @@ public final class ImportExportStatusSerializer extends TypeAdapter< ImportExpor
         out.name(ImportExportStatus.DOWNLOADABLE_LABEL);
         out.value(value.hasDownloadable());
 
-        out.name(ImportExportStatus.CONTENT_LABEL);
-        out.value(value.getContent());
+        if (value.getContent() != null) {
+            out.name(ImportExportStatus.CONTENT_LABEL);
+            out.value(value.getContent());
+        }
 
         out.name(ImportExportStatus.MESSAGE_LABEL);
         out.value(value.getMessage());
@@ -21,6 +21,9 @@
  */
 package org.komodo.rest.relational.json;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -93,6 +96,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * A JSON serializer and deserializer for {@link RestBasicEntity Komodo REST objects}.
@@ -279,6 +283,74 @@ public final class KomodoJsonMarshaller {
         return json;
     }
 
+    private static JsonWriter createWriter( final Writer writer,
+                                            final boolean prettyPrint ) {
+        final JsonWriter out = new JsonWriter( writer );
+
+        if ( prettyPrint ) {
+            out.setIndent( "  " ); //$NON-NLS-1$
+        }
+
+        return out;
+    }
+
+    /**
+     * Writes the JSON representation directly to the writer rather than building it in memory first.
+     *
+     * @param entity
+     *        the entity whose JSON representation is being written (cannot be <code>null</code>)
+     * @param prettyPrint
+     *        <code>true</code> if JSON output should be pretty printed
+     * @param writer
+     *        the writer the JSON representation is written to (cannot be <code>null</code>)
+     * @throws IOException
+     *         if an error occurs writing the JSON representation
+     */
+    public static void marshall( final KRestEntity entity,
+                                 final boolean prettyPrint,
+                                 final Writer writer ) throws IOException {
+        ArgCheck.isNotNull( entity, "entity" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( writer, "writer" ); //$NON-NLS-1$
+
+        final JsonWriter out = createWriter( writer, prettyPrint );
+        BUILDER.toJson( entity, entity.getClass(), out );
+        out.flush();
+    }
+
+    /**
+     * Writes the JSON array representation directly to the writer, one entity at a time, rather than building it in memory
+     * first.
+     *
+     * @param entities
+     *        the entities whose JSON representation is being written (cannot be <code>null</code>)
+     * @param prettyPrint
+     *        <code>true</code> if JSON output should be pretty printed
+     * @param writer
+     *        the writer the JSON representation is written to (cannot be <code>null</code>)
+     * @throws IOException
+     *         if an error occurs writing the JSON representation
+     */
+    public static void marshallArray( final Collection< ? extends KRestEntity > entities,
+                                      final boolean prettyPrint,
+                                      final Writer writer ) throws IOException {
+        ArgCheck.isNotNull( entities, "entities" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( writer, "writer" ); //$NON-NLS-1$
+
+        final JsonWriter out = createWriter( writer, prettyPrint );
+        out.beginArray();
+
+        for ( final KRestEntity entity : entities ) {
+            if ( entity == null ) {
+                out.nullValue();
+            } else {
+                BUILDER.toJson( entity, entity.getClass(), out );
+            }
+        }
+
+        out.endArray();
+        out.flush();
+    }
+
     /**
      * @param <T>
      *        the {@link RestBasicEntity} type of the output
@@ -57,6 +57,9 @@ public class QueryAttributeSerializer extends TypeAdapter<KomodoQueryAttribute>
                 case KomodoQueryAttribute.OFFSET_LABEL:
                     queryAttr.setOffset(in.nextInt());
                     break;
+                case KomodoQueryAttribute.BYPASS_CACHE_LABEL:
+                    queryAttr.setBypassCache(in.nextBoolean());
+                    break;
             }
         }
 
@@ -86,6 +89,9 @@ public class QueryAttributeSerializer extends TypeAdapter<KomodoQueryAttribute>
         out.name(KomodoQueryAttribute.OFFSET_LABEL);
         out.value(value.getOffset());
 
+        out.name(KomodoQueryAttribute.BYPASS_CACHE_LABEL);
+        out.value(value.isBypassCache());
+
         out.endObject();
     }
 
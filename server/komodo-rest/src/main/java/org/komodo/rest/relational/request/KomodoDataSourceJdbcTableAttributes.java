@@ -59,6 +59,21 @@ public class KomodoDataSourceJdbcTableAttributes implements KRestEntity {
      */
     public static final String TABLE_FILTER_LABEL = "tableFilter"; //$NON-NLS-1$
 
+    /**
+     * Label for the limit of table names
+     */
+    public static final String LIMIT_LABEL = "limit"; //$NON-NLS-1$
+
+    /**
+     * Label for the offset of table names
+     */
+    public static final String OFFSET_LABEL = "offset"; //$NON-NLS-1$
+
+    /**
+     * Label for whether cached table names are read again from the source
+     */
+    public static final String REFRESH_LABEL = "refresh"; //$NON-NLS-1$
+
     @JsonProperty(DATA_SOURCE_NAME_LABEL)
     private String dataSourceName;
 
@@ -71,6 +86,15 @@ public class KomodoDataSourceJdbcTableAttributes implements KRestEntity {
     @JsonProperty(TABLE_FILTER_LABEL)
     private String tableFilter;
 
+    @JsonProperty(LIMIT_LABEL)
+    private int limit = -1;
+
+    @JsonProperty(OFFSET_LABEL)
+    private int offset = 0;
+
+    @JsonProperty(REFRESH_LABEL)
+    private boolean refresh = false;
+
     /**
      * Default constructor for deserialization
      */
@@ -146,6 +170,48 @@ public class KomodoDataSourceJdbcTableAttributes implements KRestEntity {
         this.tableFilter = tableFilter;
     }
 
+    /**
+     * @return the maximum number of table names returned or a negative number if there is no limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param limit the maximum number of table names returned or a negative number if there is no limit
+     */
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return the index of the first table name returned
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @param offset the index of the first table name returned
+     */
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return <code>true</code> if the table names are read from the source even when they are cached
+     */
+    public boolean isRefresh() {
+        return refresh;
+    }
+
+    /**
+     * @param refresh <code>true</code> to read the table names from the source even when they are cached
+     */
+    public void setRefresh(boolean refresh) {
+        this.refresh = refresh;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -154,6 +220,9 @@ public class KomodoDataSourceJdbcTableAttributes implements KRestEntity {
         result = prime * result + ((catalogFilter == null) ? 0 : catalogFilter.hashCode());
         result = prime * result + ((schemaFilter == null) ? 0 : schemaFilter.hashCode());
         result = prime * result + ((tableFilter == null) ? 0 : tableFilter.hashCode());
+        result = prime * result + limit;
+        result = prime * result + offset;
+        result = prime * result + (refresh ? 1231 : 1237);
         return result;
     }
 
@@ -186,11 +255,17 @@ public class KomodoDataSourceJdbcTableAttributes implements KRestEntity {
                 return false;
         } else if (!tableFilter.equals(other.tableFilter))
             return false;
+        if (limit != other.limit)
+            return false;
+        if (offset != other.offset)
+            return false;
+        if (refresh != other.refresh)
+            return false;
         return true;
     }
 
     @Override
     public String toString() {
-        return "KomodoVdbUpdateAttributes [dataSourceName=" + dataSourceName + ", catalogFilter=" + catalogFilter + ", schemaFilter=" + schemaFilter + ", tableFilter=" + tableFilter + "]";
+        return "KomodoVdbUpdateAttributes [dataSourceName=" + dataSourceName + ", catalogFilter=" + catalogFilter + ", schemaFilter=" + schemaFilter + ", tableFilter=" + tableFilter + ", limit=" + limit + ", offset=" + offset + ", refresh=" + refresh + "]";
     }
 }
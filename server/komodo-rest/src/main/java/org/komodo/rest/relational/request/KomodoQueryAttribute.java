@@ -59,6 +59,11 @@ public class KomodoQueryAttribute implements KRestEntity {
      */
     public static final String OFFSET_LABEL = "offset";
 
+    /**
+     * Label for whether cached results are ignored
+     */
+    public static final String BYPASS_CACHE_LABEL = "bypassCache";
+
     @JsonProperty(QUERY_LABEL)
     private String query;
 
@@ -71,6 +76,9 @@ public class KomodoQueryAttribute implements KRestEntity {
     @JsonProperty(OFFSET_LABEL)
     private int offset = 0;
 
+    @JsonProperty(BYPASS_CACHE_LABEL)
+    private boolean bypassCache = false;
+
     /**
      * Default constructor for deserialization
      */
@@ -146,10 +154,25 @@ public class KomodoQueryAttribute implements KRestEntity {
         this.offset = offset;
     }
 
+    /**
+     * @return <code>true</code> if the query is executed even when its results are cached
+     */
+    public boolean isBypassCache() {
+        return bypassCache;
+    }
+
+    /**
+     * @param bypassCache <code>true</code> to execute the query even when its results are cached
+     */
+    public void setBypassCache(boolean bypassCache) {
+        this.bypassCache = bypassCache;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
+        result = prime * result + (bypassCache ? 1231 : 1237);
         result = prime * result + limit;
         result = prime * result + offset;
         result = prime * result + ((query == null) ? 0 : query.hashCode());
@@ -166,6 +189,8 @@ public class KomodoQueryAttribute implements KRestEntity {
         if (getClass() != obj.getClass())
             return false;
         KomodoQueryAttribute other = (KomodoQueryAttribute)obj;
+        if (bypassCache != other.bypassCache)
+            return false;
         if (limit != other.limit)
             return false;
         if (offset != other.offset)
@@ -185,6 +210,6 @@ public class KomodoQueryAttribute implements KRestEntity {
 
     @Override
     public String toString() {
-        return "KomodoQueryAttribute [query=" + query + ", target=" + target + ", limit=" + limit + ", offset=" + offset + "]";
+        return "KomodoQueryAttribute [query=" + query + ", target=" + target + ", limit=" + limit + ", offset=" + offset + ", bypassCache=" + bypassCache + "]";
     }
 }
@@ -43,6 +43,11 @@ public class RestQueryResult implements KRestEntity {
      */
     public static final String ROWS_LABEL = "rows";
 
+    /**
+     * Label for an error reported after streamed results have started
+     */
+    public static final String ERROR_LABEL = "error";
+
     private List<RestQueryColumn> columns = new ArrayList<>();
 
     private List<RestQueryRow> rows = new ArrayList<>();
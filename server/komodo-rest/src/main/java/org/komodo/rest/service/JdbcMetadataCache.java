@@ -0,0 +1,473 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.rest.service;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.rest.relational.RelationalMessages;
+import org.komodo.utils.DaemonThreadFactory;
+
+/**
+ * Holds the catalogs, schemas and table names read from JDBC data sources so that browsing a connection does not read the
+ * source metadata again on every request. Entries expire after a time and all the entries of a data source can be dropped
+ * when it changes or a refresh is requested. The schemas of the catalogs are read at the same time on threads, and so
+ * connections, shared by every request.
+ */
+class JdbcMetadataCache {
+
+    /**
+     * Opens connections to a data source
+     */
+    interface ConnectionSource {
+
+        /**
+         * @return a new connection, which the caller closes (never <code>null</code>)
+         * @throws Exception if the connection could not be opened
+         */
+        Connection open() throws Exception;
+    }
+
+    /**
+     * What the items of the {@link CatalogSchemas} are
+     */
+    enum Kind {
+
+        /**
+         * The items are catalogs, each with its schemas
+         */
+        CATALOGS_AND_SCHEMAS,
+
+        /**
+         * The items are catalogs without schemas
+         */
+        CATALOGS,
+
+        /**
+         * The items are schemas
+         */
+        SCHEMAS
+    }
+
+    /**
+     * The catalogs and/or schemas of a data source
+     */
+    static final class CatalogSchemas {
+
+        private final Kind kind;
+        private final Map<String, List<String>> items;
+
+        CatalogSchemas(Kind kind, Map<String, List<String>> items) {
+            this.kind = kind;
+            this.items = Collections.unmodifiableMap(items);
+        }
+
+        /**
+         * @return what the items are (never <code>null</code>)
+         */
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the sorted item names mapped to their sorted schema names, which are <code>null</code> unless the items
+         *         are {@link Kind#CATALOGS_AND_SCHEMAS catalogs with schemas} (never <code>null</code>)
+         */
+        Map<String, List<String>> getItems() {
+            return items;
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long expires;
+
+        Entry(V value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+
+    private static class DataSourceEntries {
+
+        private volatile Entry<CatalogSchemas> catalogSchemas;
+
+        private final ConcurrentMap<List<String>, Entry<List<String>>> tableNames = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The name of the statistic counting the requests answered from the cache.
+     */
+    static final String HITS = "hits"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic counting the requests read from the data sources.
+     */
+    static final String MISSES = "misses"; //$NON-NLS-1$
+
+    /**
+     * The name of the statistic giving the number of cached data sources.
+     */
+    static final String SIZE = "size"; //$NON-NLS-1$
+
+    /**
+     * Maximum number of catalogs whose schemas are read concurrently, across all requests
+     */
+    static final int SCHEMA_THREADS = 4;
+
+    /**
+     * Maximum number of table name lists, one per filter, cached for a data source
+     */
+    static final int MAX_TABLE_LISTS = 100;
+
+    private static final String TABLE_NAME = "TABLE_NAME"; //$NON-NLS-1$
+
+    private static final String[] TABLE_TYPES = new String[] {"DOCUMENT", "TABLE", "VIEW"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private final long ttlMillis;
+
+    private final ConcurrentMap<String, DataSourceEntries> dataSources = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final ExecutorService schemaService = Executors.newFixedThreadPool(SCHEMA_THREADS,
+                                                                               new DaemonThreadFactory("komodo-jdbc-schemas")); //$NON-NLS-1$
+
+    /**
+     * @param ttlMillis the time metadata is kept once read (zero or less disables caching)
+     */
+    JdbcMetadataCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Stops the threads reading schemas. Metadata that is not cached can no longer be read.
+     */
+    void shutdown() {
+        schemaService.shutdownNow();
+    }
+
+    private DataSourceEntries entries(String dataSourceName) {
+        DataSourceEntries entries = dataSources.get(dataSourceName);
+        if (entries == null) {
+            DataSourceEntries newEntries = new DataSourceEntries();
+            entries = dataSources.putIfAbsent(dataSourceName, newEntries);
+            if (entries == null)
+                entries = newEntries;
+        }
+
+        return entries;
+    }
+
+    /**
+     * @param dataSourceName the name of the data source (cannot be <code>null</code>)
+     * @param source opens connections to the data source if its metadata is not cached (cannot be <code>null</code>)
+     * @return the catalogs and/or schemas of the data source (never <code>null</code>)
+     * @throws Exception if the metadata had to be read and could not be
+     */
+    CatalogSchemas getCatalogSchemas(String dataSourceName, ConnectionSource source) throws Exception {
+        long now = System.currentTimeMillis();
+        DataSourceEntries entries = entries(dataSourceName);
+        Entry<CatalogSchemas> entry = entries.catalogSchemas;
+
+        if (entry != null && entry.expires > now) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+
+        misses.incrementAndGet();
+        CatalogSchemas value = readCatalogSchemas(source);
+
+        if (ttlMillis > 0)
+            entries.catalogSchemas = new Entry<>(value, now + ttlMillis);
+
+        return value;
+    }
+
+    /**
+     * @param dataSourceName the name of the data source (cannot be <code>null</code>)
+     * @param source opens a connection to the data source if its table names are not cached (cannot be <code>null</code>)
+     * @param catalog the catalog name (can be <code>null</code>)
+     * @param schemaPattern the schema name pattern (can be <code>null</code>)
+     * @param tablePattern the table name pattern (can be <code>null</code>)
+     * @return the names of the matching tables and views (never <code>null</code>)
+     * @throws Exception if the table names had to be read and could not be
+     */
+    List<String> getTableNames(String dataSourceName,
+                               ConnectionSource source,
+                               String catalog,
+                               String schemaPattern,
+                               String tablePattern) throws Exception {
+        long now = System.currentTimeMillis();
+        DataSourceEntries entries = entries(dataSourceName);
+        List<String> key = Arrays.asList(catalog, schemaPattern, tablePattern);
+        Entry<List<String>> entry = entries.tableNames.get(key);
+
+        if (entry != null && entry.expires > now) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+
+        misses.incrementAndGet();
+        List<String> value;
+        try (Connection connection = source.open()) {
+            ResultSet resultSet = connection.getMetaData().getTables(catalog, schemaPattern, tablePattern, TABLE_TYPES);
+            value = Collections.unmodifiableList(readTableNames(resultSet));
+        }
+
+        if (ttlMillis > 0) {
+            if (entries.tableNames.size() >= MAX_TABLE_LISTS)
+                evictTableNames(entries, now);
+
+            entries.tableNames.put(key, new Entry<>(value, now + ttlMillis));
+        }
+
+        return value;
+    }
+
+    private static void evictTableNames(DataSourceEntries entries, long now) {
+        for (Iterator<Entry<List<String>>> iter = entries.tableNames.values().iterator(); iter.hasNext();) {
+            if (iter.next().expires <= now)
+                iter.remove();
+        }
+
+        // still full of current lists so start again
+        if (entries.tableNames.size() >= MAX_TABLE_LISTS)
+            entries.tableNames.clear();
+    }
+
+    /**
+     * Drops all the metadata of a data source
+     *
+     * @param dataSourceName the name of the data source (cannot be <code>null</code>)
+     */
+    void invalidate(String dataSourceName) {
+        dataSources.remove(dataSourceName);
+    }
+
+    /**
+     * Drops all metadata
+     */
+    void clear() {
+        dataSources.clear();
+    }
+
+    /**
+     * @return the hit and miss counts and the number of cached data sources keyed by statistic name (never <code>null</code>)
+     */
+    Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new TreeMap<>();
+        stats.put(HITS, hits.get());
+        stats.put(MISSES, misses.get());
+        stats.put(SIZE, (long)dataSources.size());
+        return stats;
+    }
+
+    private CatalogSchemas readCatalogSchemas(ConnectionSource source) throws Exception {
+        List<String> catalogs;
+
+        try (Connection connection = source.open()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean supportsCatalogs = metaData.supportsCatalogsInTableDefinitions()
+                                       || metaData.supportsCatalogsInProcedureCalls()
+                                       || metaData.supportsCatalogsInDataManipulation();
+            boolean supportsSchemas = metaData.supportsSchemasInTableDefinitions()
+                                      || metaData.supportsSchemasInDataManipulation();
+
+            if (supportsSchemas && !supportsCatalogs) {
+                return new CatalogSchemas(Kind.SCHEMAS, toItems(readNames(metaData.getSchemas())));
+            }
+
+            if (!supportsCatalogs) {
+                // Does not support either schemas or catalogues
+                throw new Exception(RelationalMessages.getString(RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_UNRECOGNISED_JDBC_SOURCE));
+            }
+
+            catalogs = readNames(metaData.getCatalogs());
+
+            if (!supportsSchemas) {
+                return new CatalogSchemas(Kind.CATALOGS, toItems(catalogs));
+            }
+
+            // a single catalog is read on this connection and may fall back to all the schemas
+            if (catalogs.size() == 1) {
+                Map<String, List<String>> items = new LinkedHashMap<>();
+                List<String> schemas = readSchemas(connection, catalogs.get(0), true);
+                if (schemas != null)
+                    items.put(catalogs.get(0), schemas);
+
+                return new CatalogSchemas(Kind.CATALOGS_AND_SCHEMAS, items);
+            }
+        }
+
+        Map<String, List<String>> schemasByCatalog = readSchemas(source, catalogs);
+        Map<String, List<String>> items = new LinkedHashMap<>();
+        for (String catalog : catalogs) {
+            // catalogs whose schemas could not be read are left out
+            if (schemasByCatalog.containsKey(catalog))
+                items.put(catalog, schemasByCatalog.get(catalog));
+        }
+
+        return new CatalogSchemas(Kind.CATALOGS_AND_SCHEMAS, items);
+    }
+
+    /*
+     * Reads the schemas of the catalogs on the shared threads, which each use their own connection
+     */
+    private Map<String, List<String>> readSchemas(final ConnectionSource source,
+                                                         final List<String> catalogs) throws Exception {
+        final Map<String, List<String>> schemasByCatalog = Collections.synchronizedMap(new HashMap<String, List<String>>());
+        if (catalogs.isEmpty())
+            return schemasByCatalog;
+
+        final AtomicInteger next = new AtomicInteger();
+        final int threads = Math.min(SCHEMA_THREADS, catalogs.size());
+        final List<Callable<Void>> readers = new ArrayList<>(threads);
+
+        for (int i = 0; i < threads; ++i) {
+            readers.add(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    try (Connection connection = source.open()) {
+                        for (int index = next.getAndIncrement(); index < catalogs.size(); index = next.getAndIncrement()) {
+                            String catalog = catalogs.get(index);
+                            List<String> schemas = readSchemas(connection, catalog, false);
+                            if (schemas != null)
+                                schemasByCatalog.put(catalog, schemas);
+                        }
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        for (Future<Void> reader : schemaService.invokeAll(readers)) {
+            try {
+                reader.get();
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Exception)
+                    throw (Exception)ex.getCause();
+
+                throw ex;
+            }
+        }
+
+        return schemasByCatalog;
+    }
+
+    /*
+     * @return the sorted schemas of the catalog or null if they could not be read
+     */
+    private static List<String> readSchemas(Connection connection, String catalog, boolean fallback) throws Exception {
+        DatabaseMetaData metaData = connection.getMetaData();
+        ResultSet resultSet;
+
+        try {
+            resultSet = metaData.getSchemas(catalog, null);
+        } catch (Exception ex) {
+            if (!fallback)
+                return null;
+
+            try {
+                resultSet = metaData.getSchemas();
+            } catch (Exception ex1) {
+                return null;
+            }
+        }
+
+        return readNames(resultSet);
+    }
+
+    /*
+     * @return the sorted values of the first column, closing the result set
+     */
+    private static List<String> readNames(ResultSet resultSet) throws Exception {
+        List<String> names = new ArrayList<String>();
+
+        try {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(1));
+            }
+        } finally {
+            resultSet.close();
+        }
+
+        Collections.sort(names, String.CASE_INSENSITIVE_ORDER);
+        return names;
+    }
+
+    private static List<String> readTableNames(ResultSet resultSet) throws Exception {
+        List<String> tableNames = new ArrayList<String>();
+
+        try {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            int tableNameColumn = 0;
+            for (int i = 1; i <= columnCount; ++i) {
+                if (resultSet.getMetaData().getColumnName(i).equalsIgnoreCase(TABLE_NAME)) {
+                    tableNameColumn = i;
+                    break;
+                }
+            }
+
+            while (resultSet.next()) {
+                tableNames.add(tableNameColumn == 0 ? null : resultSet.getString(tableNameColumn));
+            }
+        } finally {
+            resultSet.close();
+        }
+
+        return tableNames;
+    }
+
+    private static Map<String, List<String>> toItems(List<String> names) {
+        Map<String, List<String>> items = new LinkedHashMap<>();
+        for (String name : names) {
+            items.put(name, null);
+        }
+
+        return items;
+    }
+
+}
@@ -39,6 +39,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -126,6 +127,11 @@ public final class KomodoConnectionService extends KomodoService {
         if (principal.hasErrorResponse())
             return principal.getErrorResponse();
 
+        // answer polling clients without building any entities if nothing in the workspace has changed
+        final EntityTag entityTag = workspaceEntityTag(principal, uriInfo, MediaType.APPLICATION_JSON_TYPE);
+        if (isNotModified(headers, entityTag))
+            return Response.notModified(entityTag).build();
+
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
         UnitOfWork uow = null;
 
@@ -213,7 +219,7 @@ public final class KomodoConnectionService extends KomodoService {
             }
 
             // create response
-            return commit( uow, mediaTypes, entities );
+            return withEntityTag( commit( uow, mediaTypes, entities ), entityTag );
 
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
@@ -811,15 +817,11 @@ public final class KomodoConnectionService extends KomodoService {
                 }
 
                 // name is the same as an existing connection
-                return Response.ok()
-                               .entity( RelationalMessages.getString( VDB_DATA_SOURCE_NAME_EXISTS ) )
-                               .build();
+                return nameExistsResponse( uow, connectionName, RelationalMessages.getString( VDB_DATA_SOURCE_NAME_EXISTS ) );
             }
 
             // name is the same as an existing connection
-            return Response.ok()
-                           .entity( RelationalMessages.getString( CONNECTION_SERVICE_NAME_EXISTS ) )
-                           .build();
+            return nameExistsResponse( uow, connectionName, RelationalMessages.getString( CONNECTION_SERVICE_NAME_EXISTS ) );
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
                 uow.rollback();
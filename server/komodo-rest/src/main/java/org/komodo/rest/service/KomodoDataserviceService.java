@@ -55,6 +55,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -186,6 +187,11 @@ public final class KomodoDataserviceService extends KomodoService
         if (principal.hasErrorResponse())
             return principal.getErrorResponse();
 
+        // answer polling clients without building any entities if nothing in the workspace has changed
+        final EntityTag entityTag = workspaceEntityTag(principal, uriInfo, MediaType.APPLICATION_JSON_TYPE);
+        if (isNotModified(headers, entityTag))
+            return Response.notModified(entityTag).build();
+
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
         UnitOfWork uow = null;
 
@@ -273,7 +279,7 @@ public final class KomodoDataserviceService extends KomodoService
             }
 
             // create response
-            return commit( uow, mediaTypes, entities );
+            return withEntityTag( commit( uow, mediaTypes, entities ), entityTag );
 
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
@@ -2658,9 +2664,7 @@ public final class KomodoDataserviceService extends KomodoService
             }
 
             // name is a duplicate
-            return Response.ok()
-                           .entity( RelationalMessages.getString( DATASERVICE_SERVICE_NAME_EXISTS ) )
-                           .build();
+            return nameExistsResponse( uow, dataserviceName, RelationalMessages.getString( DATASERVICE_SERVICE_NAME_EXISTS ) );
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
                 uow.rollback();
@@ -32,8 +32,15 @@ import static org.komodo.spi.storage.git.GitStorageConnectorConstants.REPO_PASSW
 import static org.komodo.spi.storage.git.GitStorageConnectorConstants.REPO_PATH_PROPERTY;
 import static org.komodo.spi.storage.git.GitStorageConnectorConstants.REPO_USERNAME;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -49,6 +56,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.komodo.core.KEngine;
 import org.komodo.importer.ImportMessages;
@@ -64,6 +72,7 @@ import org.komodo.rest.relational.json.KomodoJsonMarshaller;
 import org.komodo.rest.relational.response.ImportExportStatus;
 import org.komodo.rest.relational.response.KomodoStorageAttributes;
 import org.komodo.rest.relational.response.RestStorageType;
+import org.komodo.spi.KException;
 import org.komodo.spi.repository.DocumentType;
 import org.komodo.spi.repository.Exportable;
 import org.komodo.spi.repository.KomodoObject;
@@ -78,6 +87,9 @@ import org.komodo.storage.StorageServiceProvider;
 import org.komodo.utils.FileUtils;
 import org.komodo.utils.KLog;
 import org.komodo.utils.StringUtils;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -160,19 +172,21 @@ public class KomodoImportExportService extends KomodoService {
      *        the request URI information (never <code>null</code>)
      * @param export attributes
      *        the export attributes JSON representation (cannot be <code>null</code>)
-     * @return a JSON document including Base64 content of the file 
+     * @return a JSON document including Base64 content of the file or, when only
+     *                  <code>application/octet-stream</code> is accepted, the exported content itself
      *                  (never <code>null</code>)
      * @throws KomodoRestException
      *         if there is a problem with the export
      */
     @POST
     @Path(V1Constants.EXPORT)
-    @Produces( MediaType.APPLICATION_JSON )
+    @Produces( { MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM } )
     @Consumes ( { MediaType.APPLICATION_JSON } )
-    @ApiOperation(value = "Exports an artifact using parameters provided in the request body",
+    @ApiOperation(value = "Exports an artifact using parameters provided in the request body. "
+                          + "Requesting only application/octet-stream streams the exported content without using storage",
                              response = ImportExportStatus.class)
     @ApiResponses(value = {
-        @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
+        @ApiResponse(code = 406, message = "Only JSON or the exported content is returned by this operation"),
         @ApiResponse(code = 403, message = "An error has occurred.")
     })
     public Response exportArtifact( final @Context HttpHeaders headers,
@@ -211,8 +225,12 @@ public class KomodoImportExportService extends KomodoService {
             return principal.getErrorResponse();
 
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
-        if (! isAcceptable(mediaTypes, MediaType.APPLICATION_JSON_TYPE))
+        if (! isAcceptable(mediaTypes, MediaType.APPLICATION_JSON_TYPE)) {
+            if (isAcceptable(mediaTypes, MediaType.APPLICATION_OCTET_STREAM_TYPE))
+                return streamArtifact(principal, mediaTypes, storageAttributes);
+
             return notAcceptableMediaTypesBuilder().build();
+        }
 
         KomodoStorageAttributes sta;
         try {
@@ -260,12 +278,19 @@ public class KomodoImportExportService extends KomodoService {
             // b) Artifact available at server file location so return as content
             //
             status.setDownloadable(downloadable != null);
+            status.setSuccess(true);
 
-            applyContent(status, downloadable);
+            if (downloadable == null)
+                return commit( uow, mediaTypes, status );
 
-            status.setSuccess(true);
+            File downloadableFile = new File(downloadable);
+            status.setDownloadableSize(downloadableFile.length());
 
-            return commit( uow, mediaTypes, status );
+            Response response = commit( uow, mediaTypes );
+            if (response.getStatus() != Status.OK.getStatusCode())
+                return response;
+
+            return Response.ok(jsonContentOutput(status, downloadableFile), MediaType.APPLICATION_JSON).build();
 
         } catch (final Exception e) {
             if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
@@ -278,30 +303,129 @@ public class KomodoImportExportService extends KomodoService {
         }
     }
 
-    private void applyContent(ImportExportStatus status, String downloadable) throws Exception {
-        if (downloadable == null)
-            return;
+    /**
+     * Exports an artifact from the workspace straight to the response, without staging it in storage.
+     */
+    private Response streamArtifact( final SecurityPrincipal principal,
+                                     final List<MediaType> mediaTypes,
+                                     final String storageAttributes ) throws KomodoRestException {
+        KomodoStorageAttributes sta;
+        try {
+            sta = KomodoJsonMarshaller.unmarshall(storageAttributes, KomodoStorageAttributes.class);
+            if (sta == null || sta.getArtifactPath() == null)
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_NO_PARAMETERS_ERROR);
+
+        } catch (Exception ex) {
+            return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_REQUEST_PARSING_ERROR);
+        }
 
-        FileInputStream stream = null;
+        UnitOfWork uow = null;
         try {
-            File downloadableFile = new File(downloadable);
-            stream = new FileInputStream(downloadableFile);
+            uow = createTransaction(principal, "exportFromWorkspace", true); //$NON-NLS-1$
+            Repository repo = this.kengine.getDefaultRepository();
+            String artifactPath = sta.getArtifactPath();
+            KomodoObject kObject = repo.getFromWorkspace(uow, artifactPath);
+            if (kObject == null) {
+                uow.rollback();
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_NO_ARTIFACT_ERROR, artifactPath);
+            }
 
-            status.setDownloadableSize(downloadableFile.length());
+            final Exportable artifact = getWorkspaceManager(uow).resolve(uow, kObject, Exportable.class);
+            if (artifact == null) {
+                uow.rollback();
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.IMPORT_EXPORT_SERVICE_ARTIFACT_NOT_EXPORTABLE_ERROR, artifactPath);
+            }
 
-            byte content[] = new byte[(int)downloadableFile.length()];
-            stream.read(content);
-            String encContent = encode(content);
-            status.setContent(encContent);
+            final String fileName = artifact.getDocumentType(uow).fileName(artifact.getName(uow));
+            final Properties parameters = sta.convertParameters();
+            final UnitOfWork exportUow = uow;
 
-            KLog.getLogger().debug("Encrypted content of " + downloadableFile.getAbsolutePath() + ": " + encContent + " SIZE: "
-                                  + downloadableFile.length());
+            //
+            // The read-only transaction stays open until the content has been written to the response
+            //
+            StreamingOutput content = new StreamingOutput() {
+
+                @Override
+                public void write(OutputStream output) throws IOException, WebApplicationException {
+                    try {
+                        artifact.export(exportUow, parameters, output);
+                        output.flush();
+                    } catch (KException ex) {
+                        throw new WebApplicationException(ex);
+                    } finally {
+                        if (exportUow.getState() == State.NOT_STARTED)
+                            exportUow.rollback();
+                    }
+                }
+            };
 
-        } finally {
-            stream.close();
+            return Response.ok(content, MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                                 .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"") //$NON-NLS-1$ //$NON-NLS-2$
+                                 .build();
+
+        } catch (final Exception e) {
+            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+                uow.rollback();
+            }
+
+            return createErrorResponse(Status.FORBIDDEN, mediaTypes, e,
+                                       RelationalMessages.Error.IMPORT_EXPORT_SERVICE_DOWNLOAD_ERROR,
+                                       sta.getArtifactPath());
         }
     }
 
+    /**
+     * Writes the JSON of the status with the Base64 encoding of the downloadable file streamed in as its content, so
+     * neither the file nor its encoding is held in memory. The status must not have content of its own.
+     */
+    private static StreamingOutput jsonContentOutput(final ImportExportStatus status, final File downloadable) {
+        return new StreamingOutput() {
+
+            @Override
+            public void write(OutputStream output) throws IOException {
+                JsonObject members = KomodoJsonMarshaller.BUILDER.toJsonTree(status).getAsJsonObject();
+                members.remove(ImportExportStatus.CONTENT_LABEL);
+
+                Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+                JsonWriter json = new JsonWriter(writer);
+                json.beginObject();
+
+                for (Map.Entry<String, JsonElement> member : members.entrySet()) {
+                    json.name(member.getKey());
+                    KomodoJsonMarshaller.BUILDER.toJson(member.getValue(), json);
+                }
+
+                // the writer only takes whole values so the content member follows the others written directly
+                json.flush();
+                if (!members.entrySet().isEmpty())
+                    writer.write(COMMA);
+
+                writer.write(KomodoJsonMarshaller.BUILDER.toJson(ImportExportStatus.CONTENT_LABEL) + COLON + SPEECH_MARK);
+                writer.flush();
+
+                // Base64 is plain ASCII so needs no escaping within the JSON string
+                OutputStream encoder = Base64.getEncoder().wrap(new FilterOutputStream(output) {
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        this.out.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        flush(); // leave the response open
+                    }
+                });
+                Files.copy(downloadable.toPath(), encoder);
+                encoder.close();
+
+                writer.write(SPEECH_MARK);
+                json.endObject();
+                json.flush();
+            }
+        };
+    }
+
     /**
      * Imports an artifact into the workspace.
      *
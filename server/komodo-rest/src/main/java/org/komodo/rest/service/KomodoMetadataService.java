@@ -21,11 +21,17 @@
  */
 package org.komodo.rest.service;
 
+import static org.komodo.rest.Messages.General.GET_OPERATION_NAME;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,14 +39,20 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.naming.InitialContext;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
@@ -60,13 +72,17 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.komodo.core.KEngine;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
+import org.komodo.importer.ImportOptions.OptionKeys;
+import org.komodo.relational.DeployJob;
 import org.komodo.relational.DeployStatus;
 import org.komodo.relational.connection.Connection;
 import org.komodo.relational.dataservice.Dataservice;
+import org.komodo.relational.dataservice.internal.DataserviceConveyor;
 import org.komodo.relational.importer.vdb.VdbImporter;
 import org.komodo.relational.model.Model;
 import org.komodo.relational.resource.Driver;
@@ -76,9 +92,12 @@ import org.komodo.relational.vdb.internal.VdbImpl;
 import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.rest.AuthHandlingFilter.AuthToken;
 import org.komodo.rest.CallbackTimeoutException;
+import org.komodo.rest.KRestEntity;
 import org.komodo.rest.KomodoRestException;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
 import org.komodo.rest.KomodoService;
+import org.komodo.rest.Messages;
+import org.komodo.rest.RestBasicEntity.ResourceNotFound;
 import org.komodo.rest.relational.KomodoProperties;
 import org.komodo.rest.relational.RelationalMessages;
 import org.komodo.rest.relational.connection.RestConnection;
@@ -93,6 +112,7 @@ import org.komodo.rest.relational.request.KomodoVdbUpdateAttributes;
 import org.komodo.rest.relational.response.KomodoStatusObject;
 import org.komodo.rest.relational.response.RestConnectionDriver;
 import org.komodo.rest.relational.response.RestQueryResult;
+import org.komodo.rest.relational.response.RestQueryRow;
 import org.komodo.rest.relational.response.RestServiceCatalogDataSource;
 import org.komodo.rest.relational.response.RestVdb;
 import org.komodo.rest.relational.response.RestVdbTranslator;
@@ -108,11 +128,17 @@ import org.komodo.rest.relational.response.virtualization.RestVirtualizationStat
 import org.komodo.servicecatalog.BuildStatus;
 import org.komodo.servicecatalog.PublishConfiguration;
 import org.komodo.servicecatalog.TeiidOpenShiftClient;
+import org.komodo.spi.KEvent;
 import org.komodo.spi.KException;
+import org.komodo.spi.KObserver;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
 import org.komodo.spi.metadata.MetadataInstance;
+import org.komodo.spi.metadata.MetadataInstance.DeploymentCheck;
+import org.komodo.spi.query.QSColumn;
 import org.komodo.spi.query.QSResult;
+import org.komodo.spi.query.QSResultHandler;
+import org.komodo.spi.query.QSRow;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -124,6 +150,8 @@ import org.komodo.spi.runtime.TeiidPropertyDefinition;
 import org.komodo.spi.runtime.TeiidTranslator;
 import org.komodo.spi.runtime.TeiidVdb;
 import org.komodo.utils.ArgCheck;
+import org.komodo.utils.ChecksumUtils;
+import org.komodo.utils.DaemonThreadFactory;
 import org.komodo.utils.FileUtils;
 import org.komodo.utils.ModelType.Type;
 import org.komodo.utils.StringUtils;
@@ -131,6 +159,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import com.google.gson.stream.JsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -144,7 +173,6 @@ import io.swagger.annotations.ApiResponses;
 @Api( tags = {V1Constants.METADATA_SEGMENT} )
 public class KomodoMetadataService extends KomodoService {
 
-    private static final String TABLE_NAME = "TABLE_NAME"; //$NON-NLS-1$
     private static final String CATALOG = "Catalog"; //$NON-NLS-1$
     private static final String SCHEMA = "Schema"; //$NON-NLS-1$
 
@@ -173,10 +201,32 @@ public class KomodoMetadataService extends KomodoService {
     private final static String UNKNOWN_TRANSLATOR = "unknown"; //$NON-NLS-1$
 
     /**
-     * Time to wait after deploying/undeploying an artifact from the metadata instance
+     * The most time to wait for deploying/undeploying an artifact from the metadata instance to take effect
      */
     private final static int DEPLOYMENT_WAIT_TIME = 10000;
 
+    /**
+     * Maximum number of server VDBs exported concurrently when copying VDBs into the workspace
+     */
+    private final static int VDB_EXPORT_THREADS = 4;
+
+    /**
+     * Number of workspace VDBs updated in each transaction when refreshing their server status
+     */
+    private final static int VDB_UPDATE_BATCH_SIZE = 50;
+
+    /**
+     * Number of rows written between flushes when streaming query results
+     */
+    private final static int STREAM_ROWS_PER_FLUSH = 100;
+
+    /**
+     * System property giving the seconds the catalogs, schemas and table names of a jdbc connection are cached
+     */
+    public static final String JDBC_METADATA_CACHE_TTL_PROPERTY = "komodo.jdbcMetadataCacheTtlSeconds"; //$NON-NLS-1$
+
+    private final static int DEFAULT_JDBC_METADATA_CACHE_TTL = 300;
+
     private static final String[] PRIORITY_TEMPLATE_NAMES = {"connection-url", "user-name", "password", "port"};
 
     private static class TeiidPropertyDefinitionComparator implements Comparator<TeiidPropertyDefinition> {
@@ -237,6 +287,15 @@ public class KomodoMetadataService extends KomodoService {
 
     private TeiidOpenShiftClient openshiftClient;
 
+    /**
+     * Exports server VDBs for every request, so concurrent requests share {@link #VDB_EXPORT_THREADS} threads
+     */
+    private final ExecutorService vdbExportService = Executors.newFixedThreadPool(VDB_EXPORT_THREADS,
+                                                                                  new DaemonThreadFactory("komodo-vdb-export")); //$NON-NLS-1$
+
+    private final JdbcMetadataCache jdbcMetadataCache = new JdbcMetadataCache(
+        TimeUnit.SECONDS.toMillis(Integer.getInteger(JDBC_METADATA_CACHE_TTL_PROPERTY, DEFAULT_JDBC_METADATA_CACHE_TTL)));
+
     /**
      * @param engine
      *        the Komodo Engine (cannot be <code>null</code> and must be started)
@@ -251,6 +310,30 @@ public class KomodoMetadataService extends KomodoService {
         loadUrlContentTranslatorMap();
 
         this.openshiftClient = openshiftClient;
+
+        engine.addMetrics("jdbcMetadataCache", new Supplier<Map<String, Long>>() { //$NON-NLS-1$
+
+            @Override
+            public Map<String, Long> get() {
+                return jdbcMetadataCache.getStatistics();
+            }
+        });
+
+        engine.addObserver(new KObserver() {
+
+            @Override
+            public void eventOccurred(KEvent<?> event) {
+                if (event.getType() == KEvent.Type.ENGINE_SHUTDOWN) {
+                    vdbExportService.shutdownNow();
+                    jdbcMetadataCache.shutdown();
+                }
+            }
+
+            @Override
+            public void errorOccurred(Throwable e) {
+                // nothing to do
+            }
+        });
     }
 
     private synchronized MetadataInstance getMetadataInstance() throws KException {
@@ -323,6 +406,10 @@ public class KomodoMetadataService extends KomodoService {
         }
     }
 
+    private void awaitDeployment(DeploymentCheck check) throws KException {
+        getMetadataInstance().waitForDeployment(check, DEPLOYMENT_WAIT_TIME);
+    }
+
     private boolean hasDataSource(String dataSourceName) throws Exception {
         boolean hasDataSource = false;
 
@@ -577,18 +664,22 @@ public class KomodoMetadataService extends KomodoService {
             return notAcceptableMediaTypesBuilder().build();
 
         UnitOfWork uow = null;
+        Map<Future<String>, String> exportNames = Collections.emptyMap();
 
         try {
             // find VDB
             uow = createTransaction(principal, "vdbsFromTeiid", false); //$NON-NLS-1$
             Collection<TeiidVdb> serverVdbs = getMetadataInstance().getVdbs();
-            
-            boolean importError = false;
+
+            String title = RelationalMessages.getString(RelationalMessages.Info.VDB_TO_REPO_STATUS_TITLE);
+            KomodoStatusObject status = new KomodoStatusObject(title);
+            List<String> failedVdbs = new ArrayList<String>();
+
             if(serverVdbs.size() > 0) {
                 // Get current list of workspace Vdbs
                 final WorkspaceManager mgr = getWorkspaceManager(uow);
                 Vdb[] workspaceVdbs = mgr.findVdbs( uow );
-                List<String> workspaceVdbNames = new ArrayList<String>(workspaceVdbs.length);
+                Set<String> workspaceVdbNames = new HashSet<String>(workspaceVdbs.length);
                 
                 // Remove any service source vdbs that dont belong to user.  Compile list of remaining workspace vdbs
                 for(Vdb workspaceVdb : workspaceVdbs) {
@@ -604,39 +695,52 @@ public class KomodoMetadataService extends KomodoService {
                         workspaceVdbNames.add(workspaceVdb.getName(uow));
                     }
                 }
-                Repository repo = this.kengine.getDefaultRepository();
-                // Copy the server VDB into the workspace, if no workspace VDB with the same name
+
+                uow.commit();
+                awaitCallback(uow);
+
+                // Export the server VDBs missing from the workspace concurrently
+                final List<TeiidVdb> missingVdbs = new ArrayList<TeiidVdb>();
                 for(TeiidVdb serverVdb : serverVdbs) {
-                    if(!workspaceVdbNames.contains(serverVdb.getName())) {
-                        // Get server VDB content
-                        String vdbXml = serverVdb.export();
-                        InputStream vdbStream = new ByteArrayInputStream(vdbXml.getBytes());
-
-                        // Import to create a new Vdb in the workspace
-                        VdbImporter importer = new VdbImporter(repo);
-                        ImportOptions options = new ImportOptions();
-                        ImportMessages importMessages = new ImportMessages();
-                        importer.importVdb(uow, vdbStream, repo.komodoWorkspace(uow), options, importMessages);
-
-                        if(importMessages.hasError()) {
-                            LOGGER.debug("importVDB for '{0}' failed", serverVdb.getName()); //$NON-NLS-1$
-                            importError = true;
+                    if(!workspaceVdbNames.contains(serverVdb.getName()))
+                        missingVdbs.add(serverVdb);
+                }
+
+                if(! missingVdbs.isEmpty()) {
+                    CompletionService<String> exports = new ExecutorCompletionService<String>(this.vdbExportService);
+                    exportNames = submitExports(exports, missingVdbs);
+
+                    // Import each VDB in its own transaction as soon as its export is available
+                    Repository repo = this.kengine.getDefaultRepository();
+                    for(int i = 1; i <= missingVdbs.size(); ++i) {
+                        Future<String> export = exports.take();
+                        String vdbName = exportNames.get(export);
+                        String error = importServerVdb(principal, repo, vdbName, export);
+
+                        if(error == null) {
+                            LOGGER.debug("copyVdbsIntoRepo: imported '{0}' ({1} of {2})", vdbName, i, missingVdbs.size()); //$NON-NLS-1$
+                            status.addAttribute(vdbName, RelationalMessages.getString(RelationalMessages.Info.VDB_TO_REPO_SUCCESS));
+                        } else {
+                            LOGGER.debug("importVDB for '{0}' failed: {1}", vdbName, error); //$NON-NLS-1$
+                            failedVdbs.add(vdbName);
+                            status.addAttribute(vdbName, error);
                         }
                     }
                 }
+            } else {
+                uow.commit();
+                awaitCallback(uow);
             }
-            
-            String title = RelationalMessages.getString(RelationalMessages.Info.VDB_TO_REPO_STATUS_TITLE);
-            KomodoStatusObject status = new KomodoStatusObject(title);
-            if(!importError) 
+
+            if(failedVdbs.isEmpty()) 
                 status.addAttribute("copyVdbsToRepo", RelationalMessages.getString(RelationalMessages.Info.VDB_TO_REPO_SUCCESS)); //$NON-NLS-1$
             else
-                status.addAttribute("copyVdbsToRepo", RelationalMessages.getString(RelationalMessages.Error.VDB_TO_REPO_IMPORT_ERROR)); //$NON-NLS-1$
+                status.addAttribute("copyVdbsToRepo", RelationalMessages.getString(RelationalMessages.Error.VDB_TO_REPO_IMPORT_ERROR, failedVdbs)); //$NON-NLS-1$
 
-           return commit(uow, mediaTypes, status);
+           return commit(mediaTypes, status);
 
         } catch (final Exception e) {
-            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+            if ((uow != null) && uow.getState() == State.NOT_STARTED) {
                 uow.rollback();
             }
 
@@ -645,23 +749,103 @@ public class KomodoMetadataService extends KomodoService {
             }
 
             return createErrorResponseWithForbidden(mediaTypes, e, RelationalMessages.Error.VDB_TO_REPO_IMPORT_ERROR);
+        } finally {
+            cancelExports(exportNames);
+        }
+    }
+
+    /*
+     * Submits the export of each server VDB. The returned map names the VDB of each pending export.
+     */
+    private Map<Future<String>, String> submitExports(CompletionService<String> exports, Collection<TeiidVdb> serverVdbs) {
+        Map<Future<String>, String> exportNames = new HashMap<Future<String>, String>();
+
+        for(final TeiidVdb serverVdb : serverVdbs) {
+            Callable<String> export = new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return serverVdb.export();
+                }
+            };
+            exportNames.put(exports.submit(export), serverVdb.getName());
+        }
+
+        return exportNames;
+    }
+
+    /*
+     * Cancels the exports still pending when a request ends early
+     */
+    private static void cancelExports(Map<Future<String>, String> exportNames) {
+        for (Future<String> export : exportNames.keySet()) {
+            export.cancel(true);
+        }
+    }
+
+    /*
+     * Checksum recorded on a workspace VDB imported from the server
+     */
+    private static String checksum(String vdbXml) {
+        return Long.toString(ChecksumUtils.computeChecksum(vdbXml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /*
+     * Imports an exported server VDB into the workspace in its own transaction, replacing any
+     * existing workspace VDB of the same name, and records the checksum of the exported content.
+     * Returns null if successful, otherwise a description of the failure.
+     */
+    private String importServerVdb(final SecurityPrincipal principal, final Repository repo, final String vdbName,
+                                   final Future<String> export) {
+        UnitOfWork uow = null;
+
+        try {
+            String vdbXml = export.get();
+
+            uow = createTransaction(principal, "vdbFromTeiid-" + vdbName, false); //$NON-NLS-1$
+
+            // Import to create a new Vdb in the workspace
+            VdbImporter importer = new VdbImporter(repo);
+            ImportOptions options = new ImportOptions();
+            ImportMessages importMessages = new ImportMessages();
+            importer.importVdb(uow, new ByteArrayInputStream(vdbXml.getBytes(StandardCharsets.UTF_8)), repo.komodoWorkspace(uow), options, importMessages);
+
+            if(importMessages.hasError()) {
+                uow.rollback();
+                return importMessages.errorMessagesToString();
+            }
+
+            Vdb vdb = findVdb(uow, options.getOption(OptionKeys.NAME).toString());
+            if (vdb != null)
+                vdb.setProperty(uow, DSB_PROP_TEIID_CHECKSUM, checksum(vdbXml));
+
+            uow.commit();
+            awaitCallback(uow);
+            return null;
+        } catch (final Exception e) {
+            if ((uow != null) && uow.getState() == State.NOT_STARTED) {
+                uow.rollback();
+            }
+
+            Throwable cause = (e instanceof ExecutionException && e.getCause() != null) ? e.getCause() : e;
+            return cause.getLocalizedMessage();
         }
     }
     
     /**
-     * Update workspace VDBs with latest Teiid status.
+     * Update workspace VDBs with latest Teiid status. Workspace VDBs previously copied from the server are
+     * re-imported if their server content has changed, and deleted if they are no longer on the server.
      * @param headers
      *        the request headers (never <code>null</code>)
      * @param uriInfo
      *        the request URI information (never <code>null</code>)
-     * @return a JSON representation of the new datasource (never <code>null</code>)
+     * @return a JSON representation of the changed, removed and unchanged VDBs (never <code>null</code>)
      * @throws KomodoRestException
-     *         if there is an error creating the DataSource
+     *         if there is an error updating the VDBs
      */
     @PUT
     @Path( V1Constants.VDBS_SEGMENT + StringConstants.FORWARD_SLASH + V1Constants.VDBS_FROM_TEIID )
     @Produces( MediaType.APPLICATION_JSON )
-    @ApiOperation(value = "Update workspace VDBs with teiid status")
+    @ApiOperation(value = "Update workspace VDBs with teiid status, re-importing changed VDBs and deleting removed ones")
     @ApiResponses(value = {
         @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
         @ApiResponse(code = 403, message = "An error has occurred.")
@@ -678,31 +862,116 @@ public class KomodoMetadataService extends KomodoService {
             return notAcceptableMediaTypesBuilder().build();
 
         UnitOfWork uow = null;
+        Map<Future<String>, String> exportNames = Collections.emptyMap();
 
         try {
-            // Goes directly to the server to get vdb status
-            uow = createTransaction(principal, "vdbUpdateFromTeiid", false); //$NON-NLS-1$
-            
-            // Get list of Teiid VDBs directly from the server
+            // Get list of Teiid VDBs directly from the server, indexed by name
             Collection<TeiidVdb> teiidVdbs = getMetadataInstance().getVdbs();
+            Map<String, TeiidVdb> teiidVdbsByName = new HashMap<String, TeiidVdb>(teiidVdbs.size());
+            for( TeiidVdb teiidVdb : teiidVdbs) {
+                teiidVdbsByName.put(teiidVdb.getName(), teiidVdb);
+            }
             
-            // Get list of workspace VDBs
+            // Get list of workspace VDBs, noting the checksums of those imported from the server
+            uow = createTransaction(principal, "vdbUpdateFromTeiid", true); //$NON-NLS-1$
             WorkspaceManager wsMgr = getWorkspaceManager(uow);
             Vdb[] workspaceVdbs = wsMgr.findVdbs( uow );
-            
-            // Set status properties on the workspace VDBs, based on the matching Teiid VDB.
+            Map<String, String> workspaceVdbPaths = new LinkedHashMap<String, String>(workspaceVdbs.length);
+            Map<String, String> importedChecksums = new HashMap<String, String>();
             for( Vdb wkspVdb : workspaceVdbs) {
-                updateVdbProperties(uow, wkspVdb, teiidVdbs);
+                String vdbName = wkspVdb.getName(uow);
+                workspaceVdbPaths.put(vdbName, wkspVdb.getAbsolutePath());
+
+                if (wkspVdb.hasProperty(uow, DSB_PROP_TEIID_CHECKSUM))
+                    importedChecksums.put(vdbName, wkspVdb.getProperty(uow, DSB_PROP_TEIID_CHECKSUM).getStringValue(uow));
             }
-            
+            uow.commit();
+            awaitCallback(uow);
+
             String title = RelationalMessages.getString(RelationalMessages.Info.VDB_TO_REPO_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
-            status.addAttribute("success", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+            Repository repo = this.kengine.getDefaultRepository();
 
-           return commit(uow, mediaTypes, status);
+            // Delete imported VDBs that are no longer on the server
+            List<String> removedVdbs = new ArrayList<String>();
+            List<TeiidVdb> importedVdbs = new ArrayList<TeiidVdb>();
+            for (String vdbName : importedChecksums.keySet()) {
+                TeiidVdb teiidVdb = teiidVdbsByName.get(vdbName);
+                if (teiidVdb == null)
+                    removedVdbs.add(vdbName);
+                else
+                    importedVdbs.add(teiidVdb);
+            }
+
+            if (! removedVdbs.isEmpty()) {
+                uow = createTransaction(principal, "vdbRemoveFromTeiid", false); //$NON-NLS-1$
+                for (String vdbName : removedVdbs) {
+                    getWorkspaceManager(uow).delete(uow, new VdbImpl(uow, repo, workspaceVdbPaths.remove(vdbName)));
+                }
+                uow.commit();
+                awaitCallback(uow);
+            }
+
+            // Re-import only the imported VDBs whose server content no longer matches the recorded checksum
+            List<String> changedVdbs = new ArrayList<String>();
+            List<String> unchangedVdbs = new ArrayList<String>();
+            List<String> failedVdbs = new ArrayList<String>();
+            if (! importedVdbs.isEmpty()) {
+                CompletionService<String> exports = new ExecutorCompletionService<String>(this.vdbExportService);
+                exportNames = submitExports(exports, importedVdbs);
+
+                for (int i = 0; i < importedVdbs.size(); ++i) {
+                    Future<String> export = exports.take();
+                    String vdbName = exportNames.get(export);
+                    String error = null;
+
+                    try {
+                        if (checksum(export.get()).equals(importedChecksums.get(vdbName))) {
+                            unchangedVdbs.add(vdbName);
+                            continue;
+                        }
+
+                        error = importServerVdb(principal, repo, vdbName, export);
+                    } catch (ExecutionException ex) {
+                        error = ex.getCause() != null ? ex.getCause().getLocalizedMessage() : ex.getLocalizedMessage();
+                    }
+
+                    if (error == null) {
+                        changedVdbs.add(vdbName);
+                    } else {
+                        LOGGER.debug("updateWorkspaceVdbsFromTeiid: re-import of '{0}' failed: {1}", vdbName, error); //$NON-NLS-1$
+                        failedVdbs.add(vdbName);
+                        status.addAttribute(vdbName, error);
+                    }
+                }
+            }
+
+            // Set status properties on the workspace VDBs, based on the matching Teiid VDB.
+            // Updates are committed in bounded batches rather than in one transaction holding every VDB.
+            List<String> vdbPaths = new ArrayList<String>(workspaceVdbPaths.values());
+            for (int start = 0; start < vdbPaths.size(); start += VDB_UPDATE_BATCH_SIZE) {
+                List<String> batch = vdbPaths.subList(start, Math.min(start + VDB_UPDATE_BATCH_SIZE, vdbPaths.size()));
+                uow = createTransaction(principal, "vdbUpdateFromTeiid-" + start, false); //$NON-NLS-1$
+
+                for( String vdbPath : batch) {
+                    Vdb wkspVdb = new VdbImpl(uow, repo, vdbPath);
+                    updateVdbProperties(uow, wkspVdb, teiidVdbsByName.get(wkspVdb.getName(uow)));
+                }
+
+                uow.commit();
+                awaitCallback(uow);
+                LOGGER.debug("updateWorkspaceVdbsFromTeiid: updated {0} of {1} vdbs", start + batch.size(), vdbPaths.size()); //$NON-NLS-1$
+            }
+
+            status.addAttribute("success", Boolean.toString(failedVdbs.isEmpty())); //$NON-NLS-1$
+            status.addAttribute("changed", StringUtils.toCommaSeparatedList(changedVdbs.toArray())); //$NON-NLS-1$
+            status.addAttribute("removed", StringUtils.toCommaSeparatedList(removedVdbs.toArray())); //$NON-NLS-1$
+            status.addAttribute("unchanged", StringUtils.toCommaSeparatedList(unchangedVdbs.toArray())); //$NON-NLS-1$
+
+           return commit(mediaTypes, status);
 
         } catch (final Exception e) {
-            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+            if ((uow != null) && uow.getState() == State.NOT_STARTED) {
                 uow.rollback();
             }
 
@@ -711,23 +980,15 @@ public class KomodoMetadataService extends KomodoService {
             }
 
             return createErrorResponseWithForbidden(mediaTypes, e, RelationalMessages.Error.VDB_TO_REPO_IMPORT_ERROR);
+        } finally {
+            cancelExports(exportNames);
         }
     }
     
     /*
-     * Updates workspace vdb properties based on the corresponding teiid VDB state
+     * Updates workspace vdb properties based on the corresponding teiid VDB state (null if not deployed)
      */
-    private void updateVdbProperties(final UnitOfWork uow, Vdb workspaceVdb, Collection<TeiidVdb> teiidVdbs) throws KException {
-        // Find server VDB which corresponds to the workspace VDB
-        TeiidVdb serverVdbMatch = null;
-        String wkspVdbName = workspaceVdb.getName(uow);
-        for( TeiidVdb teiidVdb : teiidVdbs) {
-            if(teiidVdb.getName().equals(wkspVdbName)) {
-                serverVdbMatch = teiidVdb;
-                break;
-            }
-        }
-        
+    private void updateVdbProperties(final UnitOfWork uow, Vdb workspaceVdb, TeiidVdb serverVdbMatch) throws KException {
         // Update workspace VDB properties based on server status
         String status = RelationalMessages.getString(RelationalMessages.Info.VDB_STATUS_NEW);
         String statusMessage = RelationalMessages.getString(RelationalMessages.Info.VDB_STATUS_MSG_NEW);
@@ -970,7 +1231,13 @@ public class KomodoMetadataService extends KomodoService {
             getMetadataInstance().undeployDynamicVdb(vdbName);
 
             // Await the undeployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            awaitDeployment(new DeploymentCheck() {
+
+                @Override
+                public boolean isComplete() throws Exception {
+                    return ! hasDynamicVdb(vdbName);
+                }
+            });
 
             String title = RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -1044,9 +1311,16 @@ public class KomodoMetadataService extends KomodoService {
             }
 
             getMetadataInstance().deleteDataSource(connectionName);
+            jdbcMetadataCache.invalidate(connectionName);
 
             // Await the undeployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            awaitDeployment(new DeploymentCheck() {
+
+                @Override
+                public boolean isComplete() throws Exception {
+                    return ! hasDataSource(connectionName);
+                }
+            });
 
             if (! hasDataSource(connectionName)) {
                 status.addAttribute(connectionName,
@@ -1652,7 +1926,14 @@ public class KomodoMetadataService extends KomodoService {
             getMetadataInstance().deployDataSourceDriver(driverName, driverFile);
 
             // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            final String deployedDriverName = driverName;
+            awaitDeployment(new DeploymentCheck() {
+
+                @Override
+                public boolean isComplete() throws Exception {
+                    return hasDriver(deployedDriverName);
+                }
+            });
 
             String title = RelationalMessages.getString(RelationalMessages.Info.DRIVER_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -1722,7 +2003,13 @@ public class KomodoMetadataService extends KomodoService {
             getMetadataInstance().undeployDataSourceDriver(driverName);
 
             // Await the undeployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            awaitDeployment(new DeploymentCheck() {
+
+                @Override
+                public boolean isComplete() throws Exception {
+                    return ! hasDriver(driverName);
+                }
+            });
 
             String title = RelationalMessages.getString(RelationalMessages.Info.DRIVER_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -1839,6 +2126,103 @@ public class KomodoMetadataService extends KomodoService {
         }
    }
     
+    @SuppressWarnings( "nls" )
+    private KomodoStatusObject createDeploymentStatus(final String dataserviceName,
+                                                      final DeployStatus deployStatus,
+                                                      final boolean done) {
+        String title = RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_DEPLOYMENT_STATUS_TITLE);
+        KomodoStatusObject status = new KomodoStatusObject(title);
+
+        List<String> progressMessages = deployStatus.getProgressMessages();
+        for (int i = 0; i < progressMessages.size(); ++i) {
+            status.addAttribute("ProgressMessage" + (i + 1), progressMessages.get(i));
+        }
+
+        if (done && deployStatus.ok()) {
+            status.addAttribute("deploymentSuccess", Boolean.TRUE.toString());
+            status.addAttribute(dataserviceName,
+                                RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_SUCCESSFULLY_DEPLOYED));
+            return status;
+        }
+
+        if (done) {
+            status.addAttribute("deploymentSuccess", Boolean.FALSE.toString());
+        }
+
+        List<String> errorMessages = deployStatus.getErrorMessages();
+        for (int i = 0; i < errorMessages.size(); ++i) {
+            status.addAttribute("ErrorMessage" + (i + 1), errorMessages.get(i));
+        }
+
+        if (done) {
+            status.addAttribute(dataserviceName,
+                                RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_DEPLOYED_WITH_ERRORS));
+        }
+
+        return status;
+    }
+
+    @SuppressWarnings( "nls" )
+    private KomodoStatusObject createDeploymentStatus(final DeployJob job) {
+        KomodoStatusObject status = createDeploymentStatus(job.getName(), job.getStatus(), job.isDone());
+        status.addAttribute("jobId", job.getId());
+        status.addAttribute("deploymentState", job.getState().name());
+        return status;
+    }
+
+    /**
+     * Gets the status of a data service deployment running in the background
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @param jobId
+     *        the id of the deployment job (cannot be empty)
+     * @return a JSON representation of the deployment status (never <code>null</code>)
+     * @throws KomodoRestException
+     *         if there is an error obtaining the status
+     */
+    @GET
+    @Path( V1Constants.DATA_SERVICE_SEGMENT + StringConstants.FORWARD_SLASH +
+           V1Constants.DEPLOYMENT_SEGMENT + StringConstants.FORWARD_SLASH +
+           V1Constants.DEPLOYMENT_JOB_PLACEHOLDER )
+    @Produces( MediaType.APPLICATION_JSON )
+    @ApiOperation(value = "Get the status of a data service deployment")
+    @ApiResponses(value = {
+        @ApiResponse(code = 404, message = "No deployment could be found with id"),
+        @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
+        @ApiResponse(code = 403, message = "An error has occurred.")
+    })
+    public Response getDataserviceDeployment( final @Context HttpHeaders headers,
+                                              final @Context UriInfo uriInfo,
+                                              @ApiParam(value = "Id of the deployment job", required = true)
+                                              final @PathParam( "jobId" ) String jobId) throws KomodoRestException {
+
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+        if (! isAcceptable(mediaTypes, MediaType.APPLICATION_JSON_TYPE))
+            return notAcceptableMediaTypesBuilder().build();
+
+        try {
+            DeployJob job = DataserviceConveyor.getDeployJob(jobId);
+            if (job == null) {
+                return commit(mediaTypes, new ResourceNotFound(uriInfo.getRequestUri().toString(),
+                                                               Messages.getString(GET_OPERATION_NAME)));
+            }
+
+            return commit(mediaTypes, createDeploymentStatus(job));
+        } catch (final Exception e) {
+            if (e instanceof KomodoRestException) {
+                throw (KomodoRestException)e;
+            }
+
+            return createErrorResponse(Status.FORBIDDEN, mediaTypes, e, RelationalMessages.Error.METADATA_SERVICE_DEPLOY_DATA_SERVICE_ERROR);
+        }
+    }
+
     /**
      * Adds (deploys) a Dataservice to the server
      * @param headers
@@ -1847,6 +2231,8 @@ public class KomodoMetadataService extends KomodoService {
      *        the request URI information (never <code>null</code>)
      * @param pathAttribute
      *        the path (never <code>null</code>)
+     * @param async
+     *        <code>true</code> if the deployment should run in the background and its job status be returned straight away
      * @return a JSON representation of the status (never <code>null</code>)
      * @throws KomodoRestException
      *         if there is an error adding the Dataservice
@@ -1873,7 +2259,9 @@ public class KomodoMetadataService extends KomodoService {
                                                      CLOSE_PRE_TAG,
                                              required = true
                                    )
-                                   final String pathAttribute)
+                                   final String pathAttribute,
+                                   @ApiParam(value = "Deploy in the background and return the deployment job status")
+                                   @QueryParam(V1Constants.ASYNC_PARAMETER) final boolean async)
                                    throws KomodoRestException {
 
         SecurityPrincipal principal = checkSecurityContext(headers);
@@ -1920,33 +2308,13 @@ public class KomodoMetadataService extends KomodoService {
             //
             // Deploy the data service
             //
-            DeployStatus deployStatus = dataService.deploy(uow);
-
-            // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
-
-            String title = RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_DEPLOYMENT_STATUS_TITLE);
-            KomodoStatusObject status = new KomodoStatusObject(title);
-
-            List<String> progressMessages = deployStatus.getProgressMessages();
-            for (int i = 0; i < progressMessages.size(); ++i) {
-                status.addAttribute("ProgressMessage" + (i + 1), progressMessages.get(i));
+            if (async) {
+                DeployJob job = dataService.startDeploy(uow);
+                return commit(uow, mediaTypes, createDeploymentStatus(job));
             }
 
-            if (deployStatus.ok()) {
-                status.addAttribute("deploymentSuccess", Boolean.TRUE.toString());
-                status.addAttribute(dataService.getName(uow),
-                                    RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_SUCCESSFULLY_DEPLOYED));
-            } else {
-                status.addAttribute("deploymentSuccess", Boolean.FALSE.toString());
-                List<String> errorMessages = deployStatus.getErrorMessages();
-                for (int i = 0; i < errorMessages.size(); ++i) {
-                    status.addAttribute("ErrorMessage" + (i + 1), errorMessages.get(i));
-                }
-
-                status.addAttribute(dataService.getName(uow),
-                                    RelationalMessages.getString(RelationalMessages.Info.DATA_SERVICE_DEPLOYED_WITH_ERRORS));
-            }
+            DeployStatus deployStatus = dataService.deploy(uow);
+            KomodoStatusObject status = createDeploymentStatus(dataService.getName(uow), deployStatus, true);
 
            return commit(uow, mediaTypes, status);
 
@@ -2041,9 +2409,19 @@ public class KomodoMetadataService extends KomodoService {
             // Deploy the connection
             //
             DeployStatus deployStatus = connection.deploy(uow);
+            final String connectionName = connection.getName(uow);
+            jdbcMetadataCache.invalidate(connectionName);
 
             // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
+            if (deployStatus.ok()) {
+                awaitDeployment(new DeploymentCheck() {
+
+                    @Override
+                    public boolean isComplete() throws Exception {
+                        return hasDataSource(connectionName);
+                    }
+                });
+            }
 
             String title = RelationalMessages.getString(RelationalMessages.Info.CONNECTION_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
@@ -2309,9 +2687,6 @@ public class KomodoMetadataService extends KomodoService {
             //
             DeployStatus deployStatus = vdb.deploy(uow);
 
-            // Await the deployment to end
-            Thread.sleep(DEPLOYMENT_WAIT_TIME);
-
             String title = RelationalMessages.getString(RelationalMessages.Info.VDB_DEPLOYMENT_STATUS_TITLE);
             KomodoStatusObject status = new KomodoStatusObject(title);
 
@@ -2402,7 +2777,8 @@ public class KomodoMetadataService extends KomodoService {
                                                      NBSP + "then the name of the service vdb is extracted and " +
                                                      NBSP + "replaces the data service)" + CLOSE_PRE_CMT + COMMA + BR +
                                                      NBSP + "limit: Add a limit on number of results to be returned" + COMMA + BR +
-                                                     NBSP + "offset: The index of the result to begin the results with" + BR +
+                                                     NBSP + "offset: The index of the result to begin the results with" + COMMA + BR +
+                                                     NBSP + "bypassCache: true to execute the query even if its results are cached" + BR +
                                                      CLOSE_BRACE +
                                                      CLOSE_PRE_TAG,
                                              required = true
@@ -2462,7 +2838,7 @@ public class KomodoMetadataService extends KomodoService {
             }
 
             LOGGER.debug("Establishing query service for query {0} on vdb {1}", query, vdbName);
-            QSResult result = getMetadataInstance().query(vdbName, query, kqa.getOffset(), kqa.getLimit());
+            QSResult result = getMetadataInstance().query(vdbName, query, kqa.getOffset(), kqa.getLimit(), !kqa.isBypassCache());
             RestQueryResult restResult = new RestQueryResult(result);
 
            return commit(uow, mediaTypes, restResult);
@@ -2480,6 +2856,170 @@ public class KomodoMetadataService extends KomodoService {
         }
     }
     
+    /**
+     * Query the teiid server, streaming the results as they are read
+     *
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @param queryAttribute
+     *        the query attribute (never <code>null</code>)
+     * @return newline delimited JSON where the first line holds the columns and each following line holds a row (never
+     *         <code>null</code>)
+     * @throws KomodoRestException
+     *         if there is an error getting results
+     */
+    @POST
+    @Path(V1Constants.QUERY_SEGMENT + StringConstants.FORWARD_SLASH + V1Constants.STREAM_SEGMENT)
+    @Produces( { V1Constants.APPLICATION_NDJSON } )
+    @Consumes ( { MediaType.APPLICATION_JSON } )
+    @ApiOperation(value = "Pass a query to the teiid server and stream the results as newline delimited json")
+    @ApiResponses(value = {
+        @ApiResponse(code = 403, message = "An error has occurred.")
+    })
+    public Response queryStream(final @Context HttpHeaders headers,
+                                final @Context UriInfo uriInfo,
+                                @ApiParam(
+                                          value = "JSON of the properties of the query, as for the query operation",
+                                          required = true
+                                )
+                                final String queryAttribute)
+                                throws KomodoRestException {
+
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+
+        //
+        // Error if there is no query attribute defined
+        //
+        final KomodoQueryAttribute kqa;
+        try {
+            kqa = KomodoJsonMarshaller.unmarshall(queryAttribute, KomodoQueryAttribute.class);
+            if (kqa.getQuery() == null) {
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_MISSING_QUERY);
+            }
+
+            if (kqa.getTarget() == null) {
+                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_MISSING_TARGET);
+            }
+        } catch (Exception ex) {
+            return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.METADATA_SERVICE_REQUEST_PARSING_ERROR);
+        }
+
+        UnitOfWork uow = null;
+
+        try {
+            uow = createTransaction(principal, "queryTeiidserviceStream", true); //$NON-NLS-1$
+            WorkspaceManager mgr = getWorkspaceManager(uow);
+            String target = kqa.getTarget();
+
+            String vdbName = extractServiceVdbName(uow, mgr, target);
+            if (vdbName == null) {
+                vdbName = target;
+            }
+
+            TeiidVdb vdb = getMetadataInstance().getVdb(vdbName);
+            if (vdb == null) {
+                return createErrorResponse(Status.FORBIDDEN, mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_TARGET_NOT_DEPLOYED);
+            }
+
+            //
+            // The workspace is no longer needed so finish with the transaction before streaming
+            //
+            Response response = commit(uow, mediaTypes);
+            if (response.getStatus() != Status.OK.getStatusCode())
+                return response;
+
+            final MetadataInstance metadataInstance = getMetadataInstance();
+            final String queryVdbName = vdbName;
+
+            LOGGER.debug("Establishing streaming query service for query {0} on vdb {1}", kqa.getQuery(), vdbName); //$NON-NLS-1$
+
+            //
+            // Each row is written as it is read, so a slow client slows the fetching
+            // of rows and only the rows of the current fetch are held in memory
+            //
+            StreamingOutput content = new StreamingOutput() {
+
+                private boolean lineStarted;
+
+                @Override
+                public void write(OutputStream output) throws IOException {
+                    final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                    final JsonWriter jsonWriter = new JsonWriter(writer);
+                    jsonWriter.setLenient(true); // one top-level value per line
+
+                    try {
+                        metadataInstance.query(queryVdbName, kqa.getQuery(), kqa.getOffset(), kqa.getLimit(), new QSResultHandler() {
+
+                            private int rows;
+
+                            @Override
+                            public void columns(List<QSColumn> columns) throws Exception {
+                                QSResult columnsOnly = new QSResult();
+                                for (QSColumn column : columns) {
+                                    columnsOnly.addColumn(column);
+                                }
+
+                                writeLine(new RestQueryResult(columnsOnly));
+                                writer.flush();
+                            }
+
+                            @Override
+                            public void row(QSRow row) throws Exception {
+                                writeLine(new RestQueryRow(row));
+
+                                // send the rows in chunks rather than one chunk per row
+                                if (++this.rows % STREAM_ROWS_PER_FLUSH == 0) {
+                                    writer.flush();
+                                }
+                            }
+
+                            private void writeLine(KRestEntity entity) throws IOException {
+                                lineStarted = true;
+                                KomodoJsonMarshaller.BUILDER.toJson(entity, entity.getClass(), jsonWriter);
+                                writer.write(NEW_LINE);
+                                lineStarted = false;
+                            }
+                        });
+                    } catch (KException ex) {
+                        //
+                        // The status has already been sent so report the error as the last line,
+                        // ending any partly written line first so every line remains valid JSON
+                        //
+                        LOGGER.error("Streaming query on vdb {0} failed", ex, queryVdbName); //$NON-NLS-1$
+
+                        if (lineStarted) {
+                            writer.write(NEW_LINE);
+                        }
+
+                        KomodoJsonMarshaller.BUILDER.toJson(Collections.singletonMap(RestQueryResult.ERROR_LABEL, ex.getLocalizedMessage()), writer);
+                        writer.write(NEW_LINE);
+                    }
+
+                    writer.flush();
+                }
+            };
+
+            return Response.ok(content, V1Constants.APPLICATION_NDJSON).build();
+
+        } catch (final Exception e) {
+            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+                uow.rollback();
+            }
+
+            if (e instanceof KomodoRestException) {
+                throw (KomodoRestException)e;
+            }
+
+            return createErrorResponse(Status.FORBIDDEN, mediaTypes, RelationalMessages.Error.METADATA_SERVICE_QUERY_ERROR, e.getLocalizedMessage());
+        }
+    }
+
     private boolean isJdbc(TeiidDataSource dataSource) {
     	// TODO: re-evaluate for better approach.  (We will probably not need this method after schema retrieval changes)
     	String dsDriverName = dataSource.getPropertyValue(TeiidDataSource.DATASOURCE_DRIVERNAME);
@@ -2524,6 +3064,9 @@ public class KomodoMetadataService extends KomodoService {
                                                                NBSP + "catalogFilter: \"catalog filter\"" + COMMA + BR +
                                                                NBSP + "schemaFilter: \"schema filter\"" + COMMA + BR +
                                                                NBSP + "tableFilter: \"table filter\"" + COMMA + BR +
+                                                               NBSP + "offset: \"index of the first table name\"" + COMMA + BR +
+                                                               NBSP + "limit: \"maximum number of table names\"" + COMMA + BR +
+                                                               NBSP + "refresh: \"true to read the table names again\"" + BR +
                                                                CLOSE_BRACE +
                                                                CLOSE_PRE_TAG,
                                                        required = true
@@ -2536,7 +3079,6 @@ public class KomodoMetadataService extends KomodoService {
 
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
         UnitOfWork uow = null;
-        java.sql.Connection connection = null;
 
         // Get the attributes for fetching the tables
         KomodoDataSourceJdbcTableAttributes attr;
@@ -2564,12 +3106,8 @@ public class KomodoMetadataService extends KomodoService {
                 return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_NOT_JDBC_ERROR);
             }
 
-            // Get a connection to the jdbc source
-            try {
-                connection = getJdbcConnection(dataSource.getJndiName());
-            } catch (Exception ex) {
-                return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_CONNECTION_ERROR);
-            }
+            if (attr.isRefresh())
+                jdbcMetadataCache.invalidate(attr.getDataSourceName());
 
             // Get the table names
             KomodoStatusObject kso = new KomodoStatusObject();
@@ -2577,14 +3115,21 @@ public class KomodoMetadataService extends KomodoService {
                 String catFilter = attr.getCatalogFilter().isEmpty() ? null : attr.getCatalogFilter();
                 String schemaFilter = attr.getSchemaFilter().isEmpty() ? null : attr.getSchemaFilter();
                 String tableFilter = attr.getTableFilter();
-                List<String> tableNames = getTableNames(connection, catFilter, schemaFilter, tableFilter);
-
-                // Return a status object with the table names
-                for (int i = 0; i < tableNames.size(); ++i) {
+                List<String> tableNames = jdbcMetadataCache.getTableNames(attr.getDataSourceName(),
+                                                                          jdbcConnectionSource(dataSource),
+                                                                          catFilter, schemaFilter, tableFilter);
+
+                // Return a status object with the requested page of table names, numbered from the start of the list
+                int start = Math.min(Math.max(attr.getOffset(), 0), tableNames.size());
+                int end = attr.getLimit() < 0 ? tableNames.size() : Math.min(start + attr.getLimit(), tableNames.size());
+                for (int i = start; i < end; ++i) {
                     kso.addAttribute("Table" + (i + 1), tableNames.get(i)); //$NON-NLS-1$
                 }
+
+                if (attr.getLimit() >= 0)
+                    kso.addAttribute("tableCount", Integer.toString(tableNames.size())); //$NON-NLS-1$
             } catch (Exception ex) {
-                return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_TABLE_FETCH_ERROR);
+                return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_TABLE_FETCH_ERROR);
             }
 
             return commit(uow, mediaTypes, kso);
@@ -2598,13 +3143,6 @@ public class KomodoMetadataService extends KomodoService {
             }
 
             return createErrorResponseWithForbidden(mediaTypes, e, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_TABLES_ERROR);
-        } finally {
-            try {
-                if(connection!=null) {
-                    connection.close();
-                }
-            } catch (SQLException ex) {
-            }
         }
     }
 
@@ -2616,6 +3154,8 @@ public class KomodoMetadataService extends KomodoService {
      *        the request URI information (never <code>null</code>)
      * @param connectionName
      *        the id of the Connection being retrieved (cannot be empty)
+     * @param refresh
+     *        <code>true</code> if the catalogs and schemas are read from the source even when they are cached
      * @return the JDBC catalog names for the Connection (never <code>null</code>)
      * @throws KomodoRestException
      *         if there is a problem finding the specified workspace Connection 
@@ -2634,7 +3174,9 @@ public class KomodoMetadataService extends KomodoService {
     public Response getDatasourceJdbcCatalogSchemaInfo( final @Context HttpHeaders headers,
                                                         final @Context UriInfo uriInfo,
                                                         @ApiParam(value = "Id of the connection", required = true)
-                                                        final @PathParam( "connectionName" ) String connectionName) throws KomodoRestException {
+                                                        final @PathParam( "connectionName" ) String connectionName,
+                                                        @ApiParam(value = "Read the catalogs and schemas again instead of using the cached ones")
+                                                        @QueryParam(V1Constants.REFRESH_PARAMETER) final boolean refresh) throws KomodoRestException {
 
         SecurityPrincipal principal = checkSecurityContext(headers);
         if (principal.hasErrorResponse())
@@ -2642,7 +3184,6 @@ public class KomodoMetadataService extends KomodoService {
 
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
         UnitOfWork uow = null;
-        java.sql.Connection connection = null;
 
         try {
             uow = createTransaction(principal, "getConnectionJdbcTables", true); //$NON-NLS-1$
@@ -2657,15 +3198,11 @@ public class KomodoMetadataService extends KomodoService {
                 return createErrorResponseWithForbidden(mediaTypes, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_NOT_JDBC_ERROR);
             }
 
-            // Get a connection to the jdbc source
-            try {
-                connection = getJdbcConnection(dataSource.getJndiName());
-            } catch (Exception ex) {
-                return createErrorResponseWithForbidden(mediaTypes, ex, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_CONNECTION_ERROR);
-            }
+            if (refresh)
+                jdbcMetadataCache.invalidate(connectionName);
 
             // Generate the Catalog Schema Info
-            final List< RestMetadataDataSourceJdbcCatalogSchemaInfo > entities = generateCatalogSchemaInfos(connection);
+            final List< RestMetadataDataSourceJdbcCatalogSchemaInfo > entities = generateCatalogSchemaInfos(connectionName, dataSource);
 
             return commit(uow, mediaTypes, entities);
         } catch ( final Exception e ) {
@@ -2678,121 +3215,44 @@ public class KomodoMetadataService extends KomodoService {
             }
 
             return createErrorResponseWithForbidden(mediaTypes, e, RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_CATALOG_SCHEMA_ERROR);
-        } finally {
-            try {
-                if(connection!=null) {
-                    connection.close();
-                }
-            } catch (SQLException ex) {
-            }
         }
    }
 
     /*
-     * Generate the list of JDBC catalog schema info using the supplied connection
-     * @param connection the JDBC connection
+     * Opens connections to the jdbc source of the data source
+     */
+    private JdbcMetadataCache.ConnectionSource jdbcConnectionSource(final TeiidDataSource dataSource) {
+        return new JdbcMetadataCache.ConnectionSource() {
+
+            @Override
+            public java.sql.Connection open() throws Exception {
+                return getJdbcConnection(dataSource.getJndiName());
+            }
+        };
+    }
+
+    /*
+     * Generate the list of JDBC catalog schema info of the data source
+     * @param dataSourceName the data source name
+     * @param dataSource the data source
      * @return list of Catalog Schema info
      */
-    private List<RestMetadataDataSourceJdbcCatalogSchemaInfo> generateCatalogSchemaInfos(java.sql.Connection connection) throws KException {
-        ArgCheck.isNotNull(connection, "connection");
+    private List<RestMetadataDataSourceJdbcCatalogSchemaInfo> generateCatalogSchemaInfos(String dataSourceName, TeiidDataSource dataSource) throws KException {
+        ArgCheck.isNotNull(dataSource, "dataSource");
 
         List<RestMetadataDataSourceJdbcCatalogSchemaInfo> infos = new ArrayList<RestMetadataDataSourceJdbcCatalogSchemaInfo>();
         try {
-            DatabaseMetaData metaData = connection.getMetaData();
-            boolean supportsCatalogs = metaData.supportsCatalogsInTableDefinitions()
-                                       || metaData.supportsCatalogsInProcedureCalls()
-                                       || metaData.supportsCatalogsInDataManipulation();
-            boolean supportsSchemas = metaData.supportsSchemasInTableDefinitions()
-                                      || metaData.supportsSchemasInDataManipulation();
-
-            // DB supports catalogs
-            if (supportsCatalogs && supportsSchemas) {
-                ResultSet rs = connection.getMetaData().getCatalogs();
-
-                // Get all the catalogs
-                List<String> allCats = new ArrayList<String>();
-                while (rs.next()) {
-                    String catalog = rs.getString(1);
-                    allCats.add(catalog);
-                }
-                rs.close();
-
-                // Create mapping of catalog to schema list
-                Collections.sort(allCats, String.CASE_INSENSITIVE_ORDER);
-                Map<String, List<String>> catalogSchemaMap = new HashMap<String, List<String>>();
-                for (String catlg : allCats) {
-                    ResultSet rs2;
-                    try {
-                        rs2 = connection.getMetaData().getSchemas(catlg, null);
-                    } catch (Exception ex) {
-                        if (allCats.size() == 1) {
-                            try {
-                                rs2 = connection.getMetaData().getSchemas();
-                            } catch (Exception ex1) {
-                                continue;
-                            }
-                        } else {
-                            continue;
-                        }
-                    }
-                    List<String> schemaList = new ArrayList<String>();
-                    while (rs2.next()) {
-                        String schemaName = rs2.getString(1);
-                        schemaList.add(schemaName);
-                    }
-                    Collections.sort(schemaList, String.CASE_INSENSITIVE_ORDER);
-                    catalogSchemaMap.put(catlg, schemaList);
-                    rs2.close();
-                }
-
-                // Generate the infos
-                List<String> catNames = new ArrayList<String>(catalogSchemaMap.keySet());
-                Collections.sort(catNames, String.CASE_INSENSITIVE_ORDER);
-                for (String catName : catNames) {
-                    RestMetadataDataSourceJdbcCatalogSchemaInfo info = new RestMetadataDataSourceJdbcCatalogSchemaInfo();
-                    info.setItemName(catName);
-                    info.setItemType(CATALOG);
-                    info.setCatalogSchemaNames(catalogSchemaMap.get(catName));
-                    infos.add(info);
-                }
-            } else if (supportsCatalogs && !supportsSchemas) {
-                ResultSet resultSet = connection.getMetaData().getCatalogs();
-                // Get all the catalogs
-                List<String> allCats = new ArrayList<String>();
-                while (resultSet.next()) {
-                    String catalog = resultSet.getString(1);
-                    allCats.add(catalog);
-                }
-                resultSet.close();
-                Collections.sort(allCats, String.CASE_INSENSITIVE_ORDER);
-                // Create infos
-                for (String cat : allCats) {
-                    RestMetadataDataSourceJdbcCatalogSchemaInfo info = new RestMetadataDataSourceJdbcCatalogSchemaInfo();
-                    info.setItemName(cat);
-                    info.setItemType(CATALOG);
-                    infos.add(info);
-                }
-            } else if (supportsSchemas && !supportsCatalogs) {
-                ResultSet resultSet = connection.getMetaData().getSchemas();
-                // Get all the schemas
-                List<String> allSchemas = new ArrayList<String>();
-                while (resultSet.next()) {
-                    String schema = resultSet.getString(1);
-                    allSchemas.add(schema);
-                }
-                resultSet.close();
-
-                Collections.sort(allSchemas, String.CASE_INSENSITIVE_ORDER);
-                for (String sch : allSchemas) {
-                    RestMetadataDataSourceJdbcCatalogSchemaInfo info = new RestMetadataDataSourceJdbcCatalogSchemaInfo();
-                    info.setItemName(sch);
-                    info.setItemType(SCHEMA);
-                    infos.add(info);
-                }
-            }
-            else {
-                // Does not support either schemas or catalogues
-                throw new Exception(RelationalMessages.getString(RelationalMessages.Error.METADATA_SERVICE_GET_DATA_SOURCE_UNRECOGNISED_JDBC_SOURCE));
+            JdbcMetadataCache.CatalogSchemas catalogSchemas = jdbcMetadataCache.getCatalogSchemas(dataSourceName,
+                                                                                                  jdbcConnectionSource(dataSource));
+            String itemType = catalogSchemas.getKind() == JdbcMetadataCache.Kind.SCHEMAS ? SCHEMA : CATALOG;
+
+            for (Map.Entry<String, List<String>> item : catalogSchemas.getItems().entrySet()) {
+                RestMetadataDataSourceJdbcCatalogSchemaInfo info = new RestMetadataDataSourceJdbcCatalogSchemaInfo();
+                info.setItemName(item.getKey());
+                info.setItemType(itemType);
+                if (item.getValue() != null)
+                    info.setCatalogSchemaNames(new ArrayList<String>(item.getValue()));
+                infos.add(info);
             }
         } catch (Exception e) {
             throw new KException(e);
@@ -2924,44 +3384,6 @@ public class KomodoMetadataService extends KomodoService {
         }
     }
     
-    /*
-     * Get List of Tables using the supplied connection
-     * @param connection the JDBC connection
-     * @return the list of table names
-     */
-    private List<String> getTableNames(java.sql.Connection connection, String catalogName, String schemaName, String tableFilter) throws KException {
-        ArgCheck.isNotNull(connection, "connection");
-
-        // Get the list of Tables
-        List<String> tableNameList = new ArrayList<String>();
-        try {
-            ResultSet resultSet = connection.getMetaData().getTables(catalogName,
-                                                                     schemaName,
-                                                                     tableFilter,
-                                                                     new String[] {"DOCUMENT", "TABLE", "VIEW"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-            int columnCount = resultSet.getMetaData().getColumnCount();
-            while (resultSet.next()) {
-                String tableName = null;
-                for (int i = 1; i <= columnCount; ++i) {
-                    String colName = resultSet.getMetaData().getColumnName(i);
-                    String value = resultSet.getString(i);
-                    if (colName.equalsIgnoreCase(TABLE_NAME)) {
-                        tableName = value;
-                    }
-                    if (tableName != null) {
-                        break;
-                    }
-                }
-                tableNameList.add(tableName);
-            }
-            resultSet.close();
-        } catch (Exception e) {
-            throw new KException(e);
-        }
-
-        return tableNameList;
-    }
-
     private boolean isDataSource(String className) {
         if (className == null)
             return false;
@@ -3613,7 +4035,6 @@ public class KomodoMetadataService extends KomodoService {
             // Waits up to 10 seconds to see if the publishing returns (and probably
             // has failed!) then returns an indication that things are underway.
             //
-            ExecutorService threadService = Executors.newFixedThreadPool(1);
             Callable<BuildStatus> task = new Callable<BuildStatus>() {
                 @Override
                 public BuildStatus call() throws Exception {
@@ -3638,7 +4059,7 @@ public class KomodoMetadataService extends KomodoService {
                     }
                 }
             };
-            Future<BuildStatus> result = threadService.submit(task);
+            Future<BuildStatus> result = this.openshiftClient.schedulePublish(task);
 
             for (int i = 0; i < 2; ++i) {
                 if (result.isDone()) {
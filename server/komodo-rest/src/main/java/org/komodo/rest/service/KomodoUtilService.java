@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -163,6 +164,10 @@ public final class KomodoUtilService extends KomodoService {
             Vdb[] vdbs = getWorkspaceManager(uow).findVdbs(uow);
             repoStatus.addAttribute(REPO_VDB_TOTAL, Integer.toString(vdbs.length));
 
+            for (Entry<String, Long> metric : this.kengine.getMetrics().entrySet()) {
+                repoStatus.addAttribute(metric.getKey(), Long.toString(metric.getValue()));
+            }
+
         } catch (final Exception e) {
             if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
                 uow.rollback();
@@ -285,7 +290,7 @@ public final class KomodoUtilService extends KomodoService {
             }
         }
 
-        ResponseBuilder builder = Response.ok( KomodoJsonMarshaller.marshall(status, true), MediaType.APPLICATION_JSON );
+        ResponseBuilder builder = Response.ok( jsonOutput(status), MediaType.APPLICATION_JSON );
         return builder.build();
     }
 
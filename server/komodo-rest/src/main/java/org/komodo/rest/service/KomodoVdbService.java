@@ -43,6 +43,7 @@ import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GE
 import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_TABLES_ERROR;
 import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_TRANSLATORS_ERROR;
 import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_TRANSLATOR_ERROR;
+import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_VALIDATION_STATUS_ERROR;
 import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_VDBS_ERROR;
 import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_VDB_ERROR;
 import java.io.ByteArrayInputStream;
@@ -50,6 +51,7 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -60,6 +62,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -112,6 +115,7 @@ import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.repository.validation.Result;
 import org.komodo.utils.StringNameValidator;
 import org.komodo.utils.StringUtils;
 import org.komodo.spi.lexicon.vdb.VdbLexicon;
@@ -782,6 +786,11 @@ public final class KomodoVdbService extends KomodoService {
         if (principal.hasErrorResponse())
             return principal.getErrorResponse();
 
+        // answer polling clients without building any entities if nothing in the workspace has changed
+        final EntityTag entityTag = workspaceEntityTag(principal, uriInfo, MediaType.APPLICATION_JSON_TYPE);
+        if (isNotModified(headers, entityTag))
+            return Response.notModified(entityTag).build();
+
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
         UnitOfWork uow = null;
 
@@ -851,15 +860,16 @@ public final class KomodoVdbService extends KomodoService {
                 }
             }
 
-            final List< RestVdb > entities = new ArrayList< >();
+            final List< RestBasicEntity > entities = new ArrayList< >();
             int i = 0;
 
             KomodoProperties properties = new KomodoProperties();
             properties.addProperty(VDB_EXPORT_XML_PROPERTY, false);
+            addProjectionProperties(uriInfo, properties);
             for ( final Vdb vdb : vdbs ) {
                 if ( ( start == 0 ) || ( i >= start ) ) {
                     if ( ( size == ALL_AVAILABLE ) || ( entities.size() < size ) ) {
-                        RestVdb entity = entityFactory.create(vdb, uriInfo.getBaseUri(), uow, properties);
+                        RestBasicEntity entity = entityFactory.create(vdb, uriInfo.getBaseUri(), uow, properties);
                         entities.add(entity);
                         LOGGER.debug("getVdbs:VDB '{0}' entity was constructed", vdb.getName(uow)); //$NON-NLS-1$
                     } else {
@@ -871,7 +881,7 @@ public final class KomodoVdbService extends KomodoService {
             }
 
             // create response
-            return commit( uow, mediaTypes, entities );
+            return withEntityTag( commit( uow, mediaTypes, entities ), entityTag );
 
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
@@ -944,6 +954,82 @@ public final class KomodoVdbService extends KomodoService {
         }
     }
 
+    /**
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @param vdbName
+     *        the id of the VDB whose validation status is being retrieved (cannot be empty)
+     * @return a JSON document representing the validation problems last persisted for the VDB and its children (never
+     *         <code>null</code>)
+     * @throws KomodoRestException
+     *         if there is a problem finding the specified workspace VDB or constructing the JSON representation
+     */
+    @GET
+    @Path( V1Constants.VDB_PLACEHOLDER + StringConstants.FORWARD_SLASH +
+                V1Constants.VALIDATION_STATUS_SEGMENT )
+    @Produces( MediaType.APPLICATION_JSON )
+    @ApiOperation(value = "Find the validation status of the vdb as of its last committed change", response = KomodoStatusObject.class)
+    @ApiResponses(value = {
+        @ApiResponse(code = 404, message = "No vdb could be found with name"),
+        @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
+        @ApiResponse(code = 403, message = "An error has occurred.")
+    })
+    public Response getVdbValidationStatus( final @Context HttpHeaders headers,
+                                            final @Context UriInfo uriInfo,
+                                            @ApiParam(value = "Name of the Vdb", required = true)
+                                            final @PathParam( "vdbName" ) String vdbName) throws KomodoRestException {
+
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+        UnitOfWork uow = null;
+
+        try {
+            uow = createTransaction(principal, "getVdbValidationStatus", true ); //$NON-NLS-1$
+
+            Vdb vdb = findVdb(uow, vdbName);
+            if (vdb == null)
+                return commitNoVdbFound(uow, mediaTypes, vdbName);
+
+            // results are persisted in the background after each commit so no rules are evaluated here.
+            // Stale results are rebuilt in the background and reported as not yet validated until then.
+            Repository repo = this.kengine.getDefaultRepository();
+            Collection<Result> results = repo.getValidationManager().getCachedResults(uow, vdb);
+            String vdbPath = vdb.getAbsolutePath();
+
+            KomodoStatusObject kso = new KomodoStatusObject(RelationalMessages.getString(RelationalMessages.Info.VDB_VALIDATION_STATUS_TITLE));
+            if (results == null) {
+                kso.addAttribute(vdbName, RelationalMessages.getString(RelationalMessages.Info.VDB_VALIDATION_STATUS_NOT_VALIDATED));
+            } else if (results.isEmpty()) {
+                kso.addAttribute(vdbName, RelationalMessages.getString(RelationalMessages.Info.VDB_VALIDATION_STATUS_VALID));
+            } else {
+                for (Result result : results) {
+                    String subject = vdbName + result.getPath().substring(vdbPath.length())
+                                     + StringConstants.COLON + result.getRuleId();
+                    kso.addAttribute(subject, result.getLevel() + StringConstants.COLON + StringConstants.SPACE
+                                              + result.getMessage());
+                }
+            }
+
+            return commit( uow, mediaTypes, kso );
+
+        } catch ( final Exception e ) {
+            if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
+                uow.rollback();
+            }
+
+            if ( e instanceof KomodoRestException ) {
+                throw ( KomodoRestException )e;
+            }
+
+            return createErrorResponseWithForbidden(mediaTypes, e, VDB_SERVICE_GET_VALIDATION_STATUS_ERROR, vdbName);
+        }
+    }
+
     /**
      * @param headers
      *        the request headers (never <code>null</code>)
@@ -3591,15 +3677,11 @@ public final class KomodoVdbService extends KomodoService {
                 }
 
                 // name is the same as an existing connection
-                return Response.ok()
-                               .entity( RelationalMessages.getString( VDB_DATA_SOURCE_NAME_EXISTS ) )
-                               .build();
+                return nameExistsResponse( uow, vdbName, RelationalMessages.getString( VDB_DATA_SOURCE_NAME_EXISTS ) );
             }
 
             // name is the same as an existing VDB
-            return Response.ok()
-                           .entity( RelationalMessages.getString( VDB_NAME_EXISTS ) )
-                           .build();
+            return nameExistsResponse( uow, vdbName, RelationalMessages.getString( VDB_NAME_EXISTS ) );
         } catch ( final Exception e ) {
             if ( ( uow != null ) && ( uow.getState() != State.ROLLED_BACK ) ) {
                 uow.rollback();
@@ -33,12 +33,12 @@ public class BuildStatus {
     }
 
     protected String buildName;
-    protected String deploymentName;
+    protected volatile String deploymentName;
     protected String vdbName;
     protected String namespace;
-    protected long lastUpdated = 0L;
-    protected String statusMessage;
-    protected Status status = Status.NOTFOUND;
+    protected volatile long lastUpdated = 0L;
+    protected volatile String statusMessage;
+    protected volatile Status status = Status.NOTFOUND;
 
     protected PublishConfiguration publishConfiguration;
     
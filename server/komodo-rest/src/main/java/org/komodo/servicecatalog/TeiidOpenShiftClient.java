@@ -30,13 +30,19 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.jboss.shrinkwrap.api.GenericArchive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -65,6 +71,7 @@ import org.komodo.spi.logging.KLogger;
 import org.komodo.spi.repository.ApplicationProperties;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.runtime.ServiceCatalogDataSource;
+import org.komodo.utils.DaemonThreadFactory;
 import org.komodo.utils.KLog;
 import org.teiid.adminapi.AdminException;
 import org.teiid.core.util.ObjectConverterUtil;
@@ -114,8 +121,36 @@ public class TeiidOpenShiftClient implements StringConstants {
     private static String CONTENT_TYPE = " -H 'Content-Type: application/json' ";
     private static String MANAGEMENT_URL = "http://127.0.0.1:9990/management";
 
+    /**
+     * The system property that sets how many threads process the build and deployment events of published virtualizations.
+     */
+    public static final String MONITOR_THREADS_PROPERTY = "komodo.publishMonitorThreads";
+    private static final int DEFAULT_MONITOR_THREADS = 2;
+
+    private static final long BINDING_READY_TIMEOUT = TimeUnit.SECONDS.toMillis(20);
+    private static final long BINDING_INITIAL_BACKOFF = 250;
+    private static final long BINDING_MAX_BACKOFF = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * The system property that sets how many virtualizations can be published at the same time.
+     */
+    public static final String PUBLISH_THREADS_PROPERTY = "komodo.publishThreads";
+    private static final int DEFAULT_PUBLISH_THREADS = 4;
+    private static final int RESOURCE_THREADS = 8;
+
     private ConcurrentLinkedQueue<BuildStatus> workQueue = new ConcurrentLinkedQueue<>();
-    private boolean running = false;
+    private final ConcurrentHashMap<String, Boolean> publishing = new ConcurrentHashMap<>();
+    private final ExecutorService publishExecutor = Executors.newFixedThreadPool(
+            Integer.getInteger(PUBLISH_THREADS_PROPERTY, DEFAULT_PUBLISH_THREADS),
+            new DaemonThreadFactory("komodo-publish"));
+    private final ExecutorService resourceExecutor = Executors.newFixedThreadPool(RESOURCE_THREADS,
+            new DaemonThreadFactory("komodo-publish-resource"));
+    private final ExecutorService monitorExecutor = Executors.newFixedThreadPool(
+            Integer.getInteger(MONITOR_THREADS_PROPERTY, DEFAULT_MONITOR_THREADS),
+            new DaemonThreadFactory("komodo-publish-monitor"));
+    private OpenShiftClient monitorClient;
+    private Watch buildWatch;
+    private Watch deploymentWatch;
 
     private TeiidSwarmMetadataInstance metadata;
     private HashMap<String, DataSourceDefinition> sources = new HashMap<>();
@@ -232,27 +267,73 @@ public class TeiidOpenShiftClient implements StringConstants {
                 KLog.getLogger().debug("Created new Binding = " + binding);
             }
 
-            //TODO: need to come up async based operation
-            int i = 0;
-            while(!binding.getStatus().isReady()) {
-                Thread.sleep(5000);
-                i++;
-                binding = getServiceBinding(svc.getMetadata().getName());
-                if ((i > 3) || (binding == null)) {
-                    throw new KException("Created Service Binding is not Ready");
-                }
-            }
-            
+            binding = awaitServiceBinding(svc.getMetadata().getName(), binding);
+
             DefaultServiceCatalogDataSource scd = buildServiceCatalogDataSource(svc, binding);
-            Collection<String> dsNames = this.metadata.admin().getDataSourceNames();
-            if (!dsNames.contains(dsName)) {
+            if (!this.metadata.dataSourceExists(dsName)) {
                 createDataSource(dsName, scd);
             }
         } catch (Exception e) {
             throw handleError(e);
         }
     }
-    
+
+    /**
+     * The service catalog writes the binding's secret once the binding is ready, so the secret is watched and the binding is
+     * checked again whenever it changes. Should the watch not be available the binding is checked with an increasing delay.
+     */
+    ServiceBinding awaitServiceBinding(String serviceName, ServiceBinding binding)
+            throws IOException, InterruptedException, KException {
+        if (binding.getStatus().isReady()) {
+            return binding;
+        }
+
+        final Semaphore secretChanged = new Semaphore(0);
+        OpenShiftClient client = createOpenShiftClient();
+        Watch watch = null;
+        try {
+            try {
+                watch = client.secrets().inNamespace(ApplicationProperties.getNamespace())
+                        .withName(binding.getSpec().getSecretName())
+                        .watch(new Watcher<io.fabric8.kubernetes.api.model.Secret>() {
+                    @Override
+                    public void eventReceived(Action action, io.fabric8.kubernetes.api.model.Secret secret) {
+                        secretChanged.release();
+                    }
+                    @Override
+                    public void onClose(KubernetesClientException e) {
+                        // Ignore
+                    }
+                });
+            } catch (KubernetesClientException e) {
+                KLog.getLogger().debug("Could not watch the secret of the binding to " + serviceName, e);
+            }
+
+            long deadline = System.currentTimeMillis() + BINDING_READY_TIMEOUT;
+            long backoff = BINDING_INITIAL_BACKOFF;
+            while (!binding.getStatus().isReady()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new KException("Created Service Binding is not Ready");
+                }
+                if (secretChanged.tryAcquire(Math.min(backoff, remaining), TimeUnit.MILLISECONDS)) {
+                    secretChanged.drainPermits();
+                }
+                backoff = Math.min(backoff * 2, BINDING_MAX_BACKOFF);
+                binding = getServiceBinding(serviceName);
+                if (binding == null) {
+                    throw new KException("Created Service Binding is not Ready");
+                }
+            }
+            return binding;
+        } finally {
+            if (watch != null) {
+                watch.close();
+            }
+            client.close();
+        }
+    }
+
     private DecodedSecret getBindingSecrets(String secretName) throws IOException {
         Map<String, String> map = new TreeMap<>();
         Secret secret = this.scClient.getSecret(ApplicationProperties.getNamespace(), secretName);
@@ -313,7 +394,7 @@ public class TeiidOpenShiftClient implements StringConstants {
         return scd;
     }    
     
-    private ServiceBinding getServiceBinding(String serviceName) throws IOException {
+    ServiceBinding getServiceBinding(String serviceName) throws IOException {
         ServiceBindingList bindingList = this.scClient.getServiceBindings(ApplicationProperties.getNamespace());
         if (bindingList != null) {
             List<ServiceBinding> bindings = bindingList.getItems();
@@ -362,7 +443,7 @@ public class TeiidOpenShiftClient implements StringConstants {
         KLog.getLogger().debug("Creating the Datasource = "+ name + " of Type " + scd.getType());
 
         String driverName = null;
-        Set<String> templateNames = this.metadata.admin().getDataSourceTemplateNames();
+        Set<String> templateNames = this.metadata.getDataSourceTemplateNames();
         KLog.getLogger().debug("template names:"+templateNames);
         String dsType = scd.getDefinition().getType();
         for (String template : templateNames) {
@@ -379,25 +460,37 @@ public class TeiidOpenShiftClient implements StringConstants {
 
         Properties properties = scd.convertToDataSourceProperties();
         this.metadata.admin().createDataSource(name, driverName, properties);
+        this.metadata.invalidateDataSources();
     }
 
 
     private ImageStream createImageStream(OpenShiftClient client, String namespace, String vdbName) {
-        ImageStream is = client.imageStreams().inNamespace(namespace).createOrReplaceWithNew()
+        ImageStream is = client.imageStreams().inNamespace(namespace).withName(vdbName).get();
+        if (is != null) {
+            debug("Publishing (" + vdbName + ") - Reusing image stream");
+            return is;
+        }
+        is = client.imageStreams().inNamespace(namespace).createOrReplaceWithNew()
             .withNewMetadata().withName(vdbName).addToLabels("application", vdbName).endMetadata()
             .done();
         return is;
     }
 
-    private BuildConfig createBuildConfig(OpenShiftClient client, String namespace, String vdbName, ImageStream is,
+    private BuildConfig createBuildConfig(OpenShiftClient client, String namespace, String vdbName,
             PublishConfiguration publishConfiguration) throws KException {
-        String imageStreamName = is.getMetadata().getName()+":latest";
+        String imageStreamName = vdbName+":latest";
         ObjectReference fromImage = publishConfiguration.getBaseJDKImage(client);
         if (fromImage == null) {
             throw new KException("Build can not be started as there are no JDK base images availble. "
                     + "Make sure 'redhat-openjdk18-openshift' image stream is available");
         }
-        BuildConfig bc = client.buildConfigs().inNamespace(namespace).createOrReplaceWithNew()
+        BuildConfig bc = client.buildConfigs().inNamespace(namespace).withName(getBuildConfigName(vdbName)).get();
+        if (isReusable(bc, fromImage, imageStreamName)) {
+            // the vdb is sent with each build so only a new base image needs a new build config
+            debug("Publishing (" + vdbName + ") - Reusing build config");
+            return bc;
+        }
+        bc = client.buildConfigs().inNamespace(namespace).createOrReplaceWithNew()
             .withNewMetadata().withName(getBuildConfigName(vdbName))
                 .addToLabels("application", vdbName)
                 .addToLabels(MANAGED_BY, DAS)
@@ -420,6 +513,19 @@ public class TeiidOpenShiftClient implements StringConstants {
         return bc;
     }
 
+    private boolean isReusable(BuildConfig bc, ObjectReference fromImage, String imageStreamName) {
+        if ((bc == null) || (bc.getSpec() == null) || (bc.getSpec().getStrategy() == null)
+                || (bc.getSpec().getStrategy().getSourceStrategy() == null) || (bc.getSpec().getOutput() == null)) {
+            return false;
+        }
+        ObjectReference from = bc.getSpec().getStrategy().getSourceStrategy().getFrom();
+        ObjectReference to = bc.getSpec().getOutput().getTo();
+        return (from != null) && (to != null)
+                && Objects.equals(from.getName(), fromImage.getName())
+                && Objects.equals(from.getNamespace(), fromImage.getNamespace())
+                && imageStreamName.equals(to.getName());
+    }
+
     private String getBuildConfigName(String vdbName) {
         return vdbName+"-build-config";
     }
@@ -452,6 +558,7 @@ public class TeiidOpenShiftClient implements StringConstants {
         return client.deploymentConfigs().inNamespace(config.namespace).createOrReplaceWithNew()
             .withNewMetadata().withName(config.vdbName)
                 .addToLabels("application", config.vdbName)
+                .addToLabels(MANAGED_BY, DAS)
             .endMetadata()
             .withNewSpec()
               .withReplicas(1)
@@ -599,12 +706,32 @@ public class TeiidOpenShiftClient implements StringConstants {
     }
 
     private void createServices(final OpenShiftClient client, final String namespace,
-            final String vdbName) {
-        createService(client, namespace, vdbName, "odata", 8080);
-        createService(client, namespace, vdbName, "jdbc", 31000);
-        createService(client, namespace, vdbName, "odbc", 35432);
-        createRoute(client, namespace, vdbName, "odata");
+            final String vdbName) throws KException {
+        List<Future<?>> creates = new ArrayList<>();
+        creates.add(submitService(client, namespace, vdbName, "odata", 8080));
+        creates.add(submitService(client, namespace, vdbName, "jdbc", 31000));
+        creates.add(submitService(client, namespace, vdbName, "odbc", 35432));
+        creates.add(this.resourceExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                createRoute(client, namespace, vdbName, "odata");
+            }
+        }));
         //createRoute(client, namespace, vdbName, "jdbc");
+
+        for (Future<?> create : creates) {
+            await(create);
+        }
+    }
+
+    private Future<?> submitService(final OpenShiftClient client, final String namespace, final String vdbName,
+            final String type, final int port) {
+        return this.resourceExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                createService(client, namespace, vdbName, type, port);
+            }
+        });
     }
 
     private boolean isDeploymentInReadyState(DeploymentConfig dc) {
@@ -627,7 +754,7 @@ public class TeiidOpenShiftClient implements StringConstants {
         return null;
     }
 
-    private void addToQueue(final String namespace, final String vdbName, String buildName, String deployConfigName,
+    private BuildStatus addToQueue(final String namespace, final String vdbName, String buildName, String deployConfigName,
             PublishConfiguration publishConfig, Collection<EnvVar> envs) {
         BuildStatus work = new BuildStatus();
         work.buildName = buildName;
@@ -640,111 +767,316 @@ public class TeiidOpenShiftClient implements StringConstants {
         work.publishConfiguration = publishConfig;
         work.publishConfiguration.addEnvironmentVariables(envs);
         this.workQueue.add(work);
+        return work;
+    }
+
+    /**
+     * Queues the build and follows it through deployment until the virtualization is running or has failed.
+     *
+     * @return the queued work (never <code>null</code>)
+     */
+    BuildStatus monitorBuild(String namespace, String vdbName, String buildName, PublishConfiguration publishConfig,
+            Collection<EnvVar> envs) {
+        BuildStatus work = addToQueue(namespace, vdbName, buildName, null, publishConfig, envs);
+
+        debug("Publishing (" + vdbName + ") - Initiating work monitor if not already running");
+        try {
+            monitorWork();
+        } catch (KubernetesClientException e) {
+            finishWork(work);
+            throw e;
+        }
+        refreshWork(work);
+        return work;
+    }
+
+    /**
+     * @return a new client for the cluster virtualizations are published to (never <code>null</code>)
+     */
+    protected OpenShiftClient createOpenShiftClient() {
+        return createOpenShiftClient(new ConfigBuilder().build());
+    }
+
+    /**
+     * @param config the client configuration (cannot be <code>null</code>)
+     * @return a new client for the cluster virtualizations are published to, which the caller closes (never <code>null</code>)
+     */
+    protected OpenShiftClient createOpenShiftClient(Config config) {
+        KubernetesClient kubernetesClient = new DefaultKubernetesClient(config);
+        return kubernetesClient.adapt(OpenShiftClient.class);
     }
 
-    private void monitorWork() {
-        if (running) {
+    /**
+     * Starts watching the builds and deployment configs of published virtualizations, if not already watching. Events are
+     * handed to the monitor pool so the watch threads are never blocked by the calls made to advance the work.
+     */
+    private synchronized void monitorWork() {
+        if (this.buildWatch != null) {
             return;
         }
 
-        ExecutorService threadService = Executors.newFixedThreadPool(1);
-        threadService.execute(new Runnable() {
-        @Override
-        public void run() {
-            Config config = new ConfigBuilder().build();
-            KubernetesClient kubernetesClient = new DefaultKubernetesClient(config);
-            final OpenShiftClient client = kubernetesClient.adapt(OpenShiftClient.class);
+        if (this.monitorClient == null) {
+            this.monitorClient = createOpenShiftClient();
+        }
 
-            try {
-                // as along there are
-                running = true;
-                while(!workQueue.isEmpty()) {
-                    BuildStatus work = workQueue.peek();
-                    if (work == null) {
-                        debug("Publishing - No build in the build queue");
-                        break;
+        final OpenShiftClient client = this.monitorClient;
+        String namespace = ApplicationProperties.getNamespace();
+
+        this.buildWatch = client.builds().inNamespace(namespace).withLabel(MANAGED_BY, DAS).watch(new Watcher<Build>() {
+            @Override
+            public void eventReceived(final Action action, final Build build) {
+                final BuildStatus work = findWorkByBuild(build.getMetadata().getName());
+                if (work == null) {
+                    return;
+                }
+                monitorExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        buildChanged(client, work, (action == Action.DELETED) ? null : build);
                     }
+                });
+            }
+            @Override
+            public void onClose(KubernetesClientException e) {
+                watchClosed(e);
+            }
+        });
 
-                    // introduce some delay..
-                    if ((System.currentTimeMillis()-work.lastUpdated) < 3000) {
-                        try {
-                            Thread.sleep(3000);
-                        } catch (InterruptedException e) {
-                            break;
-                        }
+        try {
+            this.deploymentWatch = client.deploymentConfigs().inNamespace(namespace).withLabel(MANAGED_BY, DAS)
+                    .watch(new Watcher<DeploymentConfig>() {
+                @Override
+                public void eventReceived(final Action action, final DeploymentConfig dc) {
+                    final BuildStatus work = findWorkByDeployment(dc.getMetadata().getName());
+                    if ((work == null) || (action == Action.DELETED)) {
+                        return;
                     }
+                    monitorExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            deploymentChanged(client, work, dc);
+                        }
+                    });
+                }
+                @Override
+                public void onClose(KubernetesClientException e) {
+                    watchClosed(e);
+                }
+            });
+        } catch (KubernetesClientException e) {
+            this.buildWatch.close();
+            this.buildWatch = null;
+            throw e;
+        }
+    }
 
-                    Build build = client.builds().inNamespace(work.namespace).withName(work.buildName).get();
-                    if (build == null) {
-                        // build got deleted some how ignore..
-                        debug("Publishing " + work.vdbName + " - No build available for building");
-                        continue;
+    /**
+     * Reads the current state of the work, which catches any change made before the watches were opened.
+     */
+    private void refreshWork(final BuildStatus work) {
+        monitorExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final OpenShiftClient client;
+                synchronized (TeiidOpenShiftClient.this) {
+                    client = monitorClient;
+                }
+                if ((client == null) || !workQueue.contains(work)) {
+                    return;
+                }
+
+                try {
+                    if (work.deploymentName == null) {
+                        buildChanged(client, work,
+                                client.builds().inNamespace(work.namespace).withName(work.buildName).get());
+                    } else {
+                        deploymentChanged(client, work,
+                                client.deploymentConfigs().inNamespace(work.namespace).withName(work.deploymentName).get());
                     }
+                } catch (KubernetesClientException e) {
+                    KLog.getLogger().error("Publishing " + work.vdbName + " - Could not read the state of the work", e);
+                }
+            }
+        });
+    }
 
-                    boolean shouldReQueue = true;
-                    String lastStatus = build.getStatus().getPhase();
-                    if (Builds.isCompleted(lastStatus)) {
-                        debug("Publishing " + work.vdbName + " - Build completed. Preparing to deploy");
-
-                        work.statusMessage = "build completed, deployment started";
-                        if (work.deploymentName == null) {
-                            DeploymentConfig dc = createDeploymentConfig(client, work);
-                            work.deploymentName = dc.getMetadata().getName();
-                            work.status = Status.DEPLOYING;
-                            client.deploymentConfigs()
-                                .inNamespace(work.namespace)
-                                .withName(dc.getMetadata().getName())
-                                .deployLatest();
-                        } else {
-                            DeploymentConfig dc = client.deploymentConfigs().inNamespace(work.namespace)
-                                    .withName(work.deploymentName).get();
-                            if (isDeploymentInReadyState(dc)) {
-                                // it done now..
-                                debug("Publishing " + work.vdbName + " - Deployment completed");
-                                createServices(client, work.namespace, work.vdbName);
-                                work.status = Status.RUNNING;
-                                shouldReQueue = false;
-                            } else {
-                                debug("Publishing " + work.vdbName + " - Deployment invalid");
-                                DeploymentCondition cond = getDeploymentConfigStatus(dc);
-                                if (cond != null) {
-                                    work.statusMessage = cond.getMessage();
-                                } else {
-                                    work.statusMessage = "Available condition not found in the Deployment Config";
-                                }
-                            }
-                        }
-                    } else if (Builds.isCancelled(lastStatus)) {
-                        debug("Publishing " + work.vdbName + " - Build cancelled");
-                        // once failed do not queue the work again.
-                        shouldReQueue = false;
-                        work.status = Status.CANCELLED;
-                        work.statusMessage = build.getStatus().getMessage();
-                        KLog.getLogger().debug("Build cancelled :" + work.buildName + ". Reason "
-                                + build.getStatus().getLogSnippet());
-                    } else if (Builds.isFailed(lastStatus)) {
-                        debug("Publishing " + work.vdbName + " - Build failed");
-                        // once failed do not queue the work again.
-                        shouldReQueue = false;
-                        work.status = Status.FAILED;
-                        work.statusMessage = build.getStatus().getMessage();
-                        KLog.getLogger().debug("Build failed :" + work.buildName + ". Reason "
-                                + build.getStatus().getLogSnippet());
+    private void watchClosed(KubernetesClientException e) {
+        if (e == null) {
+            return; // closed by stopMonitoring
+        }
+
+        KLog.getLogger().warn("Publishing - Watch closed unexpectedly, reconnecting", e);
+        synchronized (this) {
+            closeWatches();
+        }
+
+        monitorExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (workQueue.isEmpty()) {
+                    return;
+                }
+                try {
+                    monitorWork();
+                    for (BuildStatus work : workQueue) {
+                        refreshWork(work);
                     }
+                } catch (KubernetesClientException ex) {
+                    KLog.getLogger().error("Publishing - Could not watch builds and deployments", ex);
+                }
+            }
+        });
+    }
 
-                    synchronized (work) {
-                        work.lastUpdated = System.currentTimeMillis();
-                        workQueue.poll(); // remove
-                        if (shouldReQueue) {
-                            workQueue.offer(work); // add at end
-                        }
+    private synchronized void stopMonitoringIfIdle() {
+        if (this.workQueue.isEmpty()) {
+            closeWatches();
+            closeMonitorClient();
+        }
+    }
+
+    private void closeMonitorClient() {
+        if (this.monitorClient != null) {
+            this.monitorClient.close();
+            this.monitorClient = null;
+        }
+    }
+
+    /**
+     * Stops monitoring the published virtualizations and the publishes that are running or waiting.
+     */
+    public void close() {
+        this.publishExecutor.shutdownNow();
+        this.resourceExecutor.shutdownNow();
+        this.monitorExecutor.shutdownNow();
+        synchronized (this) {
+            this.workQueue.clear();
+            closeWatches();
+            closeMonitorClient();
+        }
+    }
+
+    private void closeWatches() {
+        Watch build = this.buildWatch;
+        Watch deployment = this.deploymentWatch;
+        this.buildWatch = null;
+        this.deploymentWatch = null;
+        if (build != null) {
+            build.close();
+        }
+        if (deployment != null) {
+            deployment.close();
+        }
+    }
+
+    private BuildStatus findWorkByBuild(String buildName) {
+        for (BuildStatus work : this.workQueue) {
+            if (buildName.equals(work.buildName)) {
+                return work;
+            }
+        }
+        return null;
+    }
+
+    private BuildStatus findWorkByDeployment(String deploymentName) {
+        for (BuildStatus work : this.workQueue) {
+            if (deploymentName.equals(work.deploymentName)) {
+                return work;
+            }
+        }
+        return null;
+    }
+
+    private void finishWork(BuildStatus work) {
+        this.workQueue.remove(work);
+        stopMonitoringIfIdle();
+    }
+
+    private void buildChanged(final OpenShiftClient client, final BuildStatus work, final Build build) {
+        synchronized (work) {
+            if (!this.workQueue.contains(work) || (work.deploymentName != null)) {
+                return;
+            }
+
+            try {
+                if (build == null) {
+                    // build got deleted some how, nothing left to monitor
+                    debug("Publishing " + work.vdbName + " - No build available for building");
+                    finishWork(work);
+                    return;
+                }
+
+                String lastStatus = build.getStatus().getPhase();
+                if (Builds.isCompleted(lastStatus)) {
+                    debug("Publishing " + work.vdbName + " - Build completed. Preparing to deploy");
+
+                    work.statusMessage = "build completed, deployment started";
+                    DeploymentConfig dc = createDeploymentConfig(client, work);
+                    work.deploymentName = dc.getMetadata().getName();
+                    work.status = Status.DEPLOYING;
+                    client.deploymentConfigs()
+                        .inNamespace(work.namespace)
+                        .withName(dc.getMetadata().getName())
+                        .deployLatest();
+                    refreshWork(work);
+                } else if (Builds.isCancelled(lastStatus)) {
+                    debug("Publishing " + work.vdbName + " - Build cancelled");
+                    work.status = Status.CANCELLED;
+                    work.statusMessage = build.getStatus().getMessage();
+                    KLog.getLogger().debug("Build cancelled :" + work.buildName + ". Reason "
+                            + build.getStatus().getLogSnippet());
+                    finishWork(work);
+                } else if (Builds.isFailed(lastStatus)) {
+                    debug("Publishing " + work.vdbName + " - Build failed");
+                    work.status = Status.FAILED;
+                    work.statusMessage = build.getStatus().getMessage();
+                    KLog.getLogger().debug("Build failed :" + work.buildName + ". Reason "
+                            + build.getStatus().getLogSnippet());
+                    finishWork(work);
+                }
+            } catch (KubernetesClientException e) {
+                KLog.getLogger().error("Publishing " + work.vdbName + " - Could not deploy build " + work.buildName, e);
+                work.status = Status.FAILED;
+                work.statusMessage = e.getMessage();
+                finishWork(work);
+            } finally {
+                work.lastUpdated = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void deploymentChanged(final OpenShiftClient client, final BuildStatus work, final DeploymentConfig dc) {
+        synchronized (work) {
+            if (!this.workQueue.contains(work) || (dc == null) || (dc.getStatus() == null)
+                    || (dc.getStatus().getConditions() == null)) {
+                return;
+            }
+
+            try {
+                if (isDeploymentInReadyState(dc)) {
+                    // it done now..
+                    debug("Publishing " + work.vdbName + " - Deployment completed");
+                    createServices(client, work.namespace, work.vdbName);
+                    work.status = Status.RUNNING;
+                    finishWork(work);
+                } else {
+                    debug("Publishing " + work.vdbName + " - Deployment invalid");
+                    DeploymentCondition cond = getDeploymentConfigStatus(dc);
+                    if (cond != null) {
+                        work.statusMessage = cond.getMessage();
+                    } else {
+                        work.statusMessage = "Available condition not found in the Deployment Config";
                     }
                 }
+            } catch (KubernetesClientException | KException e) {
+                KLog.getLogger().error("Publishing " + work.vdbName + " - Could not create services", e);
+                work.status = Status.FAILED;
+                work.statusMessage = e.getMessage();
+                finishWork(work);
             } finally {
-                running = false;
-                kubernetesClient.close();
+                work.lastUpdated = System.currentTimeMillis();
             }
-        }});
+        }
     }
 
     /**
@@ -757,26 +1089,58 @@ public class TeiidOpenShiftClient implements StringConstants {
      * @throws KException if error occurs
      */
     public BuildStatus publishVirtualization(AuthToken authToken, UnitOfWork uow, PublishConfiguration publishConfig) throws KException {
-        String namespace = ApplicationProperties.getNamespace();
+        final String namespace = ApplicationProperties.getNamespace();
         Config config = new ConfigBuilder().build();
         OpenShiftConfig.wrap(config).setBuildTimeout(publishConfig.buildTimeoutInSeconds);
-        KubernetesClient kubernetesClient = new DefaultKubernetesClient(config);
-        final OpenShiftClient client = kubernetesClient.adapt(OpenShiftClient.class);
+        final OpenShiftClient client = createOpenShiftClient(config);
 
         Vdb vdb = publishConfig.vdb;
-        String vdbName = vdb.getVdbName(uow);
+        final String vdbName = vdb.getVdbName(uow);
+        if (this.publishing.putIfAbsent(vdbName, Boolean.TRUE) != null) {
+            debug("Publishing (" + vdbName + ") - Already being published");
+            client.close();
+            BuildStatus status = new BuildStatus();
+            status.vdbName = vdbName;
+            status.namespace = namespace;
+            status.status = Status.BUILDING;
+            status.statusMessage = "Publishing in progress";
+            status.lastUpdated = System.currentTimeMillis();
+            return status;
+        }
+
+        List<Future<?>> pending = new ArrayList<>();
         try {
             debug("Publishing (" + vdbName + ") - Start publishing of virtualization: " + vdbName);
 
             BuildStatus status = getVirtualizationStatus(vdbName);
             debug("Publishing (" + vdbName + ") - Virtualisation status: " + status.status);
 
-            if ((status.status == Status.BUILDING) || (status.status == Status.DEPLOYING)
-                    || (status.status == Status.RUNNING)) {
+            if ((status.status == Status.BUILDING) || (status.status == Status.DEPLOYING)) {
                 return status;
             } else {
                 logger.info("Deploying " + vdbName + "as Service");
 
+                // the image stream and build config only depend on the vdb name so they are
+                // created while the build contents are generated
+                final PublishConfiguration configuration = publishConfig;
+                debug("Publishing (" + vdbName + ") - Creating image stream");
+                Future<ImageStream> isFuture = this.resourceExecutor.submit(new Callable<ImageStream>() {
+                    @Override
+                    public ImageStream call() {
+                        return createImageStream(client, namespace, vdbName);
+                    }
+                });
+                pending.add(isFuture);
+
+                debug("Publishing (" + vdbName + ") - Creating build config");
+                Future<BuildConfig> bcFuture = this.resourceExecutor.submit(new Callable<BuildConfig>() {
+                    @Override
+                    public BuildConfig call() throws KException {
+                        return createBuildConfig(client, namespace, vdbName, configuration);
+                    }
+                });
+                pending.add(bcFuture);
+
                 // create build contents as tar file
 
                 debug("Publishing (" + vdbName + ") - Creating zip archive");
@@ -798,30 +1162,31 @@ public class TeiidOpenShiftClient implements StringConstants {
                 InputStream buildContents = archive.as(TarExporter.class).exportAsInputStream();                
                 debug("Publishing (" + vdbName + ") - Completed creating build contents construction");
 
-                debug("Publishing (" + vdbName + ") - Creating image stream");
                 // use the contents to invoke a binary build
-                ImageStream is = createImageStream(client, namespace, vdbName);
-
-                debug("Publishing (" + vdbName + ") - Creating build config");
-                BuildConfig buildConfig = createBuildConfig(client, namespace, vdbName, is, publishConfig);
+                await(isFuture);
+                BuildConfig buildConfig = await(bcFuture);
 
                 debug("Publishing (" + vdbName + ") - Creating build");
-                Build build = createBuild(client, namespace, buildConfig, buildContents);
+                final Build build = createBuild(client, namespace, buildConfig, buildContents);
                 KLog.getLogger().info("Build Started:"+build.getMetadata().getName()+" for VDB "+ vdbName + " to publish");
 
                 debug("Publishing (" + vdbName + ") - Awaiting pod readiness ...");
-                waitUntilPodIsReady(client, build.getMetadata().getName() + "-build", 20);
+                Future<?> podReady = this.resourceExecutor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        waitUntilPodIsReady(client, build.getMetadata().getName() + "-build", 20);
+                    }
+                });
+                pending.add(podReady);
 
                 debug("Publishing (" + vdbName + ") - Fetching environment variables for vdb data sources");
                 Collection<EnvVar> envs = getEnvironmentVariablesForVDBDataSources(authToken, uow, vdb, publishConfig);
+                await(podReady);
 
                 debug("Publishing (" + vdbName + ") - Adding to queue");
-                addToQueue(namespace, vdbName, build.getMetadata().getName(), null, publishConfig, envs);
+                monitorBuild(namespace, vdbName, build.getMetadata().getName(), publishConfig, envs);
             }
 
-            debug("Publishing (" + vdbName + ") - Initiating work monitor if not already running");
-            monitorWork();
-
             BuildStatus virtualizationStatus = getVirtualizationStatus(vdbName);
             debug("Published (" + vdbName + ") - Status of build + " + virtualizationStatus.buildName + 
                          COLON + SPACE + virtualizationStatus.status);
@@ -830,7 +1195,34 @@ public class TeiidOpenShiftClient implements StringConstants {
         } catch (KubernetesClientException | IOException e) {
             throw new KException(e);
         } finally {
-            kubernetesClient.close();
+            for (Future<?> future : pending) {
+                future.cancel(true);
+            }
+            this.publishing.remove(vdbName);
+            client.close();
+        }
+    }
+
+    /**
+     * Runs the publish on the publish pool. The number of publishes run at once is set by {@link #PUBLISH_THREADS_PROPERTY}
+     * and further publishes wait for a thread to become free.
+     *
+     * @param publish the publish, normally one calling {@link #publishVirtualization(AuthToken, UnitOfWork, PublishConfiguration)}
+     *        within its own transaction (cannot be <code>null</code>)
+     * @return the running publish (never <code>null</code>)
+     */
+    public Future<BuildStatus> schedulePublish(Callable<BuildStatus> publish) {
+        return this.publishExecutor.submit(publish);
+    }
+
+    private static <T> T await(Future<T> future) throws KException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KException(e);
+        } catch (ExecutionException e) {
+            throw handleError(e.getCause());
         }
     }
 
@@ -923,13 +1315,11 @@ public class TeiidOpenShiftClient implements StringConstants {
             }
         }
         String namespace = ApplicationProperties.getNamespace();
-        Config config = new ConfigBuilder().build();
-        KubernetesClient kubernetesClient = new DefaultKubernetesClient(config);
-        final OpenShiftClient client = kubernetesClient.adapt(OpenShiftClient.class);
+        final OpenShiftClient client = createOpenShiftClient();
         try {
             return getVDBSerice(vdbName, namespace, client);
         } finally {
-            kubernetesClient.close();
+            client.close();
         }
     }
 
@@ -980,9 +1370,7 @@ public class TeiidOpenShiftClient implements StringConstants {
 
     public List<BuildStatus> getVirtualizations(boolean includeInQueue){
         String namespace = ApplicationProperties.getNamespace();
-        Config config = new ConfigBuilder().build();
-        KubernetesClient kubernetesClient = new DefaultKubernetesClient(config);
-        final OpenShiftClient client = kubernetesClient.adapt(OpenShiftClient.class);
+        final OpenShiftClient client = createOpenShiftClient();
         ArrayList<BuildStatus> services = new ArrayList<>();
         try {
             BuildList bl = client.builds().inNamespace(namespace).withLabel(MANAGED_BY, DAS).list();
@@ -991,7 +1379,7 @@ public class TeiidOpenShiftClient implements StringConstants {
                 services.add(getVDBSerice(vdbName, namespace, client));
             }
         } finally {
-            kubernetesClient.close();
+            client.close();
         }
 
         if (includeInQueue) {
@@ -1008,10 +1396,9 @@ public class TeiidOpenShiftClient implements StringConstants {
                 workQueue.remove(status);
             }
         }
+        stopMonitoringIfIdle();
         String namespace = ApplicationProperties.getNamespace();
-        Config config = new ConfigBuilder().build();
-        KubernetesClient kubernetesClient = new DefaultKubernetesClient(config);
-        final OpenShiftClient client = kubernetesClient.adapt(OpenShiftClient.class);
+        final OpenShiftClient client = createOpenShiftClient();
         try {
             KLog.getLogger().info("Deleting the " + vdbName + "that is deployed as Service");
             if (runningBuild != null) {
@@ -1028,7 +1415,7 @@ public class TeiidOpenShiftClient implements StringConstants {
             client.services().inNamespace(namespace).withName(vdbName+"-odbc").delete();
             client.imageStreams().inNamespace(namespace).withName(vdbName).delete();
         } finally {
-            kubernetesClient.close();
+            client.close();
         }
         runningBuild.statusMessage = "deleted";
         return runningBuild;
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.rest;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response.Status;
+import org.junit.Test;
+import org.komodo.rest.relational.json.KomodoJsonMarshaller;
+
+@SuppressWarnings( { "javadoc", "nls" } )
+public final class KomodoServiceJsonOutputTest {
+
+    private static RestBasicEntity entity( final String id ) {
+        final RestBasicEntity entity = new RestBasicEntity();
+        entity.setId( id );
+        return entity;
+    }
+
+    @Test
+    public void shouldWriteSameJsonAsMarshaller() throws Exception {
+        final List< RestBasicEntity > entities = Arrays.asList( entity( "one" ), entity( "two" ) );
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        KomodoService.jsonArrayOutput( entities ).write( output );
+
+        final String expected = KomodoJsonMarshaller.marshallArray( entities.toArray( new KRestEntity[ 2 ] ), true );
+        assertThat( new String( output.toByteArray(), StandardCharsets.UTF_8 ), is( expected ) );
+    }
+
+    @Test
+    public void shouldFailWithoutWritingPartialJson() throws Exception {
+        final List< RestBasicEntity > entities = new AbstractList< RestBasicEntity >() {
+
+            @Override
+            public RestBasicEntity get( final int index ) {
+                if ( index == 0 ) {
+                    return entity( "one" );
+                }
+
+                throw new IllegalStateException( "entity not available" );
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            KomodoService.jsonArrayOutput( entities ).write( output );
+            fail( "JSON output should have failed" );
+        } catch ( final WebApplicationException e ) {
+            assertThat( e.getResponse().getStatus(), is( Status.INTERNAL_SERVER_ERROR.getStatusCode() ) );
+            assertThat( output.size(), is( 0 ) );
+        }
+    }
+
+}
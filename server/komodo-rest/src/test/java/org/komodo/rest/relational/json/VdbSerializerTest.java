@@ -23,11 +23,14 @@ package org.komodo.rest.relational.json;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.StringWriter;
 import java.net.URLEncoder;
+import java.util.Arrays;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.komodo.relational.vdb.Vdb;
+import org.komodo.rest.KRestEntity;
 import org.komodo.rest.relational.response.RestVdb;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
@@ -115,6 +118,22 @@ public final class VdbSerializerTest extends AbstractSerializerTest  {
         assertEquals(JSON, json);
     }
 
+    @Test
+    public void shouldStreamJson() throws Exception {
+        StringWriter writer = new StringWriter();
+        KomodoJsonMarshaller.marshall( this.vdb, true, writer );
+        assertEquals(JSON, writer.toString());
+    }
+
+    @Test
+    public void shouldStreamJsonArray() throws Exception {
+        StringWriter writer = new StringWriter();
+        KomodoJsonMarshaller.marshallArray( Arrays.asList( this.vdb, this.vdb ), true, writer );
+
+        String json = KomodoJsonMarshaller.marshallArray( new KRestEntity[] { this.vdb, this.vdb }, true );
+        assertEquals(json, writer.toString());
+    }
+
     @Test
     public void shouldImportJson() {
         final RestVdb descriptor = KomodoJsonMarshaller.unmarshall( JSON, RestVdb.class );
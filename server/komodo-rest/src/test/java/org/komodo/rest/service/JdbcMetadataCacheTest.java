@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.rest.service;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.rest.service.JdbcMetadataCache.CatalogSchemas;
+import org.komodo.rest.service.JdbcMetadataCache.ConnectionSource;
+import org.komodo.rest.service.JdbcMetadataCache.Kind;
+
+@SuppressWarnings( { "javadoc", "nls" } )
+public class JdbcMetadataCacheTest {
+
+    private DatabaseMetaData metaData;
+    private ConnectionSource source;
+    private AtomicInteger opened;
+
+    private static ResultSet names(String... values) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        Boolean[] more = new Boolean[values.length];
+        Arrays.fill(more, Boolean.TRUE);
+        List<Boolean> nexts = new ArrayList<>(Arrays.asList(more));
+        nexts.add(Boolean.FALSE);
+
+        when(resultSet.next()).thenReturn(nexts.get(0), nexts.subList(1, nexts.size()).toArray(new Boolean[0]));
+        if (values.length > 0)
+            when(resultSet.getString(1)).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+
+        return resultSet;
+    }
+
+    private static ResultSet tables(String... values) throws SQLException {
+        ResultSet resultSet = names(values);
+        ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+        when(rsmd.getColumnCount()).thenReturn(3);
+        when(rsmd.getColumnName(1)).thenReturn("TABLE_CAT");
+        when(rsmd.getColumnName(2)).thenReturn("TABLE_SCHEM");
+        when(rsmd.getColumnName(3)).thenReturn("TABLE_NAME");
+        when(resultSet.getMetaData()).thenReturn(rsmd);
+
+        if (values.length > 0)
+            when(resultSet.getString(3)).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+
+        return resultSet;
+    }
+
+    @Before
+    public void setup() throws Exception {
+        this.metaData = mock(DatabaseMetaData.class);
+        final Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(this.metaData);
+
+        this.opened = new AtomicInteger();
+        this.source = new ConnectionSource() {
+
+            @Override
+            public Connection open() throws Exception {
+                opened.incrementAndGet();
+                return connection;
+            }
+        };
+    }
+
+    private void supports(boolean catalogs, boolean schemas) throws Exception {
+        when(this.metaData.supportsCatalogsInTableDefinitions()).thenReturn(catalogs);
+        when(this.metaData.supportsSchemasInTableDefinitions()).thenReturn(schemas);
+    }
+
+    @Test
+    public void shouldReadCatalogSchemasOnceWithinTtl() throws Exception {
+        supports(true, true);
+        ResultSet catalogs = names("b", "A", "c");
+        ResultSet schemasA = names("s2", "s1");
+        ResultSet schemasB = names("x");
+        ResultSet schemasC = names();
+        when(this.metaData.getCatalogs()).thenReturn(catalogs);
+        when(this.metaData.getSchemas("A", null)).thenReturn(schemasA);
+        when(this.metaData.getSchemas("b", null)).thenReturn(schemasB);
+        when(this.metaData.getSchemas("c", null)).thenReturn(schemasC);
+
+        JdbcMetadataCache cache = new JdbcMetadataCache(60000);
+        CatalogSchemas result = cache.getCatalogSchemas("ds", this.source);
+
+        assertThat(result.getKind(), is(Kind.CATALOGS_AND_SCHEMAS));
+        assertThat(new ArrayList<>(result.getItems().keySet()), is(Arrays.asList("A", "b", "c")));
+        assertThat(result.getItems().get("A"), is(Arrays.asList("s1", "s2")));
+        assertThat(result.getItems().get("b"), is(Arrays.asList("x")));
+        assertThat(result.getItems().get("c").isEmpty(), is(true));
+
+        int reads = this.opened.get();
+        assertThat(cache.getCatalogSchemas("ds", this.source) == result, is(true));
+        assertThat(this.opened.get(), is(reads));
+        assertThat(cache.getStatistics().get(JdbcMetadataCache.HITS), is(1L));
+        assertThat(cache.getStatistics().get(JdbcMetadataCache.MISSES), is(1L));
+    }
+
+    @Test( expected = RejectedExecutionException.class )
+    public void shouldNotReadSchemasOnceShutDown() throws Exception {
+        supports(true, true);
+        ResultSet catalogs = names("a", "b");
+        when(this.metaData.getCatalogs()).thenReturn(catalogs);
+
+        JdbcMetadataCache cache = new JdbcMetadataCache(60000);
+        cache.shutdown();
+        cache.getCatalogSchemas("ds", this.source);
+    }
+
+    @Test
+    public void shouldLeaveOutCatalogsWhoseSchemasCannotBeRead() throws Exception {
+        supports(true, true);
+        ResultSet catalogs = names("good", "bad");
+        ResultSet schemas = names("s1");
+        when(this.metaData.getCatalogs()).thenReturn(catalogs);
+        when(this.metaData.getSchemas("good", null)).thenReturn(schemas);
+        when(this.metaData.getSchemas("bad", null)).thenThrow(new SQLException("no schemas"));
+
+        CatalogSchemas result = new JdbcMetadataCache(60000).getCatalogSchemas("ds", this.source);
+        assertThat(new ArrayList<>(result.getItems().keySet()), is(Arrays.asList("good")));
+    }
+
+    @Test
+    public void shouldReadSchemasOnlyWhenCatalogsNotSupported() throws Exception {
+        supports(false, true);
+        ResultSet schemas = names("s2", "s1");
+        when(this.metaData.getSchemas()).thenReturn(schemas);
+
+        CatalogSchemas result = new JdbcMetadataCache(60000).getCatalogSchemas("ds", this.source);
+        assertThat(result.getKind(), is(Kind.SCHEMAS));
+        assertThat(new ArrayList<>(result.getItems().keySet()), is(Arrays.asList("s1", "s2")));
+    }
+
+    @Test( expected = Exception.class )
+    public void shouldFailWhenNeitherCatalogsNorSchemasSupported() throws Exception {
+        supports(false, false);
+        new JdbcMetadataCache(60000).getCatalogSchemas("ds", this.source);
+    }
+
+    @Test
+    public void shouldReadTableNamesAgainAfterInvalidate() throws Exception {
+        ResultSet first = tables("t1", "t2");
+        ResultSet second = tables("t1", "t2", "t3");
+        when(this.metaData.getTables((String)isNull(), anyString(), anyString(), any(String[].class))).thenReturn(first, second);
+
+        JdbcMetadataCache cache = new JdbcMetadataCache(60000);
+        assertThat(cache.getTableNames("ds", this.source, null, "schema", "%"), is(Arrays.asList("t1", "t2")));
+        assertThat(cache.getTableNames("ds", this.source, null, "schema", "%"), is(Arrays.asList("t1", "t2")));
+        assertThat(this.opened.get(), is(1));
+
+        cache.invalidate("ds");
+        assertThat(cache.getTableNames("ds", this.source, null, "schema", "%"), is(Arrays.asList("t1", "t2", "t3")));
+        assertThat(this.opened.get(), is(2));
+    }
+
+    @Test
+    public void shouldNotCacheWhenTtlIsZero() throws Exception {
+        ResultSet first = tables("t1");
+        ResultSet second = tables("t1");
+        when(this.metaData.getTables((String)isNull(), anyString(), anyString(), any(String[].class))).thenReturn(first, second);
+
+        JdbcMetadataCache cache = new JdbcMetadataCache(0);
+        cache.getTableNames("ds", this.source, null, "schema", "%");
+        cache.getTableNames("ds", this.source, null, "schema", "%");
+        assertThat(this.opened.get(), is(2));
+        assertThat(cache.getStatistics().get(JdbcMetadataCache.HITS), is(0L));
+    }
+
+}
@@ -21,9 +21,24 @@
  */
 package org.komodo.rest.service.integration;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import java.net.URI;
+import java.util.Map;
+import javax.ws.rs.core.UriBuilder;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
 import org.jboss.arquillian.junit.Arquillian;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.relational.DeployJob;
+import org.komodo.rest.KomodoRestV1Application.V1Constants;
+import org.komodo.rest.relational.json.KomodoJsonMarshaller;
+import org.komodo.rest.relational.request.KomodoPathAttribute;
+import org.komodo.rest.relational.response.KomodoStatusObject;
 
 @RunWith(Arquillian.class)
 @SuppressWarnings( {"javadoc", "nls"} )
@@ -31,7 +46,26 @@ public class IT_KomodoMetadataServiceDataServiceTests extends AbstractKomodoMeta
 
     @Override
     protected int getTestTotalInClass() {
-        return 1;
+        return 3;
+    }
+
+    private URI deploymentUri(String jobId) {
+        return UriBuilder.fromUri(_uriBuilder.baseUri())
+                                    .path(V1Constants.METADATA_SEGMENT)
+                                    .path(V1Constants.DATA_SERVICE_SEGMENT)
+                                    .path(V1Constants.DEPLOYMENT_SEGMENT)
+                                    .path(jobId)
+                                    .build();
+    }
+
+    private KomodoStatusObject getDeployment(String jobId) throws Exception {
+        HttpGet request = jsonRequest(deploymentUri(jobId), RequestType.GET);
+        HttpResponse response = executeOk(request);
+
+        String entity = extractResponse(response);
+        KomodoStatusObject status = KomodoJsonMarshaller.unmarshall(entity, KomodoStatusObject.class);
+        assertNotNull(status);
+        return status;
     }
 
     @Test
@@ -40,4 +74,54 @@ public class IT_KomodoMetadataServiceDataServiceTests extends AbstractKomodoMeta
 
         deployDataService();
     }
+
+    @Test
+    public void shouldDeployDataServiceInBackground() throws Exception {
+        importDataService();
+
+        KomodoPathAttribute pathAttr = new KomodoPathAttribute();
+        String path = RepositoryImpl.komodoWorkspacePath(null) + FORWARD_SLASH +
+                                        USER_NAME + FORWARD_SLASH + "UsStatesService";
+        pathAttr.setPath(path);
+
+        URI uri = UriBuilder.fromUri(_uriBuilder.baseUri())
+                                    .path(V1Constants.METADATA_SEGMENT)
+                                    .path(V1Constants.DATA_SERVICE_SEGMENT)
+                                    .queryParam(V1Constants.ASYNC_PARAMETER, true)
+                                    .build();
+
+        HttpPost request = jsonRequest(uri, RequestType.POST);
+        addBody(request, pathAttr);
+        HttpResponse response = executeOk(request);
+
+        String entity = extractResponse(response);
+        KomodoStatusObject status = KomodoJsonMarshaller.unmarshall(entity, KomodoStatusObject.class);
+        assertNotNull(status);
+
+        // the job is returned straight away and is then polled until it completes
+        String jobId = status.getAttributes().get("jobId");
+        assertNotNull(jobId);
+        assertNotNull(status.getAttributes().get("deploymentState"));
+
+        long timeout = System.currentTimeMillis() + 120000;
+        while (!DeployJob.State.COMPLETED.name().equals(status.getAttributes().get("deploymentState"))) {
+            assertFalse("Deployment did not complete", System.currentTimeMillis() > timeout);
+            wait(1);
+            status = getDeployment(jobId);
+            assertEquals(jobId, status.getAttributes().get("jobId"));
+        }
+
+        Map<String, String> attributes = status.getAttributes();
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            assertFalse("Error occurred in deployment: " + attribute.getValue(),
+                        attribute.getKey().startsWith("ErrorMessage"));
+        }
+    }
+
+    @Test
+    public void shouldNotFindUnknownDeployment() throws Exception {
+        HttpGet request = jsonRequest(deploymentUri("unknown-job"), RequestType.GET);
+        HttpResponse response = execute(request);
+        assertResponse(response, 404);
+    }
 }
@@ -21,13 +21,27 @@
  */
 package org.komodo.rest.service.integration;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.net.URI;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriBuilder;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
 import org.jboss.arquillian.junit.Arquillian;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.komodo.core.repository.RepositoryImpl;
+import org.komodo.rest.KomodoRestV1Application.V1Constants;
+import org.komodo.rest.relational.json.KomodoJsonMarshaller;
 import org.komodo.rest.relational.request.KomodoQueryAttribute;
+import org.komodo.rest.relational.response.RestQueryResult;
+import org.komodo.rest.relational.response.RestQueryRow;
 import org.komodo.test.utils.TestUtilities;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 @RunWith(Arquillian.class)
 @SuppressWarnings( {"javadoc", "nls"} )
@@ -37,9 +51,12 @@ public class IT_KomodoMetadataServiceQueryTests extends AbstractKomodoMetadataSe
 
     private static final String STATES_QUERY = "SELECT * FROM states";
 
+    // fails when the row of the last state is evaluated
+    private static final String FAILING_STATES_QUERY = "SELECT abbreviation, 1 / CASE WHEN abbreviation = 'WY' THEN 0 ELSE 1 END FROM states";
+
     @Override
     protected int getTestTotalInClass() {
-        return 3;
+        return 5;
     }
 
     @Before
@@ -89,4 +106,61 @@ public class IT_KomodoMetadataServiceQueryTests extends AbstractKomodoMetadataSe
 
         queryDataService(queryAttr, 51, "AK");
     }
+
+    private String[] queryStream(KomodoQueryAttribute queryAttr) throws Exception {
+        URI uri = UriBuilder.fromUri(_uriBuilder.baseUri())
+                                    .path(V1Constants.METADATA_SEGMENT)
+                                    .path(V1Constants.QUERY_SEGMENT)
+                                    .path(V1Constants.STREAM_SEGMENT)
+                                    .build();
+
+        HttpPost request = request(uri, RequestType.POST, MediaType.valueOf(V1Constants.APPLICATION_NDJSON));
+        addBody(request, queryAttr);
+        HttpResponse response = executeOk(request);
+
+        return extractResponse(response).split(NEW_LINE);
+    }
+
+    @Test
+    public void shouldStreamQueryResults() throws Exception {
+        KomodoQueryAttribute queryAttr = new KomodoQueryAttribute();
+        queryAttr.setQuery(STATES_QUERY);
+        queryAttr.setTarget(USSTATES_TARGET);
+
+        String[] lines = queryStream(queryAttr);
+
+        // the columns followed by one line per row
+        assertEquals(52, lines.length);
+
+        JsonObject columns = new JsonParser().parse(lines[0]).getAsJsonObject();
+        assertTrue(columns.has(RestQueryResult.COLUMNS_LABEL));
+
+        for (int i = 1; i < lines.length; ++i) {
+            JsonObject row = new JsonParser().parse(lines[i]).getAsJsonObject();
+            assertTrue(row.has(RestQueryRow.ROW_LABEL));
+            assertFalse(row.has(RestQueryResult.ERROR_LABEL));
+        }
+
+        RestQueryRow firstRow = KomodoJsonMarshaller.unmarshall(lines[1], RestQueryRow.class);
+        assertEquals("AK", firstRow.getValues()[0]);
+    }
+
+    @Test
+    public void shouldReportErrorAsLastLineOfStreamedQuery() throws Exception {
+        KomodoQueryAttribute queryAttr = new KomodoQueryAttribute();
+        queryAttr.setQuery(FAILING_STATES_QUERY);
+        queryAttr.setTarget(USSTATES_TARGET);
+
+        String[] lines = queryStream(queryAttr);
+
+        // the status was sent before the failure so the body ends with the error
+        JsonObject last = new JsonParser().parse(lines[lines.length - 1]).getAsJsonObject();
+        assertTrue(last.has(RestQueryResult.ERROR_LABEL));
+        assertFalse(last.get(RestQueryResult.ERROR_LABEL).getAsString().isEmpty());
+
+        // no row is reported for the failing state
+        for (int i = 0; i < lines.length - 1; ++i) {
+            assertFalse(lines[i].contains("\"WY\""));
+        }
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.rest.service.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Map;
+import javax.ws.rs.core.UriBuilder;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.komodo.rest.KomodoRestV1Application.V1Constants;
+import org.komodo.rest.relational.json.KomodoJsonMarshaller;
+import org.komodo.rest.relational.response.KomodoStatusObject;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.test.utils.TestUtilities;
+import org.komodo.utils.FileUtils;
+
+@RunWith(Arquillian.class)
+@SuppressWarnings( {"javadoc", "nls"} )
+public class IT_KomodoMetadataServiceVdbSyncTests extends AbstractKomodoMetadataServiceTest {
+
+    @Override
+    protected int getTestTotalInClass() {
+        return 3;
+    }
+
+    private URI vdbsFromTeiidUri() {
+        return UriBuilder.fromUri(_uriBuilder.baseUri())
+                                    .path(V1Constants.METADATA_SEGMENT)
+                                    .path(V1Constants.VDBS_SEGMENT)
+                                    .path(V1Constants.VDBS_FROM_TEIID).build();
+    }
+
+    /*
+     * Replaces the workspace sample with a copy from the server, so the sample has a recorded checksum
+     */
+    private void copySampleFromServer() throws Exception {
+        deleteSample();
+
+        HttpUriRequest request = jsonRequest(vdbsFromTeiidUri(), RequestType.POST);
+        addJsonConsumeContentType(request);
+        executeOk(request);
+    }
+
+    private Map<String, String> syncFromServer() throws Exception {
+        HttpUriRequest request = jsonRequest(vdbsFromTeiidUri(), RequestType.PUT);
+        addJsonConsumeContentType(request);
+        HttpResponse response = executeOk(request);
+
+        KomodoStatusObject status = KomodoJsonMarshaller.unmarshall(extractResponse(response), KomodoStatusObject.class);
+        assertNotNull(status);
+        assertEquals("true", status.getAttributes().get("success"));
+
+        return status.getAttributes();
+    }
+
+    private void awaitActiveSample() throws Exception {
+        TeiidVdb vdb = null;
+        for (int i = 0; i < 20; i++) {
+            vdb = getMetadataInstance().getVdb(TestUtilities.SAMPLE_VDB_NAME);
+            if (vdb != null && vdb.isActive())
+                return;
+
+            wait(1);
+        }
+
+        assertTrue("Sample vdb was not redeployed", vdb != null && vdb.isActive());
+    }
+
+    @Test
+    public void shouldSkipVdbWithUnchangedChecksum() throws Exception {
+        copySampleFromServer();
+
+        Map<String, String> attributes = syncFromServer();
+        assertEquals(TestUtilities.SAMPLE_VDB_NAME, attributes.get("unchanged"));
+        assertEquals("", attributes.get("changed"));
+        assertEquals("", attributes.get("removed"));
+    }
+
+    @Test
+    public void shouldReimportVdbWithChangedChecksum() throws Exception {
+        copySampleFromServer();
+
+        //
+        // Redeploy the sample on the server with different content
+        //
+        String sample = FileUtils.streamToString(TestUtilities.sampleExample());
+        sample = sample.replace("<model name=\"Txns\">",
+                                "<description>Changed on the server</description>\n    <model name=\"Txns\">");
+        getMetadataInstance().deployDynamicVdb(TestUtilities.SAMPLE_VDB_FILE, new ByteArrayInputStream(sample.getBytes("UTF-8")));
+        awaitActiveSample();
+
+        Map<String, String> attributes = syncFromServer();
+        assertEquals(TestUtilities.SAMPLE_VDB_NAME, attributes.get("changed"));
+        assertEquals("", attributes.get("unchanged"));
+
+        //
+        // Content now matches again so a further sync skips it
+        //
+        attributes = syncFromServer();
+        assertEquals(TestUtilities.SAMPLE_VDB_NAME, attributes.get("unchanged"));
+    }
+
+    @Test
+    public void shouldDeleteVdbRemovedFromServer() throws Exception {
+        copySampleFromServer();
+
+        getMetadataInstance().undeployDynamicVdb(TestUtilities.SAMPLE_VDB_NAME);
+
+        Map<String, String> attributes = syncFromServer();
+        assertEquals(TestUtilities.SAMPLE_VDB_NAME, attributes.get("removed"));
+
+        //
+        // The workspace copy has gone
+        //
+        URI uri = UriBuilder.fromUri(_uriBuilder.baseUri())
+                                    .path(V1Constants.WORKSPACE_SEGMENT)
+                                    .path(V1Constants.VDBS_SEGMENT)
+                                    .path(TestUtilities.SAMPLE_VDB_NAME).build();
+        HttpUriRequest request = jsonRequest(uri, RequestType.GET);
+        HttpResponse response = execute(request);
+        assertResponse(response, HttpStatus.SC_NOT_FOUND);
+    }
+}
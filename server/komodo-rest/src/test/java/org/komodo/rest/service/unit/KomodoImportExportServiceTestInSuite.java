@@ -40,12 +40,15 @@ import java.net.URI;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.Properties;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.util.EntityUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
@@ -287,6 +290,31 @@ public class KomodoImportExportServiceTestInSuite extends AbstractKomodoServiceT
         }
     }
 
+    @Test
+    public void shouldStreamExportedVdb() throws Exception {
+        URI uri = UriBuilder.fromUri(uriBuilder().baseUri()).path(V1Constants.IMPORT_EXPORT_SEGMENT).path(V1Constants.EXPORT).build();
+
+        KomodoStorageAttributes storageAttr = new KomodoStorageAttributes();
+        storageAttr.setArtifactPath(serviceTestUtilities.getWorkspace(USER_NAME) + FORWARD_SLASH + "myVDB");
+
+        HttpPost request = request(uri, RequestType.POST, MediaType.APPLICATION_OCTET_STREAM_TYPE);
+        addJsonConsumeContentType(request);
+        addBody(request, storageAttr);
+        HttpResponse response = execute(request);
+
+        okResponse(response);
+        byte[] streamed = EntityUtils.toByteArray(response.getEntity());
+
+        Repository repository = restApp().getDefaultRepository();
+        UnitOfWork uow = repository.createTransaction(USER_NAME, "shouldStreamExportedVdb", true, null); //$NON-NLS-1$
+        KomodoObject vdbObj = repository.getFromWorkspace(uow, storageAttr.getArtifactPath());
+        Vdb vdb = WorkspaceManager.getInstance(repository, uow).resolve(uow, vdbObj, Vdb.class);
+        byte[] exported = vdb.export(uow, new Properties());
+        uow.commit();
+
+        assertTrue(Arrays.equals(exported, streamed));
+    }
+
     @Test
     public void shouldImportDataservice() throws Exception {
         Repository repository = restApp().getDefaultRepository();
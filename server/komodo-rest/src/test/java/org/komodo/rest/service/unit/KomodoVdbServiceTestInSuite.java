@@ -22,6 +22,7 @@
 package org.komodo.rest.service.unit;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
@@ -38,6 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
 import org.apache.http.HttpResponse;
@@ -521,6 +523,100 @@ public class KomodoVdbServiceTestInSuite extends AbstractKomodoServiceTest {
         assertTrue(vdbs.length > 0);
     }
 
+    @Test
+    public void shouldNotReturnVdbsWhenEntityTagMatches() throws Exception {
+        URI uri = uriBuilder().workspaceVdbsUri();
+        HttpResponse response = executeOk(jsonRequest(uri, RequestType.GET));
+        extractResponse(response);
+
+        String entityTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+        assertNotNull(entityTag);
+
+        HttpGet request = jsonRequest(uri, RequestType.GET);
+        addHeader(request, HttpHeaders.IF_NONE_MATCH, entityTag);
+        response = execute(request);
+        assertResponse(response, HttpStatus.SC_NOT_MODIFIED);
+
+        request = jsonRequest(uri, RequestType.GET);
+        addHeader(request, HttpHeaders.IF_NONE_MATCH, "\"someOtherTag\"");
+        response = executeOk(request);
+
+        RestVdb[] vdbs = KomodoJsonMarshaller.unmarshallArray(extractResponse(response), RestVdb[].class);
+        assertTrue(vdbs.length > 0);
+    }
+
+    @Test
+    public void shouldNotReturnNotModifiedForOtherVariantOfVdbs() throws Exception {
+        URI uri = uriBuilder().workspaceVdbsUri();
+        HttpResponse response = executeOk(jsonRequest(uri, RequestType.GET));
+        extractResponse(response);
+
+        String entityTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+        assertThat(entityTag, startsWith("W/"));
+
+        URI fieldsUri = UriBuilder.fromUri(uri).queryParam(KomodoVdbService.QueryParamKeys.FIELDS, RestVdb.NAME_LABEL).build();
+        HttpGet request = jsonRequest(fieldsUri, RequestType.GET);
+        addHeader(request, HttpHeaders.IF_NONE_MATCH, entityTag);
+        response = executeOk(request);
+
+        assertThat(response.getFirstHeader(HttpHeaders.ETAG).getValue(), is(not(entityTag)));
+        RestBasicEntity[] vdbs = KomodoJsonMarshaller.unmarshallArray(extractResponse(response), RestBasicEntity[].class);
+        assertTrue(vdbs.length > 0);
+    }
+
+    @Test
+    public void shouldOnlyReturnRequestedFieldsWhenUsingFieldsQueryParameter() throws Exception {
+        URI uri = UriBuilder.fromUri(uriBuilder().workspaceVdbsUri()).queryParam(KomodoVdbService.QueryParamKeys.FIELDS,
+                                                                                 RestVdb.NAME_LABEL).build();
+        HttpGet request = jsonRequest(uri, RequestType.GET);
+        HttpResponse response = executeOk(request);
+
+        String entities = extractResponse(response);
+        RestBasicEntity[] vdbs = KomodoJsonMarshaller.unmarshallArray(entities, RestBasicEntity[].class);
+        assertTrue(vdbs.length > 0);
+
+        for (RestBasicEntity vdb : vdbs) {
+            assertNotNull(vdb.getId());
+            assertNotNull(vdb.getDataPath());
+            assertThat(vdb.getkType(), is(KomodoType.VDB));
+            assertThat(vdb.getTuples().get(RestVdb.NAME_LABEL), is((Object)vdb.getId()));
+            assertThat(vdb.getTuples().containsKey(RestVdb.DESCRIPTION_LABEL), is(false));
+            assertThat(vdb.getTuples().containsKey(V1Constants.HAS_CHILDREN), is(false));
+            assertTrue(vdb.getProperties().isEmpty());
+            assertTrue(vdb.getLinks().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldIncludeChildrenWhenUsingDepthQueryParameter() throws Exception {
+        URI uri = UriBuilder.fromUri(uriBuilder().workspaceVdbsUri()).queryParam(KomodoVdbService.QueryParamKeys.PATTERN,
+                                                                                 TestUtilities.PORTFOLIO_VDB_NAME)
+                                                                     .queryParam(KomodoVdbService.QueryParamKeys.DEPTH, 2)
+                                                                     .build();
+        HttpGet request = jsonRequest(uri, RequestType.GET);
+        HttpResponse response = executeOk(request);
+
+        String entities = extractResponse(response);
+        RestVdb[] vdbs = KomodoJsonMarshaller.unmarshallArray(entities, RestVdb[].class);
+        assertThat(vdbs.length, is(1));
+        assertPortfolio(vdbs[0]);
+
+        RestBasicEntity marketData = null;
+        for (RestBasicEntity child : vdbs[0].getChildren()) {
+            if ("MarketData".equals(child.getId()))
+                marketData = child;
+        }
+
+        assertNotNull(marketData);
+        assertThat(marketData.getkType(), is(KomodoType.MODEL));
+        assertTrue(marketData.getChildren().size() > 0);
+
+        for (RestBasicEntity grandChild : marketData.getChildren()) {
+            // depth of 2 so the grand children do not include their own children
+            assertTrue(grandChild.getChildren().isEmpty());
+        }
+    }
+
     //
     //    @Test
     //    public void shouldNotDeleteVdb() throws Exception {
@@ -0,0 +1,444 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.servicecatalog;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.relational.model.Model;
+import org.komodo.relational.vdb.Vdb;
+import org.komodo.rest.AuthHandlingFilter.AuthToken;
+import org.komodo.rest.TeiidSwarmMetadataInstance;
+import org.komodo.servicecatalog.BuildStatus.Status;
+import org.komodo.spi.KException;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.api.model.ObjectReferenceBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.WatchEvent;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+import io.fabric8.openshift.api.model.BuildConfig;
+import io.fabric8.openshift.api.model.BuildConfigBuilder;
+import io.fabric8.openshift.api.model.BuildListBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.ImageStreamBuilder;
+import io.fabric8.openshift.api.model.RouteBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftMockServer;
+import io.kubernetes.client.ServiceBinding;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestVirtualizationPublishing {
+
+    private static final String NAMESPACE = "test";
+    private static final String VDB_NAME = "myvdb";
+    private static final String BUILD_NAME = "myvdb-build-config-1";
+    private static final long TIMEOUT = 10000;
+    private static final ObjectReference BASE_IMAGE = new ObjectReferenceBuilder().withKind("ImageStreamTag")
+            .withNamespace("openshift").withName("redhat-openjdk18-openshift:1.2").build();
+
+    private static final String OAPI = "/oapi/v1/namespaces/" + NAMESPACE;
+    private static final String API = "/api/v1/namespaces/" + NAMESPACE;
+    private static final String MANAGED = "?labelSelector=managed-by%3Ddas&watch=true";
+    private static final String BUILD_PATH = OAPI + "/builds/" + BUILD_NAME;
+    private static final String BUILD_WATCH_PATH = OAPI + "/builds" + MANAGED;
+    private static final String DC_PATH = OAPI + "/deploymentconfigs/" + VDB_NAME;
+    private static final String DC_WATCH_PATH = OAPI + "/deploymentconfigs" + MANAGED;
+
+    private OpenShiftMockServer server;
+    private TeiidOpenShiftClient client;
+    private String namespace;
+    private final UnitOfWork uow = Mockito.mock(UnitOfWork.class);
+
+    // publishes count down started while generating their build contents and wait there until proceed is counted down
+    private volatile CountDownLatch started = new CountDownLatch(0);
+    private volatile CountDownLatch proceed = new CountDownLatch(0);
+
+    @Before
+    public void init() throws Exception {
+        this.namespace = System.getProperty("NAMESPACE");
+        System.setProperty("NAMESPACE", NAMESPACE);
+
+        this.server = new OpenShiftMockServer(false);
+        this.server.init();
+
+        this.client = new TeiidOpenShiftClient(Mockito.mock(TeiidSwarmMetadataInstance.class)) {
+            @Override
+            protected OpenShiftClient createOpenShiftClient(Config config) {
+                return server.createOpenShiftClient();
+            }
+            @Override
+            protected String generatePomXml(AuthToken authToken, UnitOfWork uow, Vdb vdb, boolean enableOdata)
+                    throws KException {
+                started.countDown();
+                try {
+                    if (!proceed.await(TIMEOUT, TimeUnit.MILLISECONDS)) {
+                        throw new KException("Timed out generating the pom");
+                    }
+                } catch (InterruptedException e) {
+                    throw new KException(e);
+                }
+                return "<project/>";
+            }
+        };
+    }
+
+    @After
+    public void cleanup() {
+        this.client.close();
+        this.server.destroy();
+
+        if (this.namespace == null) {
+            System.clearProperty("NAMESPACE");
+        } else {
+            System.setProperty("NAMESPACE", this.namespace);
+        }
+    }
+
+    static Build build(String phase) {
+        return build(VDB_NAME, BUILD_NAME, phase);
+    }
+
+    static Build build(String vdbName, String buildName, String phase) {
+        return new BuildBuilder()
+                .withNewMetadata().withName(buildName).addToLabels("application", vdbName).endMetadata()
+                .withNewStatus().withPhase(phase).withMessage(phase).endStatus()
+                .build();
+    }
+
+    static BuildConfig buildConfig(String vdbName) {
+        return new BuildConfigBuilder()
+                .withNewMetadata().withName(vdbName + "-build-config").addToLabels("application", vdbName).endMetadata()
+                .withNewSpec()
+                    .withNewStrategy().withType("Source").withNewSourceStrategy().withFrom(BASE_IMAGE).endSourceStrategy()
+                    .endStrategy()
+                    .withNewOutput().withNewTo().withKind("ImageStreamTag").withName(vdbName + ":latest").endTo().endOutput()
+                .endSpec()
+                .build();
+    }
+
+    static DeploymentConfig deploymentConfig(boolean available) {
+        return new DeploymentConfigBuilder()
+                .withNewMetadata().withName(VDB_NAME).addToLabels("application", VDB_NAME).endMetadata()
+                .withNewStatus()
+                    .withLatestVersion(1L)
+                    .addNewCondition()
+                        .withType("Available")
+                        .withStatus(available ? "True" : "False")
+                        .withMessage(available ? "available" : "waiting for pods")
+                    .endCondition()
+                .endStatus()
+                .build();
+    }
+
+    /**
+     * Serves the deployment config and the services and route created once it is available.
+     */
+    void expectDeployment(boolean available) {
+        this.server.expect().withPath(OAPI + "/deploymentconfigs").andReturn(201, deploymentConfig(available)).always();
+        this.server.expect().withPath(DC_PATH).andReturn(200, deploymentConfig(available)).always();
+
+        for (String type : new String[] {"odata", "jdbc", "odbc"}) {
+            this.server.expect().get().withPath(API + "/services/" + VDB_NAME + "-" + type)
+                    .andReturn(200, new ServiceBuilder().withNewMetadata().withName(VDB_NAME + "-" + type).endMetadata().build())
+                    .always();
+        }
+        this.server.expect().get().withPath(OAPI + "/routes/" + VDB_NAME + "-odata")
+                .andReturn(200, new RouteBuilder().withNewMetadata().withName(VDB_NAME + "-odata").endMetadata().build())
+                .always();
+    }
+
+    void expectQuietDeploymentWatch() {
+        this.server.expect().withPath(DC_WATCH_PATH).andUpgradeToWebSocket().open().done().always();
+    }
+
+    /**
+     * Serves an image stream and build config that can be reused, and the builds already run for the vdb.
+     */
+    void expectExistingResources(String vdbName, Build... builds) {
+        this.server.expect().get().withPath(OAPI + "/imagestreams/" + vdbName)
+                .andReturn(200, new ImageStreamBuilder().withNewMetadata().withName(vdbName).endMetadata().build())
+                .always();
+        this.server.expect().get().withPath(OAPI + "/buildconfigs/" + vdbName + "-build-config")
+                .andReturn(200, buildConfig(vdbName)).always();
+        this.server.expect().get().withPath(OAPI + "/builds?labelSelector=application%3D" + vdbName)
+                .andReturn(200, new BuildListBuilder().withItems(Arrays.asList(builds)).build()).always();
+    }
+
+    /**
+     * Serves the binary build started for the vdb, which stays running, and the pod it runs in.
+     */
+    void expectBuild(String vdbName, String buildName) {
+        this.server.expect().post()
+                .withPath(OAPI + "/buildconfigs/" + vdbName + "-build-config/instantiatebinary?commit=")
+                .andReturn(201, build(vdbName, buildName, "New")).always();
+        this.server.expect().get().withPath(OAPI + "/builds/" + buildName)
+                .andReturn(200, build(vdbName, buildName, "Running")).always();
+        this.server.expect().withPath(API + "/pods?fieldSelector=metadata.name%3D" + buildName + "-build&watch=true")
+                .andUpgradeToWebSocket().open().waitFor(50)
+                .andEmit(new WatchEvent(new PodBuilder().withNewMetadata().withName(buildName + "-build").endMetadata()
+                        .withNewStatus().withPhase("Running")
+                            .addNewCondition().withType("Ready").withStatus("True").endCondition()
+                        .endStatus().build(), "MODIFIED"))
+                .done().always();
+    }
+
+    void expectQuietWatches() {
+        this.server.expect().withPath(BUILD_WATCH_PATH).andUpgradeToWebSocket().open().done().always();
+        expectQuietDeploymentWatch();
+    }
+
+    PublishConfiguration publishConfiguration(String vdbName) throws Exception {
+        Vdb vdb = Mockito.mock(Vdb.class);
+        Mockito.when(vdb.getVdbName(this.uow)).thenReturn(vdbName);
+        Mockito.when(vdb.getModels(this.uow)).thenReturn(new Model[0]);
+        Mockito.when(vdb.export(this.uow, null)).thenReturn("<vdb/>".getBytes());
+
+        PublishConfiguration config = new PublishConfiguration() {
+            @Override
+            protected ObjectReference getBaseJDKImage(OpenShiftClient openShiftClient) {
+                return BASE_IMAGE;
+            }
+        };
+        config.setVDB(vdb);
+        return config;
+    }
+
+    Future<BuildStatus> schedulePublish(final String vdbName) throws Exception {
+        final PublishConfiguration config = publishConfiguration(vdbName);
+        return this.client.schedulePublish(new Callable<BuildStatus>() {
+            @Override
+            public BuildStatus call() throws Exception {
+                return client.publishVirtualization(new AuthToken("token"), uow, config);
+            }
+        });
+    }
+
+    BuildStatus monitor() {
+        return this.client.monitorBuild(NAMESPACE, VDB_NAME, BUILD_NAME, new PublishConfiguration(),
+                Collections.<EnvVar>emptyList());
+    }
+
+    static void awaitStatus(BuildStatus work, Status expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (work.status != expected) {
+            assertTrue("Status is " + work.status + " rather than " + expected, System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void shouldDeployWhenBuildCompletesAndRunWhenDeploymentIsAvailable() throws Exception {
+        this.server.expect().get().withPath(BUILD_PATH).andReturn(200, build("Running")).always();
+        this.server.expect().withPath(BUILD_WATCH_PATH).andUpgradeToWebSocket()
+                .open().waitFor(100).andEmit(new WatchEvent(build("Complete"), "MODIFIED")).done().always();
+        expectDeployment(false);
+        this.server.expect().withPath(DC_WATCH_PATH).andUpgradeToWebSocket()
+                .open().waitFor(1500).andEmit(new WatchEvent(deploymentConfig(true), "MODIFIED")).done().always();
+
+        BuildStatus work = monitor();
+        assertThat(work.status, is(Status.BUILDING));
+
+        awaitStatus(work, Status.DEPLOYING);
+        assertThat(work.deploymentName, is(VDB_NAME));
+
+        awaitStatus(work, Status.RUNNING);
+    }
+
+    @Test
+    public void shouldRunWhenDeploymentIsAvailableBeforeItsEventIsSeen() throws Exception {
+        this.server.expect().get().withPath(BUILD_PATH).andReturn(200, build("Complete")).always();
+        this.server.expect().withPath(BUILD_WATCH_PATH).andUpgradeToWebSocket().open().done().always();
+        expectDeployment(true);
+        expectQuietDeploymentWatch();
+
+        BuildStatus work = monitor();
+        awaitStatus(work, Status.RUNNING);
+        assertThat(work.deploymentName, is(VDB_NAME));
+    }
+
+    @Test
+    public void shouldFailWhenBuildFails() throws Exception {
+        this.server.expect().get().withPath(BUILD_PATH).andReturn(200, build("Running")).always();
+        this.server.expect().withPath(BUILD_WATCH_PATH).andUpgradeToWebSocket()
+                .open().waitFor(100).andEmit(new WatchEvent(build("Failed"), "MODIFIED")).done().always();
+        expectQuietDeploymentWatch();
+
+        BuildStatus work = monitor();
+        awaitStatus(work, Status.FAILED);
+        assertThat(work.statusMessage, is("Failed"));
+        assertThat(work.deploymentName == null, is(true));
+    }
+
+    @Test
+    public void shouldReadWorkAgainWhenWatchIsReconnected() throws Exception {
+        // the build completes while the watch is down, so only reading it again after reconnecting finds it
+        this.server.expect().get().withPath(BUILD_PATH).andReturn(200, build("Running")).once();
+        this.server.expect().get().withPath(BUILD_PATH).andReturn(200, build("Complete")).always();
+        this.server.expect().withPath(BUILD_WATCH_PATH).andUpgradeToWebSocket()
+                .open().waitFor(200).andEmit(new WatchEvent(new StatusBuilder().withCode(410).build(), "ERROR"))
+                .done().once();
+        this.server.expect().withPath(BUILD_WATCH_PATH).andUpgradeToWebSocket().open().done().always();
+        expectDeployment(true);
+        expectQuietDeploymentWatch();
+
+        BuildStatus work = monitor();
+        awaitStatus(work, Status.RUNNING);
+    }
+
+    @Test
+    public void shouldWaitForBindingToBecomeReady() throws Exception {
+        final ServiceBinding pending = Mockito.mock(ServiceBinding.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(pending.getStatus().isReady()).thenReturn(false);
+        Mockito.when(pending.getSpec().getSecretName()).thenReturn("mysecret");
+
+        final ServiceBinding ready = Mockito.mock(ServiceBinding.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(ready.getStatus().isReady()).thenReturn(true);
+
+        // the secret is written once the binding is ready
+        this.server.expect().withPath(API + "/secrets?fieldSelector=metadata.name%3Dmysecret&watch=true")
+                .andUpgradeToWebSocket().open().waitFor(100)
+                .andEmit(new WatchEvent(new SecretBuilder().withNewMetadata().withName("mysecret").endMetadata().build(),
+                        "ADDED"))
+                .done().always();
+
+        final AtomicInteger reads = new AtomicInteger();
+        TeiidOpenShiftClient bindingClient = new TeiidOpenShiftClient(Mockito.mock(TeiidSwarmMetadataInstance.class)) {
+            @Override
+            protected OpenShiftClient createOpenShiftClient(Config config) {
+                return server.createOpenShiftClient();
+            }
+            @Override
+            ServiceBinding getServiceBinding(String serviceName) {
+                return (reads.incrementAndGet() < 3) ? pending : ready;
+            }
+        };
+
+        try {
+            assertThat(bindingClient.awaitServiceBinding("mysql", pending) == ready, is(true));
+            assertThat(reads.get(), is(3));
+        } finally {
+            bindingClient.close();
+        }
+    }
+
+    @Test
+    public void shouldPublishVirtualizationsConcurrently() throws Exception {
+        expectQuietWatches();
+        expectExistingResources("vdb1");
+        expectBuild("vdb1", "vdb1-build-config-1");
+        expectExistingResources("vdb2");
+        expectBuild("vdb2", "vdb2-build-config-1");
+
+        // neither publish gets past generating its build contents until both have started
+        this.started = new CountDownLatch(2);
+        this.proceed = new CountDownLatch(1);
+        Future<BuildStatus> first = schedulePublish("vdb1");
+        Future<BuildStatus> second = schedulePublish("vdb2");
+        assertTrue(this.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        this.proceed.countDown();
+
+        BuildStatus status = first.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertThat(status.status, is(Status.BUILDING));
+        assertThat(status.buildName, is("vdb1-build-config-1"));
+
+        status = second.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertThat(status.status, is(Status.BUILDING));
+        assertThat(status.buildName, is("vdb2-build-config-1"));
+    }
+
+    @Test
+    public void shouldNotPublishVirtualizationAlreadyBeingPublished() throws Exception {
+        // the image stream and build config do not exist so are created
+        expectQuietWatches();
+        this.server.expect().post().withPath(OAPI + "/imagestreams")
+                .andReturn(201, new ImageStreamBuilder().withNewMetadata().withName(VDB_NAME).endMetadata().build())
+                .always();
+        this.server.expect().post().withPath(OAPI + "/buildconfigs").andReturn(201, buildConfig(VDB_NAME)).always();
+        expectBuild(VDB_NAME, BUILD_NAME);
+
+        this.started = new CountDownLatch(1);
+        this.proceed = new CountDownLatch(1);
+        Future<BuildStatus> first = schedulePublish(VDB_NAME);
+        assertTrue(this.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        BuildStatus duplicate = this.client.publishVirtualization(new AuthToken("token"), this.uow,
+                publishConfiguration(VDB_NAME));
+        assertThat(duplicate.status, is(Status.BUILDING));
+        assertThat(duplicate.statusMessage, is("Publishing in progress"));
+        assertThat(duplicate.buildName == null, is(true));
+
+        this.proceed.countDown();
+        BuildStatus status = first.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertThat(status.status, is(Status.BUILDING));
+        assertThat(status.buildName, is(BUILD_NAME));
+    }
+
+    @Test
+    public void shouldReuseImageStreamAndBuildConfig() throws Exception {
+        // nothing can be created, so the publish only succeeds if the existing resources are reused
+        expectQuietWatches();
+        expectExistingResources(VDB_NAME);
+        expectBuild(VDB_NAME, BUILD_NAME);
+
+        BuildStatus status = this.client.publishVirtualization(new AuthToken("token"), this.uow,
+                publishConfiguration(VDB_NAME));
+        assertThat(status.status, is(Status.BUILDING));
+        assertThat(status.buildName, is(BUILD_NAME));
+    }
+
+    @Test
+    public void shouldRepublishRunningVirtualization() throws Exception {
+        expectQuietWatches();
+        expectExistingResources(VDB_NAME, build("Complete"));
+        expectDeployment(true);
+        expectBuild(VDB_NAME, "myvdb-build-config-2");
+
+        assertThat(this.client.getVirtualizationStatus(VDB_NAME).status, is(Status.RUNNING));
+
+        BuildStatus status = this.client.publishVirtualization(new AuthToken("token"), this.uow,
+                publishConfiguration(VDB_NAME));
+        assertThat(status.status, is(Status.BUILDING));
+        assertThat(status.buildName, is("myvdb-build-config-2"));
+    }
+}
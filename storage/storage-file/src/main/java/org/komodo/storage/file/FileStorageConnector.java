@@ -21,10 +21,13 @@
  */
 package org.komodo.storage.file;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
@@ -138,8 +141,14 @@ public class FileStorageConnector implements StorageConnector {
         //
         // Write the file contents
         //
-        byte[] contents = artifact.export(transaction, parameters);
-        FileUtils.write(contents, destFile);
+        destFile.delete();
+        File parentDir = destFile.getParentFile();
+        if (parentDir != null)
+            parentDir.mkdirs();
+
+        try (OutputStream fileStream = new BufferedOutputStream(new FileOutputStream(destFile))) {
+            artifact.export(transaction, parameters, fileStream);
+        }
 
         setDownloadable(destFile.getAbsolutePath());
     }
@@ -40,7 +40,7 @@ import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.spi.storage.StorageConnector;
 import org.komodo.spi.storage.StorageTree;
 import org.komodo.test.utils.TestUtilities;
-import org.komodo.utils.FileUtils;;
+import org.komodo.utils.FileUtils;
 
 public class TestFileStorageConnector implements StringConstants {
 
@@ -188,7 +188,7 @@ public class TestFileStorageConnector implements StringConstants {
 
         Exportable artifact = mock(Exportable.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
-        when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+        TestUtilities.mockExport(artifact, transaction, parameters, sampleExample.getBytes());
         when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         connector.write(artifact, transaction, parameters);
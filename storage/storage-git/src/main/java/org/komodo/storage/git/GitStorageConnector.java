@@ -21,11 +21,14 @@
  */
 package org.komodo.storage.git;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -386,8 +389,6 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
         //
         // Write the file contents
         //
-        byte[] contents = artifact.export(transaction, parameters);
-
         File destFile;
         DocumentType documentType = artifact.getDocumentType(transaction);
         if (DocumentType.ZIP.equals(documentType)) {
@@ -398,12 +399,32 @@ public class GitStorageConnector implements StorageConnector, GitStorageConnecto
             destFile = new File(git.getRepository().getWorkTree(), destination);
 
             Files.createDirectories(destFile.toPath());
-            ByteArrayInputStream byteStream = new ByteArrayInputStream(contents);
-            FileUtils.zipExtract(byteStream, destFile);
+
+            //
+            // Stage the archive on disk rather than in memory before extracting it
+            //
+            File zipFile = File.createTempFile("export-", DOT + documentType.toString());
+            try {
+                try (OutputStream zipStream = new BufferedOutputStream(new FileOutputStream(zipFile))) {
+                    artifact.export(transaction, parameters, zipStream);
+                }
+
+                try (InputStream zipStream = new FileInputStream(zipFile)) {
+                    FileUtils.zipExtract(zipStream, destFile);
+                }
+            } finally {
+                zipFile.delete();
+            }
         }
         else {
             destFile = new File(git.getRepository().getWorkTree(), destination);
-            FileUtils.write(contents, destFile);
+            File parentDir = destFile.getParentFile();
+            if (parentDir != null)
+                parentDir.mkdirs();
+
+            try (OutputStream fileStream = new BufferedOutputStream(new FileOutputStream(destFile))) {
+                artifact.export(transaction, parameters, fileStream);
+            }
         }
 
         // Stage the file(s) for committing
@@ -57,7 +57,7 @@ import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.spi.storage.StorageConnector;
 import org.komodo.spi.storage.StorageTree;
 import org.komodo.test.utils.TestUtilities;
-import org.komodo.utils.FileUtils;;
+import org.komodo.utils.FileUtils;
 
 public class TestGitStorageConnector implements StringConstants {
 
@@ -322,7 +322,7 @@ public class TestGitStorageConnector implements StringConstants {
 
         Exportable artifact = mock(Exportable.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
-        when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+        TestUtilities.mockExport(artifact, transaction, parameters, sampleExample.getBytes());
         when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         connector.write(artifact, transaction, parameters);
@@ -360,6 +360,16 @@ public class TestGitStorageConnector implements StringConstants {
 
     @Test
     public void testWriteZipToRepositoryAsDirectory() throws Exception {
+        writeZipToRepositoryAsDirectory(TestUtilities.US_STATES_VDB_NAME);
+    }
+
+    @Test
+    public void testWriteZipWithShortNameToRepositoryAsDirectory() throws Exception {
+        // shorter than the 3 characters a temporary file prefix needs
+        writeZipToRepositoryAsDirectory("ds");
+    }
+
+    private void writeZipToRepositoryAsDirectory(String artifactName) throws Exception {
         localTmpDir = new File(tmpDir, "localTmpDir-" + timestamp);
         Properties parameters = new Properties();
         parameters.setProperty(GitStorageConnector.REPO_DEST_PROPERTY, localTmpDir.getAbsolutePath());
@@ -380,8 +390,8 @@ public class TestGitStorageConnector implements StringConstants {
         parameters = new Properties();
         parameters.setProperty(GitStorageConnector.FILE_PATH_PROPERTY, DocumentType.ZIP.fileName(dsName));
 
-        when(artifact.export(transaction, parameters)).thenReturn(usStatesArr);
-        when(artifact.getName(transaction)).thenReturn(dsName);
+        TestUtilities.mockExport(artifact, transaction, parameters, usStatesArr);
+        when(artifact.getName(transaction)).thenReturn(artifactName);
         when(artifact.getDocumentType(transaction)).thenReturn(DocumentType.ZIP);
 
         connector.write(artifact, transaction, parameters);
@@ -501,7 +511,7 @@ public class TestGitStorageConnector implements StringConstants {
 
         Exportable artifact = mock(Exportable.class);
         String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
-        when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+        TestUtilities.mockExport(artifact, transaction, parameters, sampleExample.getBytes());
         when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
         connector.write(artifact, transaction, parameters);
@@ -589,7 +599,7 @@ public class TestGitStorageConnector implements StringConstants {
 
       Exportable artifact = mock(Exportable.class);
       String sampleExample = TestUtilities.streamToString(TestUtilities.sampleExample());
-      when(artifact.export(transaction, parameters)).thenReturn(sampleExample.getBytes());
+      TestUtilities.mockExport(artifact, transaction, parameters, sampleExample.getBytes());
       when(artifact.getName(transaction)).thenReturn(TestUtilities.SAMPLE_VDB_FILE);
 
       connector.write(artifact, transaction, parameters);